@@ -0,0 +1,15 @@
+package com.food.ordering.system.dataaccess.outbox;
+
+/**
+ * outbox 테이블의 밀린 정도를 조회하는 native query 의 projection 입니다.
+ */
+public interface OutboxBacklogView {
+
+    long getPendingCount();
+
+    long getFailedCount();
+
+    long getExhaustedCount();
+
+    double getOldestPendingAgeSeconds();
+}
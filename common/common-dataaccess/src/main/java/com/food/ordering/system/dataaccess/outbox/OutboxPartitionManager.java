@@ -0,0 +1,155 @@
+package com.food.ordering.system.dataaccess.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import static com.food.ordering.system.domain.DomainConstants.ASIA_SEOUL;
+
+/**
+ * created_at 으로 일 단위 range 파티셔닝 된 outbox 테이블의 파티션을 관리합니다.
+ * 파티션 이름은 {테이블}_pyyyyMMdd 형식이고, 보관 기간이 지난 파티션은 row 를 지우는 대신 파티션을 통째로 DROP 합니다.
+ * 파티션이 없던 시간대의 메시지는 {테이블}_default 파티션에 쌓이므로, 파티션을 만들 때 해당 날짜의 row 를 새 파티션으로 옮기고
+ * 보관 기간이 지난 row 는 DELETE 로 정리합니다.
+ * 파티셔닝 된 테이블은 init-schema-partitioned-outbox.sql 로 생성합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxPartitionManager {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String PARTITION_SUFFIX = "_p";
+    private static final String DEFAULT_PARTITION_SUFFIX = "_default";
+    private static final String DEDUP_TABLE_SUFFIX = "_dedup";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * from ~ to 날짜의 파티션을 만듭니다. 이미 있는 파티션은 건너뜁니다.
+     * default 파티션에 같은 날짜의 row 가 있으면 ATTACH 가 실패하므로, 새 파티션으로 옮긴 뒤 하나의 트랜잭션으로 ATTACH 합니다.
+     * 파티션을 만들지 못하면 메시지가 계속 default 파티션에 쌓이므로 예외를 그대로 던집니다.
+     */
+    public void createPartitions(String tableName, LocalDate from, LocalDate to) {
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            String partitionName = partitionName(tableName, day);
+            if (tableExists(partitionName)) {
+                continue;
+            }
+            OffsetDateTime start = startOfDay(day);
+            OffsetDateTime end = startOfDay(day.plusDays(1));
+            transactionTemplate.executeWithoutResult(status -> createPartition(tableName, partitionName, start, end));
+        }
+    }
+
+    /**
+     * before 이전 날짜의 파티션을 삭제합니다.
+     * retainCondition 에 해당하는 row(아직 발행되지 않았거나 saga 가 끝나지 않은 메시지)가 남아있는 파티션은 삭제하지 않습니다.
+     * default 파티션의 before 이전 row 와, 원본 row 가 사라진 dedup 테이블의 row 도 함께 정리합니다.
+     *
+     * @return 삭제한 파티션 수
+     */
+    public int dropPartitionsBefore(String tableName, LocalDate before, String retainCondition) {
+        List<String> partitionNames = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = to_regclass(?)",
+                String.class,
+                tableName);
+
+        int dropped = 0;
+        for (String partitionName : partitionNames) {
+            LocalDate day = partitionDay(tableName, partitionName);
+            if (day == null || !day.isBefore(before)) {
+                continue;
+            }
+            Boolean hasRetainedRows = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + partitionName + " WHERE " + retainCondition + ")",
+                    Boolean.class);
+            if (Boolean.TRUE.equals(hasRetainedRows)) {
+                log.warn("{} 파티션에 아직 처리되지 않은 메시지가 있어 삭제하지 않았습니다.", partitionName);
+                continue;
+            }
+            jdbcTemplate.execute("DROP TABLE " + partitionName);
+            log.info("{} 파티션을 삭제했습니다.", partitionName);
+            dropped++;
+        }
+
+        OffsetDateTime createdBefore = startOfDay(before);
+        String defaultPartitionName = tableName + DEFAULT_PARTITION_SUFFIX;
+        if (tableExists(defaultPartitionName)) {
+            int deleted = jdbcTemplate.update(
+                    "DELETE FROM " + defaultPartitionName + " WHERE created_at < ? AND NOT (" + retainCondition + ")",
+                    createdBefore);
+            if (deleted > 0) {
+                log.info("{} 파티션에서 {}개의 메시지를 삭제했습니다.", defaultPartitionName, deleted);
+            }
+        }
+        String dedupTableName = tableName + DEDUP_TABLE_SUFFIX;
+        if (tableExists(dedupTableName)) {
+            int deleted = jdbcTemplate.update(
+                    "DELETE FROM " + dedupTableName + " d WHERE d.created_at < ? AND NOT EXISTS (SELECT 1 FROM " +
+                            tableName + " o WHERE o.type = d.type AND o.saga_id = d.saga_id AND o.created_at = d.created_at)",
+                    createdBefore);
+            log.info("{} 에서 {}개의 row 를 삭제했습니다.", dedupTableName, deleted);
+        }
+        return dropped;
+    }
+
+    // 새 파티션을 독립된 테이블로 만들고 default 파티션의 row 를 옮긴 뒤 ATTACH 한다.
+    private void createPartition(String tableName, String partitionName, OffsetDateTime start, OffsetDateTime end) {
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE %s (LIKE %s INCLUDING DEFAULTS INCLUDING CONSTRAINTS)", partitionName, tableName));
+
+        String defaultPartitionName = tableName + DEFAULT_PARTITION_SUFFIX;
+        if (tableExists(defaultPartitionName)) {
+            int moved = jdbcTemplate.update(String.format(
+                            "WITH moved AS (DELETE FROM %s WHERE created_at >= ? AND created_at < ? RETURNING *) " +
+                                    "INSERT INTO %s SELECT * FROM moved",
+                            defaultPartitionName, partitionName),
+                    start, end);
+            if (moved > 0) {
+                log.warn("{} 파티션의 메시지 {}개를 {} 파티션으로 옮겼습니다.", defaultPartitionName, moved, partitionName);
+            }
+        }
+
+        jdbcTemplate.execute(String.format(
+                "ALTER TABLE %s ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')",
+                tableName, partitionName, start, end));
+        log.info("{} 파티션을 생성했습니다.", partitionName);
+    }
+
+    private boolean tableExists(String tableName) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, tableName));
+    }
+
+    private OffsetDateTime startOfDay(LocalDate day) {
+        return day.atStartOfDay(ZoneId.of(ASIA_SEOUL)).toOffsetDateTime();
+    }
+
+    private String partitionName(String tableName, LocalDate day) {
+        return tableName + PARTITION_SUFFIX + day.format(PARTITION_SUFFIX_FORMAT);
+    }
+
+    private LocalDate partitionDay(String tableName, String partitionName) {
+        String prefix = tableName + PARTITION_SUFFIX;
+        if (!partitionName.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partitionName.substring(prefix.length()), PARTITION_SUFFIX_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
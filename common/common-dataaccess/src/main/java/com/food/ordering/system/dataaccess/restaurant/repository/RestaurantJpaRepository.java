@@ -6,6 +6,7 @@ import com.food.ordering.system.dataaccess.restaurant.entity.RestaurantEntityId;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,4 +15,7 @@ import java.util.UUID;
 public interface RestaurantJpaRepository extends JpaRepository<RestaurantEntity, RestaurantEntityId> {
 
     Optional<List<RestaurantEntity>> findByRestaurantIdAndProductIdIn(UUID restaurantId, List<UUID> productIds);
+
+    // 여러 식당을 한번에 조회한다. 다른 식당에서 요청한 상품이 같이 조회될 수 있다.
+    List<RestaurantEntity> findByRestaurantIdInAndProductIdIn(Collection<UUID> restaurantIds, Collection<UUID> productIds);
 }
@@ -0,0 +1,102 @@
+package com.food.ordering.system.dataaccess.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class OutboxPartitionManagerTest {
+
+    private static final String TABLE_NAME = "order_outbox";
+    private static final LocalDate DAY = LocalDate.of(2024, 7, 1);
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private OutboxPartitionManager outboxPartitionManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        outboxPartitionManager = new OutboxPartitionManager(jdbcTemplate, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void testExistingPartitionIsSkipped() {
+        givenTables("order_outbox_p20240701");
+
+        outboxPartitionManager.createPartitions(TABLE_NAME, DAY, DAY);
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void testRowsInDefaultPartitionAreMovedBeforeAttach() {
+        givenTables("order_outbox_default");
+
+        outboxPartitionManager.createPartitions(TABLE_NAME, DAY, DAY);
+
+        InOrder inOrder = inOrder(jdbcTemplate, transactionManager);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(jdbcTemplate).execute(startsWith("CREATE TABLE order_outbox_p20240701 (LIKE order_outbox"));
+        inOrder.verify(jdbcTemplate).update(contains("DELETE FROM order_outbox_default"), any(Object[].class));
+        inOrder.verify(jdbcTemplate).execute(startsWith("ALTER TABLE order_outbox ATTACH PARTITION order_outbox_p20240701"));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testPartitionCreationFailureIsThrown() {
+        givenTables("order_outbox_default");
+        doThrow(new DataIntegrityViolationException("overlap")).when(jdbcTemplate).execute(startsWith("ALTER TABLE"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> outboxPartitionManager.createPartitions(TABLE_NAME, DAY, DAY.plusDays(1)));
+        verify(transactionManager).rollback(any());
+        verify(jdbcTemplate, never()).execute(startsWith("CREATE TABLE order_outbox_p20240702"));
+    }
+
+    @Test
+    void testDropCleansDefaultPartitionAndDedupTable() {
+        givenTables("order_outbox_default", "order_outbox_dedup");
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(TABLE_NAME)))
+                .thenReturn(List.of("order_outbox_p20240630", "order_outbox_p20240701", "order_outbox_default"));
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS"), eq(Boolean.class))).thenReturn(false);
+
+        int dropped = outboxPartitionManager.dropPartitionsBefore(TABLE_NAME, DAY, "outbox_status <> 'COMPLETED'");
+
+        assertEquals(1, dropped);
+        verify(jdbcTemplate).execute("DROP TABLE order_outbox_p20240630");
+        verify(jdbcTemplate, never()).execute("DROP TABLE order_outbox_default");
+        verify(jdbcTemplate).update(
+                eq("DELETE FROM order_outbox_default WHERE created_at < ? AND NOT (outbox_status <> 'COMPLETED')"),
+                any(Object[].class));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM order_outbox_dedup"), any(Object[].class));
+    }
+
+    private void givenTables(String... tableNames) {
+        Set<String> existing = Set.of(tableNames);
+        when(jdbcTemplate.queryForObject(eq("SELECT to_regclass(?) IS NOT NULL"), eq(Boolean.class), anyString()))
+                .thenAnswer(invocation -> existing.contains(invocation.<String>getArgument(2)));
+    }
+}
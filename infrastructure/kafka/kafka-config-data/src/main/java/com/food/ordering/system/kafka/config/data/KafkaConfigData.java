@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "kafka-config")
@@ -11,6 +14,13 @@ public class KafkaConfigData {
     private String bootstrapServers;
     private String schemaRegistryUrlKey;
     private String schemaRegistryUrl;
+    private String valueSubjectNameStrategyKey;
+    private String valueSubjectNameStrategy;
     private Integer numOfPartitions;
     private Short replicationFactor;
+    private Boolean topicProvisioningEnabled;
+    private Boolean topicPartitionIncreaseEnabled;
+    private Boolean registryFreeSerdeEnabled;
+    private String avroModelPackage;
+    private Map<String, String> securityProperties = new HashMap<>();
 }
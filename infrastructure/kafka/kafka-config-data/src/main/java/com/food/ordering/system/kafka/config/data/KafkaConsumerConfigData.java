@@ -14,6 +14,7 @@ public class KafkaConsumerConfigData {
     private String specificAvroReaderKey;
     private String specificAvroReader;
     private Boolean batchListener;
+    private Boolean reusableDeserializerEnabled;
     private Boolean autoStartUp;
     private Integer concurrencyLevel;
     private Integer sessionTimeoutMs;
@@ -21,6 +22,20 @@ public class KafkaConsumerConfigData {
     private Integer maxPollIntervalMs;
     private Long pollTimeoutMs;
     private Integer maxPollRecords;
+    private Integer dispatcherThreadPoolSize;
+    private Integer retryTopicAttempts;
+    private Long retryTopicInitialDelayMs;
+    private Double retryTopicDelayMultiplier;
+    private Integer backpressureMinBatchSize;
+    private Double backpressureTargetPollIntervalRatio;
+    private Double backpressureDbPoolSaturation;
+    private Long backpressureCheckIntervalMs;
+    private Integer backpressureResizeConsecutiveBatches;
+    private Long backpressureResizeCooldownMs;
+    private Boolean elasticConcurrencyEnabled;
+    private Long elasticConcurrencyScaleUpLag;
+    private Long elasticConcurrencyScaleDownLag;
+    private Long elasticConcurrencyCheckIntervalMs;
     private Integer maxPartitionFetchBytesDefault;
     private Integer maxPartitionFetchBytesBoostFactor;
 }
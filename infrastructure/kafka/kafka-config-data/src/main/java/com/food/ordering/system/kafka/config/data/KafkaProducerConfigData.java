@@ -10,6 +10,7 @@ import org.springframework.context.annotation.Configuration;
 public class KafkaProducerConfigData {
     private String keySerializerClass;
     private String valueSerializerClass;
+    private Integer valueSchemaVersion;
     private String compressionType;
     private String acks;
     private Integer batchSize;
@@ -17,4 +18,9 @@ public class KafkaProducerConfigData {
     private Integer lingerMs;
     private Integer requestTimeoutMs;
     private Integer retryCount;
+    private Boolean enableIdempotence;
+    private String transactionalIdPrefix;
+    private String instanceId;
+    private Integer callbackThreadPoolSize;
+    private Integer callbackQueueCapacity;
 }
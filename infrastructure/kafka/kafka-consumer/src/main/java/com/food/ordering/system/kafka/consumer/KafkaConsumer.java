@@ -1,11 +1,16 @@
 package com.food.ordering.system.kafka.consumer;
 
 import org.apache.avro.specific.SpecificRecordBase;
+import org.springframework.kafka.support.Acknowledgment;
 
 import java.util.List;
 
 // kafka consumer interface
 // keys 값은 주문 ID를 key로 사용하기때문에 String 타입으로 변경
 public interface KafkaConsumer <T extends SpecificRecordBase> {
-    void receive(List<T> messages, List<String> keys, List<Integer> partitions, List<Long> offsets);
+    void receive(List<T> messages, List<String> keys, List<Integer> partitions, List<Long> offsets, Acknowledgment acknowledgment);
+
+
+    // 처리하지 못해서 retry 토픽으로 보낸 메시지를 하나씩 다시 처리한다.
+    void receiveRetry(T message, String key, Integer partition, Long offset);
 }
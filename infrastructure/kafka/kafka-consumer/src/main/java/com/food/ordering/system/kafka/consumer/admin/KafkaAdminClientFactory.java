@@ -0,0 +1,26 @@
+package com.food.ordering.system.kafka.consumer.admin;
+
+import com.food.ordering.system.kafka.config.data.KafkaConfigData;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 프로듀서, 컨슈머와 같은 bootstrap-servers, security-properties 로 AdminClient 를 만듭니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class KafkaAdminClientFactory {
+
+    private final KafkaConfigData kafkaConfigData;
+
+    public AdminClient create() {
+        Map<String, Object> adminConfig = new HashMap<>(kafkaConfigData.getSecurityProperties());
+        adminConfig.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfigData.getBootstrapServers());
+        return AdminClient.create(adminConfig);
+    }
+}
@@ -0,0 +1,159 @@
+package com.food.ordering.system.kafka.consumer.backpressure;
+
+import com.food.ordering.system.kafka.config.data.KafkaConsumerConfigData;
+import com.food.ordering.system.kafka.consumer.container.MainListenerContainers;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * batch 처리 시간과 DB 커넥션 풀 사용량을 보고 원래 토픽을 받는 batch 리스너의 처리량을 조절합니다.
+ * <ul>
+ *     <li>batch 처리 시간이 max-poll-interval-ms * backpressure-target-poll-interval-ratio 를 넘으면
+ *     한번에 받을 메시지 수(effectiveBatchSize)를 절반으로 줄이고, 여유가 있으면 두배씩 다시 늘립니다.</li>
+ *     <li>effectiveBatchSize 는 컨테이너의 max.poll.records 로 반영하고, 반영하려면 컨테이너를 다시 시작해야 해서 리밸런스가 일어납니다.
+ *     그래서 느리거나 빠른 batch 가 backpressure-resize-consecutive-batches 번 연속으로 나와야 바꾸고,
+ *     한번 바꾼 뒤에는 backpressure-resize-cooldown-ms 동안, 그리고 다시 시작하는 동안에는 batch 크기를 바꾸지 않습니다.</li>
+ *     <li>DB 커넥션 풀이 backpressure-db-pool-saturation 이상 사용중이거나 커넥션을 기다리는 스레드가 있으면
+ *     리스너 컨테이너를 pause 하고, 풀에 여유가 생기면 resume 합니다.</li>
+ * </ul>
+ * retry 토픽 리스너는 partition 별로 pause 해서 지연 시간을 기다리기 때문에 여기서는 건드리지 않습니다.
+ * pause 중에도 컨슈머는 poll 을 계속하기 때문에 리밸런스가 일어나지 않습니다.
+ */
+@Slf4j
+@Component
+public class KafkaConsumerBackpressureController {
+
+    private static final String DB_POOL_ACTIVE_METRIC = "hikaricp.connections.active";
+    private static final String DB_POOL_MAX_METRIC = "hikaricp.connections.max";
+    private static final String DB_POOL_PENDING_METRIC = "hikaricp.connections.pending";
+
+    private final MainListenerContainers mainListenerContainers;
+    private final int maxBatchSize;
+    private final int minBatchSize;
+    private final long targetBatchTimeMs;
+    private final double dbPoolSaturation;
+    private final int resizeConsecutiveBatches;
+    private final long resizeCooldownNanos;
+    private final AtomicInteger effectiveBatchSize;
+    private final AtomicInteger consecutiveSlowBatches = new AtomicInteger();
+    private final AtomicInteger consecutiveFastBatches = new AtomicInteger();
+    private final AtomicLong lastResizedAt;
+    private final AtomicBoolean paused = new AtomicBoolean(false);
+    private final AtomicBoolean resizing = new AtomicBoolean(false);
+
+    public KafkaConsumerBackpressureController(MainListenerContainers mainListenerContainers,
+                                               KafkaConsumerConfigData kafkaConsumerConfigData) {
+        this.mainListenerContainers = mainListenerContainers;
+        this.maxBatchSize = kafkaConsumerConfigData.getMaxPollRecords();
+        this.minBatchSize = Math.min(kafkaConsumerConfigData.getBackpressureMinBatchSize(), maxBatchSize);
+        this.targetBatchTimeMs = (long) (kafkaConsumerConfigData.getMaxPollIntervalMs()
+                * kafkaConsumerConfigData.getBackpressureTargetPollIntervalRatio());
+        this.dbPoolSaturation = kafkaConsumerConfigData.getBackpressureDbPoolSaturation();
+        this.resizeConsecutiveBatches = Math.max(1, kafkaConsumerConfigData.getBackpressureResizeConsecutiveBatches());
+        this.resizeCooldownNanos = TimeUnit.MILLISECONDS.toNanos(kafkaConsumerConfigData.getBackpressureResizeCooldownMs());
+        this.effectiveBatchSize = new AtomicInteger(maxBatchSize);
+        // 시작하자마자 느린 batch 가 이어지면 cooldown 을 기다리지 않고 줄일 수 있게 한다.
+        this.lastResizedAt = new AtomicLong(System.nanoTime() - resizeCooldownNanos);
+
+        Gauge.builder("kafka.consumer.effective.batch.size", effectiveBatchSize, AtomicInteger::get)
+                .description("한번의 poll 로 받는 최대 메시지 수")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("kafka.consumer.paused", paused, value -> value.get() ? 1 : 0)
+                .description("DB 커넥션 풀이 가득 차서 리스너 컨테이너를 멈췄는지 여부")
+                .register(Metrics.globalRegistry);
+    }
+
+    public int getEffectiveBatchSize() {
+        return effectiveBatchSize.get();
+    }
+
+    /**
+     * batch 하나를 처리한 뒤에 호출합니다.
+     */
+    public void recordBatch(int processedCount, long elapsedNanos) {
+        if (resizing.get()) {
+            return;
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        int size = effectiveBatchSize.get();
+        if (elapsedMs > targetBatchTimeMs && size > minBatchSize) {
+            consecutiveFastBatches.set(0);
+            if (consecutiveSlowBatches.incrementAndGet() < resizeConsecutiveBatches || isCoolingDown()) {
+                return;
+            }
+            int reduced = Math.max(minBatchSize, size / 2);
+            log.warn("메시지 {}개를 처리하는데 {}ms 가 걸려서 batch 크기를 {}개로 줄입니다.", processedCount, elapsedMs, reduced);
+            resize(size, reduced);
+        } else if (elapsedMs < targetBatchTimeMs / 2 && processedCount >= size && size < maxBatchSize) {
+            consecutiveSlowBatches.set(0);
+            if (consecutiveFastBatches.incrementAndGet() < resizeConsecutiveBatches || isCoolingDown()) {
+                return;
+            }
+            int increased = Math.min(maxBatchSize, size * 2);
+            log.info("메시지 {}개를 {}ms 에 처리해서 batch 크기를 {}개로 늘립니다.", processedCount, elapsedMs, increased);
+            resize(size, increased);
+        } else {
+            consecutiveSlowBatches.set(0);
+            consecutiveFastBatches.set(0);
+        }
+    }
+
+    private boolean isCoolingDown() {
+        return System.nanoTime() - lastResizedAt.get() < resizeCooldownNanos;
+    }
+
+    // 여러 컨슈머 스레드가 동시에 호출해도 한번만 바꾸고, 모든 컨테이너가 다시 시작할 때까지 다음 조절을 하지 않는다.
+    private void resize(int size, int newSize) {
+        if (!resizing.compareAndSet(false, true)) {
+            return;
+        }
+        if (!effectiveBatchSize.compareAndSet(size, newSize)) {
+            resizing.set(false);
+            return;
+        }
+        lastResizedAt.set(System.nanoTime());
+        consecutiveSlowBatches.set(0);
+        consecutiveFastBatches.set(0);
+        CompletableFuture<?>[] restarts = mainListenerContainers.getContainers().stream()
+                .map(container -> mainListenerContainers.restart(container, restarted ->
+                        restarted.getContainerProperties().getKafkaConsumerProperties()
+                                .setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(newSize))))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(restarts).whenComplete((result, e) -> resizing.set(false));
+    }
+
+    @Scheduled(fixedDelayString = "${kafka-consumer-config.backpressure-check-interval-ms:1000}")
+    public void checkDbPool() {
+        boolean saturated = isDbPoolSaturated();
+        if (saturated && paused.compareAndSet(false, true)) {
+            log.warn("DB 커넥션 풀이 가득 차서 리스너 컨테이너를 멈춥니다.");
+            mainListenerContainers.getContainers().forEach(MessageListenerContainer::pause);
+        } else if (!saturated && paused.compareAndSet(true, false)) {
+            log.info("DB 커넥션 풀에 여유가 생겨서 리스너 컨테이너를 다시 시작합니다.");
+            mainListenerContainers.getContainers().forEach(MessageListenerContainer::resume);
+        }
+    }
+
+    private boolean isDbPoolSaturated() {
+        double pending = sum(DB_POOL_PENDING_METRIC);
+        double max = sum(DB_POOL_MAX_METRIC);
+        return pending > 0 || (max > 0 && sum(DB_POOL_ACTIVE_METRIC) / max >= dbPoolSaturation);
+    }
+
+    private double sum(String metricName) {
+        return Metrics.globalRegistry.find(metricName).gauges().stream()
+                .mapToDouble(Gauge::value)
+                .sum();
+    }
+}
@@ -0,0 +1,193 @@
+package com.food.ordering.system.kafka.consumer.concurrency;
+
+import com.food.ordering.system.kafka.config.data.KafkaConfigData;
+import com.food.ordering.system.kafka.config.data.KafkaConsumerConfigData;
+import com.food.ordering.system.kafka.consumer.admin.KafkaAdminClientFactory;
+import com.food.ordering.system.kafka.consumer.container.MainListenerContainers;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 컨슈머 그룹의 lag 을 보고 리스너 컨테이너의 concurrency 를 조절합니다.
+ * <ul>
+ *     <li>컨슈머 하나가 맡은 lag 이 elastic-concurrency-scale-up-lag 을 넘으면
+ *     lag 을 감당할 수 있는 만큼 concurrency 를 늘립니다. 최대값은 토픽의 파티션 수(num-of-partitions) 입니다.</li>
+ *     <li>전체 lag 이 elastic-concurrency-scale-down-lag 아래로 내려가면 concurrency-level 까지 한 단계씩 줄입니다.</li>
+ * </ul>
+ * concurrency 는 컨테이너를 다시 시작해야 반영되기 때문에 바꿀 때마다 리밸런스가 한번 일어납니다.
+ * MainListenerContainers 에 등록된 batch 리스너만 조절하고 retry 토픽 리스너는 건드리지 않습니다.
+ * lag 조회는 @Scheduled 스레드를 막지 않도록 전용 스레드에서 하고, 컨테이너는 MainListenerContainers 의 재시작 스레드에서 다시 시작합니다.
+ */
+@Slf4j
+@Component
+public class KafkaListenerConcurrencyScaler {
+
+    private static final long ADMIN_TIMEOUT_SECONDS = 10;
+
+    private final MainListenerContainers mainListenerContainers;
+    private final KafkaAdminClientFactory kafkaAdminClientFactory;
+    private final KafkaConfigData kafkaConfigData;
+    private final KafkaConsumerConfigData kafkaConsumerConfigData;
+    private final Map<String, AtomicLong> lagByListener = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> concurrencyByListener = new ConcurrentHashMap<>();
+    private final AtomicBoolean scaling = new AtomicBoolean(false);
+    private final ExecutorService scalerExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kafka-concurrency-scaler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private AdminClient adminClient;
+
+    public KafkaListenerConcurrencyScaler(MainListenerContainers mainListenerContainers,
+                                          KafkaAdminClientFactory kafkaAdminClientFactory,
+                                          KafkaConfigData kafkaConfigData,
+                                          KafkaConsumerConfigData kafkaConsumerConfigData) {
+        this.mainListenerContainers = mainListenerContainers;
+        this.kafkaAdminClientFactory = kafkaAdminClientFactory;
+        this.kafkaConfigData = kafkaConfigData;
+        this.kafkaConsumerConfigData = kafkaConsumerConfigData;
+    }
+
+    // 이전 조절이 끝나지 않았으면 이번 주기는 건너뛴다.
+    @Scheduled(fixedDelayString = "${kafka-consumer-config.elastic-concurrency-check-interval-ms:30000}")
+    public void scale() {
+        if (!Boolean.TRUE.equals(kafkaConsumerConfigData.getElasticConcurrencyEnabled())
+                || !scaling.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(this::scaleContainers, scalerExecutor)
+                .whenComplete((result, e) -> scaling.set(false));
+    }
+
+    private void scaleContainers() {
+        for (MessageListenerContainer listenerContainer : mainListenerContainers.getContainers()) {
+            if (listenerContainer instanceof ConcurrentMessageListenerContainer<?, ?> container && container.isRunning()) {
+                try {
+                    scale(container);
+                } catch (ExecutionException | TimeoutException e) {
+                    log.warn("{} 리스너의 lag 을 조회하지 못했습니다. {}", container.getListenerId(), e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void scale(ConcurrentMessageListenerContainer<?, ?> container)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        String listenerId = container.getListenerId();
+        long lag = getLag(container.getGroupId());
+        int concurrency = container.getConcurrency();
+        lagByListener.computeIfAbsent(listenerId, this::registerLagGauge).set(lag);
+        concurrencyByListener.computeIfAbsent(listenerId, this::registerConcurrencyGauge).set(concurrency);
+
+        int maxConcurrency = kafkaConfigData.getNumOfPartitions();
+        int minConcurrency = Math.min(kafkaConsumerConfigData.getConcurrencyLevel(), maxConcurrency);
+        int desiredConcurrency = concurrency;
+        if (lag / concurrency > kafkaConsumerConfigData.getElasticConcurrencyScaleUpLag()) {
+            long required = (lag + kafkaConsumerConfigData.getElasticConcurrencyScaleUpLag() - 1)
+                    / kafkaConsumerConfigData.getElasticConcurrencyScaleUpLag();
+            desiredConcurrency = (int) Math.min(maxConcurrency, required);
+        } else if (lag < kafkaConsumerConfigData.getElasticConcurrencyScaleDownLag()) {
+            desiredConcurrency = Math.max(minConcurrency, concurrency - 1);
+        }
+        if (desiredConcurrency == concurrency) {
+            return;
+        }
+
+        String direction = desiredConcurrency > concurrency ? "up" : "down";
+        log.info("{} 리스너의 lag 이 {} 이므로 concurrency 를 {} 에서 {} 로 바꿉니다.",
+                listenerId, lag, concurrency, desiredConcurrency);
+        int concurrencyToApply = desiredConcurrency;
+        try {
+            // 다시 시작이 끝날 때까지 기다려서 다음 lag 조회가 바뀐 concurrency 를 보게 한다.
+            mainListenerContainers.restart(container, restarted ->
+                            ((ConcurrentMessageListenerContainer<?, ?>) restarted).setConcurrency(concurrencyToApply))
+                    .join();
+        } catch (CompletionException e) {
+            // 실패 로그는 MainListenerContainers 가 남긴다.
+            return;
+        }
+        concurrencyByListener.get(listenerId).set(concurrencyToApply);
+        Metrics.counter("kafka.consumer.concurrency.scaling", "listener", listenerId, "direction", direction)
+                .increment();
+    }
+
+    long getLag(String groupId) throws ExecutionException, InterruptedException, TimeoutException {
+        Map<TopicPartition, OffsetAndMetadata> committedOffsets = getAdminClient()
+                .listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (committedOffsets.isEmpty()) {
+            return 0;
+        }
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets = getAdminClient()
+                .listOffsets(committedOffsets.keySet().stream()
+                        .collect(Collectors.toMap(topicPartition -> topicPartition, topicPartition -> OffsetSpec.latest())))
+                .all()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        return committedOffsets.entrySet().stream()
+                .filter(entry -> entry.getValue() != null && endOffsets.containsKey(entry.getKey()))
+                .mapToLong(entry -> Math.max(0, endOffsets.get(entry.getKey()).offset() - entry.getValue().offset()))
+                .sum();
+    }
+
+    private synchronized AdminClient getAdminClient() {
+        if (adminClient == null) {
+            adminClient = kafkaAdminClientFactory.create();
+        }
+        return adminClient;
+    }
+
+    private AtomicLong registerLagGauge(String listenerId) {
+        AtomicLong lag = new AtomicLong();
+        Gauge.builder("kafka.consumer.lag", lag, AtomicLong::get)
+                .description("컨슈머 그룹이 아직 처리하지 않은 메시지 수")
+                .tag("listener", listenerId)
+                .register(Metrics.globalRegistry);
+        return lag;
+    }
+
+    private AtomicInteger registerConcurrencyGauge(String listenerId) {
+        AtomicInteger concurrency = new AtomicInteger();
+        Gauge.builder("kafka.consumer.concurrency", concurrency, AtomicInteger::get)
+                .description("리스너 컨테이너의 컨슈머 수")
+                .tag("listener", listenerId)
+                .register(Metrics.globalRegistry);
+        return concurrency;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        scalerExecutor.shutdownNow();
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+}
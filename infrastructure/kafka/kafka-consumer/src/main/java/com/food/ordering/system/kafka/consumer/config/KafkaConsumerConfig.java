@@ -2,19 +2,52 @@ package com.food.ordering.system.kafka.consumer.config;
 
 import com.food.ordering.system.kafka.config.data.KafkaConfigData;
 import com.food.ordering.system.kafka.config.data.KafkaConsumerConfigData;
+import com.food.ordering.system.kafka.config.data.KafkaProducerConfigData;
+import com.food.ordering.system.kafka.consumer.container.MainListenerContainers;
+import com.food.ordering.system.kafka.consumer.deserializer.AvroSchemaCatalog;
+import com.food.ordering.system.kafka.consumer.deserializer.ReusableAvroMessageDeserializer;
+import com.food.ordering.system.kafka.consumer.deserializer.SingleObjectAvroDeserializer;
+import com.food.ordering.system.kafka.consumer.metrics.KafkaConsumerMetricsInterceptor;
+import com.food.ordering.system.kafka.consumer.retry.RetryTopicDelayInterceptor;
+import com.food.ordering.system.kafka.consumer.retry.RetryTopicResolver;
+import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
 import lombok.RequiredArgsConstructor;
 import org.apache.avro.specific.SpecificRecordBase;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Utils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.KafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.CompositeRecordInterceptor;
 import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.ListenerContainerPauseService;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Configuration
@@ -23,15 +56,22 @@ public class KafkaConsumerConfig<K extends Serializable, V extends SpecificRecor
 
     private final KafkaConfigData kafkaConfigData;
     private final KafkaConsumerConfigData kafkaConsumerConfigData;
+    private final KafkaProducerConfigData kafkaProducerConfigData;
+    private final RetryTopicResolver retryTopicResolver;
+    private final MainListenerContainers mainListenerContainers;
 
     @Bean
     public Map<String, Object> consumerConfigs(){
         return new HashMap<>(){{
             put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfigData.getBootstrapServers());
+            putAll(kafkaConfigData.getSecurityProperties());
             put(kafkaConfigData.getSchemaRegistryUrlKey(), kafkaConfigData.getSchemaRegistryUrl());
 
-            put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, kafkaConsumerConfigData.getKeyDeserializer());
-            put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, kafkaConsumerConfigData.getValueDeserializer());
+            // 역직렬화에 실패한 메시지가 partition 을 막지 않도록 ErrorHandlingDeserializer 로 감싸서 에러 핸들러로 넘긴다.
+            put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+            put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, kafkaConsumerConfigData.getKeyDeserializer());
+            put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+            put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, kafkaConsumerConfigData.getValueDeserializer());
             put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, kafkaConsumerConfigData.getAutoOffsetReset());
             put(kafkaConsumerConfigData.getSpecificAvroReaderKey(), kafkaConsumerConfigData.getSpecificAvroReader());
             put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, kafkaConsumerConfigData.getSessionTimeoutMs());
@@ -43,7 +83,24 @@ public class KafkaConsumerConfig<K extends Serializable, V extends SpecificRecor
     }
 
     @Bean
+    @SuppressWarnings("unchecked")
     public ConsumerFactory<K, V> consumerFactory(){
+        if (Boolean.TRUE.equals(kafkaConfigData.getRegistryFreeSerdeEnabled())) {
+            // 스키마는 레지스트리 대신 kafka-model 에 컴파일된 클래스에서 찾는다.
+            Deserializer<V> valueDeserializer = (Deserializer<V>) (Deserializer<?>) new ErrorHandlingDeserializer<>(
+                    new SingleObjectAvroDeserializer(new AvroSchemaCatalog(kafkaConfigData.getAvroModelPackage())));
+            return new DefaultKafkaConsumerFactory<>(consumerConfigs(), null, valueDeserializer);
+        }
+        if (Boolean.TRUE.equals(kafkaConsumerConfigData.getReusableDeserializerEnabled())) {
+            // 레지스트리 클라이언트도 KafkaAvroDeserializer 와 같은 컨슈머 설정으로 만들어서 인증, SSL 설정을 같이 쓴다.
+            CachedSchemaRegistryClient schemaRegistryClient = new CachedSchemaRegistryClient(
+                    kafkaConfigData.getSchemaRegistryUrl(),
+                    AbstractKafkaSchemaSerDeConfig.MAX_SCHEMAS_PER_SUBJECT_DEFAULT,
+                    consumerConfigs());
+            Deserializer<V> valueDeserializer = (Deserializer<V>) (Deserializer<?>) new ErrorHandlingDeserializer<>(
+                    new ReusableAvroMessageDeserializer(schemaRegistryClient));
+            return new DefaultKafkaConsumerFactory<>(consumerConfigs(), null, valueDeserializer);
+        }
         return new DefaultKafkaConsumerFactory<>(consumerConfigs());
     }
 
@@ -55,9 +112,111 @@ public class KafkaConsumerConfig<K extends Serializable, V extends SpecificRecor
                 setBatchListener(kafkaConsumerConfigData.getBatchListener());
                 setConcurrency(kafkaConsumerConfigData.getConcurrencyLevel());
                 setAutoStartup(kafkaConsumerConfigData.getAutoStartUp());
+                setCommonErrorHandler(kafkaConsumerErrorHandler());
+                setBatchInterceptor(new KafkaConsumerMetricsInterceptor<>());
+                // backpressure 와 concurrency 조절은 이 팩토리로 만든 컨테이너에만 적용한다.
+                setContainerCustomizer(mainListenerContainers::register);
                 getContainerProperties().setPollTimeout(kafkaConsumerConfigData.getPollTimeoutMs());
+                // KeyOrderedBatchDispatcher 가 batch 를 모두 처리한 뒤에 커밋한다.
+                getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
             }
         };
     }
 
+    /**
+     * retry 토픽은 메시지를 하나씩 지연 시간이 지난 뒤에 처리한다.
+     * 리스너는 retry 단계마다 따로 두기 때문에 오래 기다리는 retry-3 메시지가 retry-1 메시지를 막지 않는다.
+     */
+    @Bean
+    public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<K, V>> retryKafkaListenerContainerFactory(){
+        ListenerContainerPauseService listenerContainerPauseService = retryListenerContainerPauseService();
+        return new ConcurrentKafkaListenerContainerFactory<K, V>() {
+            {
+                setConsumerFactory(consumerFactory());
+                setBatchListener(false);
+                setConcurrency(1);
+                setAutoStartup(kafkaConsumerConfigData.getAutoStartUp());
+                setCommonErrorHandler(kafkaConsumerErrorHandler());
+                // 지연 시간이 지난 메시지만 처리 시간을 잰다.
+                setContainerCustomizer(container -> container.setRecordInterceptor(new CompositeRecordInterceptor<>(
+                        new RetryTopicDelayInterceptor<>(container, listenerContainerPauseService),
+                        new KafkaConsumerMetricsInterceptor<>())));
+                getContainerProperties().setPollTimeout(kafkaConsumerConfigData.getPollTimeoutMs());
+            }
+        };
+    }
+
+    // pause 한 retry 토픽의 partition 을 지연 시간이 지나면 resume 한다.
+    // TaskScheduler 를 빈으로 등록하면 @Scheduled 작업도 그 스케줄러를 쓰게 되므로 여기서만 쓰는 스케줄러를 만든다.
+    @Bean
+    public ListenerContainerPauseService retryListenerContainerPauseService(){
+        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setThreadNamePrefix("retry-topic-resume-");
+        taskScheduler.setDaemon(true);
+        taskScheduler.initialize();
+        return new ListenerContainerPauseService(null, taskScheduler);
+    }
+
+    /**
+     * batch 리스너가 BatchListenerFailedException 으로 알려준 메시지 앞까지 커밋하고, 실패한 메시지는 retry 토픽이나 dlt 로 보낸 뒤 나머지를 다시 처리한다.
+     * 재시도는 retry 토픽에서 하므로 여기서는 기다리지 않고 바로 보낸다.
+     * retry 토픽에서 지연 시간을 기다리는 KafkaBackoffException 은 실패로 세지 않고 메시지 위치로 seek 만 한다.
+     */
+    @Bean
+    public DefaultErrorHandler kafkaConsumerErrorHandler(){
+        DeadLetterPublishingRecoverer deadLetterPublishingRecoverer =
+                new DeadLetterPublishingRecoverer(retryKafkaTemplate(), retryTopicResolver::resolve) {
+                    // DTO 나 single object encoding 으로 역직렬화 한 메시지는 raw-value 헤더에 담아둔 원본을 그대로 보낸다.
+                    @Override
+                    protected ProducerRecord<Object, Object> createProducerRecord(ConsumerRecord<?, ?> record,
+                                                                                  TopicPartition topicPartition,
+                                                                                  Headers headers,
+                                                                                  byte[] key,
+                                                                                  byte[] value) {
+                        Header rawValue = headers.lastHeader(ReusableAvroMessageDeserializer.RAW_VALUE_HEADER);
+                        if (rawValue != null) {
+                            headers.remove(ReusableAvroMessageDeserializer.RAW_VALUE_HEADER);
+                            if (value == null) {
+                                value = rawValue.value();
+                            }
+                        }
+                        return super.createProducerRecord(record, topicPartition, headers, key, value);
+                    }
+                };
+        deadLetterPublishingRecoverer.setHeadersFunction(retryTopicResolver::headers);
+        return new DefaultErrorHandler(deadLetterPublishingRecoverer, new FixedBackOff(0L, 0L));
+    }
+
+    // 역직렬화에 실패한 메시지는 원본 byte[] 그대로, 나머지는 avro 로 다시 직렬화 해서 보낸다.
+    @Bean
+    public ProducerFactory<Object, Object> retryProducerFactory(){
+        Map<String, Object> retryProducerConfig = new HashMap<>();
+        retryProducerConfig.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfigData.getBootstrapServers());
+        retryProducerConfig.putAll(kafkaConfigData.getSecurityProperties());
+        retryProducerConfig.put(kafkaConfigData.getSchemaRegistryUrlKey(), kafkaConfigData.getSchemaRegistryUrl());
+        retryProducerConfig.put(kafkaConfigData.getValueSubjectNameStrategyKey(), kafkaConfigData.getValueSubjectNameStrategy());
+        retryProducerConfig.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, kafkaProducerConfigData.getKeySerializerClass());
+        retryProducerConfig.put(ProducerConfig.ACKS_CONFIG, kafkaProducerConfigData.getAcks());
+
+        Map<Class<?>, Serializer<?>> valueSerializers = new LinkedHashMap<>();
+        valueSerializers.put(byte[].class, new ByteArraySerializer());
+        valueSerializers.put(SpecificRecordBase.class, newSerializer(kafkaProducerConfigData.getValueSerializerClass()));
+        DefaultKafkaProducerFactory<Object, Object> retryProducerFactory = new DefaultKafkaProducerFactory<>(retryProducerConfig);
+        retryProducerFactory.setValueSerializer(new DelegatingByTypeSerializer(valueSerializers, true));
+        return retryProducerFactory;
+    }
+
+    @Bean
+    public KafkaTemplate<Object, Object> retryKafkaTemplate(){
+        return new KafkaTemplate<>(retryProducerFactory());
+    }
+
+    // 설정은 프로듀서 팩토리가 DelegatingByTypeSerializer 를 통해 넘겨준다.
+    private Serializer<?> newSerializer(String serializerClassName) {
+        try {
+            return Utils.newInstance(serializerClassName, Serializer.class);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("serializer 클래스를 찾을 수 없습니다: " + serializerClassName, e);
+        }
+    }
 }
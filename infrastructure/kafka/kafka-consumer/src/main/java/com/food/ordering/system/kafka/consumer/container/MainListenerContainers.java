@@ -0,0 +1,73 @@
+package com.food.ordering.system.kafka.consumer.container;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * kafkaListenerContainerFactory 로 만든, 원래 토픽을 batch 로 받는 리스너 컨테이너를 모아둡니다.
+ * backpressure 와 concurrency 조절은 이 컨테이너에만 적용하고 retry 토픽 리스너는 건드리지 않습니다.
+ * 컨테이너를 멈추고 다시 시작하는 일은 컨슈머 스레드나 @Scheduled 스레드를 막지 않도록 전용 스레드 하나에서 차례로 합니다.
+ */
+@Slf4j
+@Component
+public class MainListenerContainers {
+
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    private final Set<String> listenerIds = ConcurrentHashMap.newKeySet();
+    private final ExecutorService restartExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kafka-listener-restart");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MainListenerContainers(KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry) {
+        this.kafkaListenerEndpointRegistry = kafkaListenerEndpointRegistry;
+    }
+
+    /**
+     * kafkaListenerContainerFactory 의 containerCustomizer 에서 호출합니다.
+     */
+    public void register(MessageListenerContainer container) {
+        listenerIds.add(container.getListenerId());
+    }
+
+    public Collection<MessageListenerContainer> getContainers() {
+        return kafkaListenerEndpointRegistry.getListenerContainersMatching(listenerIds::contains);
+    }
+
+    /**
+     * 컨테이너를 멈춘 뒤 change 로 설정을 바꾸고 다시 시작합니다. 멈춰있는 컨테이너는 설정만 바꿉니다.
+     */
+    public CompletableFuture<Void> restart(MessageListenerContainer container, Consumer<MessageListenerContainer> change) {
+        return CompletableFuture.runAsync(() -> {
+            boolean running = container.isRunning();
+            if (running) {
+                container.stop();
+            }
+            change.accept(container);
+            if (running) {
+                container.start();
+            }
+        }, restartExecutor).whenComplete((result, e) -> {
+            if (e != null) {
+                log.error("{} 리스너 컨테이너를 다시 시작하지 못했습니다.", container.getListenerId(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        restartExecutor.shutdownNow();
+    }
+}
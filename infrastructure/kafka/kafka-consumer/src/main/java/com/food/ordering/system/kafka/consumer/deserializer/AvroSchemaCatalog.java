@@ -0,0 +1,41 @@
+package com.food.ordering.system.kafka.consumer.deserializer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 패키지 안에 컴파일된 avro 레코드 클래스의 스키마를 fingerprint(CRC-64-AVRO) 로 찾을 수 있게 모아둡니다.
+ */
+@Slf4j
+public class AvroSchemaCatalog {
+
+    private final Map<Long, Schema> schemas = new HashMap<>();
+
+    public AvroSchemaCatalog(String basePackage) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AssignableTypeFilter(SpecificRecordBase.class));
+        for (BeanDefinition beanDefinition : scanner.findCandidateComponents(basePackage)) {
+            Class<?> recordClass = ClassUtils.resolveClassName(beanDefinition.getBeanClassName(), getClass().getClassLoader());
+            Schema schema = SpecificData.get().getSchema(recordClass);
+            schemas.put(SchemaNormalization.parsingFingerprint64(schema), schema);
+        }
+        log.info("{} 패키지에서 avro 스키마 {}개를 찾았습니다.", basePackage, schemas.size());
+    }
+
+    /**
+     * @return fingerprint 에 해당하는 스키마, 없으면 null
+     */
+    public Schema getSchema(long fingerprint) {
+        return schemas.get(fingerprint);
+    }
+}
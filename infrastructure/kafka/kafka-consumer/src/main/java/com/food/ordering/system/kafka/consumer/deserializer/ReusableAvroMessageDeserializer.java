@@ -0,0 +1,105 @@
+package com.food.ordering.system.kafka.consumer.deserializer;
+
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 스키마 레지스트리 형식(magic byte + 4바이트 스키마 id + avro binary)의 메시지를 avro 모델로 역직렬화 합니다.
+ * 컨슈머 스레드마다 BinaryDecoder 와 스키마 id 별 DatumReader 를 하나씩 두고 재사용해서 메시지마다 생기는 객체를 줄입니다.
+ * writer 스키마는 SchemaRegistryClient 로 가져오기 때문에 레지스트리의 인증, SSL 설정을 그대로 따릅니다.
+ * retry 토픽이나 dlt 로 원본 그대로 다시 보낼 수 있도록 원본 byte[] 를 raw-value 헤더에 복사 없이 담아둡니다.
+ * <p>
+ * 서비스 DTO 가 아니라 avro 모델을 돌려줍니다. reusable-deserializer-enabled 를 끄면 KafkaAvroDeserializer 가 avro 모델을 돌려주기 때문에,
+ * 여기서 DTO 를 돌려주면 리스너가 설정에 따라 다른 타입을 받게 됩니다. DTO 변환은 지금처럼 각 서비스의 messaging mapper 가 합니다.
+ */
+public class ReusableAvroMessageDeserializer implements Deserializer<SpecificRecordBase> {
+
+    public static final String RAW_VALUE_HEADER = "raw-value";
+
+    private static final byte MAGIC_BYTE = 0x0;
+    private static final int HEADER_SIZE = 1 + Integer.BYTES;
+
+    private final SchemaRegistryClient schemaRegistryClient;
+    private final ThreadLocal<DecodeContext> decodeContext = ThreadLocal.withInitial(DecodeContext::new);
+
+    public ReusableAvroMessageDeserializer(SchemaRegistryClient schemaRegistryClient) {
+        this.schemaRegistryClient = schemaRegistryClient;
+    }
+
+    @Override
+    public SpecificRecordBase deserialize(String topic, Headers headers, byte[] data) {
+        SpecificRecordBase message = deserialize(topic, data);
+        if (message != null) {
+            headers.add(RAW_VALUE_HEADER, data);
+        }
+        return message;
+    }
+
+    @Override
+    public SpecificRecordBase deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length < HEADER_SIZE || data[0] != MAGIC_BYTE) {
+            throw new SerializationException("스키마 레지스트리 형식의 메시지가 아닙니다. topic: " + topic);
+        }
+        int schemaId = ByteBuffer.wrap(data, 1, Integer.BYTES).getInt();
+
+        DecodeContext context = decodeContext.get();
+        SpecificDatumReader<SpecificRecordBase> datumReader =
+                context.datumReaders.computeIfAbsent(schemaId, this::createDatumReader);
+        context.decoder = DecoderFactory.get().binaryDecoder(data, HEADER_SIZE, data.length - HEADER_SIZE, context.decoder);
+        try {
+            // 리스너가 레코드를 배치로 모아두기 때문에 레코드 객체는 재사용하지 않는다.
+            return datumReader.read(null, context.decoder);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("avro 메시지를 디코딩하지 못했습니다. topic: " + topic + " schema id: " + schemaId, e);
+        }
+    }
+
+    private SpecificDatumReader<SpecificRecordBase> createDatumReader(int schemaId) {
+        Schema writerSchema = fetchSchema(schemaId);
+        Class<?> recordClass = SpecificData.get().getClass(writerSchema);
+        if (recordClass == null) {
+            throw new SerializationException("스키마에 해당하는 avro 클래스가 없습니다: " + writerSchema.getFullName());
+        }
+        // 클래스마다 decimal, uuid, timestamp 변환이 등록된 SpecificData 를 써야 한다.
+        SpecificData specificData = SpecificData.getForClass(recordClass);
+        return new SpecificDatumReader<>(writerSchema, specificData.getSchema(recordClass), specificData);
+    }
+
+    private Schema fetchSchema(int schemaId) {
+        // CachedSchemaRegistryClient 가 id 별로 스키마를 캐시하기 때문에 레지스트리는 스키마마다 한번만 조회한다.
+        ParsedSchema schema;
+        try {
+            schema = schemaRegistryClient.getSchemaById(schemaId);
+        } catch (IOException | RestClientException e) {
+            throw new SerializationException("스키마 " + schemaId + " 를 가져오지 못했습니다.", e);
+        }
+        if (!(schema instanceof AvroSchema avroSchema)) {
+            throw new SerializationException("스키마 " + schemaId + " 는 avro 스키마가 아닙니다: " + schema.schemaType());
+        }
+        return avroSchema.rawSchema();
+    }
+
+    private static class DecodeContext {
+        private final Map<Integer, SpecificDatumReader<SpecificRecordBase>> datumReaders = new HashMap<>();
+        private BinaryDecoder decoder;
+    }
+}
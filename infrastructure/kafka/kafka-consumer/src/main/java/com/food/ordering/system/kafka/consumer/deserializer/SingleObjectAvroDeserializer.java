@@ -0,0 +1,82 @@
+package com.food.ordering.system.kafka.consumer.deserializer;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * avro single object encoding(0xC3 0x01 + 8바이트 스키마 fingerprint + avro binary) 메시지를 스키마 레지스트리 없이 역직렬화 합니다.
+ * writer 스키마는 AvroSchemaCatalog 가 kafka-model 에 컴파일된 클래스에서 fingerprint 로 찾습니다.
+ */
+public class SingleObjectAvroDeserializer implements Deserializer<SpecificRecordBase> {
+
+    private static final byte MARKER_FIRST = (byte) 0xC3;
+    private static final byte MARKER_SECOND = (byte) 0x01;
+    private static final int HEADER_SIZE = 2 + Long.BYTES;
+
+    private final AvroSchemaCatalog avroSchemaCatalog;
+    private final ThreadLocal<DecodeContext> decodeContext = ThreadLocal.withInitial(DecodeContext::new);
+
+    public SingleObjectAvroDeserializer(AvroSchemaCatalog avroSchemaCatalog) {
+        this.avroSchemaCatalog = avroSchemaCatalog;
+    }
+
+    @Override
+    public SpecificRecordBase deserialize(String topic, Headers headers, byte[] data) {
+        SpecificRecordBase message = deserialize(topic, data);
+        if (message != null) {
+            // retry 토픽이나 dlt 로는 다시 직렬화 하지 않고 원본을 보낸다.
+            headers.add(ReusableAvroMessageDeserializer.RAW_VALUE_HEADER, data);
+        }
+        return message;
+    }
+
+    @Override
+    public SpecificRecordBase deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length < HEADER_SIZE || data[0] != MARKER_FIRST || data[1] != MARKER_SECOND) {
+            throw new SerializationException("avro single object encoding 형식의 메시지가 아닙니다. topic: " + topic);
+        }
+        long fingerprint = ByteBuffer.wrap(data, 2, Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).getLong();
+
+        DecodeContext context = decodeContext.get();
+        SpecificDatumReader<SpecificRecordBase> datumReader =
+                context.datumReaders.computeIfAbsent(fingerprint, this::createDatumReader);
+        context.decoder = DecoderFactory.get().binaryDecoder(data, HEADER_SIZE, data.length - HEADER_SIZE, context.decoder);
+        try {
+            // 리스너가 레코드를 배치로 모아두기 때문에 레코드 객체는 재사용하지 않는다.
+            return datumReader.read(null, context.decoder);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("avro 메시지를 디코딩하지 못했습니다. topic: " + topic + " fingerprint: " + fingerprint, e);
+        }
+    }
+
+    private SpecificDatumReader<SpecificRecordBase> createDatumReader(long fingerprint) {
+        Schema writerSchema = avroSchemaCatalog.getSchema(fingerprint);
+        if (writerSchema == null) {
+            throw new SerializationException("fingerprint " + fingerprint + " 에 해당하는 avro 스키마가 없습니다.");
+        }
+        Class<?> recordClass = SpecificData.get().getClass(writerSchema);
+        SpecificData specificData = SpecificData.getForClass(recordClass);
+        return new SpecificDatumReader<>(writerSchema, specificData.getSchema(recordClass), specificData);
+    }
+
+    private static class DecodeContext {
+        private final Map<Long, SpecificDatumReader<SpecificRecordBase>> datumReaders = new HashMap<>();
+        private BinaryDecoder decoder;
+    }
+}
@@ -0,0 +1,133 @@
+package com.food.ordering.system.kafka.consumer.dispatcher;
+
+import com.food.ordering.system.kafka.config.data.KafkaConsumerConfigData;
+import com.food.ordering.system.kafka.consumer.backpressure.KafkaConsumerBackpressureController;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * batch 리스너가 받은 메시지를 key(saga id) 별로 나눠서 병렬로 처리합니다.
+ * <ul>
+ *     <li>같은 key 의 메시지는 받은 순서대로 하나의 스레드에서 처리합니다.</li>
+ *     <li>다른 key 의 메시지는 dispatcher-thread-pool-size 개의 스레드에서 동시에 처리합니다.</li>
+ *     <li>스레드가 모두 사용중이면 리스너 스레드가 직접 처리해서 처리 속도를 맞춥니다.</li>
+ * </ul>
+ * dispatch 는 batch 의 모든 메시지가 끝난 뒤에 acknowledge 하기 때문에 offset 은 batch 전체가 끝난 뒤에 커밋됩니다.
+ * 처리 시간은 KafkaConsumerBackpressureController 에 알려주고, 컨트롤러는 그에 맞춰 한번에 받을 메시지 수를 조절합니다.
+ * 하나라도 예외가 발생하면 해당 key 의 남은 메시지는 처리하지 않고, 모든 key 가 끝난 뒤 가장 앞에서 실패한 메시지의 위치로
+ * BatchListenerFailedException 을 던집니다. 에러 핸들러는 그 앞까지 커밋하고 실패한 메시지만 retry 토픽으로 보낸 뒤 나머지를 다시 처리합니다.
+ * 역직렬화에 실패해서 null 로 들어온 메시지도 같은 방법으로 처리합니다.
+ * <p>
+ * offset 은 partition 마다 연속으로만 커밋할 수 있어서, 실패한 메시지 뒤에 있던 다른 key 의 메시지는 이미 성공했더라도 다시 전달됩니다.
+ * 그래서 messageHandler 는 같은 메시지를 두번 처리해도 결과가 같아야 합니다.
+ * saga 리스너들은 outbox 와 주문 상태로 이미 처리한 메시지를 걸러내기 때문에 이 조건을 만족합니다.
+ */
+@Slf4j
+@Component
+public class KeyOrderedBatchDispatcher {
+
+    private final ThreadPoolExecutor threadPoolExecutor;
+    private final int threadPoolSize;
+    private final KafkaConsumerBackpressureController kafkaConsumerBackpressureController;
+
+    public KeyOrderedBatchDispatcher(KafkaConsumerConfigData kafkaConsumerConfigData,
+                                     KafkaConsumerBackpressureController kafkaConsumerBackpressureController) {
+        this.kafkaConsumerBackpressureController = kafkaConsumerBackpressureController;
+        Integer configuredThreadPoolSize = kafkaConsumerConfigData.getDispatcherThreadPoolSize();
+        this.threadPoolSize = configuredThreadPoolSize == null ? 1 : Math.max(1, configuredThreadPoolSize);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.threadPoolExecutor = new ThreadPoolExecutor(
+                threadPoolSize,
+                threadPoolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "kafka-consumer-dispatcher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * @param acknowledgment retry 토픽처럼 메시지를 하나씩 받는 리스너는 null 을 넘기고, 이때는 처리 시간을 batch 크기 조절에 쓰지 않는다.
+     */
+    public <T> void dispatch(List<T> messages,
+                             List<String> keys,
+                             Acknowledgment acknowledgment,
+                             Consumer<T> messageHandler) {
+        int batchSize = messages.size();
+        long startedAt = System.nanoTime();
+
+        Map<String, List<Integer>> indexesByKey = new LinkedHashMap<>();
+        for (int i = 0; i < batchSize; i++) {
+            indexesByKey.computeIfAbsent(keys.get(i), key -> new ArrayList<>()).add(i);
+        }
+
+        NavigableMap<Integer, RuntimeException> failures = new ConcurrentSkipListMap<>();
+        if (threadPoolSize == 1 || indexesByKey.size() == 1) {
+            indexesByKey.values().forEach(indexes -> process(messages, indexes, messageHandler, failures));
+        } else {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(indexesByKey.size());
+            indexesByKey.values().forEach(indexes -> futures.add(CompletableFuture.runAsync(
+                    () -> process(messages, indexes, messageHandler, failures), threadPoolExecutor)));
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        }
+        if (acknowledgment != null) {
+            kafkaConsumerBackpressureController.recordBatch(batchSize, System.nanoTime() - startedAt);
+        }
+
+        if (!failures.isEmpty()) {
+            Map.Entry<Integer, RuntimeException> firstFailure = failures.firstEntry();
+            log.error("메시지 {}개 중 {}개 key 의 처리를 실패했습니다. {}번째 메시지부터 다시 처리합니다.",
+                    messages.size(), failures.size(), firstFailure.getKey());
+            throw new BatchListenerFailedException(firstFailure.getValue().getMessage(), firstFailure.getValue(), firstFailure.getKey());
+        }
+        log.info("메시지 {}개를 key {}개로 나눠서 처리했습니다.", batchSize, indexesByKey.size());
+
+        if (acknowledgment != null) {
+            acknowledgment.acknowledge();
+        }
+    }
+
+    private <T> void process(List<T> messages,
+                             List<Integer> indexes,
+                             Consumer<T> messageHandler,
+                             Map<Integer, RuntimeException> failures) {
+        for (Integer index : indexes) {
+            T message = messages.get(index);
+            try {
+                if (message == null) {
+                    throw new IllegalStateException("역직렬화에 실패한 메시지입니다.");
+                }
+                messageHandler.accept(message);
+            } catch (RuntimeException e) {
+                // 같은 key 의 뒤 메시지를 먼저 처리하면 순서가 바뀌므로 남은 메시지는 처리하지 않는다.
+                failures.put(index, e);
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        threadPoolExecutor.shutdown();
+    }
+}
@@ -0,0 +1,177 @@
+package com.food.ordering.system.kafka.consumer.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.KafkaBackoffException;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 컨슈머가 받은 메시지의 지연 시간을 topic, listener 별 히스토그램으로 기록합니다.
+ * <ul>
+ *     <li>kafka.consumer.record.wait : 메시지의 timestamp 부터 poll 로 받을 때까지 (Kafka 에서 기다린 시간)</li>
+ *     <li>kafka.consumer.record.process : poll 로 받은 뒤 리스너가 처리를 끝낼 때까지 (DB 를 포함한 처리 시간)</li>
+ *     <li>kafka.consumer.batch.size : listener 가 한번의 poll 로 받은 메시지 수</li>
+ *     <li>kafka.consumer.partition.lag : poll 시점에 partition 별로 남아있는 메시지 수</li>
+ * </ul>
+ * listener 태그는 컨슈머 그룹 id 로, 이 프로젝트의 리스너는 id 와 그룹 id 가 같습니다.
+ * 에러 핸들러가 seek 해서 다시 받은 메시지는 wait 이 한번 더 기록됩니다.
+ * 앞선 인터셉터가 예외를 던져서 이 인터셉터의 intercept 가 불리지 않은 메시지와,
+ * retry 지연 시간을 기다리려고 던진 KafkaBackoffException 은 처리 시간을 기록하지 않습니다.
+ */
+public class KafkaConsumerMetricsInterceptor<K, V> implements BatchInterceptor<K, V>, RecordInterceptor<K, V> {
+
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+
+    private final ThreadLocal<Long> receivedAt = new ThreadLocal<>();
+    private final Map<String, Timer> waitTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> processTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> batchSizeSummaries = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> partitionLagSummaries = new ConcurrentHashMap<>();
+
+    @Override
+    public ConsumerRecords<K, V> intercept(ConsumerRecords<K, V> records, Consumer<K, V> consumer) {
+        long now = System.currentTimeMillis();
+        receivedAt.set(System.nanoTime());
+        String listenerId = getListenerId(consumer);
+        for (TopicPartition topicPartition : records.partitions()) {
+            for (ConsumerRecord<K, V> record : records.records(topicPartition)) {
+                recordWait(record, listenerId, now);
+            }
+            recordLag(topicPartition, listenerId, consumer);
+        }
+        String topics = records.partitions().stream()
+                .map(TopicPartition::topic)
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+        batchSizeSummary(topics, listenerId).record(records.count());
+        return records;
+    }
+
+    @Override
+    public void success(ConsumerRecords<K, V> records, Consumer<K, V> consumer) {
+        recordProcess(records, consumer, SUCCESS);
+    }
+
+    @Override
+    public void failure(ConsumerRecords<K, V> records, Exception exception, Consumer<K, V> consumer) {
+        if (isBackoff(exception)) {
+            receivedAt.remove();
+            return;
+        }
+        recordProcess(records, consumer, FAILURE);
+    }
+
+    @Override
+    public ConsumerRecord<K, V> intercept(ConsumerRecord<K, V> record, Consumer<K, V> consumer) {
+        String listenerId = getListenerId(consumer);
+        recordWait(record, listenerId, System.currentTimeMillis());
+        receivedAt.set(System.nanoTime());
+        batchSizeSummary(record.topic(), listenerId).record(1);
+        recordLag(new TopicPartition(record.topic(), record.partition()), listenerId, consumer);
+        return record;
+    }
+
+    @Override
+    public void success(ConsumerRecord<K, V> record, Consumer<K, V> consumer) {
+        Long startedAt = receivedAt.get();
+        receivedAt.remove();
+        recordProcess(record, getListenerId(consumer), SUCCESS, startedAt);
+    }
+
+    @Override
+    public void failure(ConsumerRecord<K, V> record, Exception exception, Consumer<K, V> consumer) {
+        Long startedAt = receivedAt.get();
+        receivedAt.remove();
+        if (!isBackoff(exception)) {
+            recordProcess(record, getListenerId(consumer), FAILURE, startedAt);
+        }
+    }
+
+    private void recordProcess(ConsumerRecords<K, V> records, Consumer<K, V> consumer, String outcome) {
+        Long startedAt = receivedAt.get();
+        receivedAt.remove();
+        String listenerId = getListenerId(consumer);
+        records.forEach(record -> recordProcess(record, listenerId, outcome, startedAt));
+    }
+
+    // 같은 컨슈머 스레드의 이전 메시지 시각으로 기록하지 않도록 intercept 가 불린 경우에만 기록한다.
+    private void recordProcess(ConsumerRecord<K, V> record, String listenerId, String outcome, Long startedAt) {
+        if (startedAt != null) {
+            processTimer(record.topic(), listenerId, outcome).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean isBackoff(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof KafkaBackoffException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void recordWait(ConsumerRecord<K, V> record, String listenerId, long now) {
+        if (record.timestamp() >= 0) {
+            waitTimer(record.topic(), listenerId).record(Math.max(0, now - record.timestamp()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void recordLag(TopicPartition topicPartition, String listenerId, Consumer<K, V> consumer) {
+        consumer.currentLag(topicPartition).ifPresent(lag ->
+                partitionLagSummaries.computeIfAbsent(listenerId + "|" + topicPartition,
+                        key -> DistributionSummary.builder("kafka.consumer.partition.lag")
+                                .description("poll 시점에 partition 에 남아있는 메시지 수")
+                                .tag("topic", topicPartition.topic())
+                                .tag("partition", String.valueOf(topicPartition.partition()))
+                                .tag("listener", listenerId)
+                                .publishPercentileHistogram()
+                                .register(Metrics.globalRegistry))
+                        .record(lag));
+    }
+
+    private Timer waitTimer(String topic, String listenerId) {
+        return waitTimers.computeIfAbsent(listenerId + "|" + topic, key -> Timer.builder("kafka.consumer.record.wait")
+                .description("메시지가 만들어진 뒤 컨슈머가 받을 때까지 걸린 시간")
+                .tag("topic", topic)
+                .tag("listener", listenerId)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry));
+    }
+
+    private Timer processTimer(String topic, String listenerId, String outcome) {
+        return processTimers.computeIfAbsent(listenerId + "|" + topic + "|" + outcome, key -> Timer.builder("kafka.consumer.record.process")
+                .description("메시지를 받은 뒤 리스너가 처리를 끝낼 때까지 걸린 시간")
+                .tag("topic", topic)
+                .tag("listener", listenerId)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry));
+    }
+
+    // 한번의 poll 로 여러 토픽의 메시지를 받으면 topic 태그는 받은 토픽들을 쉼표로 이은 값이다.
+    private DistributionSummary batchSizeSummary(String topic, String listenerId) {
+        return batchSizeSummaries.computeIfAbsent(listenerId + "|" + topic, key -> DistributionSummary.builder("kafka.consumer.batch.size")
+                .description("한번의 poll 로 받은 메시지 수")
+                .tag("topic", topic)
+                .tag("listener", listenerId)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry));
+    }
+
+    private String getListenerId(Consumer<K, V> consumer) {
+        return consumer.groupMetadata().groupId();
+    }
+}
@@ -0,0 +1,47 @@
+package com.food.ordering.system.kafka.consumer.retry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.KafkaBackoffException;
+import org.springframework.kafka.listener.ListenerContainerPauseService;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import java.time.Duration;
+
+/**
+ * retry 토픽의 메시지를 retry-due-at 헤더의 시각이 지난 뒤에 리스너로 넘깁니다.
+ * 아직 처리할 시각이 아니면 컨슈머 스레드에서 기다리지 않고 그 partition 만 남은 시간 동안 pause 한 뒤 KafkaBackoffException 을 던집니다.
+ * 에러 핸들러는 이 예외를 실패로 세지 않고 메시지 위치로 seek 하기 때문에 resume 된 뒤 같은 메시지부터 다시 받습니다.
+ * 컨테이너마다 하나씩 만들어서 컨테이너의 containerCustomizer 로 등록합니다.
+ */
+@Slf4j
+public class RetryTopicDelayInterceptor<K, V> implements RecordInterceptor<K, V> {
+
+    private final MessageListenerContainer container;
+    private final ListenerContainerPauseService listenerContainerPauseService;
+
+    public RetryTopicDelayInterceptor(MessageListenerContainer container,
+                                      ListenerContainerPauseService listenerContainerPauseService) {
+        this.container = container;
+        this.listenerContainerPauseService = listenerContainerPauseService;
+    }
+
+    @Override
+    public ConsumerRecord<K, V> intercept(ConsumerRecord<K, V> record, Consumer<K, V> consumer) {
+        long dueAt = RetryTopicResolver.getRetryDueAt(record.headers());
+        long backOffMs = dueAt - System.currentTimeMillis();
+        if (backOffMs <= 0) {
+            return record;
+        }
+        TopicPartition topicPartition = new TopicPartition(record.topic(), record.partition());
+        log.info("retry 메시지를 {}ms 뒤에 다시 처리합니다. topic: {} partition: {} offset: {}",
+                backOffMs, record.topic(), record.partition(), record.offset());
+        listenerContainerPauseService.pausePartition(container, topicPartition, Duration.ofMillis(backOffMs));
+        // null 을 돌려주면 컨테이너가 이 메시지를 커밋하므로 예외로 seek 하게 한다.
+        throw new KafkaBackoffException(String.format("retry 메시지를 %dms 뒤에 다시 처리합니다. partition: %s offset: %d",
+                backOffMs, topicPartition, record.offset()), topicPartition, container.getListenerId(), dueAt);
+    }
+}
@@ -0,0 +1,98 @@
+package com.food.ordering.system.kafka.consumer.retry;
+
+import com.food.ordering.system.kafka.config.data.KafkaConsumerConfigData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * retry 리스너는 리스너마다 @KafkaListener 로 retry 단계 수만큼 선언하기 때문에, retry-topic-attempts 를 바꾸면 리스너도 같이 바꿔야 합니다.
+ * 리스너 컨테이너가 시작하기 전에 원래 토픽마다 {토픽}-retry-1 부터 {토픽}-retry-{retry-topic-attempts} 까지 구독하는 리스너가
+ * 정확히 있는지 확인하고, 맞지 않으면 아무도 읽지 않는 retry 토픽이 생기지 않도록 서비스를 시작하지 않습니다.
+ */
+@Slf4j
+@Component
+public class RetryTopicListenerValidator implements SmartLifecycle {
+
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    private final KafkaConsumerConfigData kafkaConsumerConfigData;
+    private volatile boolean running;
+
+    public RetryTopicListenerValidator(KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry,
+                                       KafkaConsumerConfigData kafkaConsumerConfigData) {
+        this.kafkaListenerEndpointRegistry = kafkaListenerEndpointRegistry;
+        this.kafkaConsumerConfigData = kafkaConsumerConfigData;
+    }
+
+    @Override
+    public void start() {
+        validate(getListenerTopics());
+        running = true;
+    }
+
+    private void validate(Set<String> listenerTopics) {
+        Map<String, Set<String>> retryTopicsByTopic = new LinkedHashMap<>();
+        for (String topic : listenerTopics) {
+            int retryIndex = topic.lastIndexOf(RetryTopicResolver.RETRY_TOPIC_INFIX);
+            String originalTopic = retryIndex < 0 ? topic : topic.substring(0, retryIndex);
+            Set<String> retryTopics = retryTopicsByTopic.computeIfAbsent(originalTopic, key -> new LinkedHashSet<>());
+            if (retryIndex >= 0) {
+                retryTopics.add(topic);
+            }
+        }
+
+        List<String> mismatches = new ArrayList<>();
+        retryTopicsByTopic.forEach((topic, retryTopics) -> {
+            Set<String> expected = new LinkedHashSet<>();
+            for (int attempt = 1; attempt <= kafkaConsumerConfigData.getRetryTopicAttempts(); attempt++) {
+                expected.add(topic + RetryTopicResolver.RETRY_TOPIC_INFIX + attempt);
+            }
+            if (!expected.equals(retryTopics)) {
+                mismatches.add(topic + " 필요: " + expected + " 구독중: " + retryTopics);
+            }
+        });
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("retry-topic-attempts(" + kafkaConsumerConfigData.getRetryTopicAttempts()
+                    + ") 와 retry 리스너가 구독하는 토픽이 맞지 않습니다. " + mismatches);
+        }
+        log.info("토픽 {}개의 retry 리스너가 retry-topic-attempts({}) 와 맞는지 확인했습니다.",
+                retryTopicsByTopic.size(), kafkaConsumerConfigData.getRetryTopicAttempts());
+    }
+
+    private Set<String> getListenerTopics() {
+        Set<String> topics = new LinkedHashSet<>();
+        for (MessageListenerContainer container : kafkaListenerEndpointRegistry.getListenerContainers()) {
+            String[] containerTopics = container.getContainerProperties().getTopics();
+            if (containerTopics != null) {
+                topics.addAll(List.of(containerTopics));
+            }
+        }
+        return topics;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 토픽을 만들기 전에, 그리고 리스너 컨테이너보다 먼저 확인한다.
+    @Override
+    public int getPhase() {
+        return AbstractMessageListenerContainer.DEFAULT_PHASE - 200;
+    }
+}
@@ -0,0 +1,94 @@
+package com.food.ordering.system.kafka.consumer.retry;
+
+import com.food.ordering.system.kafka.config.data.KafkaConsumerConfigData;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.kafka.listener.SeekUtils;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 처리하지 못한 메시지를 보낼 토픽을 정합니다.
+ * {토픽}-retry-1 부터 {토픽}-retry-{retry-topic-attempts} 까지 차례로 보내고, 마지막 시도도 실패하면 {토픽}-dlt 로 보냅니다.
+ * 역직렬화에 실패한 메시지는 다시 시도해도 실패하기 때문에 바로 dlt 로 보냅니다.
+ * retry 토픽으로 보낼 때 retry-due-at 헤더에 다시 처리할 시각을 넣고, 대기 시간은 시도할 때마다 retry-topic-delay-multiplier 배씩 늘어납니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RetryTopicResolver {
+
+    public static final String RETRY_TOPIC_INFIX = "-retry-";
+    public static final String DLT_TOPIC_SUFFIX = "-dlt";
+    public static final String RETRY_DUE_AT_HEADER = "retry-due-at";
+
+    private final KafkaConsumerConfigData kafkaConsumerConfigData;
+
+    public TopicPartition resolve(ConsumerRecord<?, ?> record, Exception exception) {
+        if (SeekUtils.isBackoffException(exception)) {
+            // 지연 시간을 기다리는 메시지는 보내지 않고 커밋하지 않은 채로 다시 seek 한다.
+            throw (NestedRuntimeException) exception;
+        }
+        String topic = record.topic();
+        int retryIndex = topic.lastIndexOf(RETRY_TOPIC_INFIX);
+        String originalTopic = retryIndex < 0 ? topic : topic.substring(0, retryIndex);
+        int attempt = getAttempt(topic);
+
+        String destination = isDeserializationFailure(record, exception) || attempt >= kafkaConsumerConfigData.getRetryTopicAttempts()
+                ? originalTopic + DLT_TOPIC_SUFFIX
+                : originalTopic + RETRY_TOPIC_INFIX + (attempt + 1);
+        log.warn("처리하지 못한 메시지를 {} 로 보냅니다. topic: {} partition: {} offset: {} key: {} exception: {}",
+                destination, topic, record.partition(), record.offset(), record.key(), exception.getMessage());
+        // partition 을 정하지 않아서 같은 key 는 같은 partition 으로 보낸다.
+        return new TopicPartition(destination, -1);
+    }
+
+    public Headers headers(ConsumerRecord<?, ?> record, Exception exception) {
+        int attempt = getAttempt(record.topic());
+        long delayMs = (long) (kafkaConsumerConfigData.getRetryTopicInitialDelayMs()
+                * Math.pow(kafkaConsumerConfigData.getRetryTopicDelayMultiplier(), attempt));
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(RETRY_DUE_AT_HEADER, ByteBuffer.allocate(Long.BYTES).putLong(System.currentTimeMillis() + delayMs).array());
+        return headers;
+    }
+
+    /**
+     * @return 다시 처리할 시각(epoch ms), 헤더가 없으면 0
+     */
+    public static long getRetryDueAt(Headers headers) {
+        Header header = headers.lastHeader(RETRY_DUE_AT_HEADER);
+        return header == null ? 0L : ByteBuffer.wrap(header.value()).getLong();
+    }
+
+    public static boolean isRetryTopic(String topic) {
+        return topic.contains(RETRY_TOPIC_INFIX);
+    }
+
+    // 원래 토픽은 0, {토픽}-retry-n 은 n
+    private int getAttempt(String topic) {
+        int retryIndex = topic.lastIndexOf(RETRY_TOPIC_INFIX);
+        return retryIndex < 0 ? 0 : Integer.parseInt(topic.substring(retryIndex + RETRY_TOPIC_INFIX.length()));
+    }
+
+    private boolean isDeserializationFailure(ConsumerRecord<?, ?> record, Exception exception) {
+        if (record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null
+                || record.headers().lastHeader(SerializationUtils.KEY_DESERIALIZER_EXCEPTION_HEADER) != null) {
+            return true;
+        }
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeserializationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,214 @@
+package com.food.ordering.system.kafka.consumer.topic;
+
+import com.food.ordering.system.kafka.config.data.KafkaConfigData;
+import com.food.ordering.system.kafka.config.data.KafkaConsumerConfigData;
+import com.food.ordering.system.kafka.consumer.admin.KafkaAdminClientFactory;
+import com.food.ordering.system.kafka.consumer.retry.RetryTopicResolver;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.NewPartitions;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 리스너 컨테이너가 시작하기 전에 리스너가 구독하는 토픽과 그 retry, dlt 토픽을 num-of-partitions 만큼의 파티션으로 맞춥니다.
+ * <ul>
+ *     <li>토픽이 없으면 num-of-partitions, replication-factor 로 만듭니다.</li>
+ *     <li>파티션이 num-of-partitions 보다 적으면 topic-partition-increase-enabled 가 켜져 있을 때만 늘립니다.
+ *     파티션은 줄일 수 없기 때문에 많은 경우는 그대로 둡니다.</li>
+ *     <li>리스너의 concurrency 가 파티션 수보다 크면 파티션을 받지 못하는 컨슈머가 생기므로 경고를 남깁니다.</li>
+ * </ul>
+ * 브로커에 연결하지 못해도 서비스는 그대로 시작합니다.
+ */
+@Slf4j
+@Component
+public class KafkaTopicProvisioner implements SmartLifecycle {
+
+    private static final long ADMIN_TIMEOUT_SECONDS = 30;
+
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    private final KafkaAdminClientFactory kafkaAdminClientFactory;
+    private final KafkaConfigData kafkaConfigData;
+    private final KafkaConsumerConfigData kafkaConsumerConfigData;
+    private volatile boolean running;
+
+    public KafkaTopicProvisioner(KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry,
+                                 KafkaAdminClientFactory kafkaAdminClientFactory,
+                                 KafkaConfigData kafkaConfigData,
+                                 KafkaConsumerConfigData kafkaConsumerConfigData) {
+        this.kafkaListenerEndpointRegistry = kafkaListenerEndpointRegistry;
+        this.kafkaAdminClientFactory = kafkaAdminClientFactory;
+        this.kafkaConfigData = kafkaConfigData;
+        this.kafkaConsumerConfigData = kafkaConsumerConfigData;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!Boolean.TRUE.equals(kafkaConfigData.getTopicProvisioningEnabled())) {
+            return;
+        }
+        Set<String> topics = getListenerTopics();
+        if (topics.isEmpty()) {
+            return;
+        }
+        try (AdminClient adminClient = kafkaAdminClientFactory.create()) {
+            Map<String, Integer> partitionCounts = provision(adminClient, withRetryTopics(topics));
+            warnIdleConsumers(partitionCounts);
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("kafka 토픽을 준비하지 못했습니다. 토픽: {} {}", topics, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    Map<String, Integer> provision(AdminClient adminClient, Set<String> topics)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        int numOfPartitions = kafkaConfigData.getNumOfPartitions();
+        Set<String> existingTopics = new LinkedHashSet<>();
+        Set<String> listedTopics = adminClient.listTopics().names().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        topics.stream().filter(listedTopics::contains).forEach(existingTopics::add);
+
+        Map<String, Integer> partitionCounts = new HashMap<>();
+        List<NewTopic> newTopics = topics.stream()
+                .filter(topic -> !existingTopics.contains(topic))
+                .map(topic -> new NewTopic(topic, numOfPartitions, kafkaConfigData.getReplicationFactor()))
+                .toList();
+        if (!newTopics.isEmpty()) {
+            // 토픽마다 결과를 따로 봐야 다른 인스턴스가 먼저 만든 토픽 하나 때문에 나머지를 건너뛰지 않는다.
+            adminClient.createTopics(newTopics).values().forEach((topic, future) -> {
+                try {
+                    future.get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    partitionCounts.put(topic, numOfPartitions);
+                    log.info("kafka 토픽을 만들었습니다. 토픽: {} 파티션: {}", topic, numOfPartitions);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof TopicExistsException) {
+                        existingTopics.add(topic);
+                    } else {
+                        log.warn("kafka 토픽을 만들지 못했습니다. 토픽: {} {}", topic, e.getMessage());
+                    }
+                } catch (TimeoutException e) {
+                    log.warn("kafka 토픽을 만드는 시간이 초과되었습니다. 토픽: {}", topic);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        if (existingTopics.isEmpty()) {
+            return partitionCounts;
+        }
+
+        Map<String, TopicDescription> descriptions = adminClient.describeTopics(existingTopics)
+                .allTopicNames()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Map<String, NewPartitions> newPartitions = new HashMap<>();
+        descriptions.forEach((topic, description) -> {
+            int partitions = description.partitions().size();
+            partitionCounts.put(topic, partitions);
+            if (partitions < numOfPartitions) {
+                newPartitions.put(topic, NewPartitions.increaseTo(numOfPartitions));
+            }
+        });
+        if (newPartitions.isEmpty()) {
+            return partitionCounts;
+        }
+        if (!Boolean.TRUE.equals(kafkaConfigData.getTopicPartitionIncreaseEnabled())) {
+            // 파티션이 늘어나면 같은 key 라도 이전과 다른 파티션으로 가서 진행중인 saga 의 메시지 순서가 깨질 수 있다.
+            log.warn("kafka 토픽의 파티션이 {} 개보다 적지만 topic-partition-increase-enabled 가 꺼져있어서 늘리지 않습니다. 토픽: {}",
+                    numOfPartitions, newPartitions.keySet());
+            return partitionCounts;
+        }
+        adminClient.createPartitions(newPartitions).values().forEach((topic, future) -> {
+            try {
+                future.get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                partitionCounts.put(topic, numOfPartitions);
+                log.warn("kafka 토픽의 파티션을 {} 개로 늘렸습니다. 토픽: {}", numOfPartitions, topic);
+            } catch (ExecutionException e) {
+                log.warn("kafka 토픽의 파티션을 늘리지 못했습니다. 토픽: {} {}", topic, e.getMessage());
+            } catch (TimeoutException e) {
+                log.warn("kafka 토픽의 파티션을 늘리는 시간이 초과되었습니다. 토픽: {}", topic);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return partitionCounts;
+    }
+
+    private void warnIdleConsumers(Map<String, Integer> partitionCounts) {
+        for (MessageListenerContainer listenerContainer : kafkaListenerEndpointRegistry.getListenerContainers()) {
+            if (!(listenerContainer instanceof ConcurrentMessageListenerContainer<?, ?> container)) {
+                continue;
+            }
+            String[] topics = container.getContainerProperties().getTopics();
+            if (topics == null) {
+                continue;
+            }
+            int partitions = 0;
+            for (String topic : topics) {
+                partitions += partitionCounts.getOrDefault(topic, 0);
+            }
+            if (container.getConcurrency() > partitions) {
+                log.warn("{} 리스너의 concurrency({}) 가 파티션 수({}) 보다 커서 {} 개의 컨슈머는 메시지를 받지 못합니다.",
+                        container.getListenerId(), container.getConcurrency(), partitions, container.getConcurrency() - partitions);
+            }
+        }
+    }
+
+    private Set<String> getListenerTopics() {
+        Set<String> topics = new LinkedHashSet<>();
+        for (MessageListenerContainer container : kafkaListenerEndpointRegistry.getListenerContainers()) {
+            String[] containerTopics = container.getContainerProperties().getTopics();
+            if (containerTopics != null) {
+                topics.addAll(List.of(containerTopics));
+            }
+        }
+        return topics;
+    }
+
+    // 원래 토픽에서 retry, dlt 토픽 이름을 만든다. retry 리스너가 구독하는 retry 토픽도 여기서 같이 만들어진다.
+    private Set<String> withRetryTopics(Set<String> topics) {
+        Set<String> allTopics = new LinkedHashSet<>(topics);
+        for (String topic : topics) {
+            if (RetryTopicResolver.isRetryTopic(topic)) {
+                continue;
+            }
+            for (int attempt = 1; attempt <= kafkaConsumerConfigData.getRetryTopicAttempts(); attempt++) {
+                allTopics.add(topic + RetryTopicResolver.RETRY_TOPIC_INFIX + attempt);
+            }
+            allTopics.add(topic + RetryTopicResolver.DLT_TOPIC_SUFFIX);
+        }
+        return allTopics;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 리스너 컨테이너보다 먼저 시작해야 한다.
+    @Override
+    public int getPhase() {
+        return AbstractMessageListenerContainer.DEFAULT_PHASE - 100;
+    }
+}
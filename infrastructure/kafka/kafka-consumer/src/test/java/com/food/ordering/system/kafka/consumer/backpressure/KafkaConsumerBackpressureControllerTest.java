@@ -0,0 +1,157 @@
+package com.food.ordering.system.kafka.consumer.backpressure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import com.food.ordering.system.kafka.config.data.KafkaConsumerConfigData;
+import com.food.ordering.system.kafka.consumer.container.MainListenerContainers;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class KafkaConsumerBackpressureControllerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private KafkaConsumerConfigData kafkaConsumerConfigData;
+    private MainListenerContainers mainListenerContainers;
+    private MessageListenerContainer mainContainer;
+    private KafkaConsumerBackpressureController kafkaConsumerBackpressureController;
+    private CompletableFuture<Void> restart;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // 게이지 값은 globalRegistry 에 등록된 레지스트리가 있어야 읽힌다.
+        Metrics.globalRegistry.add(meterRegistry);
+        kafkaConsumerConfigData = new KafkaConsumerConfigData();
+        kafkaConsumerConfigData.setMaxPollRecords(500);
+        kafkaConsumerConfigData.setBackpressureMinBatchSize(10);
+        kafkaConsumerConfigData.setMaxPollIntervalMs(1000);
+        kafkaConsumerConfigData.setBackpressureTargetPollIntervalRatio(0.5);
+        kafkaConsumerConfigData.setBackpressureDbPoolSaturation(0.9);
+        kafkaConsumerConfigData.setBackpressureResizeConsecutiveBatches(1);
+        kafkaConsumerConfigData.setBackpressureResizeCooldownMs(0L);
+
+        mainContainer = mock(MessageListenerContainer.class);
+        ContainerProperties containerProperties = new ContainerProperties("payment-response");
+        when(mainContainer.getContainerProperties()).thenReturn(containerProperties);
+        mainListenerContainers = mock(MainListenerContainers.class);
+        when(mainListenerContainers.getContainers()).thenReturn(List.of(mainContainer));
+        restart = new CompletableFuture<>();
+        when(mainListenerContainers.restart(eq(mainContainer), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, Consumer.class).accept(mainContainer);
+            return restart;
+        });
+        kafkaConsumerBackpressureController = new KafkaConsumerBackpressureController(mainListenerContainers, kafkaConsumerConfigData);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.globalRegistry.remove(meterRegistry);
+    }
+
+    @Test
+    void testSlowBatchShrinksMaxPollRecordsOfMainContainers() {
+        kafkaConsumerBackpressureController.recordBatch(500, TimeUnit.MILLISECONDS.toNanos(800));
+
+        assertEquals(250, kafkaConsumerBackpressureController.getEffectiveBatchSize());
+        Properties consumerProperties = mainContainer.getContainerProperties().getKafkaConsumerProperties();
+        assertEquals("250", consumerProperties.getProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+    }
+
+    @Test
+    void testBatchSizeIsNotChangedAgainUntilRestartCompletes() {
+        kafkaConsumerBackpressureController.recordBatch(500, TimeUnit.MILLISECONDS.toNanos(800));
+        kafkaConsumerBackpressureController.recordBatch(500, TimeUnit.MILLISECONDS.toNanos(800));
+        assertEquals(250, kafkaConsumerBackpressureController.getEffectiveBatchSize());
+        verify(mainListenerContainers, times(1)).restart(eq(mainContainer), any());
+
+        restart.complete(null);
+        restart = new CompletableFuture<>();
+        kafkaConsumerBackpressureController.recordBatch(250, TimeUnit.MILLISECONDS.toNanos(800));
+        assertEquals(125, kafkaConsumerBackpressureController.getEffectiveBatchSize());
+    }
+
+    @Test
+    void testFastFullBatchGrowsBackToMaxPollRecords() {
+        kafkaConsumerBackpressureController.recordBatch(500, TimeUnit.MILLISECONDS.toNanos(800));
+        restart.complete(null);
+        restart = new CompletableFuture<>();
+
+        kafkaConsumerBackpressureController.recordBatch(250, TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(500, kafkaConsumerBackpressureController.getEffectiveBatchSize());
+        restart.complete(null);
+
+        // 이미 최대 크기이면 컨테이너를 다시 시작하지 않는다.
+        kafkaConsumerBackpressureController.recordBatch(500, TimeUnit.MILLISECONDS.toNanos(10));
+        verify(mainListenerContainers, times(2)).restart(eq(mainContainer), any());
+    }
+
+    @Test
+    void testBatchSizeIsChangedOnlyAfterConsecutiveSlowBatches() {
+        kafkaConsumerConfigData.setBackpressureResizeConsecutiveBatches(3);
+        kafkaConsumerBackpressureController = new KafkaConsumerBackpressureController(mainListenerContainers, kafkaConsumerConfigData);
+
+        // 중간에 보통 속도의 batch 가 끼면 다시 센다.
+        kafkaConsumerBackpressureController.recordBatch(500, TimeUnit.MILLISECONDS.toNanos(800));
+        kafkaConsumerBackpressureController.recordBatch(500, TimeUnit.MILLISECONDS.toNanos(800));
+        kafkaConsumerBackpressureController.recordBatch(500, TimeUnit.MILLISECONDS.toNanos(400));
+        kafkaConsumerBackpressureController.recordBatch(500, TimeUnit.MILLISECONDS.toNanos(800));
+        kafkaConsumerBackpressureController.recordBatch(500, TimeUnit.MILLISECONDS.toNanos(800));
+        assertEquals(500, kafkaConsumerBackpressureController.getEffectiveBatchSize());
+        verify(mainListenerContainers, never()).restart(eq(mainContainer), any());
+
+        kafkaConsumerBackpressureController.recordBatch(500, TimeUnit.MILLISECONDS.toNanos(800));
+        assertEquals(250, kafkaConsumerBackpressureController.getEffectiveBatchSize());
+    }
+
+    @Test
+    void testBatchSizeIsNotChangedAgainDuringCooldown() {
+        kafkaConsumerConfigData.setBackpressureResizeCooldownMs(TimeUnit.HOURS.toMillis(1));
+        kafkaConsumerBackpressureController = new KafkaConsumerBackpressureController(mainListenerContainers, kafkaConsumerConfigData);
+
+        kafkaConsumerBackpressureController.recordBatch(500, TimeUnit.MILLISECONDS.toNanos(800));
+        restart.complete(null);
+        kafkaConsumerBackpressureController.recordBatch(250, TimeUnit.MILLISECONDS.toNanos(800));
+        kafkaConsumerBackpressureController.recordBatch(250, TimeUnit.MILLISECONDS.toNanos(10));
+
+        assertEquals(250, kafkaConsumerBackpressureController.getEffectiveBatchSize());
+        verify(mainListenerContainers, times(1)).restart(eq(mainContainer), any());
+    }
+
+    @Test
+    void testSaturatedDbPoolPausesOnlyMainContainers() {
+        AtomicInteger pending = new AtomicInteger(1);
+        Gauge pendingGauge = Gauge.builder("hikaricp.connections.pending", pending, AtomicInteger::get).register(Metrics.globalRegistry);
+
+        kafkaConsumerBackpressureController.checkDbPool();
+        verify(mainContainer).pause();
+        verify(mainContainer, never()).resume();
+
+        pending.set(0);
+        kafkaConsumerBackpressureController.checkDbPool();
+        verify(mainContainer).resume();
+        Metrics.globalRegistry.remove(pendingGauge);
+    }
+}
@@ -0,0 +1,103 @@
+package com.food.ordering.system.kafka.consumer.concurrency;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import com.food.ordering.system.kafka.config.data.KafkaConfigData;
+import com.food.ordering.system.kafka.config.data.KafkaConsumerConfigData;
+import com.food.ordering.system.kafka.consumer.admin.KafkaAdminClientFactory;
+import com.food.ordering.system.kafka.consumer.container.MainListenerContainers;
+
+public class KafkaListenerConcurrencyScalerTest {
+
+    private final AtomicLong lag = new AtomicLong();
+    private ConcurrentMessageListenerContainer<?, ?> container;
+    private MainListenerContainers mainListenerContainers;
+    private KafkaListenerConcurrencyScaler kafkaListenerConcurrencyScaler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        KafkaConfigData kafkaConfigData = new KafkaConfigData();
+        kafkaConfigData.setNumOfPartitions(6);
+        KafkaConsumerConfigData kafkaConsumerConfigData = new KafkaConsumerConfigData();
+        kafkaConsumerConfigData.setElasticConcurrencyEnabled(true);
+        kafkaConsumerConfigData.setConcurrencyLevel(3);
+        kafkaConsumerConfigData.setElasticConcurrencyScaleUpLag(1000L);
+        kafkaConsumerConfigData.setElasticConcurrencyScaleDownLag(100L);
+
+        container = mock(ConcurrentMessageListenerContainer.class);
+        when(container.isRunning()).thenReturn(true);
+        when(container.getConcurrency()).thenReturn(3);
+        when(container.getListenerId()).thenReturn("payment-topic-consumer");
+        when(container.getGroupId()).thenReturn("payment-topic-consumer");
+        mainListenerContainers = mock(MainListenerContainers.class);
+        when(mainListenerContainers.getContainers()).thenReturn(List.of(container));
+        when(mainListenerContainers.restart(any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, Consumer.class).accept(invocation.getArgument(0, MessageListenerContainer.class));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        kafkaListenerConcurrencyScaler = new KafkaListenerConcurrencyScaler(mainListenerContainers,
+                new KafkaAdminClientFactory(kafkaConfigData), kafkaConfigData, kafkaConsumerConfigData) {
+            @Override
+            long getLag(String groupId) {
+                return lag.get();
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        kafkaListenerConcurrencyScaler.close();
+    }
+
+    @Test
+    void testHighLagScalesUpToPartitionCountOnScalerThread() {
+        lag.set(100_000);
+
+        kafkaListenerConcurrencyScaler.scale();
+
+        verify(container, timeout(5000)).setConcurrency(6);
+    }
+
+    @Test
+    void testLowLagScalesDownOneStepButNotBelowConcurrencyLevel() {
+        lag.set(10);
+        when(container.getConcurrency()).thenReturn(5);
+        kafkaListenerConcurrencyScaler.scale();
+        verify(container, timeout(5000)).setConcurrency(4);
+
+        when(container.getConcurrency()).thenReturn(3);
+        kafkaListenerConcurrencyScaler.scale();
+        verify(container, after(500).never()).setConcurrency(2);
+    }
+
+    @Test
+    void testStoppedContainerIsNotScaled() {
+        lag.set(100_000);
+        when(container.isRunning()).thenReturn(false);
+
+        kafkaListenerConcurrencyScaler.scale();
+
+        verify(mainListenerContainers, after(500).never()).restart(any(), any());
+        verify(container, never()).setConcurrency(anyInt());
+    }
+}
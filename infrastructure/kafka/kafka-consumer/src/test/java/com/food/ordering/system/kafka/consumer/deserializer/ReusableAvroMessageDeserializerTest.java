@@ -0,0 +1,99 @@
+package com.food.ordering.system.kafka.consumer.deserializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.food.ordering.system.kafka.order.avro.model.PaymentOrderStatus;
+import com.food.ordering.system.kafka.order.avro.model.PaymentRequestAvroModel;
+
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+
+public class ReusableAvroMessageDeserializerTest {
+
+    private static final String TOPIC = "payment-request";
+
+    private int schemaId;
+    private ReusableAvroMessageDeserializer reusableAvroMessageDeserializer;
+
+    @BeforeEach
+    void setUp() throws IOException, RestClientException {
+        MockSchemaRegistryClient schemaRegistryClient = new MockSchemaRegistryClient();
+        schemaId = schemaRegistryClient.register(TOPIC + "-" + PaymentRequestAvroModel.getClassSchema().getFullName(),
+                new AvroSchema(PaymentRequestAvroModel.getClassSchema()));
+        reusableAvroMessageDeserializer = new ReusableAvroMessageDeserializer(schemaRegistryClient);
+    }
+
+    @Test
+    void testDecodesRegistryFormatAndKeepsRawValue() throws IOException {
+        PaymentRequestAvroModel paymentRequestAvroModel = paymentRequestAvroModel();
+        byte[] data = encode(schemaId, paymentRequestAvroModel);
+        RecordHeaders headers = new RecordHeaders();
+
+        SpecificRecordBase message = reusableAvroMessageDeserializer.deserialize(TOPIC, headers, data);
+
+        assertEquals(paymentRequestAvroModel, message);
+        assertArrayEquals(data, headers.lastHeader(ReusableAvroMessageDeserializer.RAW_VALUE_HEADER).value());
+    }
+
+    @Test
+    void testRecordsAreNotReusedBetweenMessages() throws IOException {
+        byte[] data = encode(schemaId, paymentRequestAvroModel());
+
+        SpecificRecordBase first = reusableAvroMessageDeserializer.deserialize(TOPIC, data);
+        SpecificRecordBase second = reusableAvroMessageDeserializer.deserialize(TOPIC, data);
+
+        // 배치 리스너는 레코드를 모아두기 때문에 메시지마다 다른 객체여야 한다.
+        assertNotSame(first, second);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testRejectsUnknownSchemaIdAndOtherFormats() throws IOException {
+        byte[] unknownSchema = encode(schemaId + 100, paymentRequestAvroModel());
+
+        assertThrows(SerializationException.class, () -> reusableAvroMessageDeserializer.deserialize(TOPIC, unknownSchema));
+        assertThrows(SerializationException.class, () -> reusableAvroMessageDeserializer.deserialize(TOPIC, new byte[]{0x1, 0x0}));
+    }
+
+    private static PaymentRequestAvroModel paymentRequestAvroModel() {
+        return PaymentRequestAvroModel.newBuilder()
+                .setId(UUID.randomUUID())
+                .setSagaId(UUID.randomUUID())
+                .setCustomerId(UUID.randomUUID())
+                .setOrderId(UUID.randomUUID())
+                .setPrice(new BigDecimal("100.00"))
+                .setCreatedAt(Instant.ofEpochMilli(System.currentTimeMillis()))
+                .setPaymentOrderStatus(PaymentOrderStatus.PENDING)
+                .build();
+    }
+
+    private static byte[] encode(int schemaId, PaymentRequestAvroModel paymentRequestAvroModel) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        outputStream.write(0);
+        outputStream.write(ByteBuffer.allocate(Integer.BYTES).putInt(schemaId).array());
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(outputStream, null);
+        new SpecificDatumWriter<>(PaymentRequestAvroModel.class).write(paymentRequestAvroModel, encoder);
+        encoder.flush();
+        return outputStream.toByteArray();
+    }
+}
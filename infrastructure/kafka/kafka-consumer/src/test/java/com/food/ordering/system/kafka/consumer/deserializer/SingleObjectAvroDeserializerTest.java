@@ -0,0 +1,96 @@
+package com.food.ordering.system.kafka.consumer.deserializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.food.ordering.system.kafka.order.avro.converter.UuidConverter;
+import com.food.ordering.system.kafka.order.avro.model.PaymentOrderStatus;
+import com.food.ordering.system.kafka.order.avro.model.PaymentRequestAvroModel;
+import com.food.ordering.system.kafka.order.avro.model.PaymentRequestAvroModelV2;
+
+public class SingleObjectAvroDeserializerTest {
+
+    private static final String TOPIC = "payment-request";
+
+    private static SingleObjectAvroDeserializer singleObjectAvroDeserializer;
+
+    @BeforeAll
+    static void setUp() {
+        singleObjectAvroDeserializer = new SingleObjectAvroDeserializer(
+                new AvroSchemaCatalog("com.food.ordering.system.kafka.order.avro.model"));
+    }
+
+    @Test
+    void testV1AndV2RecordsRoundTripThroughTheCatalog() throws IOException {
+        PaymentRequestAvroModel paymentRequestAvroModel = PaymentRequestAvroModel.newBuilder()
+                .setId(UUID.randomUUID())
+                .setSagaId(UUID.randomUUID())
+                .setCustomerId(UUID.randomUUID())
+                .setOrderId(UUID.randomUUID())
+                .setPrice(new BigDecimal("100.00"))
+                .setCreatedAt(Instant.ofEpochMilli(System.currentTimeMillis()))
+                .setPaymentOrderStatus(PaymentOrderStatus.PENDING)
+                .build();
+        PaymentRequestAvroModelV2 paymentRequestAvroModelV2 = PaymentRequestAvroModelV2.newBuilder()
+                .setId(UuidConverter.toUuid(UUID.randomUUID()))
+                .setSagaId(UuidConverter.toUuid(UUID.randomUUID()))
+                .setCustomerId(UuidConverter.toUuid(UUID.randomUUID()))
+                .setOrderId(UuidConverter.toUuid(UUID.randomUUID()))
+                .setPrice(new BigDecimal("100.00"))
+                .setCreatedAt(Instant.ofEpochMilli(System.currentTimeMillis()))
+                .setPaymentOrderStatus(PaymentOrderStatus.CANCELLED)
+                .build();
+
+        assertEquals(paymentRequestAvroModel,
+                singleObjectAvroDeserializer.deserialize(TOPIC, toBytes(paymentRequestAvroModel.toByteBuffer())));
+        assertEquals(paymentRequestAvroModelV2,
+                singleObjectAvroDeserializer.deserialize(TOPIC, toBytes(paymentRequestAvroModelV2.toByteBuffer())));
+    }
+
+    @Test
+    void testKeepsRawValueForRetryTopics() throws IOException {
+        byte[] data = toBytes(PaymentRequestAvroModel.newBuilder()
+                .setId(UUID.randomUUID())
+                .setSagaId(UUID.randomUUID())
+                .setCustomerId(UUID.randomUUID())
+                .setOrderId(UUID.randomUUID())
+                .setPrice(new BigDecimal("1.00"))
+                .setCreatedAt(Instant.ofEpochMilli(0))
+                .setPaymentOrderStatus(PaymentOrderStatus.PENDING)
+                .build()
+                .toByteBuffer());
+        RecordHeaders headers = new RecordHeaders();
+
+        SpecificRecordBase message = singleObjectAvroDeserializer.deserialize(TOPIC, headers, data);
+
+        assertEquals(PaymentRequestAvroModel.class, message.getClass());
+        assertArrayEquals(data, headers.lastHeader(ReusableAvroMessageDeserializer.RAW_VALUE_HEADER).value());
+    }
+
+    @Test
+    void testRejectsUnknownFingerprintAndOtherFormats() {
+        byte[] unknownFingerprint = {(byte) 0xC3, 0x01, 1, 2, 3, 4, 5, 6, 7, 8, 0};
+
+        assertThrows(SerializationException.class, () -> singleObjectAvroDeserializer.deserialize(TOPIC, unknownFingerprint));
+        assertThrows(SerializationException.class, () -> singleObjectAvroDeserializer.deserialize(TOPIC, new byte[]{0x0, 0x0, 0x0, 0x0, 0x1}));
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,123 @@
+package com.food.ordering.system.kafka.consumer.dispatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import com.food.ordering.system.kafka.config.data.KafkaConsumerConfigData;
+import com.food.ordering.system.kafka.consumer.backpressure.KafkaConsumerBackpressureController;
+
+public class KeyOrderedBatchDispatcherTest {
+
+    private KafkaConsumerBackpressureController kafkaConsumerBackpressureController;
+    private KeyOrderedBatchDispatcher keyOrderedBatchDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        KafkaConsumerConfigData kafkaConsumerConfigData = new KafkaConsumerConfigData();
+        kafkaConsumerConfigData.setDispatcherThreadPoolSize(4);
+        kafkaConsumerBackpressureController = mock(KafkaConsumerBackpressureController.class);
+        keyOrderedBatchDispatcher = new KeyOrderedBatchDispatcher(kafkaConsumerConfigData, kafkaConsumerBackpressureController);
+    }
+
+    @AfterEach
+    void tearDown() {
+        keyOrderedBatchDispatcher.close();
+    }
+
+    @Test
+    void testMessagesOfSameKeyAreHandledInOrder() {
+        List<String> keys = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String key = "saga-" + (i % 5);
+            keys.add(key);
+            messages.add(key + ":" + i);
+        }
+        Map<String, List<Integer>> handledByKey = new ConcurrentHashMap<>();
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        keyOrderedBatchDispatcher.dispatch(messages, keys, acknowledgment, message -> {
+            String[] keyAndIndex = message.split(":");
+            handledByKey.computeIfAbsent(keyAndIndex[0], key -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(Integer.parseInt(keyAndIndex[1]));
+        });
+
+        assertEquals(5, handledByKey.size());
+        handledByKey.values().forEach(indexes -> {
+            List<Integer> sorted = new ArrayList<>(indexes);
+            Collections.sort(sorted);
+            assertEquals(sorted, indexes);
+            assertEquals(40, indexes.size());
+        });
+        verify(acknowledgment).acknowledge();
+        verify(kafkaConsumerBackpressureController).recordBatch(eq(200), anyLong());
+    }
+
+    @Test
+    void testFailureStopsKeyAndReportsFirstFailedIndex() {
+        List<String> keys = List.of("saga-1", "saga-2", "saga-1", "saga-2", "saga-1");
+        List<String> messages = List.of("a0", "b1", "a2", "fail-b3", "fail-a4");
+        List<String> handled = Collections.synchronizedList(new ArrayList<>());
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class, () ->
+                keyOrderedBatchDispatcher.dispatch(messages, keys, acknowledgment, message -> {
+                    if (message.startsWith("fail")) {
+                        throw new IllegalStateException(message);
+                    }
+                    handled.add(message);
+                }));
+
+        assertEquals(3, exception.getIndex());
+        assertFalse(handled.contains("fail-a4"));
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void testSucceededMessagesAfterFailureAreRedelivered() {
+        List<String> keys = List.of("saga-1", "saga-2", "saga-3");
+        List<String> messages = List.of("a0", "fail-b1", "c2");
+        List<String> handled = Collections.synchronizedList(new ArrayList<>());
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class, () ->
+                keyOrderedBatchDispatcher.dispatch(messages, keys, acknowledgment, message -> {
+                    if (message.startsWith("fail")) {
+                        throw new IllegalStateException(message);
+                    }
+                    handled.add(message);
+                }));
+
+        // 다른 key 의 c2 는 성공했지만 실패한 b1 뒤에 있어서 에러 핸들러가 다시 전달한다. 핸들러는 멱등해야 한다.
+        assertTrue(handled.contains("c2"));
+        assertEquals(1, exception.getIndex());
+    }
+
+    @Test
+    void testRetryListenerDoesNotChangeBatchSize() {
+        keyOrderedBatchDispatcher.dispatch(List.of("a0"), List.of("saga-1"), null, message -> {
+        });
+
+        verify(kafkaConsumerBackpressureController, never()).recordBatch(anyInt(), anyLong());
+    }
+}
@@ -0,0 +1,100 @@
+package com.food.ordering.system.kafka.consumer.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.KafkaBackoffException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class KafkaConsumerMetricsInterceptorTest {
+
+    private static final String TOPIC_NAME = "payment-request";
+    private static final String LISTENER_ID = "payment-topic-consumer";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private KafkaConsumerMetricsInterceptor<String, String> kafkaConsumerMetricsInterceptor;
+    private Consumer<String, String> consumer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        Metrics.globalRegistry.add(meterRegistry);
+        consumer = mock(Consumer.class);
+        when(consumer.groupMetadata()).thenReturn(new ConsumerGroupMetadata(LISTENER_ID));
+        when(consumer.currentLag(any())).thenReturn(OptionalLong.empty());
+        kafkaConsumerMetricsInterceptor = new KafkaConsumerMetricsInterceptor<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.globalRegistry.remove(meterRegistry);
+    }
+
+    @Test
+    void testBatchSizeIsRecordedOncePerPoll() {
+        TopicPartition partition0 = new TopicPartition(TOPIC_NAME, 0);
+        TopicPartition partition1 = new TopicPartition(TOPIC_NAME, 1);
+        ConsumerRecords<String, String> records = new ConsumerRecords<>(Map.of(
+                partition0, List.of(record(0, 0), record(0, 1), record(0, 2)),
+                partition1, List.of(record(1, 0), record(1, 1))));
+
+        kafkaConsumerMetricsInterceptor.intercept(records, consumer);
+        kafkaConsumerMetricsInterceptor.success(records, consumer);
+
+        DistributionSummary batchSize = meterRegistry.get("kafka.consumer.batch.size").tag("topic", TOPIC_NAME).summary();
+        assertEquals(1, batchSize.count());
+        assertEquals(5, batchSize.totalAmount());
+        assertEquals(5, processTimer("success").count());
+    }
+
+    @Test
+    void testFailureWithoutInterceptIsNotRecorded() {
+        ConsumerRecord<String, String> record = record(0, 0);
+        kafkaConsumerMetricsInterceptor.intercept(record, consumer);
+        kafkaConsumerMetricsInterceptor.success(record, consumer);
+
+        // 앞선 인터셉터가 예외를 던져서 intercept 가 불리지 않은 메시지는 이전 메시지의 시각으로 기록하지 않는다.
+        kafkaConsumerMetricsInterceptor.failure(record(0, 1), new IllegalStateException("test"), consumer);
+
+        assertEquals(1, processTimer("success").count());
+        assertNull(meterRegistry.find("kafka.consumer.record.process").tag("outcome", "failure").timer());
+    }
+
+    @Test
+    void testBackoffIsNotRecordedAsFailure() {
+        ConsumerRecord<String, String> record = record(0, 0);
+        kafkaConsumerMetricsInterceptor.intercept(record, consumer);
+
+        kafkaConsumerMetricsInterceptor.failure(record, new KafkaBackoffException("test",
+                new TopicPartition(TOPIC_NAME, 0), LISTENER_ID, System.currentTimeMillis()), consumer);
+
+        assertNull(meterRegistry.find("kafka.consumer.record.process").tag("outcome", "failure").timer());
+    }
+
+    private Timer processTimer(String outcome) {
+        return meterRegistry.get("kafka.consumer.record.process").tag("outcome", outcome).timer();
+    }
+
+    private ConsumerRecord<String, String> record(int partition, long offset) {
+        return new ConsumerRecord<>(TOPIC_NAME, partition, offset, "saga-" + offset, "message-" + offset);
+    }
+}
@@ -0,0 +1,111 @@
+package com.food.ordering.system.kafka.consumer.retry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.KafkaBackoffException;
+import org.springframework.kafka.listener.ListenerContainerPauseService;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import com.food.ordering.system.kafka.config.data.KafkaConsumerConfigData;
+
+public class RetryTopicDelayInterceptorTest {
+
+    private static final String TOPIC_NAME = "payment-request";
+
+    private MessageListenerContainer container;
+    private ListenerContainerPauseService listenerContainerPauseService;
+    private RetryTopicDelayInterceptor<String, String> retryTopicDelayInterceptor;
+    private RetryTopicResolver retryTopicResolver;
+
+    @BeforeEach
+    void setUp() {
+        container = mock(MessageListenerContainer.class);
+        when(container.getListenerId()).thenReturn("payment-topic-consumer-retry-1");
+        listenerContainerPauseService = mock(ListenerContainerPauseService.class);
+        retryTopicDelayInterceptor = new RetryTopicDelayInterceptor<>(container, listenerContainerPauseService);
+
+        KafkaConsumerConfigData kafkaConsumerConfigData = new KafkaConsumerConfigData();
+        kafkaConsumerConfigData.setRetryTopicAttempts(3);
+        kafkaConsumerConfigData.setRetryTopicInitialDelayMs(1000L);
+        kafkaConsumerConfigData.setRetryTopicDelayMultiplier(5.0);
+        retryTopicResolver = new RetryTopicResolver(kafkaConsumerConfigData);
+    }
+
+    @Test
+    void testDueRecordIsPassedToListener() {
+        ConsumerRecord<String, String> record = retryRecord(System.currentTimeMillis() - 1);
+
+        assertSame(record, retryTopicDelayInterceptor.intercept(record, null));
+        verify(listenerContainerPauseService, never()).pausePartition(any(), any(), any());
+    }
+
+    @Test
+    void testRecordNotDueYetPausesPartitionInsteadOfSleeping() {
+        ConsumerRecord<String, String> record = retryRecord(System.currentTimeMillis() + 60_000);
+        TopicPartition topicPartition = new TopicPartition(record.topic(), record.partition());
+
+        long startedAt = System.nanoTime();
+        KafkaBackoffException exception = assertThrows(KafkaBackoffException.class,
+                () -> retryTopicDelayInterceptor.intercept(record, null));
+
+        assertEquals(topicPartition, exception.getTopicPartition());
+        verify(listenerContainerPauseService).pausePartition(any(MessageListenerContainer.class), any(TopicPartition.class), any(Duration.class));
+        assertTrue(Duration.ofNanos(System.nanoTime() - startedAt).toMillis() < 1000);
+    }
+
+    @Test
+    void testBackoffIsNotSentToRetryTopic() {
+        ConsumerRecord<String, String> record = retryRecord(System.currentTimeMillis() + 60_000);
+        KafkaBackoffException exception = assertThrows(KafkaBackoffException.class,
+                () -> retryTopicDelayInterceptor.intercept(record, null));
+
+        // 커밋하지 않고 seek 하도록 recoverer 에 예외를 그대로 던진다.
+        assertSame(exception, assertThrows(KafkaBackoffException.class, () -> retryTopicResolver.resolve(record, exception)));
+    }
+
+    @Test
+    void testFailedRecordMovesToNextRetryTopicThenDlt() {
+        RuntimeException exception = new IllegalStateException("db is down");
+
+        assertEquals(TOPIC_NAME + "-retry-1", retryTopicResolver.resolve(record(TOPIC_NAME), exception).topic());
+        assertEquals(TOPIC_NAME + "-retry-3", retryTopicResolver.resolve(record(TOPIC_NAME + "-retry-2"), exception).topic());
+        assertEquals(TOPIC_NAME + "-dlt", retryTopicResolver.resolve(record(TOPIC_NAME + "-retry-3"), exception).topic());
+    }
+
+    @Test
+    void testRetryDueAtGrowsByMultiplier() {
+        long now = System.currentTimeMillis();
+        long firstDueAt = RetryTopicResolver.getRetryDueAt(
+                retryTopicResolver.headers(record(TOPIC_NAME), new IllegalStateException()));
+        long secondDueAt = RetryTopicResolver.getRetryDueAt(
+                retryTopicResolver.headers(record(TOPIC_NAME + "-retry-1"), new IllegalStateException()));
+
+        assertEquals(1000, firstDueAt - now, 500);
+        assertEquals(5000, secondDueAt - now, 500);
+    }
+
+    private ConsumerRecord<String, String> retryRecord(long dueAt) {
+        ConsumerRecord<String, String> record = record(TOPIC_NAME + "-retry-1");
+        record.headers().add(RetryTopicResolver.RETRY_DUE_AT_HEADER, ByteBuffer.allocate(Long.BYTES).putLong(dueAt).array());
+        return record;
+    }
+
+    private ConsumerRecord<String, String> record(String topic) {
+        return new ConsumerRecord<>(topic, 0, 10L, "saga-1", "message");
+    }
+}
@@ -0,0 +1,71 @@
+package com.food.ordering.system.kafka.consumer.retry;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import com.food.ordering.system.kafka.config.data.KafkaConsumerConfigData;
+
+public class RetryTopicListenerValidatorTest {
+
+    private static final String TOPIC_NAME = "payment-request";
+
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    private RetryTopicListenerValidator retryTopicListenerValidator;
+
+    @BeforeEach
+    void setUp() {
+        KafkaConsumerConfigData kafkaConsumerConfigData = new KafkaConsumerConfigData();
+        kafkaConsumerConfigData.setRetryTopicAttempts(3);
+        kafkaListenerEndpointRegistry = mock(KafkaListenerEndpointRegistry.class);
+        retryTopicListenerValidator = new RetryTopicListenerValidator(kafkaListenerEndpointRegistry, kafkaConsumerConfigData);
+    }
+
+    @Test
+    void testListenerForEveryRetryAttemptStarts() {
+        givenListenerTopics(TOPIC_NAME, TOPIC_NAME + "-retry-1", TOPIC_NAME + "-retry-2", TOPIC_NAME + "-retry-3");
+
+        assertDoesNotThrow(retryTopicListenerValidator::start);
+        assertTrue(retryTopicListenerValidator.isRunning());
+    }
+
+    @Test
+    void testMissingRetryListenerFailsStartup() {
+        // retry-topic-attempts 를 3 으로 두고 retry-3 리스너를 빠뜨린 경우
+        givenListenerTopics(TOPIC_NAME, TOPIC_NAME + "-retry-1", TOPIC_NAME + "-retry-2");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, retryTopicListenerValidator::start);
+        assertTrue(exception.getMessage().contains(TOPIC_NAME + "-retry-3"));
+    }
+
+    @Test
+    void testRetryListenerBeyondAttemptsFailsStartup() {
+        givenListenerTopics(TOPIC_NAME, TOPIC_NAME + "-retry-1", TOPIC_NAME + "-retry-2", TOPIC_NAME + "-retry-3",
+                TOPIC_NAME + "-retry-4");
+
+        assertThrows(IllegalStateException.class, retryTopicListenerValidator::start);
+    }
+
+    private void givenListenerTopics(String... topics) {
+        List<MessageListenerContainer> containers = Arrays.stream(topics)
+                .map(topic -> {
+                    MessageListenerContainer container = mock(MessageListenerContainer.class);
+                    when(container.getContainerProperties()).thenReturn(new ContainerProperties(topic));
+                    return container;
+                })
+                .collect(Collectors.toList());
+        when(kafkaListenerEndpointRegistry.getListenerContainers()).thenReturn(containers);
+    }
+}
@@ -0,0 +1,112 @@
+package com.food.ordering.system.kafka.consumer.topic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.CreatePartitionsResult;
+import org.apache.kafka.clients.admin.CreateTopicsResult;
+import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.ListTopicsResult;
+import org.apache.kafka.clients.admin.NewPartitions;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+
+import com.food.ordering.system.kafka.config.data.KafkaConfigData;
+import com.food.ordering.system.kafka.config.data.KafkaConsumerConfigData;
+import com.food.ordering.system.kafka.consumer.admin.KafkaAdminClientFactory;
+
+public class KafkaTopicProvisionerTest {
+
+    private static final String TOPIC = "payment-request";
+    private static final String RETRY_TOPIC = "payment-request-retry-1";
+    private static final String DLT_TOPIC = "payment-request-dlt";
+
+    private KafkaConfigData kafkaConfigData;
+    private AdminClient adminClient;
+    private KafkaTopicProvisioner kafkaTopicProvisioner;
+
+    @BeforeEach
+    void setUp() {
+        kafkaConfigData = new KafkaConfigData();
+        kafkaConfigData.setNumOfPartitions(3);
+        kafkaConfigData.setReplicationFactor((short) 3);
+        kafkaTopicProvisioner = new KafkaTopicProvisioner(mock(KafkaListenerEndpointRegistry.class),
+                mock(KafkaAdminClientFactory.class), kafkaConfigData, new KafkaConsumerConfigData());
+
+        // 원래 토픽과 dlt 는 새로 만들고, retry 토픽은 다른 인스턴스가 먼저 만들어서 TopicExistsException 이 난다.
+        adminClient = mock(AdminClient.class);
+        ListTopicsResult listTopicsResult = mock(ListTopicsResult.class);
+        when(listTopicsResult.names()).thenReturn(KafkaFuture.completedFuture(Set.of()));
+        when(adminClient.listTopics()).thenReturn(listTopicsResult);
+
+        KafkaFutureImpl<Void> topicExists = new KafkaFutureImpl<>();
+        topicExists.completeExceptionally(new TopicExistsException(RETRY_TOPIC));
+        Map<String, KafkaFuture<Void>> createResults = new LinkedHashMap<>();
+        createResults.put(TOPIC, KafkaFuture.completedFuture(null));
+        createResults.put(RETRY_TOPIC, topicExists);
+        createResults.put(DLT_TOPIC, KafkaFuture.completedFuture(null));
+        CreateTopicsResult createTopicsResult = mock(CreateTopicsResult.class);
+        when(createTopicsResult.values()).thenReturn(createResults);
+        when(adminClient.createTopics(anyCollection())).thenReturn(createTopicsResult);
+
+        TopicDescription retryTopicDescription = new TopicDescription(RETRY_TOPIC, false,
+                List.of(new TopicPartitionInfo(0, null, List.of(), List.of())));
+        DescribeTopicsResult describeTopicsResult = mock(DescribeTopicsResult.class);
+        when(describeTopicsResult.allTopicNames()).thenReturn(KafkaFuture.completedFuture(Map.of(RETRY_TOPIC, retryTopicDescription)));
+        when(adminClient.describeTopics(anyCollection())).thenReturn(describeTopicsResult);
+    }
+
+    @Test
+    void testTopicCreatedByAnotherInstanceDoesNotStopTheRest() throws Exception {
+        Map<String, Integer> partitionCounts = kafkaTopicProvisioner.provision(adminClient, topics());
+
+        assertEquals(3, partitionCounts.get(TOPIC));
+        assertEquals(3, partitionCounts.get(DLT_TOPIC));
+        assertEquals(1, partitionCounts.get(RETRY_TOPIC));
+        verify(adminClient).describeTopics(Set.of(RETRY_TOPIC));
+    }
+
+    @Test
+    void testPartitionsAreNotIncreasedUnlessEnabled() throws Exception {
+        kafkaTopicProvisioner.provision(adminClient, topics());
+
+        verify(adminClient, never()).createPartitions(any());
+    }
+
+    @Test
+    void testPartitionsAreIncreasedWhenEnabled() throws Exception {
+        kafkaConfigData.setTopicPartitionIncreaseEnabled(true);
+        CreatePartitionsResult createPartitionsResult = mock(CreatePartitionsResult.class);
+        when(createPartitionsResult.values()).thenReturn(Map.of(RETRY_TOPIC, KafkaFuture.completedFuture(null)));
+        when(adminClient.createPartitions(any())).thenReturn(createPartitionsResult);
+
+        Map<String, Integer> partitionCounts = kafkaTopicProvisioner.provision(adminClient, topics());
+
+        assertEquals(3, partitionCounts.get(RETRY_TOPIC));
+        verify(adminClient).createPartitions(argThat((Map<String, NewPartitions> newPartitions) ->
+                newPartitions.keySet().equals(Set.of(RETRY_TOPIC)) && newPartitions.get(RETRY_TOPIC).totalCount() == 3));
+    }
+
+    private static Set<String> topics() {
+        return new LinkedHashSet<>(List.of(TOPIC, RETRY_TOPIC, DLT_TOPIC));
+    }
+}
@@ -0,0 +1,30 @@
+package com.food.ordering.system.kafka.order.avro.converter;
+
+import com.food.ordering.system.kafka.order.avro.model.Uuid;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * v2 스키마의 16바이트 fixed Uuid 와 java.util.UUID 를 문자열을 거치지 않고 바꿉니다.
+ */
+public final class UuidConverter {
+    private UuidConverter() {
+    }
+
+    public static Uuid toUuid(UUID uuid) {
+        return new Uuid(ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array());
+    }
+
+    public static Uuid toUuid(String uuid) {
+        return toUuid(UUID.fromString(uuid));
+    }
+
+    public static UUID fromUuid(Uuid uuid) {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(uuid.bytes());
+        return new UUID(byteBuffer.getLong(), byteBuffer.getLong());
+    }
+}
@@ -0,0 +1,51 @@
+package com.food.ordering.system.kafka.order.avro.converter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.junit.jupiter.api.Test;
+
+import com.food.ordering.system.kafka.order.avro.model.Uuid;
+
+public class UuidConverterTest {
+
+    @Test
+    void testRoundTrip() {
+        UUID uuid = UUID.randomUUID();
+
+        assertEquals(uuid, UuidConverter.fromUuid(UuidConverter.toUuid(uuid)));
+        assertEquals(uuid, UuidConverter.fromUuid(UuidConverter.toUuid(uuid.toString())));
+    }
+
+    @Test
+    void testBytesAreBigEndianMostSignificantFirst() {
+        UUID uuid = UUID.fromString("00112233-4455-6677-8899-aabbccddeeff");
+
+        assertArrayEquals(new byte[]{0x00, 0x11, 0x22, 0x33, 0x44, 0x55, 0x66, 0x77,
+                        (byte) 0x88, (byte) 0x99, (byte) 0xaa, (byte) 0xbb, (byte) 0xcc, (byte) 0xdd, (byte) 0xee, (byte) 0xff},
+                UuidConverter.toUuid(uuid).bytes());
+    }
+
+    @Test
+    void testAvroEncodedUuidIsSixteenBytes() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(outputStream, null);
+        new SpecificDatumWriter<>(Uuid.class).write(UuidConverter.toUuid(uuid), encoder);
+        encoder.flush();
+
+        assertEquals(16, outputStream.size());
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(outputStream.toByteArray(), null);
+        assertEquals(uuid, UuidConverter.fromUuid(new SpecificDatumReader<>(Uuid.class).read(null, decoder)));
+    }
+}
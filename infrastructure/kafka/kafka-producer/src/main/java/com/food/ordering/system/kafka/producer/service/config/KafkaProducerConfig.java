@@ -2,14 +2,17 @@ package com.food.ordering.system.kafka.producer.service.config;
 
 import com.food.ordering.system.kafka.config.data.KafkaConfigData;
 import com.food.ordering.system.kafka.config.data.KafkaProducerConfigData;
+import com.food.ordering.system.kafka.producer.service.serializer.SingleObjectAvroSerializer;
 import lombok.RequiredArgsConstructor;
 import org.apache.avro.specific.SpecificRecordBase;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.util.StringUtils;
 
 import java.io.Serializable;
 import java.util.HashMap;
@@ -27,27 +30,66 @@ public class KafkaProducerConfig <K extends Serializable, V extends SpecificReco
     public Map<String, Object> producerConfig(){
         return new HashMap<>() {{
             put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfigData.getBootstrapServers());
+            putAll(kafkaConfigData.getSecurityProperties());
             put(kafkaConfigData.getSchemaRegistryUrlKey(), kafkaConfigData.getSchemaRegistryUrl());
+            put(kafkaConfigData.getValueSubjectNameStrategyKey(), kafkaConfigData.getValueSubjectNameStrategy());
 
             put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, kafkaProducerConfigData.getKeySerializerClass());
-            put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, kafkaProducerConfigData.getValueSerializerClass());
+            // registry-free 모드에서는 레지스트리 대신 메시지에 스키마 fingerprint 를 붙여서 보낸다.
+            put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, Boolean.TRUE.equals(kafkaConfigData.getRegistryFreeSerdeEnabled())
+                    ? SingleObjectAvroSerializer.class.getName()
+                    : kafkaProducerConfigData.getValueSerializerClass());
             put(ProducerConfig.BATCH_SIZE_CONFIG, kafkaProducerConfigData.getBatchSize() * kafkaProducerConfigData.getBatchSizeBoostFactor());
             put(ProducerConfig.LINGER_MS_CONFIG, kafkaProducerConfigData.getLingerMs());
             put(ProducerConfig.COMPRESSION_TYPE_CONFIG, kafkaProducerConfigData.getCompressionType());
             put(ProducerConfig.ACKS_CONFIG, kafkaProducerConfigData.getAcks());
             put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, kafkaProducerConfigData.getRequestTimeoutMs());
             put(ProducerConfig.RETRIES_CONFIG, kafkaProducerConfigData.getRetryCount());
+            put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, Boolean.TRUE.equals(kafkaProducerConfigData.getEnableIdempotence()));
         }};
     }
 
     @Bean
     public ProducerFactory<K, V> producerFactory(){
-        return new DefaultKafkaProducerFactory<>(producerConfig());
+        return transactional(new DefaultKafkaProducerFactory<>(producerConfig()), "");
     }
 
     // 생성된 템플릿은 KafkaProducerImpl 에서 사용.
     @Bean
     public KafkaTemplate<K, V> kafkaTemplate(){
-        return new KafkaTemplate<>(producerFactory());
+        return nonTransactionalAllowed(new KafkaTemplate<>(producerFactory()));
+    }
+
+    // outbox 에 미리 인코딩 해둔 메시지를 그대로 보내는 템플릿. 직렬화는 outbox 에 저장할 때 이미 끝났다.
+    @Bean
+    public KafkaTemplate<String, byte[]> encodedKafkaTemplate(){
+        Map<String, Object> encodedProducerConfig = new HashMap<>(producerConfig());
+        encodedProducerConfig.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return nonTransactionalAllowed(new KafkaTemplate<>(
+                transactional(new DefaultKafkaProducerFactory<>(encodedProducerConfig), "encoded-")));
+    }
+
+    /**
+     * transactional-id-prefix 가 설정되어 있으면 트랜잭션 프로듀서를 만든다. sendBatch 가 batch 하나를 트랜잭션 하나로 보낸다.
+     * transactional.id 가 인스턴스끼리 겹치면 서로의 프로듀서를 fencing 하므로 prefix 뒤에 instance-id 를 붙이고,
+     * instance-id 가 없으면 시작하지 않는다.
+     */
+    private <T, U> DefaultKafkaProducerFactory<T, U> transactional(DefaultKafkaProducerFactory<T, U> producerFactory,
+                                                                   String templateName) {
+        if (StringUtils.hasText(kafkaProducerConfigData.getTransactionalIdPrefix())) {
+            if (!StringUtils.hasText(kafkaProducerConfigData.getInstanceId())) {
+                throw new IllegalStateException(
+                        "kafka-producer-config.transactional-id-prefix 를 사용하려면 kafka-producer-config.instance-id 가 필요합니다.");
+            }
+            producerFactory.setTransactionIdPrefix(kafkaProducerConfigData.getTransactionalIdPrefix()
+                    + kafkaProducerConfigData.getInstanceId() + "-" + templateName);
+        }
+        return producerFactory;
+    }
+
+    // 단건 send 는 트랜잭션 없이 그대로 보낸다.
+    private <T, U> KafkaTemplate<T, U> nonTransactionalAllowed(KafkaTemplate<T, U> kafkaTemplate) {
+        kafkaTemplate.setAllowNonTransactional(true);
+        return kafkaTemplate;
     }
 }
@@ -0,0 +1,10 @@
+package com.food.ordering.system.kafka.producer.service.dto;
+
+/**
+ * sendBatch 로 보낼 메시지 하나. 전송 결과는 outboxMessage 기준으로 KafkaBatchResult 에 모인다.
+ */
+public record KafkaBatchRecord<K, V, U>(
+        K key,
+        V message,
+        U outboxMessage) {
+}
@@ -0,0 +1,11 @@
+package com.food.ordering.system.kafka.producer.service.dto;
+
+import java.util.List;
+
+/**
+ * sendBatch 의 메시지별 전송 결과. 트랜잭션 프로듀서를 사용하면 completed 와 failed 중 한쪽만 채워진다.
+ */
+public record KafkaBatchResult<U>(
+        List<U> completed,
+        List<U> failed) {
+}
@@ -0,0 +1,90 @@
+package com.food.ordering.system.kafka.producer.service.executor;
+
+import com.food.ordering.system.kafka.config.data.KafkaProducerConfigData;
+import com.food.ordering.system.kafka.producer.service.exception.KafkaProducerException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 전송 완료 콜백(outbox 상태 업데이트)을 프로듀서의 네트워크 스레드가 아닌 별도의 스레드에서 실행하기 위한 Executor 입니다.
+ * 콜백에서 DB 를 기다리는 동안 같은 프로듀서의 다른 전송이 멈추지 않도록 합니다.
+ * 처리되지 않은 콜백이 callback-queue-capacity 만큼 쌓이면 acquire 에서 기다리지 않고 바로 실패시켜서,
+ * 전송하는 쪽(outbox relay)이 메시지를 남겨두고 다음에 다시 발행하게 합니다.
+ */
+@Slf4j
+@Component
+public class KafkaProducerCallbackExecutor implements Executor {
+
+    private final ThreadPoolExecutor threadPoolExecutor;
+    private final Semaphore permits;
+    private final int capacity;
+    private final long shutdownTimeoutMs;
+
+    public KafkaProducerCallbackExecutor(KafkaProducerConfigData kafkaProducerConfigData) {
+        this.capacity = kafkaProducerConfigData.getCallbackQueueCapacity();
+        this.shutdownTimeoutMs = kafkaProducerConfigData.getRequestTimeoutMs();
+        this.permits = new Semaphore(capacity);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.threadPoolExecutor = new ThreadPoolExecutor(
+                kafkaProducerConfigData.getCallbackThreadPoolSize(),
+                kafkaProducerConfigData.getCallbackThreadPoolSize(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(capacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "kafka-producer-callback-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("kafka.producer.callback.queue.size", threadPoolExecutor, executor -> executor.getQueue().size())
+                .description("실행을 기다리는 전송 완료 콜백 수")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("kafka.producer.callback.in.flight", permits, semaphore -> capacity - semaphore.availablePermits())
+                .description("전송은 시작했지만 콜백이 끝나지 않은 메시지 수")
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * 전송 전에 호출합니다. 콜백이 capacity 만큼 밀려있으면 기다리지 않고 KafkaProducerException 을 던집니다.
+     * 호출하는 스레드(relay, 커밋 직후 발행)를 막지 않기 위해서이고, 보내지 못한 메시지는 outbox 에 STARTED 로 남습니다.
+     */
+    public void acquire() {
+        if (!permits.tryAcquire()) {
+            throw new KafkaProducerException("전송 완료 콜백이 " + capacity + "개 밀려있어 전송하지 못했습니다.");
+        }
+    }
+
+    /**
+     * 콜백이 끝났거나 전송 자체가 실패했을 때 호출합니다.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        threadPoolExecutor.execute(command);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        log.info("KafkaProducerCallbackExecutor 종료중...");
+        threadPoolExecutor.shutdown();
+        if (!threadPoolExecutor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+            log.warn("KafkaProducerCallbackExecutor 가 {}ms 안에 종료되지 않았습니다. 남은 콜백 수: {}",
+                    shutdownTimeoutMs, threadPoolExecutor.getQueue().size());
+        }
+        log.info("KafkaProducerCallbackExecutor 종료완료");
+    }
+}
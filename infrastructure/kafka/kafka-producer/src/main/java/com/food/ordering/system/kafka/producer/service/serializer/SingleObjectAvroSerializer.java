@@ -0,0 +1,40 @@
+package com.food.ordering.system.kafka.producer.service.serializer;
+
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스키마 레지스트리 없이 avro single object encoding(0xC3 0x01 + 8바이트 스키마 fingerprint + avro binary)으로 직렬화 합니다.
+ * fingerprint 가 메시지 안에 들어있기 때문에 outbox 에 미리 인코딩 해둔 byte[] 를 헤더 없이 그대로 보내도 읽을 수 있습니다.
+ * 컨슈머는 SingleObjectAvroDeserializer 가 kafka-model 에 컴파일된 스키마에서 fingerprint 로 스키마를 찾습니다.
+ */
+public class SingleObjectAvroSerializer implements Serializer<SpecificRecordBase> {
+
+    private final Map<Class<?>, BinaryMessageEncoder<SpecificRecordBase>> encoders = new ConcurrentHashMap<>();
+
+    @Override
+    public byte[] serialize(String topic, SpecificRecordBase data) {
+        if (data == null) {
+            return null;
+        }
+        BinaryMessageEncoder<SpecificRecordBase> encoder = encoders.computeIfAbsent(data.getClass(),
+                recordClass -> new BinaryMessageEncoder<>(SpecificData.getForClass(recordClass), data.getSchema(), false));
+        try {
+            // 인코더가 스레드마다 재사용하는 버퍼를 돌려주기 때문에 바로 복사한다.
+            ByteBuffer buffer = encoder.encode(data);
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        } catch (IOException e) {
+            throw new SerializationException("avro 메시지를 직렬화 하지 못했습니다. topic: " + topic, e);
+        }
+    }
+}
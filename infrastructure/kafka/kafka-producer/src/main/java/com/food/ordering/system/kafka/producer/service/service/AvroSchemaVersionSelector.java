@@ -0,0 +1,34 @@
+package com.food.ordering.system.kafka.producer.service.service;
+
+import com.food.ordering.system.kafka.config.data.KafkaProducerConfigData;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * kafka-producer-config.value-schema-version 에 따라 v1 또는 v2 avro 모델을 고릅니다.
+ * 값이 없으면 v1 을 쓰고, 1, 2 가 아닌 값이면 시작하지 않습니다.
+ * <p>
+ * v1, v2 는 value-subject-name-strategy(TopicRecordNameStrategy) 때문에 {토픽}-{레코드 이름} subject 에 따로 등록됩니다.
+ * 예전의 {토픽}-value subject 는 더 이상 쓰지 않기 때문에, 그 subject 에 설정한 compatibility 는 새 subject 에 다시 설정해야 합니다.
+ */
+@Component
+public class AvroSchemaVersionSelector {
+
+    public static final int VALUE_SCHEMA_VERSION_1 = 1;
+    public static final int VALUE_SCHEMA_VERSION_2 = 2;
+
+    private final int valueSchemaVersion;
+
+    public AvroSchemaVersionSelector(KafkaProducerConfigData kafkaProducerConfigData) {
+        Integer configuredVersion = kafkaProducerConfigData.getValueSchemaVersion();
+        this.valueSchemaVersion = configuredVersion == null ? VALUE_SCHEMA_VERSION_1 : configuredVersion;
+        if (valueSchemaVersion != VALUE_SCHEMA_VERSION_1 && valueSchemaVersion != VALUE_SCHEMA_VERSION_2) {
+            throw new IllegalStateException("지원하지 않는 value-schema-version 입니다: " + valueSchemaVersion);
+        }
+    }
+
+    public <T> T select(Supplier<? extends T> v1, Supplier<? extends T> v2) {
+        return valueSchemaVersion == VALUE_SCHEMA_VERSION_2 ? v2.get() : v1.get();
+    }
+}
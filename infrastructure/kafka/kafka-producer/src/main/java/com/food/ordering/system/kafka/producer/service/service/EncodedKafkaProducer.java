@@ -0,0 +1,25 @@
+package com.food.ordering.system.kafka.producer.service.service;
+
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchRecord;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchResult;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaMessageHelperRequest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface EncodedKafkaProducer {
+
+    /**
+     * KafkaMessageEncoder 로 미리 인코딩 해둔 메시지를 다시 직렬화 하지 않고 그대로 보낸다.
+     * @param topic  전송할 토픽
+     * @param key   메시지 키
+     * @param encodedMessage 인코딩 된 메시지
+     * @return CompletableFuture<Void> 를 사용해서 비동기 처리를 한다.
+     */
+    <U> CompletableFuture<Void> send(String topic, String key, byte[] encodedMessage, KafkaMessageHelperRequest<U> kafkaMessageHelperRequests);
+
+    /**
+     * 인코딩 된 메시지를 한번에 보낸다. KafkaProducer.sendBatch 와 같다.
+     */
+    <U> CompletableFuture<KafkaBatchResult<U>> sendBatch(String topic, List<KafkaBatchRecord<String, byte[], U>> records);
+}
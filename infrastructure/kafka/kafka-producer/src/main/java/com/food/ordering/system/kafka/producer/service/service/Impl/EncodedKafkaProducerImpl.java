@@ -0,0 +1,94 @@
+package com.food.ordering.system.kafka.producer.service.service.Impl;
+
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchRecord;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchResult;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaMessageHelperRequest;
+import com.food.ordering.system.kafka.producer.service.exception.KafkaProducerException;
+import com.food.ordering.system.kafka.producer.service.executor.KafkaProducerCallbackExecutor;
+import com.food.ordering.system.kafka.producer.service.service.EncodedKafkaProducer;
+import com.food.ordering.system.outbox.OutboxStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@Component
+public class EncodedKafkaProducerImpl implements EncodedKafkaProducer {
+
+    private final KafkaTemplate<String, byte[]> encodedKafkaTemplate;
+    private final KafkaProducerCallbackExecutor kafkaProducerCallbackExecutor;
+    private final KafkaBatchSender kafkaBatchSender;
+
+    public EncodedKafkaProducerImpl(@Qualifier("encodedKafkaTemplate") KafkaTemplate<String, byte[]> encodedKafkaTemplate,
+                                    KafkaProducerCallbackExecutor kafkaProducerCallbackExecutor,
+                                    KafkaBatchSender kafkaBatchSender) {
+        this.encodedKafkaTemplate = encodedKafkaTemplate;
+        this.kafkaProducerCallbackExecutor = kafkaProducerCallbackExecutor;
+        this.kafkaBatchSender = kafkaBatchSender;
+    }
+
+    @Override
+    public <U> CompletableFuture<Void> send(String topicName, String key, byte[] encodedMessage,
+                                            KafkaMessageHelperRequest<U> kafkaMessageHelperRequests) {
+        log.info("Kafka 인코딩 된 메시지 전송중 ... key='{}' size='{}' to topic='{}'", key, encodedMessage.length, topicName);
+
+        kafkaProducerCallbackExecutor.acquire();
+        CompletableFuture<SendResult<String, byte[]>> sendFuture;
+        try {
+            sendFuture = encodedKafkaTemplate.send(topicName, key, encodedMessage);
+        } catch (RuntimeException e) {
+            kafkaProducerCallbackExecutor.release();
+            throw e;
+        }
+
+        return sendFuture
+                .thenAcceptAsync(sendResult -> {
+                    RecordMetadata metadata = sendResult.getRecordMetadata();
+
+                    log.info("Kafka 전송완료 key='{}' to topic='{}' partition='{}' offset='{}' timestamp='{}'",
+                            key,
+                            metadata.topic(),
+                            metadata.partition(),
+                            metadata.offset(),
+                            metadata.timestamp());
+
+                    kafkaMessageHelperRequests.outboxCallback()
+                            .accept(kafkaMessageHelperRequests.outboxMessage(), OutboxStatus.COMPLETED);
+
+                }, kafkaProducerCallbackExecutor)
+                .exceptionallyAsync(e -> {
+                    log.error("전송실패 EncodedKafkaProducerImpl({}):Kafka with key='{}' outboxType='{}' to topic='{}' and Exception='{}'",
+                            kafkaMessageHelperRequests.avroModelName(),
+                            key,
+                            kafkaMessageHelperRequests.outboxMessage().getClass().getName(),
+                            topicName,
+                            e.getMessage());
+
+                    kafkaMessageHelperRequests.outboxCallback()
+                            .accept(kafkaMessageHelperRequests.outboxMessage(), OutboxStatus.FAILED);
+
+                    throw new KafkaProducerException("전송실패 EncodedKafkaProducerImpl("+kafkaMessageHelperRequests.avroModelName()+"): key: " + key);
+                }, kafkaProducerCallbackExecutor)
+                .whenComplete((result, e) -> kafkaProducerCallbackExecutor.release());
+    }
+
+    @Override
+    public <U> CompletableFuture<KafkaBatchResult<U>> sendBatch(String topicName, List<KafkaBatchRecord<String, byte[], U>> records) {
+        return kafkaBatchSender.send(encodedKafkaTemplate, topicName, records);
+    }
+
+    @PreDestroy
+    public void close(){
+        log.info("encoded KafkaTemplate 종료중...");
+        encodedKafkaTemplate.flush();
+        encodedKafkaTemplate.destroy();
+        log.info("encoded KafkaTemplate 종료완료");
+    }
+}
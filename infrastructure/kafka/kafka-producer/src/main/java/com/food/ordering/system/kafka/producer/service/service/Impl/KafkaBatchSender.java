@@ -0,0 +1,108 @@
+package com.food.ordering.system.kafka.producer.service.service.Impl;
+
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchRecord;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchResult;
+import com.food.ordering.system.kafka.producer.service.exception.KafkaProducerException;
+import com.food.ordering.system.kafka.producer.service.executor.KafkaProducerCallbackExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * KafkaProducerImpl, EncodedKafkaProducerImpl 의 sendBatch 를 처리합니다.
+ * 트랜잭션 프로듀서면 batch 전체를 하나의 트랜잭션으로 보내고, 아니면 모두 보낸 뒤 결과를 한번에 모읍니다.
+ * 메시지마다 콜백을 실행하지 않고 batch 당 한번만 콜백 스레드를 사용합니다.
+ * 돌려주는 future 는 예외로 끝나지 않고, 보내지 못한 메시지는 모두 failed 로 채웁니다.
+ * 트랜잭션 없이 보낼 때는 같은 key(saga) 의 앞 메시지가 실패하면 뒤 메시지도 failed 로 돌려줘서 다시 보낼 때 순서가 바뀌지 않게 합니다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class KafkaBatchSender {
+
+    private final KafkaProducerCallbackExecutor kafkaProducerCallbackExecutor;
+
+    public <K, V, U> CompletableFuture<KafkaBatchResult<U>> send(KafkaTemplate<K, V> kafkaTemplate,
+                                                                 String topicName,
+                                                                 List<KafkaBatchRecord<K, V, U>> records) {
+        if (records.isEmpty()) {
+            return CompletableFuture.completedFuture(new KafkaBatchResult<>(List.of(), List.of()));
+        }
+        log.info("Kafka 메시지 {}개 batch 전송중 ... to topic='{}' transactional='{}'",
+                records.size(), topicName, kafkaTemplate.isTransactional());
+
+        try {
+            kafkaProducerCallbackExecutor.acquire();
+        } catch (KafkaProducerException e) {
+            log.warn("Kafka batch 를 보내지 않았습니다. to topic='{}' 메시지 {}개: {}", topicName, records.size(), e.getMessage());
+            return CompletableFuture.completedFuture(allFailed(records));
+        }
+        List<CompletableFuture<SendResult<K, V>>> sendFutures;
+        try {
+            sendFutures = kafkaTemplate.isTransactional()
+                    ? kafkaTemplate.executeInTransaction(operations -> sendAll(operations, topicName, records))
+                    : sendAll(kafkaTemplate, topicName, records);
+        } catch (RuntimeException e) {
+            // 트랜잭션이 abort 되면 batch 의 어떤 메시지도 컨슈머에게 전달되지 않는다.
+            kafkaProducerCallbackExecutor.release();
+            log.error("전송실패 KafkaBatchSender: 메시지 {}개 to topic='{}' and Exception='{}'",
+                    records.size(), topicName, e.getMessage());
+            return CompletableFuture.completedFuture(allFailed(records));
+        }
+
+        return CompletableFuture.allOf(sendFutures.toArray(new CompletableFuture[0]))
+                .handleAsync((ignored, e) -> collect(topicName, records, sendFutures), kafkaProducerCallbackExecutor)
+                .whenComplete((result, e) -> kafkaProducerCallbackExecutor.release())
+                .exceptionally(e -> {
+                    // 콜백 스레드에 넘기지 못하면 결과를 확인할 수 없으므로 모두 실패로 처리한다.
+                    log.error("Kafka batch 결과를 처리하지 못했습니다. to topic='{}' 메시지 {}개", topicName, records.size(), e);
+                    return allFailed(records);
+                });
+    }
+
+    private <K, V, U> List<CompletableFuture<SendResult<K, V>>> sendAll(KafkaOperations<K, V> operations,
+                                                                        String topicName,
+                                                                        List<KafkaBatchRecord<K, V, U>> records) {
+        List<CompletableFuture<SendResult<K, V>>> sendFutures = new ArrayList<>(records.size());
+        for (KafkaBatchRecord<K, V, U> record : records) {
+            sendFutures.add(operations.send(topicName, record.key(), record.message()));
+        }
+        return sendFutures;
+    }
+
+    private <K, V, U> KafkaBatchResult<U> collect(String topicName,
+                                                  List<KafkaBatchRecord<K, V, U>> records,
+                                                  List<CompletableFuture<SendResult<K, V>>> sendFutures) {
+        List<U> completed = new ArrayList<>(records.size());
+        List<U> failed = new ArrayList<>();
+        Set<K> failedKeys = new HashSet<>();
+        for (int i = 0; i < records.size(); i++) {
+            K key = records.get(i).key();
+            if (sendFutures.get(i).isCompletedExceptionally() || failedKeys.contains(key)) {
+                failedKeys.add(key);
+                failed.add(records.get(i).outboxMessage());
+            } else {
+                completed.add(records.get(i).outboxMessage());
+            }
+        }
+        if (failed.isEmpty()) {
+            log.info("Kafka batch 전송완료 to topic='{}' 메시지 {}개", topicName, completed.size());
+        } else {
+            log.error("Kafka batch 전송중 일부 실패 to topic='{}' 성공: {}개 실패: {}개", topicName, completed.size(), failed.size());
+        }
+        return new KafkaBatchResult<>(completed, failed);
+    }
+
+    private <K, V, U> KafkaBatchResult<U> allFailed(List<KafkaBatchRecord<K, V, U>> records) {
+        return new KafkaBatchResult<>(List.of(), records.stream().map(KafkaBatchRecord::outboxMessage).toList());
+    }
+}
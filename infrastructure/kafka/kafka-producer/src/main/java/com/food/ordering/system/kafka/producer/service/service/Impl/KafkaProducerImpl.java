@@ -1,7 +1,10 @@
 package com.food.ordering.system.kafka.producer.service.service.Impl;
 
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchRecord;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchResult;
 import com.food.ordering.system.kafka.producer.service.dto.KafkaMessageHelperRequest;
 import com.food.ordering.system.kafka.producer.service.exception.KafkaProducerException;
+import com.food.ordering.system.kafka.producer.service.executor.KafkaProducerCallbackExecutor;
 import com.food.ordering.system.kafka.producer.service.service.KafkaProducer;
 import com.food.ordering.system.outbox.OutboxStatus;
 import jakarta.annotation.PreDestroy;
@@ -10,9 +13,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.specific.SpecificRecordBase;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
@@ -21,14 +26,27 @@ import java.util.concurrent.CompletableFuture;
 public class KafkaProducerImpl<K extends Serializable, V extends SpecificRecordBase> implements KafkaProducer<K, V> {
 
     private final KafkaTemplate<K, V> kafkaTemplate;
+    private final KafkaProducerCallbackExecutor kafkaProducerCallbackExecutor;
+    private final KafkaBatchSender kafkaBatchSender;
 
     @Override
     public <U> CompletableFuture<Void> send(String topicName, K key, V message,
                                             KafkaMessageHelperRequest<U> kafkaMessageHelperRequests) {
         log.info("Kafka 메시지 전송중 ... message='{}' to topic='{}'", message, topicName);
 
-        return kafkaTemplate.send(topicName, key, message)
-                .thenAccept(sendResult -> {
+        // 콜백이 밀려있으면 기다리지 않고 실패하고, 메시지는 outbox 에 남아 relay 가 다시 발행한다.
+        kafkaProducerCallbackExecutor.acquire();
+        CompletableFuture<SendResult<K, V>> sendFuture;
+        try {
+            sendFuture = kafkaTemplate.send(topicName, key, message);
+        } catch (RuntimeException e) {
+            kafkaProducerCallbackExecutor.release();
+            throw e;
+        }
+
+        // 콜백은 DB 를 사용하기 때문에 프로듀서의 네트워크 스레드가 아닌 콜백 전용 스레드에서 실행한다.
+        return sendFuture
+                .thenAcceptAsync(sendResult -> {
                     RecordMetadata metadata = sendResult.getRecordMetadata();
 
                     log.info("Kafka 전송완료 orderId='{}' to topic='{}' partition='{}' offset='{}' timestamp='{}'",
@@ -41,8 +59,8 @@ public class KafkaProducerImpl<K extends Serializable, V extends SpecificRecordB
                     kafkaMessageHelperRequests.outboxCallback()
                             .accept(kafkaMessageHelperRequests.outboxMessage(), OutboxStatus.COMPLETED);
 
-                })
-                .exceptionally(e -> {
+                }, kafkaProducerCallbackExecutor)
+                .exceptionallyAsync(e -> {
                     log.error("전송실패 KafkaProducerImpl({}):Kafka with message='{}' outboxType='{}' to topic='{}' and Exception='{}'",
                             kafkaMessageHelperRequests.avroModelName(),
                             message.toString(),
@@ -54,7 +72,13 @@ public class KafkaProducerImpl<K extends Serializable, V extends SpecificRecordB
                             .accept(kafkaMessageHelperRequests.outboxMessage(), OutboxStatus.FAILED);
 
                     throw new KafkaProducerException("전송실패 KafkaProducerImpl("+kafkaMessageHelperRequests.avroModelName()+"): key: " + key +" & message: "+ message);
-                });
+                }, kafkaProducerCallbackExecutor)
+                .whenComplete((result, e) -> kafkaProducerCallbackExecutor.release());
+    }
+
+    @Override
+    public <U> CompletableFuture<KafkaBatchResult<U>> sendBatch(String topicName, List<KafkaBatchRecord<K, V, U>> records) {
+        return kafkaBatchSender.send(kafkaTemplate, topicName, records);
     }
 
     @PreDestroy
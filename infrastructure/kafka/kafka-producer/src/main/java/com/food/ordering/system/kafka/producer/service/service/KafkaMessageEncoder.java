@@ -0,0 +1,54 @@
+package com.food.ordering.system.kafka.producer.service.service;
+
+import com.food.ordering.system.kafka.config.data.KafkaConfigData;
+import com.food.ordering.system.kafka.config.data.KafkaProducerConfigData;
+import com.food.ordering.system.kafka.producer.service.exception.KafkaProducerException;
+import com.food.ordering.system.kafka.producer.service.serializer.SingleObjectAvroSerializer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 프로듀서와 같은 value serializer 로 Avro 메시지를 미리 인코딩 합니다.
+ * 인코딩 된 bytes 를 outbox 에 저장해두면 발행할 때 파싱이나 매핑 없이 EncodedKafkaProducer 로 그대로 보낼 수 있습니다.
+ */
+@Slf4j
+@Component
+public class KafkaMessageEncoder {
+
+    private final Serializer<Object> valueSerializer;
+
+    @SuppressWarnings("unchecked")
+    public KafkaMessageEncoder(KafkaConfigData kafkaConfigData, KafkaProducerConfigData kafkaProducerConfigData) {
+        if (Boolean.TRUE.equals(kafkaConfigData.getRegistryFreeSerdeEnabled())) {
+            this.valueSerializer = (Serializer<Object>) (Serializer<?>) new SingleObjectAvroSerializer();
+            return;
+        }
+        try {
+            this.valueSerializer = Utils.newInstance(kafkaProducerConfigData.getValueSerializerClass(), Serializer.class);
+        } catch (ClassNotFoundException e) {
+            throw new KafkaProducerException("value serializer 를 찾을 수 없습니다: " + kafkaProducerConfigData.getValueSerializerClass(), e);
+        }
+        this.valueSerializer.configure(
+                Map.of(kafkaConfigData.getSchemaRegistryUrlKey(), kafkaConfigData.getSchemaRegistryUrl(),
+                        kafkaConfigData.getValueSubjectNameStrategyKey(), kafkaConfigData.getValueSubjectNameStrategy()),
+                false);
+    }
+
+    /**
+     * @param topic serializer 가 스키마 subject 를 정할때 사용하기 때문에 실제로 발행할 토픽을 넘겨야 합니다.
+     */
+    public byte[] encode(String topic, SpecificRecordBase message) {
+        return valueSerializer.serialize(topic, message);
+    }
+
+    @PreDestroy
+    public void close() {
+        valueSerializer.close();
+    }
+}
@@ -2,6 +2,8 @@ package com.food.ordering.system.kafka.producer.service.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchRecord;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchResult;
 import com.food.ordering.system.kafka.producer.service.dto.KafkaMessageHelperRequest;
 import com.food.ordering.system.order.service.domain.exception.OrderDomainException;
 import com.food.ordering.system.outbox.OutboxStatus;
@@ -9,7 +11,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -25,6 +30,44 @@ public class KafkaMessageHelper {
         return new KafkaMessageHelperRequest<>(outboxMessage, outboxCallback, orderId, avroModelName);
     }
 
+    /**
+     * batchSender 로 records 를 보내고 결과를 메시지별 outbox 콜백으로 전달합니다.
+     * 보내기 전에 예외가 나거나 결과가 예외로 끝나도 모든 메시지의 콜백을 FAILED 로 호출해서 relay 가 기다리지 않게 합니다.
+     */
+    public <K, V, U> void sendBatch(List<KafkaBatchRecord<K, V, U>> records,
+                                    Function<List<KafkaBatchRecord<K, V, U>>, CompletableFuture<KafkaBatchResult<U>>> batchSender,
+                                    BiConsumer<U, OutboxStatus> outboxCallback) {
+        if (records.isEmpty()) {
+            return;
+        }
+        CompletableFuture<KafkaBatchResult<U>> result;
+        try {
+            result = batchSender.apply(records);
+        } catch (Exception e) {
+            log.error("Kafka batch 메시지 {}개를 보내지 못했습니다.", records.size(), e);
+            failAll(records, outboxCallback);
+            return;
+        }
+        result.whenComplete((kafkaBatchResult, e) -> {
+            if (e != null) {
+                log.error("Kafka batch 메시지 {}개의 전송 결과를 받지 못했습니다.", records.size(), e);
+                failAll(records, outboxCallback);
+                return;
+            }
+            applyBatchResult(kafkaBatchResult, outboxCallback);
+        });
+    }
+
+    // sendBatch 결과를 메시지별 outbox 콜백으로 전달한다.
+    public <U> void applyBatchResult(KafkaBatchResult<U> kafkaBatchResult, BiConsumer<U, OutboxStatus> outboxCallback) {
+        kafkaBatchResult.completed().forEach(outboxMessage -> outboxCallback.accept(outboxMessage, OutboxStatus.COMPLETED));
+        kafkaBatchResult.failed().forEach(outboxMessage -> outboxCallback.accept(outboxMessage, OutboxStatus.FAILED));
+    }
+
+    private <K, V, U> void failAll(List<KafkaBatchRecord<K, V, U>> records, BiConsumer<U, OutboxStatus> outboxCallback) {
+        records.forEach(record -> outboxCallback.accept(record.outboxMessage(), OutboxStatus.FAILED));
+    }
+
     public <T> T getOrderEventPayload(String payload, Class<T> returnType) {
         try {
             return objectMapper.readValue(payload, returnType);
@@ -1,9 +1,12 @@
 package com.food.ordering.system.kafka.producer.service.service;
 
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchRecord;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchResult;
 import com.food.ordering.system.kafka.producer.service.dto.KafkaMessageHelperRequest;
 import org.apache.avro.specific.SpecificRecordBase;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 public interface KafkaProducer <K extends Serializable, V extends SpecificRecordBase> {
@@ -17,4 +20,13 @@ public interface KafkaProducer <K extends Serializable, V extends SpecificRecord
      *
      */
     <U> CompletableFuture<Void> send(String topic, K key, V message, KafkaMessageHelperRequest<U> kafkaMessageHelperRequests);
+
+    /**
+     * 카프카에 여러 메시지를 한번에 보내기
+     * transactional-id-prefix 가 설정되어 있으면 하나의 프로듀서 트랜잭션으로 보낸다.
+     * @param topic  전송할 토픽
+     * @param records 전송할 메시지 목록
+     * @return 모든 메시지의 전송이 끝나면 메시지별 결과로 완료된다. 실패는 예외가 아닌 KafkaBatchResult.failed 로 전달한다.
+     */
+    <U> CompletableFuture<KafkaBatchResult<U>> sendBatch(String topic, List<KafkaBatchRecord<K, V, U>> records);
 }
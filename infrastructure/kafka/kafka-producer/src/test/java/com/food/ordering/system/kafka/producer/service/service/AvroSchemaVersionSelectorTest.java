@@ -0,0 +1,33 @@
+package com.food.ordering.system.kafka.producer.service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.food.ordering.system.kafka.config.data.KafkaProducerConfigData;
+
+public class AvroSchemaVersionSelectorTest {
+
+    @Test
+    void testDefaultsToVersion1() {
+        assertEquals("v1", selector(null).select(() -> "v1", () -> "v2"));
+    }
+
+    @Test
+    void testSelectsConfiguredVersion() {
+        assertEquals("v1", selector(1).select(() -> "v1", () -> "v2"));
+        assertEquals("v2", selector(2).select(() -> "v1", () -> "v2"));
+    }
+
+    @Test
+    void testUnsupportedVersionFailsAtStartup() {
+        assertThrows(IllegalStateException.class, () -> selector(3));
+    }
+
+    private AvroSchemaVersionSelector selector(Integer valueSchemaVersion) {
+        KafkaProducerConfigData kafkaProducerConfigData = new KafkaProducerConfigData();
+        kafkaProducerConfigData.setValueSchemaVersion(valueSchemaVersion);
+        return new AvroSchemaVersionSelector(kafkaProducerConfigData);
+    }
+}
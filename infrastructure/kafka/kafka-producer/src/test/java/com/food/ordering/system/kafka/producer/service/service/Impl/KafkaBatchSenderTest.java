@@ -0,0 +1,97 @@
+package com.food.ordering.system.kafka.producer.service.service.Impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import com.food.ordering.system.kafka.config.data.KafkaProducerConfigData;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchRecord;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchResult;
+import com.food.ordering.system.kafka.producer.service.executor.KafkaProducerCallbackExecutor;
+
+public class KafkaBatchSenderTest {
+
+    private static final String TOPIC_NAME = "payment-request";
+
+    private KafkaProducerCallbackExecutor kafkaProducerCallbackExecutor;
+    private KafkaBatchSender kafkaBatchSender;
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        KafkaProducerConfigData kafkaProducerConfigData = new KafkaProducerConfigData();
+        kafkaProducerConfigData.setCallbackThreadPoolSize(1);
+        kafkaProducerConfigData.setCallbackQueueCapacity(1);
+        kafkaProducerConfigData.setRequestTimeoutMs(1000);
+        kafkaProducerCallbackExecutor = new KafkaProducerCallbackExecutor(kafkaProducerConfigData);
+        kafkaBatchSender = new KafkaBatchSender(kafkaProducerCallbackExecutor);
+        kafkaTemplate = mock(KafkaTemplate.class);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        kafkaProducerCallbackExecutor.close();
+    }
+
+    @Test
+    void testLaterMessageOfFailedSagaIsReportedAsFailed() throws Exception {
+        givenSendResult("saga-1-first", CompletableFuture.failedFuture(new IllegalStateException("broker is down")));
+        givenSendResult("saga-1-second", CompletableFuture.completedFuture(null));
+        givenSendResult("saga-2-first", CompletableFuture.completedFuture(null));
+
+        KafkaBatchResult<String> result = kafkaBatchSender.send(kafkaTemplate, TOPIC_NAME, List.of(
+                        new KafkaBatchRecord<>("saga-1", "saga-1-first", "saga-1-first"),
+                        new KafkaBatchRecord<>("saga-2", "saga-2-first", "saga-2-first"),
+                        new KafkaBatchRecord<>("saga-1", "saga-1-second", "saga-1-second")))
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("saga-2-first"), result.completed());
+        assertEquals(List.of("saga-1-first", "saga-1-second"), result.failed());
+    }
+
+    @Test
+    void testBatchIsFailedWithoutSendingWhenCallbacksAreBackedUp() throws Exception {
+        kafkaProducerCallbackExecutor.acquire();
+
+        KafkaBatchResult<String> result = kafkaBatchSender.send(kafkaTemplate, TOPIC_NAME,
+                        List.of(new KafkaBatchRecord<>("saga-1", "saga-1-first", "saga-1-first")))
+                .get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.completed().isEmpty());
+        assertEquals(List.of("saga-1-first"), result.failed());
+        verify(kafkaTemplate, never()).send(anyString(), any(), any());
+    }
+
+    @Test
+    void testPermitIsReleasedAfterBatchCompletes() throws Exception {
+        givenSendResult("saga-1-first", CompletableFuture.completedFuture(null));
+        List<KafkaBatchRecord<String, String, String>> records =
+                List.of(new KafkaBatchRecord<>("saga-1", "saga-1-first", "saga-1-first"));
+
+        kafkaBatchSender.send(kafkaTemplate, TOPIC_NAME, records).get(5, TimeUnit.SECONDS);
+        KafkaBatchResult<String> result = kafkaBatchSender.send(kafkaTemplate, TOPIC_NAME, records).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("saga-1-first"), result.completed());
+    }
+
+    private void givenSendResult(String message, CompletableFuture<SendResult<String, String>> sendResult) {
+        when(kafkaTemplate.send(eq(TOPIC_NAME), anyString(), eq(message))).thenReturn(sendResult);
+    }
+}
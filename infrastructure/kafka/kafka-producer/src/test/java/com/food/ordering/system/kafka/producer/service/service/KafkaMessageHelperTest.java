@@ -0,0 +1,58 @@
+package com.food.ordering.system.kafka.producer.service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchRecord;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchResult;
+import com.food.ordering.system.outbox.OutboxStatus;
+
+public class KafkaMessageHelperTest {
+
+    private final KafkaMessageHelper kafkaMessageHelper = new KafkaMessageHelper(new ObjectMapper());
+    private final List<KafkaBatchRecord<String, String, String>> records = List.of(
+            new KafkaBatchRecord<>("saga-1", "first", "first"),
+            new KafkaBatchRecord<>("saga-2", "second", "second"));
+
+    @Test
+    void testAllMessagesFailWhenBatchCompletesExceptionally() {
+        Map<String, OutboxStatus> results = new LinkedHashMap<>();
+
+        kafkaMessageHelper.sendBatch(records,
+                batch -> CompletableFuture.failedFuture(new IllegalStateException("rejected")),
+                results::put);
+
+        assertEquals(Map.of("first", OutboxStatus.FAILED, "second", OutboxStatus.FAILED), results);
+    }
+
+    @Test
+    void testAllMessagesFailWhenBatchCannotBeSent() {
+        Map<String, OutboxStatus> results = new LinkedHashMap<>();
+
+        kafkaMessageHelper.sendBatch(records,
+                batch -> {
+                    throw new IllegalStateException("callbacks are backed up");
+                },
+                results::put);
+
+        assertEquals(Map.of("first", OutboxStatus.FAILED, "second", OutboxStatus.FAILED), results);
+    }
+
+    @Test
+    void testBatchResultIsAppliedPerMessage() {
+        Map<String, OutboxStatus> results = new LinkedHashMap<>();
+
+        kafkaMessageHelper.sendBatch(records,
+                batch -> CompletableFuture.completedFuture(new KafkaBatchResult<>(List.of("first"), List.of("second"))),
+                results::put);
+
+        assertEquals(Map.of("first", OutboxStatus.COMPLETED, "second", OutboxStatus.FAILED), results);
+    }
+}
@@ -0,0 +1,37 @@
+package com.food.ordering.system.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * outbox 메시지를 저장한 트랜잭션이 커밋된 직후 바로 발행하기 위한 fast-path 입니다.
+ * 스케줄러의 다음 주기를 기다리지 않아도 되므로 saga 단계마다 생기던 지연이 사라집니다.
+ * 발행에 실패하거나 커밋 전에 서비스가 내려가더라도 outbox 는 STARTED 로 남아있기 때문에 OutboxScheduler 가 다시 발행합니다.
+ */
+@Slf4j
+@Component
+public class OutboxAfterCommitPublisher {
+
+    public void publishAfterCommit(Runnable publishAction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(publishAction);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(publishAction);
+            }
+        });
+    }
+
+    private void publish(Runnable publishAction) {
+        try {
+            publishAction.run();
+        } catch (Exception e) {
+            log.warn("커밋 후 outbox 메시지 발행에 실패했습니다. 스케줄러가 다시 발행합니다.", e);
+        }
+    }
+}
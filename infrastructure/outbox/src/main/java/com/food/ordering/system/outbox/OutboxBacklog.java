@@ -0,0 +1,16 @@
+package com.food.ordering.system.outbox;
+
+/**
+ * outbox 의 밀린 정도. pending 은 아직 발행되지 않은 STARTED 메시지이고,
+ * exhausted 는 최대 시도 횟수를 넘어서 더 이상 재시도하지 않는 FAILED 메시지입니다.
+ */
+public record OutboxBacklog(
+        long pendingCount,
+        long failedCount,
+        long exhaustedCount,
+        double oldestPendingAgeSeconds) {
+
+    public static OutboxBacklog empty() {
+        return new OutboxBacklog(0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,51 @@
+package com.food.ordering.system.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 처리가 끝난 outbox 를 batchSize 만큼씩 나눠서 삭제합니다.
+ * 한번에 모든 row 를 읽어서 지우면 메모리와 트랜잭션이 무한정 커지기 때문에
+ * 삭제는 batch 마다 짧은 트랜잭션으로 실행하고, 삭제된 수가 batchSize 보다 작아질 때까지 반복합니다.
+ */
+@Slf4j
+@Component
+public class OutboxCleaner {
+
+    /**
+     * @param outboxName  로그와 메트릭의 outbox 태그로 사용할 이름
+     * @param batchSize   한번에 삭제할 최대 row 수
+     * @param deleteBatch limit 을 받아서 하나의 트랜잭션으로 삭제하고 삭제한 row 수를 돌려주는 함수
+     * @return 이번 실행에서 삭제한 전체 row 수
+     */
+    public long clean(String outboxName, int batchSize, IntUnaryOperator deleteBatch) {
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        long deletedCount = 0;
+        int batchCount = 0;
+        int deleted;
+        do {
+            deleted = deleteBatch.applyAsInt(batchSize);
+            deletedCount += deleted;
+            batchCount++;
+        } while (deleted >= batchSize);
+
+        long elapsedNanos = sample.stop(Timer.builder("outbox.cleaner.run")
+                .description("outbox 정리 1회 실행 시간")
+                .tag("outbox", outboxName)
+                .register(Metrics.globalRegistry));
+        Counter.builder("outbox.cleaner.deleted")
+                .description("outbox 정리로 삭제된 row 수")
+                .tag("outbox", outboxName)
+                .register(Metrics.globalRegistry)
+                .increment(deletedCount);
+
+        log.info("{} 메시지를 {}개 삭제했습니다. batch: {}회, 소요시간: {}ms",
+                outboxName, deletedCount, batchCount, elapsedNanos / 1_000_000);
+        return deletedCount;
+    }
+}
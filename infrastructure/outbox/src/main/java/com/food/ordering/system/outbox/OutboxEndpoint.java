@@ -0,0 +1,24 @@
+package com.food.ordering.system.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/outbox 로 outbox 별 밀린 정도를 조회합니다. 값은 OutboxMetrics 가 마지막으로 조회한 값입니다.
+ */
+@Component
+@Endpoint(id = "outbox")
+@RequiredArgsConstructor
+public class OutboxEndpoint {
+
+    private final OutboxMetrics outboxMetrics;
+
+    @ReadOperation
+    public Map<String, OutboxBacklog> backlogs() {
+        return outboxMetrics.getBacklogs();
+    }
+}
@@ -0,0 +1,14 @@
+package com.food.ordering.system.outbox;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * OutboxRelay 가 한번에 가져온 메시지를 하나의 단위로 발행하는 곳입니다.
+ * 모든 메시지의 발행 결과를 outboxCallback 으로 비동기로 전달해야 합니다.
+ */
+@FunctionalInterface
+public interface OutboxMessageBatchSink<T> {
+
+    void publishBatch(List<T> outboxMessages, BiConsumer<T, OutboxStatus> outboxCallback);
+}
@@ -0,0 +1,14 @@
+package com.food.ordering.system.outbox;
+
+import java.util.function.BiConsumer;
+
+/**
+ * OutboxRelay 가 메시지를 발행하는 곳입니다. 각 서비스의 message publisher 를 그대로 연결합니다.
+ * 발행 결과는 outboxCallback 으로 비동기로 전달해야 합니다.
+ * 보내기 전에 거절되어 콜백이 불리지 않는 경우에는 예외를 던져야 relay 가 saga 를 바로 정리합니다.
+ */
+@FunctionalInterface
+public interface OutboxMessageSink<T> {
+
+    void publish(T outboxMessage, BiConsumer<T, OutboxStatus> outboxCallback);
+}
@@ -0,0 +1,22 @@
+package com.food.ordering.system.outbox;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * OutboxRelay 가 발행할 메시지를 가져오고 발행 결과를 반영하는 outbox 저장소입니다.
+ */
+public interface OutboxMessageSource<T> {
+
+    /**
+     * 발행할 메시지를 오래된 순서로 limit 개까지 가져옵니다.
+     */
+    List<T> claimOutboxMessages(int limit);
+
+    void updateOutboxStatusByIds(OutboxStatus outboxStatus, List<UUID> ids);
+
+    /**
+     * 가져왔지만 발행하지 않은 메시지의 lease 를 풀어서 다음 claim 에서 바로 다시 가져갈 수 있게 합니다.
+     */
+    void releaseOutboxMessagesByIds(List<UUID> ids);
+}
@@ -0,0 +1,68 @@
+package com.food.ordering.system.outbox;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * outbox 별 밀린 메시지 수, 가장 오래된 미발행 메시지의 나이, FAILED 수, 재시도를 포기한 메시지 수를 gauge 로 노출합니다.
+ * 재시도를 포기한 메시지는 사람이 확인해야 하므로 조회할 때마다 에러 로그를 남깁니다.
+ * scrape 할 때마다 DB 를 조회하지 않도록 주기적으로 조회한 값을 보관해두고 gauge 는 그 값을 읽습니다.
+ */
+@Slf4j
+@Component
+public class OutboxMetrics {
+
+    private final Map<String, Supplier<OutboxBacklog>> backlogSuppliers = new ConcurrentHashMap<>();
+    private final Map<String, OutboxBacklog> backlogs = new ConcurrentHashMap<>();
+
+    public void register(String outboxName, Supplier<OutboxBacklog> backlogSupplier) {
+        backlogSuppliers.put(outboxName, backlogSupplier);
+        backlogs.put(outboxName, OutboxBacklog.empty());
+
+        Gauge.builder("outbox.pending", backlogs, values -> values.get(outboxName).pendingCount())
+                .tag("outbox", outboxName)
+                .description("발행되지 않은 STARTED 메시지 수")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("outbox.oldest.pending.age", backlogs, values -> values.get(outboxName).oldestPendingAgeSeconds())
+                .tag("outbox", outboxName)
+                .baseUnit("seconds")
+                .description("가장 오래된 STARTED 메시지가 기다린 시간")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("outbox.failed", backlogs, values -> values.get(outboxName).failedCount())
+                .tag("outbox", outboxName)
+                .description("FAILED 메시지 수")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("outbox.exhausted", backlogs, values -> values.get(outboxName).exhaustedCount())
+                .tag("outbox", outboxName)
+                .description("최대 시도 횟수를 넘어서 더 이상 재시도하지 않는 FAILED 메시지 수")
+                .register(Metrics.globalRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox-metrics.refresh-interval:10000}")
+    public void refresh() {
+        backlogSuppliers.forEach((outboxName, backlogSupplier) -> {
+            try {
+                OutboxBacklog backlog = backlogSupplier.get();
+                backlogs.put(outboxName, backlog);
+                if (backlog.exhaustedCount() > 0) {
+                    log.error("{} 에 최대 시도 횟수를 넘어서 재시도하지 않는 FAILED 메시지가 {}개 있습니다.",
+                            outboxName, backlog.exhaustedCount());
+                }
+            } catch (Exception e) {
+                log.error("{} 의 outbox 상태를 조회하지 못했습니다.", outboxName, e);
+            }
+        });
+    }
+
+    public Map<String, OutboxBacklog> getBacklogs() {
+        return new TreeMap<>(backlogs);
+    }
+}
@@ -0,0 +1,275 @@
+package com.food.ordering.system.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * outbox 메시지를 source 에서 가져와 sink 로 발행하고, 발행 결과를 모아서 반영하는 파이프라인입니다.
+ * <ul>
+ *     <li>발행 결과를 기다리지 않고 maxInFlight 개의 saga 까지 동시에 발행합니다.</li>
+ *     <li>같은 saga id 의 메시지는 앞 메시지의 발행 결과를 받은 뒤 순서대로 발행합니다.</li>
+ *     <li>발행 결과는 OutboxStatusUpdateBuffer 로 모아 batch 로 업데이트 합니다.</li>
+ * </ul>
+ * batchSink 가 있으면 한번에 가져온 메시지를 batch 하나로 발행하고, batch 의 결과를 모두 받으면 한번에 반영합니다.
+ * 발행 결과를 inFlightTimeout 동안 받지 못한 saga 는 정리하고, 메시지는 STARTED 로 남아 claim 의 lease 가 끝나면 다시 발행됩니다.
+ */
+@Slf4j
+public class OutboxRelay<T> {
+
+    private final String outboxName;
+    private final OutboxMessageSource<T> source;
+    private final OutboxMessageSink<T> sink;
+    private final OutboxMessageBatchSink<T> batchSink;
+    private final Function<T, UUID> idExtractor;
+    private final Function<T, UUID> sagaIdExtractor;
+    private final int batchSize;
+    private final long inFlightTimeoutNanos;
+    private final Semaphore inFlightPermits;
+    private final Map<UUID, InFlightSaga> inFlightSagas = new ConcurrentHashMap<>();
+    private final OutboxStatusUpdateBuffer outboxStatusUpdateBuffer;
+    private final ExecutorService dispatchExecutor;
+    private final Timer publishLatencyTimer;
+    private final Map<OutboxStatus, Counter> publishedCounters = new EnumMap<>(OutboxStatus.class);
+
+    public OutboxRelay(String outboxName,
+                       OutboxMessageSource<T> source,
+                       OutboxMessageSink<T> sink,
+                       OutboxMessageBatchSink<T> batchSink,
+                       Function<T, UUID> idExtractor,
+                       Function<T, UUID> sagaIdExtractor,
+                       int maxInFlight,
+                       int batchSize,
+                       Duration inFlightTimeout) {
+        this.outboxName = outboxName;
+        this.source = source;
+        this.sink = sink;
+        this.batchSink = batchSink;
+        this.idExtractor = idExtractor;
+        this.sagaIdExtractor = sagaIdExtractor;
+        this.batchSize = batchSize;
+        this.inFlightTimeoutNanos = inFlightTimeout.toNanos();
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.outboxStatusUpdateBuffer = new OutboxStatusUpdateBuffer(source::updateOutboxStatusByIds);
+        // 콜백 스레드를 막지 않도록 같은 saga 의 다음 메시지는 별도 스레드에서 발행한다.
+        this.dispatchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay-" + outboxName);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.publishLatencyTimer = Timer.builder("outbox.publish.latency")
+                .tag("outbox", outboxName)
+                .description("메시지를 보내고 발행 결과를 받기까지 걸린 시간")
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry);
+        for (OutboxStatus outboxStatus : List.of(OutboxStatus.COMPLETED, OutboxStatus.FAILED)) {
+            publishedCounters.put(outboxStatus, Counter.builder("outbox.published")
+                    .tag("outbox", outboxName)
+                    .tag("status", outboxStatus.name())
+                    .register(Metrics.globalRegistry));
+        }
+        Gauge.builder("outbox.relay.in.flight", inFlightSagas, Map::size)
+                .tag("outbox", outboxName)
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * @return 이번에 발행을 시작한 saga 의 수
+     */
+    public int relay() {
+        // 아직 반영되지 않은 발행 결과를 먼저 반영해야 같은 메시지를 다시 발행하지 않는다.
+        flush();
+        expireInFlightSagas();
+
+        int capacity = Math.min(batchSize, inFlightPermits.availablePermits());
+        if (capacity == 0) {
+            log.info("{} 의 발행중인 saga 가 {}개로 가득 차서 메시지를 가져오지 않습니다.", outboxName, inFlightSagas.size());
+            return 0;
+        }
+
+        List<T> outboxMessages = source.claimOutboxMessages(capacity);
+        if (outboxMessages.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, Deque<T>> outboxMessagesBySagaId = new LinkedHashMap<>();
+        List<T> skippedMessages = new ArrayList<>();
+        for (T outboxMessage : outboxMessages) {
+            UUID sagaId = sagaIdExtractor.apply(outboxMessage);
+            // 앞 메시지가 아직 발행중인 saga 는 순서를 지키기 위해 이번에는 발행하지 않고 lease 를 풀어둔다.
+            if (inFlightSagas.containsKey(sagaId) || outboxStatusUpdateBuffer.contains(idExtractor.apply(outboxMessage))) {
+                skippedMessages.add(outboxMessage);
+                continue;
+            }
+            outboxMessagesBySagaId.computeIfAbsent(sagaId, id -> new ArrayDeque<>()).add(outboxMessage);
+        }
+
+        List<InFlightSaga> startedSagas = new ArrayList<>();
+        for (Map.Entry<UUID, Deque<T>> entry : outboxMessagesBySagaId.entrySet()) {
+            if (!inFlightPermits.tryAcquire()) {
+                skippedMessages.addAll(entry.getValue());
+                continue;
+            }
+            InFlightSaga inFlightSaga = new InFlightSaga(entry.getKey(), entry.getValue());
+            inFlightSagas.put(entry.getKey(), inFlightSaga);
+            startedSagas.add(inFlightSaga);
+        }
+        release(skippedMessages);
+        if (batchSink != null) {
+            dispatchBatch(startedSagas);
+        } else {
+            startedSagas.forEach(this::dispatchNext);
+        }
+        int started = startedSagas.size();
+        log.info("{} 메시지 {}개를 가져와서 {}개 saga 의 발행을 시작했습니다. 발행중인 saga: {}",
+                outboxName, outboxMessages.size(), started, inFlightSagas.size());
+        return started;
+    }
+
+    public void flush() {
+        outboxStatusUpdateBuffer.flush();
+    }
+
+    public int getInFlightCount() {
+        return inFlightSagas.size();
+    }
+
+    public void close() {
+        dispatchExecutor.shutdown();
+        flush();
+    }
+
+    private void dispatchNext(InFlightSaga inFlightSaga) {
+        T outboxMessage = inFlightSaga.outboxMessages.poll();
+        if (outboxMessage == null || inFlightSagas.get(inFlightSaga.sagaId) != inFlightSaga) {
+            complete(inFlightSaga);
+            return;
+        }
+        long sentAt = System.nanoTime();
+        inFlightSaga.dispatchedAt = sentAt;
+        try {
+            sink.publish(outboxMessage, (publishedMessage, outboxStatus) ->
+                    onPublished(inFlightSaga, publishedMessage, outboxStatus, sentAt));
+        } catch (Exception e) {
+            log.error("{} 메시지를 발행하지 못했습니다. saga id: {}", outboxName, inFlightSaga.sagaId, e);
+            complete(inFlightSaga);
+            List<T> unsentMessages = new ArrayList<>();
+            unsentMessages.add(outboxMessage);
+            unsentMessages.addAll(inFlightSaga.outboxMessages);
+            release(unsentMessages);
+        }
+    }
+
+    private void dispatchBatch(List<InFlightSaga> batchSagas) {
+        List<T> batch = new ArrayList<>();
+        batchSagas.forEach(inFlightSaga -> batch.addAll(inFlightSaga.outboxMessages));
+        if (batch.isEmpty()) {
+            return;
+        }
+        AtomicInteger remaining = new AtomicInteger(batch.size());
+        // 메시지마다 sink 에 넘긴 시각을 기록해서, batch 안에서 결과가 늦게 온 메시지의 지연도 그대로 측정한다.
+        Map<UUID, Long> sentAtById = new ConcurrentHashMap<>(batch.size());
+        batch.forEach(outboxMessage -> sentAtById.put(idExtractor.apply(outboxMessage), System.nanoTime()));
+        try {
+            batchSink.publishBatch(batch, (publishedMessage, outboxStatus) -> {
+                UUID id = idExtractor.apply(publishedMessage);
+                Long sentAt = sentAtById.remove(id);
+                if (sentAt != null) {
+                    publishLatencyTimer.record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
+                }
+                publishedCounters.get(outboxStatus).increment();
+                outboxStatusUpdateBuffer.add(id, outboxStatus);
+                // batch 의 결과를 모두 받으면 상태를 한번에 반영하고 saga 를 정리한다.
+                if (remaining.decrementAndGet() == 0) {
+                    flush();
+                    batchSagas.forEach(this::complete);
+                }
+            });
+        } catch (Exception e) {
+            log.error("{} 메시지 {}개를 batch 로 발행하지 못했습니다.", outboxName, batch.size(), e);
+            batchSagas.forEach(this::complete);
+            release(batch);
+        }
+    }
+
+    private void onPublished(InFlightSaga inFlightSaga, T outboxMessage, OutboxStatus outboxStatus, long sentAt) {
+        publishLatencyTimer.record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
+        publishedCounters.get(outboxStatus).increment();
+        if (outboxStatusUpdateBuffer.add(idExtractor.apply(outboxMessage), outboxStatus) >= batchSize) {
+            flush();
+        }
+        // 실패한 메시지 뒤의 메시지를 먼저 발행하면 순서가 바뀌므로 남은 메시지는 발행하지 않는다.
+        if (outboxStatus != OutboxStatus.COMPLETED) {
+            complete(inFlightSaga);
+            return;
+        }
+        try {
+            dispatchExecutor.execute(() -> dispatchNext(inFlightSaga));
+        } catch (RejectedExecutionException e) {
+            complete(inFlightSaga);
+        }
+    }
+
+    private void release(List<T> outboxMessages) {
+        if (outboxMessages.isEmpty()) {
+            return;
+        }
+        try {
+            source.releaseOutboxMessagesByIds(outboxMessages.stream().map(idExtractor).toList());
+        } catch (Exception e) {
+            // lease 를 풀지 못한 메시지는 lease 가 끝난 뒤에 다시 가져온다.
+            log.warn("{} 메시지 {}개의 lease 를 풀지 못했습니다.", outboxName, outboxMessages.size(), e);
+        }
+    }
+
+    private void expireInFlightSagas() {
+        long now = System.nanoTime();
+        inFlightSagas.values().forEach(inFlightSaga -> {
+            if (now - inFlightSaga.dispatchedAt > inFlightTimeoutNanos) {
+                log.warn("{} 의 saga id: {} 메시지 발행 결과를 받지 못해서 다음 relay 에서 다시 발행합니다.",
+                        outboxName, inFlightSaga.sagaId);
+                complete(inFlightSaga);
+            }
+        });
+    }
+
+    private void complete(InFlightSaga inFlightSaga) {
+        if (inFlightSagas.remove(inFlightSaga.sagaId, inFlightSaga)) {
+            inFlightPermits.release();
+        }
+    }
+
+    private final class InFlightSaga {
+
+        private final UUID sagaId;
+        private final Deque<T> outboxMessages;
+        private volatile long dispatchedAt;
+
+        private InFlightSaga(UUID sagaId, Deque<T> outboxMessages) {
+            this.sagaId = sagaId;
+            this.outboxMessages = outboxMessages;
+            this.dispatchedAt = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.food.ordering.system.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * 프로듀서 콜백으로 받은 outbox id 를 상태별로 모아두었다가 한번에 업데이트 하기 위한 버퍼입니다.
+ * 메시지마다 save(SELECT + UPDATE) 하던 것을 상태별 UPDATE 한번으로 줄여줍니다.
+ * 업데이트에 실패한 id 는 버퍼에 다시 넣어서 다음 flush 에서 다시 업데이트 합니다.
+ */
+@Slf4j
+public class OutboxStatusUpdateBuffer {
+
+    private final Map<OutboxStatus, Set<UUID>> pendingIds = new EnumMap<>(OutboxStatus.class);
+    private final BiConsumer<OutboxStatus, List<UUID>> flushAction;
+
+    public OutboxStatusUpdateBuffer(BiConsumer<OutboxStatus, List<UUID>> flushAction) {
+        this.flushAction = flushAction;
+    }
+
+    /**
+     * @return 해당 상태로 대기중인 id 의 개수
+     */
+    public synchronized int add(UUID id, OutboxStatus outboxStatus) {
+        // 같은 메시지가 중복 발행된 경우 한번이라도 성공했다면 COMPLETED 로 남긴다.
+        if (outboxStatus == OutboxStatus.FAILED && pendingIds(OutboxStatus.COMPLETED).contains(id)) {
+            return pendingIds(outboxStatus).size();
+        }
+        if (outboxStatus == OutboxStatus.COMPLETED) {
+            pendingIds(OutboxStatus.FAILED).remove(id);
+        }
+        Set<UUID> ids = pendingIds(outboxStatus);
+        ids.add(id);
+        return ids.size();
+    }
+
+    public synchronized boolean contains(UUID id) {
+        return pendingIds.values().stream().anyMatch(ids -> ids.contains(id));
+    }
+
+    public void flush() {
+        Map<OutboxStatus, List<UUID>> drainedIds = new EnumMap<>(OutboxStatus.class);
+        synchronized (this) {
+            pendingIds.forEach((outboxStatus, ids) -> {
+                if (!ids.isEmpty()) {
+                    drainedIds.put(outboxStatus, new ArrayList<>(ids));
+                    ids.clear();
+                }
+            });
+        }
+        drainedIds.forEach((outboxStatus, ids) -> {
+            try {
+                flushAction.accept(outboxStatus, ids);
+            } catch (Exception e) {
+                log.error("outbox 상태를 {} 로 업데이트 하는데 실패해서 다음 flush 에서 다시 업데이트 합니다. 대상 id 개수: {}",
+                        outboxStatus, ids.size(), e);
+                // 그 사이에 들어온 결과가 있으면 add 의 규칙대로 합쳐진다.
+                ids.forEach(id -> add(id, outboxStatus));
+            }
+        });
+    }
+
+    private Set<UUID> pendingIds(OutboxStatus outboxStatus) {
+        return pendingIds.computeIfAbsent(outboxStatus, status -> new LinkedHashSet<>());
+    }
+}
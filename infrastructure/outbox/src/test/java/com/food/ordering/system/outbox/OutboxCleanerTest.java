@@ -0,0 +1,67 @@
+package com.food.ordering.system.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class OutboxCleanerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxCleaner outboxCleaner = new OutboxCleaner();
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+        meterRegistry.close();
+    }
+
+    @Test
+    void testDeletesInBatchesUntilAShortBatch() {
+        String outboxName = "cleaner-" + UUID.randomUUID();
+        List<Integer> limits = new ArrayList<>();
+        int[] remaining = {25};
+
+        long deleted = outboxCleaner.clean(outboxName, 10, limit -> {
+            limits.add(limit);
+            int deletedInBatch = Math.min(limit, remaining[0]);
+            remaining[0] -= deletedInBatch;
+            return deletedInBatch;
+        });
+
+        assertEquals(25, deleted);
+        assertEquals(List.of(10, 10, 10), limits);
+        assertEquals(25, meterRegistry.get("outbox.cleaner.deleted").tag("outbox", outboxName).counter().count());
+        assertEquals(1, meterRegistry.get("outbox.cleaner.run").tag("outbox", outboxName).timer().count());
+    }
+
+    @Test
+    void testExactMultipleOfBatchSizeEndsWithAnEmptyBatch() {
+        List<Integer> limits = new ArrayList<>();
+        int[] remaining = {20};
+
+        long deleted = outboxCleaner.clean("cleaner-" + UUID.randomUUID(), 10, limit -> {
+            limits.add(limit);
+            int deletedInBatch = Math.min(limit, remaining[0]);
+            remaining[0] -= deletedInBatch;
+            return deletedInBatch;
+        });
+
+        // 마지막 batch 가 꽉 차면 남은 row 가 없는지 한번 더 확인한다.
+        assertEquals(20, deleted);
+        assertEquals(3, limits.size());
+    }
+}
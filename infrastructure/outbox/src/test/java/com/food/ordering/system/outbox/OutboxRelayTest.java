@@ -0,0 +1,151 @@
+package com.food.ordering.system.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class OutboxRelayTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+        meterRegistry.close();
+    }
+
+    @Test
+    void testBatchPublishLatencyIsRecordedPerMessage() {
+        String outboxName = "batch-latency-" + UUID.randomUUID();
+        List<TestMessage> messages = List.of(
+                new TestMessage(UUID.randomUUID(), UUID.randomUUID()),
+                new TestMessage(UUID.randomUUID(), UUID.randomUUID()));
+        List<BiConsumer<TestMessage, OutboxStatus>> callbacks = new ArrayList<>();
+        OutboxRelay<TestMessage> outboxRelay = new OutboxRelay<>(outboxName,
+                new TestSource(messages),
+                (outboxMessage, outboxCallback) -> { },
+                (outboxMessages, outboxCallback) -> callbacks.add(outboxCallback),
+                TestMessage::id,
+                TestMessage::sagaId,
+                10,
+                10,
+                Duration.ofMinutes(1));
+
+        outboxRelay.relay();
+        callbacks.get(0).accept(messages.get(0), OutboxStatus.COMPLETED);
+        callbacks.get(0).accept(messages.get(1), OutboxStatus.COMPLETED);
+
+        Timer timer = meterRegistry.get("outbox.publish.latency").tag("outbox", outboxName).timer();
+        assertEquals(2, timer.count());
+        assertEquals(0, outboxRelay.getInFlightCount());
+        assertTrue(timer.totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void testRefusedPublishReleasesSagaImmediately() {
+        TestMessage message = new TestMessage(UUID.randomUUID(), UUID.randomUUID());
+        TestSource source = new TestSource(List.of(message));
+        List<TestMessage> published = new ArrayList<>();
+        OutboxRelay<TestMessage> outboxRelay = new OutboxRelay<>("refused-" + UUID.randomUUID(),
+                source,
+                (outboxMessage, outboxCallback) -> {
+                    published.add(outboxMessage);
+                    // 프로듀서가 콜백이 밀려서 보내기 전에 거절한 경우
+                    if (published.size() == 1) {
+                        throw new IllegalStateException("refused");
+                    }
+                },
+                null,
+                TestMessage::id,
+                TestMessage::sagaId,
+                1,
+                10,
+                Duration.ofMinutes(1));
+
+        outboxRelay.relay();
+        assertEquals(0, outboxRelay.getInFlightCount());
+
+        // inFlightTimeout 을 기다리지 않고 다음 relay 에서 다시 발행한다.
+        source.messages.add(message);
+        assertEquals(1, outboxRelay.relay());
+        assertEquals(List.of(message, message), published);
+        assertTrue(source.updatedIds.isEmpty());
+        assertEquals(List.of(message.id()), source.releasedIds);
+    }
+
+    @Test
+    void testMessageOfInFlightSagaIsReleasedWithoutPublishing() {
+        UUID sagaId = UUID.randomUUID();
+        TestMessage first = new TestMessage(UUID.randomUUID(), sagaId);
+        TestMessage second = new TestMessage(UUID.randomUUID(), sagaId);
+        TestSource source = new TestSource(List.of(first));
+        List<TestMessage> published = new ArrayList<>();
+        OutboxRelay<TestMessage> outboxRelay = new OutboxRelay<>("in-flight-" + UUID.randomUUID(),
+                source,
+                (outboxMessage, outboxCallback) -> published.add(outboxMessage),
+                null,
+                TestMessage::id,
+                TestMessage::sagaId,
+                10,
+                10,
+                Duration.ofMinutes(1));
+
+        outboxRelay.relay();
+        // 앞 메시지의 발행 결과를 받기 전에 같은 saga 의 뒤 메시지를 가져온 경우
+        source.messages.add(second);
+        assertEquals(0, outboxRelay.relay());
+
+        assertEquals(List.of(first), published);
+        assertEquals(List.of(second.id()), source.releasedIds);
+    }
+
+    private record TestMessage(UUID id, UUID sagaId) {
+    }
+
+    private static final class TestSource implements OutboxMessageSource<TestMessage> {
+
+        private final List<TestMessage> messages;
+        private final List<UUID> updatedIds = new ArrayList<>();
+        private final List<UUID> releasedIds = new ArrayList<>();
+
+        private TestSource(List<TestMessage> messages) {
+            this.messages = new ArrayList<>(messages);
+        }
+
+        @Override
+        public List<TestMessage> claimOutboxMessages(int limit) {
+            List<TestMessage> claimed = new ArrayList<>(messages);
+            messages.clear();
+            return claimed;
+        }
+
+        @Override
+        public void updateOutboxStatusByIds(OutboxStatus outboxStatus, List<UUID> ids) {
+            updatedIds.addAll(ids);
+        }
+
+        @Override
+        public void releaseOutboxMessagesByIds(List<UUID> ids) {
+            releasedIds.addAll(ids);
+        }
+    }
+}
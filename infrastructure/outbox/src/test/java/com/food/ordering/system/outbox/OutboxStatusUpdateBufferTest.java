@@ -0,0 +1,88 @@
+package com.food.ordering.system.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+public class OutboxStatusUpdateBufferTest {
+
+    @Test
+    void testFlushGroupsIdsByStatus() {
+        List<String> updates = new ArrayList<>();
+        OutboxStatusUpdateBuffer buffer = new OutboxStatusUpdateBuffer((outboxStatus, ids) ->
+                updates.add(outboxStatus + ":" + ids.size()));
+
+        buffer.add(UUID.randomUUID(), OutboxStatus.COMPLETED);
+        buffer.add(UUID.randomUUID(), OutboxStatus.COMPLETED);
+        buffer.add(UUID.randomUUID(), OutboxStatus.FAILED);
+        buffer.flush();
+
+        assertEquals(List.of("COMPLETED:2", "FAILED:1"), updates);
+    }
+
+    @Test
+    void testCompletedWinsOverFailedForSameId() {
+        List<OutboxStatus> updates = new ArrayList<>();
+        OutboxStatusUpdateBuffer buffer = new OutboxStatusUpdateBuffer((outboxStatus, ids) -> updates.add(outboxStatus));
+        UUID id = UUID.randomUUID();
+
+        buffer.add(id, OutboxStatus.FAILED);
+        buffer.add(id, OutboxStatus.COMPLETED);
+        buffer.add(id, OutboxStatus.FAILED);
+        buffer.flush();
+
+        assertEquals(List.of(OutboxStatus.COMPLETED), updates);
+    }
+
+    @Test
+    void testFailedUpdateIsRetriedOnNextFlush() {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        List<UUID> updatedIds = new ArrayList<>();
+        OutboxStatusUpdateBuffer buffer = new OutboxStatusUpdateBuffer((outboxStatus, ids) -> {
+            if (failing.get()) {
+                throw new IllegalStateException("db is down");
+            }
+            updatedIds.addAll(ids);
+        });
+        UUID id = UUID.randomUUID();
+
+        buffer.add(id, OutboxStatus.COMPLETED);
+        buffer.flush();
+        assertTrue(buffer.contains(id));
+        assertTrue(updatedIds.isEmpty());
+
+        failing.set(false);
+        buffer.flush();
+        assertEquals(List.of(id), updatedIds);
+        assertFalse(buffer.contains(id));
+    }
+
+    @Test
+    void testRetriedFailedStatusDoesNotOverrideNewerCompleted() {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        List<OutboxStatus> updates = new ArrayList<>();
+        UUID id = UUID.randomUUID();
+        OutboxStatusUpdateBuffer[] buffer = new OutboxStatusUpdateBuffer[1];
+        buffer[0] = new OutboxStatusUpdateBuffer((outboxStatus, ids) -> {
+            if (failing.getAndSet(false)) {
+                // 업데이트가 실패하는 동안 같은 메시지의 성공 결과가 들어온다.
+                buffer[0].add(id, OutboxStatus.COMPLETED);
+                throw new IllegalStateException("db is down");
+            }
+            updates.add(outboxStatus);
+        });
+
+        buffer[0].add(id, OutboxStatus.FAILED);
+        buffer[0].flush();
+        buffer[0].flush();
+
+        assertEquals(List.of(OutboxStatus.COMPLETED), updates);
+    }
+}
@@ -1,5 +1,8 @@
 package com.food.ordering.system.order.service.application.api;
 
+import com.food.ordering.system.domain.valueobject.OrderStatus;
+import com.food.ordering.system.order.service.domain.dto.create.CreateOrderBatchCommand;
+import com.food.ordering.system.order.service.domain.dto.create.CreateOrderBatchResponse;
 import com.food.ordering.system.order.service.domain.dto.create.CreateOrderCommand;
 import com.food.ordering.system.order.service.domain.dto.create.CreateOrderResponse;
 import com.food.ordering.system.order.service.domain.dto.track.TrackOrderQuery;
@@ -7,6 +10,7 @@ import com.food.ordering.system.order.service.domain.dto.track.TrackOrderRespons
 import com.food.ordering.system.order.service.domain.ports.input.service.OrderApplicationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,7 +18,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -23,6 +32,10 @@ import java.util.UUID;
 @RequestMapping(value = "/orders", produces = "application/vnd.api.v1+json")
 public class OrderController {
 
+    // 연결이 끊긴 클라이언트의 emitter 가 남지 않도록 saga 가 끝나지 않아도 닫는다. 클라이언트는 다시 연결하면 된다.
+    private static final long ORDER_STATUS_STREAM_TIMEOUT_MS = Duration.ofMinutes(10).toMillis();
+    private static final Set<OrderStatus> FINAL_ORDER_STATUSES = EnumSet.of(OrderStatus.APPROVED, OrderStatus.CANCELLED);
+
     private final OrderApplicationService orderApplicationService;
 
     @PostMapping
@@ -33,6 +46,14 @@ public class OrderController {
         return ResponseEntity.ok(createOrderResponse);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<CreateOrderBatchResponse> createOrders(@RequestBody CreateOrderBatchCommand createOrderBatchCommand) {
+        log.info("배치 주문생성=> 주문 수: {}", createOrderBatchCommand.getOrders() != null ? createOrderBatchCommand.getOrders().size() : 0);
+        CreateOrderBatchResponse createOrderBatchResponse = orderApplicationService.createOrders(createOrderBatchCommand);
+        log.info("배치 주문생성완료=> 생성: {} 실패: {}", createOrderBatchResponse.getCreatedCount(), createOrderBatchResponse.getFailedCount());
+        return ResponseEntity.ok(createOrderBatchResponse);
+    }
+
     @GetMapping("/{orderTrackingId}")
     public ResponseEntity<TrackOrderResponse> trackOrder(@PathVariable UUID orderTrackingId) {
         log.info("주문추적=> 주문추적 ID: {}", orderTrackingId);
@@ -44,4 +65,38 @@ public class OrderController {
         log.info("주문추적완료=> 주문추적 ID: {} 주문상태: {}", trackOrderResponse.getOrderTrackingId(), trackOrderResponse.getOrderStatus());
         return ResponseEntity.ok(trackOrderResponse);
     }
+
+    /**
+     * 주문 상태가 바뀔 때마다 order-status 이벤트로 보내고, APPROVED 나 CANCELLED 가 되면 스트림을 닫습니다.
+     * 연결이 기다리는 동안에는 요청 스레드를 잡고 있지 않습니다.
+     */
+    @GetMapping(value = "/{orderTrackingId}/status-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderStatus(@PathVariable UUID orderTrackingId) {
+        log.info("주문상태 스트림=> 주문추적 ID: {}", orderTrackingId);
+        TrackOrderQuery trackOrderQuery = TrackOrderQuery.builder()
+                .orderTrackingId(orderTrackingId)
+                .build();
+        SseEmitter sseEmitter = new SseEmitter(ORDER_STATUS_STREAM_TIMEOUT_MS);
+        // 구독하면서 DB 에서 읽은 현재 상태를 먼저 보내고, 그보다 진행된 상태만 이어서 보낸다.
+        Runnable unsubscribe = orderApplicationService.subscribeOrderStatus(trackOrderQuery,
+                trackOrderResponse -> sendOrderStatus(sseEmitter, trackOrderResponse));
+        sseEmitter.onCompletion(unsubscribe);
+        sseEmitter.onTimeout(sseEmitter::complete);
+        sseEmitter.onError(throwable -> unsubscribe.run());
+        return sseEmitter;
+    }
+
+    private void sendOrderStatus(SseEmitter sseEmitter, TrackOrderResponse trackOrderResponse) {
+        try {
+            sseEmitter.send(SseEmitter.event()
+                    .name("order-status")
+                    .data(trackOrderResponse, MediaType.APPLICATION_JSON));
+            if (FINAL_ORDER_STATUSES.contains(trackOrderResponse.getOrderStatus())) {
+                sseEmitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("주문상태를 보내지 못했습니다. 주문추적 ID: {} {}", trackOrderResponse.getOrderTrackingId(), e.getMessage());
+            sseEmitter.completeWithError(e);
+        }
+    }
 }
@@ -0,0 +1,80 @@
+-- outbox 테이블을 created_at 기준 일 단위 range 파티션으로 다시 만듭니다.
+-- init-schema.sql 이후에 실행하고, order-service.outbox-partition-enabled 를 true 로 설정해야 합니다.
+-- 파티션({테이블}_pyyyyMMdd)은 cleaner scheduler 가 미리 만들고, 보관 기간이 지나면 DROP 합니다.
+-- 파티션이 아직 없는 시간대의 메시지는 default 파티션에 저장됩니다.
+
+DROP TABLE IF EXISTS "order".payment_outbox CASCADE;
+CREATE TABLE "order".payment_outbox
+(
+    id            UUID                                           NOT NULL,
+    saga_id       UUID                                           NOT NULL,
+    created_at    TIMESTAMP WITH TIME ZONE                       NOT NULL,
+    processed_at  TIMESTAMP WITH TIME ZONE,
+    type          CHARACTER VARYING COLLATE pg_catalog."default" NOT NULL,
+    payload       JSONB,
+    encoded_payload BYTEA,
+    outbox_status outbox_status                                  NOT NULL,
+    saga_status   saga_status                                    NOT NULL,
+    order_status  order_status                                   NOT NULL,
+    attempt_count INTEGER                                        NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE,
+    claimed_until TIMESTAMP WITH TIME ZONE,
+    version       INTEGER                                        NOT NULL,
+    CONSTRAINT pk_payment_outbox PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE "order".payment_outbox_default PARTITION OF "order".payment_outbox DEFAULT;
+
+CREATE INDEX "payment_outbox_saga_status"
+    ON "order".payment_outbox
+        (type, outbox_status, saga_status, created_at);
+
+CREATE INDEX "payment_outbox_next_attempt"
+    ON "order".payment_outbox
+        (type, outbox_status, next_attempt_at);
+
+CREATE INDEX "payment_outbox_saga_id_claimed_until"
+    ON "order".payment_outbox
+        (type, saga_id, claimed_until);
+
+CREATE INDEX "payment_outbox_id"
+    ON "order".payment_outbox
+        (id);
+
+DROP TABLE IF EXISTS "order".restaurant_approval_outbox CASCADE;
+CREATE TABLE "order".restaurant_approval_outbox
+(
+    id            UUID                                           NOT NULL,
+    saga_id       UUID                                           NOT NULL,
+    created_at    TIMESTAMP WITH TIME ZONE                       NOT NULL,
+    processed_at  TIMESTAMP WITH TIME ZONE,
+    type          CHARACTER VARYING COLLATE pg_catalog."default" NOT NULL,
+    payload       JSONB,
+    encoded_payload BYTEA,
+    outbox_status outbox_status                                  NOT NULL,
+    saga_status   saga_status                                    NOT NULL,
+    order_status  order_status                                   NOT NULL,
+    attempt_count INTEGER                                        NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE,
+    claimed_until TIMESTAMP WITH TIME ZONE,
+    version       INTEGER                                        NOT NULL,
+    CONSTRAINT pk_restaurant_approval_outbox PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE "order".restaurant_approval_outbox_default PARTITION OF "order".restaurant_approval_outbox DEFAULT;
+
+CREATE INDEX "restaurant_approval_outbox_saga_status"
+    ON "order".restaurant_approval_outbox
+        (type, outbox_status, saga_status, created_at);
+
+CREATE INDEX "restaurant_approval_outbox_next_attempt"
+    ON "order".restaurant_approval_outbox
+        (type, outbox_status, next_attempt_at);
+
+CREATE INDEX "restaurant_approval_outbox_saga_id_claimed_until"
+    ON "order".restaurant_approval_outbox
+        (type, saga_id, claimed_until);
+
+CREATE INDEX "restaurant_approval_outbox_id"
+    ON "order".restaurant_approval_outbox
+        (id);
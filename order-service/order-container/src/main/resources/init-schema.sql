@@ -21,6 +21,11 @@ CREATE TABLE "order".orders
     CONSTRAINT pk_orders PRIMARY KEY (id)
 );
 
+-- 주문 조회(GET /orders/{trackingId}) 는 tracking_id 로만 찾는다.
+CREATE UNIQUE INDEX "orders_tracking_id"
+    ON "order".orders
+        (tracking_id);
+
 --
 DROP TABLE IF EXISTS "order".order_items CASCADE;
 CREATE TABLE "order".order_items
@@ -74,17 +79,29 @@ CREATE TABLE "order".payment_outbox
     created_at    TIMESTAMP WITH TIME ZONE                       NOT NULL,
     processed_at  TIMESTAMP WITH TIME ZONE,
     type          CHARACTER VARYING COLLATE pg_catalog."default" NOT NULL,
-    payload       JSONB                                          NOT NULL,
+    payload       JSONB,
+    encoded_payload BYTEA,
     outbox_status outbox_status                                  NOT NULL,
     saga_status   saga_status                                    NOT NULL,
     order_status  order_status                                   NOT NULL,
+    attempt_count INTEGER                                        NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE,
+    claimed_until TIMESTAMP WITH TIME ZONE,
     version       INTEGER                                        NOT NULL,
     CONSTRAINT pk_payment_outbox PRIMARY KEY (id)
 );
 
 CREATE INDEX "payment_outbox_saga_status"
     ON "order".payment_outbox
-        (type, outbox_status, saga_status);
+        (type, outbox_status, saga_status, created_at);
+
+CREATE INDEX "payment_outbox_next_attempt"
+    ON "order".payment_outbox
+        (type, outbox_status, next_attempt_at);
+
+CREATE INDEX "payment_outbox_saga_id_claimed_until"
+    ON "order".payment_outbox
+        (type, saga_id, claimed_until);
 
 -- CREATE UNIQUE INDEX "payment_outbox_saga_id"
 --     ON "order".payment_outbox
@@ -98,17 +115,29 @@ CREATE TABLE "order".restaurant_approval_outbox
     created_at    TIMESTAMP WITH TIME ZONE                       NOT NULL,
     processed_at  TIMESTAMP WITH TIME ZONE,
     type          CHARACTER VARYING COLLATE pg_catalog."default" NOT NULL,
-    payload       JSONB                                          NOT NULL,
+    payload       JSONB,
+    encoded_payload BYTEA,
     outbox_status outbox_status                                  NOT NULL,
     saga_status   saga_status                                    NOT NULL,
     order_status  order_status                                   NOT NULL,
+    attempt_count INTEGER                                        NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE,
+    claimed_until TIMESTAMP WITH TIME ZONE,
     version       INTEGER                                        NOT NULL,
     CONSTRAINT pk_restaurant_approval_outbox PRIMARY KEY (id)
 );
 
 CREATE INDEX "restaurant_approval_outbox_saga_status"
     ON "order".restaurant_approval_outbox
-        (type, outbox_status, saga_status);
+        (type, outbox_status, saga_status, created_at);
+
+CREATE INDEX "restaurant_approval_outbox_next_attempt"
+    ON "order".restaurant_approval_outbox
+        (type, outbox_status, next_attempt_at);
+
+CREATE INDEX "restaurant_approval_outbox_saga_id_claimed_until"
+    ON "order".restaurant_approval_outbox
+        (type, saga_id, claimed_until);
 
 -- CREATE UNIQUE INDEX "restaurant_approval_outbox_saga_id"
 --     ON "order".restaurant_approval_outbox
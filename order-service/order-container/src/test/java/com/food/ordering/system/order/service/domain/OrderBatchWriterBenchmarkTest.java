@@ -0,0 +1,128 @@
+package com.food.ordering.system.order.service.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.food.ordering.system.domain.valueobject.CustomerId;
+import com.food.ordering.system.domain.valueobject.Money;
+import com.food.ordering.system.domain.valueobject.OrderId;
+import com.food.ordering.system.domain.valueobject.OrderStatus;
+import com.food.ordering.system.domain.valueobject.ProductId;
+import com.food.ordering.system.domain.valueobject.RestaurantId;
+import com.food.ordering.system.order.service.dataaccess.order.mapper.OrderDataAccessMapper;
+import com.food.ordering.system.order.service.dataaccess.order.repository.OrderJpaRepository;
+import com.food.ordering.system.order.service.dataaccess.order.writer.OrderBatchWriter;
+import com.food.ordering.system.order.service.domain.entity.Order;
+import com.food.ordering.system.order.service.domain.entity.OrderItem;
+import com.food.ordering.system.order.service.domain.entity.Product;
+import com.food.ordering.system.order.service.domain.valueobject.OrderItemId;
+import com.food.ordering.system.order.service.domain.valueobject.StreetAddress;
+import com.food.ordering.system.order.service.domain.valueobject.TrackingId;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JPA save 와 OrderBatchWriter 로 주문을 저장하는 시간을 주문 상품 1, 10, 100개로 비교해서 로그로 남깁니다.
+ * 시간이 오래 걸리고 결과가 로컬 postgres 에 따라 달라서 -Dbenchmark=true 를 줄 때만 실행합니다.
+ * 저장 결과가 맞는지는 OrderBatchWriterTest 에서 확인합니다.
+ */
+@Slf4j
+@SpringBootTest(classes = OrderServiceApplication.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class OrderBatchWriterBenchmarkTest {
+
+    private static final int WARM_UP_ORDERS = 200;
+    private static final int MEASURED_ORDERS = 1000;
+    private static final BigDecimal ITEM_PRICE = new BigDecimal("10.00");
+
+    @Autowired
+    private OrderJpaRepository orderJpaRepository;
+
+    @Autowired
+    private OrderDataAccessMapper orderDataAccessMapper;
+
+    @Autowired
+    private OrderBatchWriter orderBatchWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID restaurantId = UUID.randomUUID();
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM orders WHERE restaurant_id = ?", restaurantId);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void testCompareJpaSaveAndBatchWriter(int itemCount) {
+        Consumer<Order> jpaSave = order -> orderJpaRepository.save(orderDataAccessMapper.orderToOrderEntity(order));
+        Consumer<Order> batchInsert = orderBatchWriter::insert;
+
+        run(jpaSave, itemCount, WARM_UP_ORDERS);
+        run(batchInsert, itemCount, WARM_UP_ORDERS);
+        long jpaSaveNanos = run(jpaSave, itemCount, MEASURED_ORDERS);
+        long batchInsertNanos = run(batchInsert, itemCount, MEASURED_ORDERS);
+
+        log.info("주문 상품 {}개, 주문 {}건 => JPA save: {} us/order, OrderBatchWriter: {} us/order",
+                itemCount, MEASURED_ORDERS,
+                jpaSaveNanos / MEASURED_ORDERS / 1000, batchInsertNanos / MEASURED_ORDERS / 1000);
+        assertEquals((long) (WARM_UP_ORDERS + MEASURED_ORDERS) * 2 * itemCount, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM order_items i JOIN orders o ON o.id = i.order_id WHERE o.restaurant_id = ?",
+                Long.class, restaurantId));
+    }
+
+    // 서비스와 같이 주문 하나를 트랜잭션 하나로 저장한다.
+    private long run(Consumer<Order> writer, int itemCount, int orderCount) {
+        List<Order> orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            orders.add(newOrder(itemCount));
+        }
+        long start = System.nanoTime();
+        for (Order order : orders) {
+            transactionTemplate.executeWithoutResult(status -> writer.accept(order));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private Order newOrder(int itemCount) {
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (long i = 1; i <= itemCount; i++) {
+            items.add(OrderItem.builder()
+                    .orderItemId(new OrderItemId(i))
+                    .product(new Product(new ProductId(UUID.randomUUID())))
+                    .quantity(1)
+                    .price(new Money(ITEM_PRICE))
+                    .subTotal(new Money(ITEM_PRICE))
+                    .build());
+        }
+        return Order.builder()
+                .orderId(new OrderId(UUID.randomUUID()))
+                .customerId(new CustomerId(UUID.randomUUID()))
+                .restaurantId(new RestaurantId(restaurantId))
+                .deliveryAddress(new StreetAddress(UUID.randomUUID(), "street", "12345", "city"))
+                .price(new Money(ITEM_PRICE.multiply(BigDecimal.valueOf(itemCount))))
+                .items(items)
+                .trackingId(new TrackingId(UUID.randomUUID()))
+                .orderStatus(OrderStatus.PENDING)
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.food.ordering.system.order.service.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.food.ordering.system.domain.valueobject.CustomerId;
+import com.food.ordering.system.domain.valueobject.Money;
+import com.food.ordering.system.domain.valueobject.OrderId;
+import com.food.ordering.system.domain.valueobject.OrderStatus;
+import com.food.ordering.system.domain.valueobject.ProductId;
+import com.food.ordering.system.domain.valueobject.RestaurantId;
+import com.food.ordering.system.order.service.domain.entity.Order;
+import com.food.ordering.system.order.service.domain.entity.OrderItem;
+import com.food.ordering.system.order.service.domain.entity.Product;
+import com.food.ordering.system.order.service.domain.ports.output.repository.OrderRepository;
+import com.food.ordering.system.order.service.domain.valueobject.OrderItemId;
+import com.food.ordering.system.order.service.domain.valueobject.StreetAddress;
+import com.food.ordering.system.order.service.domain.valueobject.TrackingId;
+
+/**
+ * OrderBatchWriter 의 INSERT 문으로 저장한 주문을 JPA 로 다시 읽어서 init-schema.sql 의 테이블에 맞게 들어갔는지 확인합니다.
+ */
+@SpringBootTest(classes = OrderServiceApplication.class)
+@Sql(value = {"classpath:sql/OrderBatchWriterTestCleanUp.sql"}, executionPhase = AFTER_TEST_METHOD)
+public class OrderBatchWriterTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final UUID RESTAURANT_ID = UUID.fromString("e3a1c2b4-5d6f-4a7b-8c9d-0e1f2a3b4c01");
+    private final BigDecimal ITEM_PRICE = new BigDecimal("10.00");
+
+    @Test
+    void testInsertWritesOrderItemsAndAddress() {
+        Order order = newOrder(3);
+
+        transactionTemplate.executeWithoutResult(status -> orderRepository.insert(order));
+
+        assertSavedAsInserted(order);
+    }
+
+    @Test
+    void testInsertAllWritesEveryOrder() {
+        List<Order> orders = List.of(newOrder(1), newOrder(2), newOrder(5));
+
+        transactionTemplate.executeWithoutResult(status -> orderRepository.insertAll(orders));
+
+        orders.forEach(this::assertSavedAsInserted);
+    }
+
+    @Test
+    void testInsertOfExistingOrderFails() {
+        Order order = newOrder(1);
+        transactionTemplate.executeWithoutResult(status -> orderRepository.insert(order));
+
+        // merge 하지 않기 때문에 이미 저장된 주문은 PK 위반으로 실패해야 한다.
+        assertThrows(DataIntegrityViolationException.class,
+                () -> transactionTemplate.executeWithoutResult(status -> orderRepository.insert(order)));
+        assertSavedAsInserted(order);
+    }
+
+    private void assertSavedAsInserted(Order expected) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Order saved = orderRepository.findById(expected.getId()).orElseThrow();
+            assertEquals(expected.getCustomerId(), saved.getCustomerId());
+            assertEquals(expected.getRestaurantId(), saved.getRestaurantId());
+            assertEquals(expected.getTrackingId().getValue(), saved.getTrackingId().getValue());
+            assertEquals(expected.getPrice(), saved.getPrice());
+            assertEquals(expected.getOrderStatus(), saved.getOrderStatus());
+            assertEquals(expected.getDeliveryAddress().getId(), saved.getDeliveryAddress().getId());
+            assertEquals(expected.getDeliveryAddress(), saved.getDeliveryAddress());
+            assertEquals(itemsById(expected), itemsById(saved));
+        });
+    }
+
+    // 주문 상품은 저장 순서대로 읽힌다는 보장이 없어서 id 로 비교한다.
+    private static Map<Long, List<Object>> itemsById(Order order) {
+        return order.getItems().stream().collect(Collectors.toMap(
+                item -> item.getId().getValue(),
+                item -> List.of(item.getProduct().getId(), item.getPrice(), item.getQuantity(), item.getSubTotal())));
+    }
+
+    private Order newOrder(int itemCount) {
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (long i = 1; i <= itemCount; i++) {
+            items.add(OrderItem.builder()
+                    .orderItemId(new OrderItemId(i))
+                    .product(new Product(new ProductId(UUID.randomUUID())))
+                    .quantity((int) i)
+                    .price(new Money(ITEM_PRICE))
+                    .subTotal(new Money(ITEM_PRICE.multiply(BigDecimal.valueOf(i))))
+                    .build());
+        }
+        return Order.builder()
+                .orderId(new OrderId(UUID.randomUUID()))
+                .customerId(new CustomerId(UUID.randomUUID()))
+                .restaurantId(new RestaurantId(RESTAURANT_ID))
+                .deliveryAddress(new StreetAddress(UUID.randomUUID(), "test street", "1000AA", "test city"))
+                .price(new Money(items.stream()
+                        .map(item -> item.getSubTotal().getAmount())
+                        .reduce(BigDecimal.ZERO, BigDecimal::add)))
+                .items(items)
+                .trackingId(new TrackingId(UUID.randomUUID()))
+                .orderStatus(OrderStatus.PENDING)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.food.ordering.system.order.service.domain;
+
+import static com.food.ordering.system.domain.DomainConstants.ASIA_SEOUL;
+import static com.food.ordering.system.saga.order.SagaConstants.ORDER_SAGA_NAME;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.ordering.system.domain.valueobject.OrderStatus;
+import com.food.ordering.system.order.service.domain.outbox.model.payment.OrderPaymentOutboxMessage;
+import com.food.ordering.system.order.service.domain.ports.output.repository.PaymentOutboxRepository;
+import com.food.ordering.system.outbox.OutboxStatus;
+import com.food.ordering.system.saga.SagaStatus;
+
+/**
+ * PaymentOutboxBatchWriter 가 JDBC 로 넣은 payment_outbox 행을 JPA 저장 경로에서 그대로 읽고 바꿀 수 있는지 확인합니다.
+ */
+@SpringBootTest(classes = OrderServiceApplication.class)
+@Sql(value = {"classpath:sql/PaymentOutboxBatchWriterTestCleanUp.sql"}, executionPhase = AFTER_TEST_METHOD)
+public class PaymentOutboxBatchWriterTest {
+
+    @Autowired
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final UUID JSON_SAGA_ID = UUID.fromString("7d8f6a3b-9c5e-4ea0-b143-2c3d4e5f6a01");
+    private final UUID ENCODED_SAGA_ID = UUID.fromString("7d8f6a3b-9c5e-4ea0-b143-2c3d4e5f6a02");
+    private final String PAYLOAD = "{\"orderId\": \"d215b5f8-0249-4dc5-89a3-51fd148cfb17\", \"price\": 100, \"paymentOrderStatus\": \"PENDING\"}";
+    private final byte[] ENCODED_PAYLOAD = {0x0, 0x1, 0x2, 0x3};
+
+    @Test
+    void testInsertedRowsAreReadThroughJpa() throws JsonProcessingException {
+        OrderPaymentOutboxMessage jsonMessage = newMessage(JSON_SAGA_ID, PAYLOAD, null);
+        OrderPaymentOutboxMessage encodedMessage = newMessage(ENCODED_SAGA_ID, null, ENCODED_PAYLOAD);
+
+        transactionTemplate.executeWithoutResult(status ->
+                paymentOutboxRepository.insertAll(List.of(jsonMessage, encodedMessage)));
+
+        OrderPaymentOutboxMessage savedJsonMessage = find(JSON_SAGA_ID);
+        assertEquals(jsonMessage.getId(), savedJsonMessage.getId());
+        assertEquals(ORDER_SAGA_NAME, savedJsonMessage.getType());
+        assertEquals(jsonMessage.getCreatedAt().toInstant(), savedJsonMessage.getCreatedAt().toInstant());
+        // jsonb 는 공백과 키 순서를 다시 쓰기 때문에 JSON 으로 비교한다.
+        assertEquals(objectMapper.readTree(PAYLOAD), objectMapper.readTree(savedJsonMessage.getPayload()));
+        assertNull(savedJsonMessage.getEncodedPayload());
+        assertEquals(OutboxStatus.STARTED, savedJsonMessage.getOutboxStatus());
+        assertEquals(SagaStatus.STARTED, savedJsonMessage.getSagaStatus());
+        assertEquals(OrderStatus.PENDING, savedJsonMessage.getOrderStatus());
+        assertEquals(jsonMessage.getClaimedUntil().toInstant(), savedJsonMessage.getClaimedUntil().toInstant());
+        assertEquals(0, savedJsonMessage.getVersion());
+
+        OrderPaymentOutboxMessage savedEncodedMessage = find(ENCODED_SAGA_ID);
+        assertNull(savedEncodedMessage.getPayload());
+        assertArrayEquals(ENCODED_PAYLOAD, savedEncodedMessage.getEncodedPayload());
+    }
+
+    @Test
+    void testInsertedRowIsUpdatedThroughJpaSave() {
+        transactionTemplate.executeWithoutResult(status ->
+                paymentOutboxRepository.insertAll(List.of(newMessage(JSON_SAGA_ID, PAYLOAD, null))));
+
+        OrderPaymentOutboxMessage message = find(JSON_SAGA_ID);
+        message.setOutboxStatus(OutboxStatus.COMPLETED);
+        message.setProcessedAt(ZonedDateTime.now(ZoneId.of(ASIA_SEOUL)));
+        transactionTemplate.executeWithoutResult(status -> paymentOutboxRepository.save(message));
+
+        OrderPaymentOutboxMessage updated = find(JSON_SAGA_ID);
+        assertEquals(OutboxStatus.COMPLETED, updated.getOutboxStatus());
+        assertEquals(1, updated.getVersion());
+    }
+
+    private OrderPaymentOutboxMessage find(UUID sagaId) {
+        return paymentOutboxRepository.findByTypeAndSagaIdAndSagaStatus(ORDER_SAGA_NAME, sagaId, SagaStatus.STARTED)
+                .orElseThrow();
+    }
+
+    private OrderPaymentOutboxMessage newMessage(UUID sagaId, String payload, byte[] encodedPayload) {
+        // postgres timestamp 는 마이크로초까지 저장한다.
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.of(ASIA_SEOUL)).truncatedTo(ChronoUnit.MICROS);
+        return OrderPaymentOutboxMessage.builder()
+                .id(UUID.randomUUID())
+                .sagaId(sagaId)
+                .createdAt(now)
+                .type(ORDER_SAGA_NAME)
+                .payload(payload)
+                .encodedPayload(encodedPayload)
+                .outboxStatus(OutboxStatus.STARTED)
+                .sagaStatus(SagaStatus.STARTED)
+                .orderStatus(OrderStatus.PENDING)
+                .claimedUntil(now.plusMinutes(2))
+                .version(0)
+                .build();
+    }
+}
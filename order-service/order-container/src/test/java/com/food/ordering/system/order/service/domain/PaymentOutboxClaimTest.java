@@ -0,0 +1,149 @@
+package com.food.ordering.system.order.service.domain;
+
+import static com.food.ordering.system.domain.DomainConstants.ASIA_SEOUL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.food.ordering.system.domain.valueobject.OrderStatus;
+import com.food.ordering.system.domain.valueobject.PaymentOrderStatus;
+import com.food.ordering.system.order.service.domain.outbox.model.payment.OrderPaymentEventPayload;
+import com.food.ordering.system.order.service.domain.outbox.model.payment.OrderPaymentOutboxMessage;
+import com.food.ordering.system.order.service.domain.outbox.scheduler.payment.PaymentOutboxHelper;
+import com.food.ordering.system.outbox.OutboxStatus;
+import com.food.ordering.system.saga.SagaStatus;
+
+@SpringBootTest(classes = OrderServiceApplication.class)
+@Sql(value = {"classpath:sql/PaymentOutboxClaimTestSetUp.sql"})
+@Sql(value = {"classpath:sql/PaymentOutboxClaimTestCleanUp.sql"}, executionPhase = AFTER_TEST_METHOD)
+public class PaymentOutboxClaimTest {
+
+    @Autowired
+    private PaymentOutboxHelper paymentOutboxHelper;
+
+    private final Set<UUID> OUTBOX_IDS = Set.of(
+            UUID.fromString("5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e01"),
+            UUID.fromString("5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e02"),
+            UUID.fromString("5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e03"),
+            UUID.fromString("5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e04"));
+    private final UUID FAST_PATH_SAGA_ID = UUID.fromString("6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f05");
+    private final UUID RETRYABLE_OUTBOX_ID = UUID.fromString("5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e06");
+    private final UUID EXHAUSTED_OUTBOX_ID = UUID.fromString("5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e07");
+    private final UUID BACKING_OFF_OUTBOX_ID = UUID.fromString("5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e08");
+    private final UUID BEHIND_FAILED_OUTBOX_ID = UUID.fromString("5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e09");
+
+    @Test
+    void testConcurrentClaimsAreDisjoint() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Callable<Set<UUID>> claim = () -> {
+            latch.await();
+            return claimedIds(paymentOutboxHelper.claimOutboxMessages(3));
+        };
+
+        Future<Set<UUID>> first = executor.submit(claim);
+        Future<Set<UUID>> second = executor.submit(claim);
+        latch.countDown();
+        Set<UUID> firstIds = first.get(30, TimeUnit.SECONDS);
+        Set<UUID> secondIds = second.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        Set<UUID> overlap = new HashSet<>(firstIds);
+        overlap.retainAll(secondIds);
+        assertTrue(overlap.isEmpty());
+        assertEquals(OUTBOX_IDS.size(), firstIds.size() + secondIds.size());
+    }
+
+    @Test
+    void testClaimedMessagesAreNotClaimedAgainAfterCommit() {
+        Set<UUID> firstIds = claimedIds(paymentOutboxHelper.claimOutboxMessages(OUTBOX_IDS.size()));
+        Set<UUID> secondIds = claimedIds(paymentOutboxHelper.claimOutboxMessages(OUTBOX_IDS.size()));
+
+        assertEquals(OUTBOX_IDS, firstIds);
+        assertTrue(secondIds.isEmpty());
+    }
+
+    @Test
+    void testReleasedMessagesAreClaimedAgain() {
+        Set<UUID> firstIds = claimedIds(paymentOutboxHelper.claimOutboxMessages(OUTBOX_IDS.size()));
+
+        paymentOutboxHelper.releaseOutboxMessagesByIds(List.copyOf(firstIds));
+        Set<UUID> secondIds = claimedIds(paymentOutboxHelper.claimOutboxMessages(OUTBOX_IDS.size()));
+
+        assertEquals(OUTBOX_IDS, secondIds);
+    }
+
+    @Test
+    void testMessagePublishedAfterCommitIsNotClaimedByRelay() {
+        paymentOutboxHelper.savePaymentOutboxMessage(OrderPaymentEventPayload.builder()
+                        .orderId(UUID.randomUUID().toString())
+                        .customerId(UUID.randomUUID().toString())
+                        .price(new BigDecimal("100"))
+                        .createdAt(ZonedDateTime.now(ZoneId.of(ASIA_SEOUL)))
+                        .paymentOrderStatus(PaymentOrderStatus.PENDING.name())
+                        .build(),
+                OrderStatus.PENDING,
+                SagaStatus.STARTED,
+                OutboxStatus.STARTED,
+                FAST_PATH_SAGA_ID);
+
+        boolean claimed = paymentOutboxHelper.claimOutboxMessages(OUTBOX_IDS.size() + 1).stream()
+                .anyMatch(outboxMessage -> FAST_PATH_SAGA_ID.equals(outboxMessage.getSagaId()));
+        assertFalse(claimed);
+    }
+
+    @Test
+    void testRetryableMessageIsLeasedAndExhaustedMessageIsSkipped() {
+        Set<UUID> firstIds = paymentOutboxHelper.claimOutboxMessages(100).stream()
+                .map(OrderPaymentOutboxMessage::getId)
+                .collect(Collectors.toSet());
+        Set<UUID> secondIds = paymentOutboxHelper.claimOutboxMessages(100).stream()
+                .map(OrderPaymentOutboxMessage::getId)
+                .collect(Collectors.toSet());
+
+        assertTrue(firstIds.contains(RETRYABLE_OUTBOX_ID));
+        assertFalse(firstIds.contains(EXHAUSTED_OUTBOX_ID));
+        assertFalse(secondIds.contains(RETRYABLE_OUTBOX_ID));
+        assertTrue(paymentOutboxHelper.getOutboxBacklog().exhaustedCount() >= 1);
+    }
+
+    @Test
+    void testMessageBehindUnpublishedMessageOfSameSagaIsNotClaimed() {
+        // 같은 saga 의 앞 메시지가 FAILED 로 재시도를 기다리는 동안 뒤 메시지를 먼저 보내면 순서가 바뀐다.
+        Set<UUID> claimedIds = paymentOutboxHelper.claimOutboxMessages(100).stream()
+                .map(OrderPaymentOutboxMessage::getId)
+                .collect(Collectors.toSet());
+
+        assertFalse(claimedIds.contains(BACKING_OFF_OUTBOX_ID));
+        assertFalse(claimedIds.contains(BEHIND_FAILED_OUTBOX_ID));
+    }
+
+    // 다른 테스트가 남긴 메시지는 제외하고 이 테스트에서 넣은 메시지만 본다.
+    private Set<UUID> claimedIds(List<OrderPaymentOutboxMessage> outboxMessages) {
+        return outboxMessages.stream()
+                .map(OrderPaymentOutboxMessage::getId)
+                .filter(OUTBOX_IDS::contains)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1 @@
+delete from "order".orders where restaurant_id = 'e3a1c2b4-5d6f-4a7b-8c9d-0e1f2a3b4c01';
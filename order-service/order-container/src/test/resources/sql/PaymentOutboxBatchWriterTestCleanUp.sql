@@ -0,0 +1 @@
+delete from "order".payment_outbox where saga_id in ('7d8f6a3b-9c5e-4ea0-b143-2c3d4e5f6a01', '7d8f6a3b-9c5e-4ea0-b143-2c3d4e5f6a02');
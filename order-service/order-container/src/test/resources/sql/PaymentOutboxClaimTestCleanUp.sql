@@ -0,0 +1,4 @@
+delete from "order".payment_outbox where saga_id in ('6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f01', '6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f02',
+                                                     '6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f03', '6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f04',
+                                                     '6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f05', '6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f06',
+                                                     '6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f07', '6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f08');
@@ -0,0 +1,38 @@
+insert into "order".payment_outbox(id, saga_id, created_at, type, payload, outbox_status, saga_status, order_status, version)
+values ('5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e01', '6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f01', current_timestamp, 'OrderProcessingSaga',
+        '{"price": 100, "orderId": "d215b5f8-0249-4dc5-89a3-51fd148cfb17", "createdAt": "2022-01-07T16:21:42.917756+01:00",
+         "customerId": "d215b5f8-0249-4dc5-89a3-51fd148cfb41", "paymentOrderStatus": "PENDING"}',
+        'STARTED', 'STARTED', 'PENDING', 0),
+       ('5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e02', '6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f02', current_timestamp, 'OrderProcessingSaga',
+        '{"price": 100, "orderId": "d215b5f8-0249-4dc5-89a3-51fd148cfb17", "createdAt": "2022-01-07T16:21:42.917756+01:00",
+         "customerId": "d215b5f8-0249-4dc5-89a3-51fd148cfb41", "paymentOrderStatus": "PENDING"}',
+        'STARTED', 'STARTED', 'PENDING', 0),
+       ('5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e03', '6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f03', current_timestamp, 'OrderProcessingSaga',
+        '{"price": 100, "orderId": "d215b5f8-0249-4dc5-89a3-51fd148cfb17", "createdAt": "2022-01-07T16:21:42.917756+01:00",
+         "customerId": "d215b5f8-0249-4dc5-89a3-51fd148cfb41", "paymentOrderStatus": "PENDING"}',
+        'STARTED', 'STARTED', 'PENDING', 0),
+       ('5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e04', '6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f04', current_timestamp, 'OrderProcessingSaga',
+        '{"price": 100, "orderId": "d215b5f8-0249-4dc5-89a3-51fd148cfb17", "createdAt": "2022-01-07T16:21:42.917756+01:00",
+         "customerId": "d215b5f8-0249-4dc5-89a3-51fd148cfb41", "paymentOrderStatus": "PENDING"}',
+        'STARTED', 'STARTED', 'PENDING', 0);
+
+insert into "order".payment_outbox(id, saga_id, created_at, type, payload, outbox_status, saga_status, order_status,
+                                   attempt_count, next_attempt_at, version)
+values ('5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e06', '6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f06', current_timestamp, 'OrderProcessingSaga',
+        '{"price": 100, "orderId": "d215b5f8-0249-4dc5-89a3-51fd148cfb17", "createdAt": "2022-01-07T16:21:42.917756+01:00",
+         "customerId": "d215b5f8-0249-4dc5-89a3-51fd148cfb41", "paymentOrderStatus": "PENDING"}',
+        'FAILED', 'STARTED', 'PENDING', 1, current_timestamp - interval '1 minute', 1),
+       ('5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e07', '6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f07', current_timestamp, 'OrderProcessingSaga',
+        '{"price": 100, "orderId": "d215b5f8-0249-4dc5-89a3-51fd148cfb17", "createdAt": "2022-01-07T16:21:42.917756+01:00",
+         "customerId": "d215b5f8-0249-4dc5-89a3-51fd148cfb41", "paymentOrderStatus": "PENDING"}',
+        'FAILED', 'STARTED', 'PENDING', 5, current_timestamp - interval '1 minute', 5),
+       ('5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e08', '6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f08', current_timestamp - interval '1 minute', 'OrderProcessingSaga',
+        '{"price": 100, "orderId": "d215b5f8-0249-4dc5-89a3-51fd148cfb17", "createdAt": "2022-01-07T16:21:42.917756+01:00",
+         "customerId": "d215b5f8-0249-4dc5-89a3-51fd148cfb41", "paymentOrderStatus": "PENDING"}',
+        'FAILED', 'STARTED', 'PENDING', 1, current_timestamp + interval '1 minute', 1);
+
+insert into "order".payment_outbox(id, saga_id, created_at, type, payload, outbox_status, saga_status, order_status, version)
+values ('5b6f4d1e-7a3c-4c8e-9f21-0a1b2c3d4e09', '6c7e5f2a-8b4d-4d9f-a032-1b2c3d4e5f08', current_timestamp, 'OrderProcessingSaga',
+        '{"price": 100, "orderId": "d215b5f8-0249-4dc5-89a3-51fd148cfb17", "createdAt": "2022-01-07T16:21:42.917756+01:00",
+         "customerId": "d215b5f8-0249-4dc5-89a3-51fd148cfb41", "paymentOrderStatus": "CANCELLED"}',
+        'STARTED', 'COMPENSATING', 'CANCELLING', 0);
@@ -1,14 +1,17 @@
 package com.food.ordering.system.order.service.dataaccess.order.adapter;
 
 import com.food.ordering.system.domain.valueobject.OrderId;
+import com.food.ordering.system.domain.valueobject.OrderStatus;
 import com.food.ordering.system.order.service.dataaccess.order.mapper.OrderDataAccessMapper;
 import com.food.ordering.system.order.service.dataaccess.order.repository.OrderJpaRepository;
+import com.food.ordering.system.order.service.dataaccess.order.writer.OrderBatchWriter;
 import com.food.ordering.system.order.service.domain.entity.Order;
 import com.food.ordering.system.order.service.domain.ports.output.repository.OrderRepository;
 import com.food.ordering.system.order.service.domain.valueobject.TrackingId;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 // 강의는 Component를 사용했지만, Repository를 사용하는 것이 더 적합하다고 판단하여 변경
@@ -18,6 +21,7 @@ public class OrderRepositoryImpl implements OrderRepository {
 
     private final OrderJpaRepository orderJpaRepository;
     private final OrderDataAccessMapper orderDataAccessMapper;
+    private final OrderBatchWriter orderBatchWriter;
 
     /**
      * 주어진 Order 엔티티를 데이터베이스에 저장합니다.
@@ -37,6 +41,28 @@ public class OrderRepositoryImpl implements OrderRepository {
         );
     }
 
+    /**
+     * 새로 생성한 Order 를 OrderBatchWriter 로 INSERT 문 하나에 저장합니다.<br/><br/>
+     *
+     * save 와 달리 merge 여부를 확인하는 SELECT 가 없고, 주문 상품 수와 관계없이 DB 를 한번만 왕복합니다.
+     *
+     * @param order 저장할 새 Order 엔티티
+     */
+    @Override
+    public void insert(Order order) {
+        orderBatchWriter.insert(order);
+    }
+
+    /**
+     * 새로 생성한 Order 들을 OrderBatchWriter 로 한번의 JDBC batch 에 저장합니다.
+     *
+     * @param orders 저장할 새 Order 엔티티 목록
+     */
+    @Override
+    public void insertAll(List<Order> orders) {
+        orderBatchWriter.insertAll(orders);
+    }
+
     /**
      * 주어진 OrderId를 사용하여 Order를 조회합니다.<br/><br/>
      *
@@ -66,4 +92,32 @@ public class OrderRepositoryImpl implements OrderRepository {
         return orderJpaRepository.findByTrackingId(trackingId.getValue())
                 .map(orderDataAccessMapper::orderEntityToOrder);
     }
+
+    /**
+     * 주어진 OrderId를 사용하여 주문 상품, 배송 주소 없이 Order를 조회합니다.
+     *
+     * @param orderId 조회할 Order의 OrderId
+     * @return 조회된 Order를 Optional로 감싸서 반환, Order가 없으면 Optional.empty() 반환
+     */
+    @Override
+    public Optional<Order> findStatusById(OrderId orderId) {
+        return orderJpaRepository.findStatusById(orderId.getValue())
+                .map(orderDataAccessMapper::orderStatusProjectionToOrder);
+    }
+
+    /**
+     * 엔티티를 merge 하지 않고 주문 상태와 실패 메시지만 UPDATE 합니다.
+     *
+     * @param order 변경된 상태를 가진 Order
+     * @param expectedStatus 변경 전 주문 상태
+     * @return 변경 전 상태가 expectedStatus 가 아니어서 변경하지 못했으면 false
+     */
+    @Override
+    public boolean updateStatus(Order order, OrderStatus expectedStatus) {
+        return orderJpaRepository.updateOrderStatus(
+                order.getId().getValue(),
+                expectedStatus.name(),
+                order.getOrderStatus().name(),
+                orderDataAccessMapper.failureMessagesToString(order)) == 1;
+    }
 }
@@ -0,0 +1,31 @@
+package com.food.ordering.system.order.service.dataaccess.order.adapter;
+
+import com.food.ordering.system.order.service.dataaccess.order.mapper.OrderDataAccessMapper;
+import com.food.ordering.system.order.service.dataaccess.order.repository.OrderJpaRepository;
+import com.food.ordering.system.order.service.domain.dto.track.TrackOrderResponse;
+import com.food.ordering.system.order.service.domain.ports.output.repository.OrderTrackingRepository;
+import com.food.ordering.system.order.service.domain.valueobject.TrackingId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderTrackingRepositoryImpl implements OrderTrackingRepository {
+
+    private final OrderJpaRepository orderJpaRepository;
+    private final OrderDataAccessMapper orderDataAccessMapper;
+
+    /**
+     * orders_tracking_id 인덱스로 주문 상태와 실패 메시지만 조회합니다. 주문 상품, 주소는 읽지 않습니다.
+     *
+     * @param trackingId 조회할 Order의 TrackingId
+     * @return 주문 조회 응답을 Optional로 감싸서 반환, Order가 없으면 Optional.empty() 반환
+     */
+    @Override
+    public Optional<TrackOrderResponse> findByTrackingId(TrackingId trackingId) {
+        return orderJpaRepository.findTrackingByTrackingId(trackingId.getValue())
+                .map(orderDataAccessMapper::orderTrackingProjectionToTrackOrderResponse);
+    }
+}
@@ -8,6 +8,9 @@ import com.food.ordering.system.domain.valueobject.RestaurantId;
 import com.food.ordering.system.order.service.dataaccess.order.entity.OrderAddressEntity;
 import com.food.ordering.system.order.service.dataaccess.order.entity.OrderEntity;
 import com.food.ordering.system.order.service.dataaccess.order.entity.OrderItemEntity;
+import com.food.ordering.system.order.service.dataaccess.order.projection.OrderStatusProjection;
+import com.food.ordering.system.order.service.dataaccess.order.projection.OrderTrackingProjection;
+import com.food.ordering.system.order.service.domain.dto.track.TrackOrderResponse;
 import com.food.ordering.system.order.service.domain.entity.Order;
 import com.food.ordering.system.order.service.domain.entity.OrderItem;
 import com.food.ordering.system.order.service.domain.entity.Product;
@@ -80,6 +83,52 @@ public class OrderDataAccessMapper {
                 .build();
     }
 
+    /**
+     * 주문 상태 projection 을 주문 상품, 배송 주소가 없는 도메인 Order 객체로 변환합니다.
+     *
+     * @param orderStatusProjection orders 컬럼만 읽은 projection
+     * @return 주문 상품, 배송 주소가 null 인 도메인 Order 객체
+     */
+    public Order orderStatusProjectionToOrder(OrderStatusProjection orderStatusProjection) {
+        return Order.builder()
+                .orderId(new OrderId(orderStatusProjection.getId()))
+                .customerId(new CustomerId(orderStatusProjection.getCustomerId()))
+                .restaurantId(new RestaurantId(orderStatusProjection.getRestaurantId()))
+                .price(new Money(orderStatusProjection.getPrice()))
+                .trackingId(new TrackingId(orderStatusProjection.getTrackingId()))
+                .orderStatus(orderStatusProjection.getOrderStatus())
+                .failureMessages(orderStatusProjection.getFailureMessages() != null
+                        ? new ArrayList<>(Arrays.asList(orderStatusProjection.getFailureMessages().split(FAILURE_MESSAGE_DELIMITER)))
+                        : new ArrayList<>())
+                .build();
+    }
+
+    /**
+     * 도메인 Order 의 실패 메시지를 failure_messages 컬럼 값으로 변환합니다.
+     */
+    public String failureMessagesToString(Order order) {
+        return order.getFailureMessages() != null
+                ? String.join(FAILURE_MESSAGE_DELIMITER, order.getFailureMessages())
+                : "";
+    }
+
+    /**
+     * 주문 조회 projection 을 주문 조회 응답으로 변환합니다.
+     *
+     * @param orderTrackingProjection orders 에서 조회 응답에 필요한 컬럼만 읽은 projection
+     * @return 주문 조회 응답 객체
+     */
+    public TrackOrderResponse orderTrackingProjectionToTrackOrderResponse(OrderTrackingProjection orderTrackingProjection) {
+        String failureMessages = orderTrackingProjection.getFailureMessages();
+        return TrackOrderResponse.builder()
+                .orderTrackingId(orderTrackingProjection.getTrackingId())
+                .orderStatus(orderTrackingProjection.getOrderStatus())
+                .failureMessages(failureMessages == null || failureMessages.isEmpty()
+                        ? List.of()
+                        : List.of(failureMessages.split(FAILURE_MESSAGE_DELIMITER)))
+                .build();
+    }
+
     /**
      * OrderItemEntity 객체 목록을 도메인 OrderItem 객체 목록으로 변환합니다.
      *
@@ -0,0 +1,26 @@
+package com.food.ordering.system.order.service.dataaccess.order.projection;
+
+import com.food.ordering.system.domain.valueobject.OrderStatus;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * saga 단계에서 주문 상태를 바꿀 때 필요한 orders 컬럼만 읽는 projection. 주문 상품, 주소는 읽지 않습니다.
+ */
+public interface OrderStatusProjection {
+
+    UUID getId();
+
+    UUID getCustomerId();
+
+    UUID getRestaurantId();
+
+    UUID getTrackingId();
+
+    BigDecimal getPrice();
+
+    OrderStatus getOrderStatus();
+
+    String getFailureMessages();
+}
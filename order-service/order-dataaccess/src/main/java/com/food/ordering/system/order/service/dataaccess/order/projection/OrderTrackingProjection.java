@@ -0,0 +1,17 @@
+package com.food.ordering.system.order.service.dataaccess.order.projection;
+
+import com.food.ordering.system.domain.valueobject.OrderStatus;
+
+import java.util.UUID;
+
+/**
+ * 주문 조회 응답에 필요한 orders 컬럼만 읽는 projection.
+ */
+public interface OrderTrackingProjection {
+
+    UUID getTrackingId();
+
+    OrderStatus getOrderStatus();
+
+    String getFailureMessages();
+}
@@ -1,7 +1,12 @@
 package com.food.ordering.system.order.service.dataaccess.order.repository;
 
 import com.food.ordering.system.order.service.dataaccess.order.entity.OrderEntity;
+import com.food.ordering.system.order.service.dataaccess.order.projection.OrderStatusProjection;
+import com.food.ordering.system.order.service.dataaccess.order.projection.OrderTrackingProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,4 +16,23 @@ import java.util.UUID;
 public interface OrderJpaRepository extends JpaRepository<OrderEntity, UUID> {
 
     Optional<OrderEntity> findByTrackingId(UUID trackingId);
+
+    // 주문 조회 응답에 필요한 컬럼만 select 한다.
+    Optional<OrderTrackingProjection> findTrackingByTrackingId(UUID trackingId);
+
+    // saga 단계에서 상태를 바꿀 때는 order_items, order_address 를 읽지 않는다.
+    Optional<OrderStatusProjection> findStatusById(UUID id);
+
+    /**
+     * 주문 상태가 expectedStatus 일 때만 상태와 실패 메시지를 변경합니다.
+     *
+     * @return 변경된 row 수, 그 사이에 상태가 바뀌었으면 0
+     */
+    @Modifying
+    @Query(value = "UPDATE orders SET order_status = :orderStatus, failure_messages = :failureMessages " +
+            "WHERE id = :id AND order_status = :expectedStatus", nativeQuery = true)
+    int updateOrderStatus(@Param("id") UUID id,
+                          @Param("expectedStatus") String expectedStatus,
+                          @Param("orderStatus") String orderStatus,
+                          @Param("failureMessages") String failureMessages);
 }
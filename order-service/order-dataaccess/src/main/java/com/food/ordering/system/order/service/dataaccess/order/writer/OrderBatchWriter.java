@@ -0,0 +1,114 @@
+package com.food.ordering.system.order.service.dataaccess.order.writer;
+
+import com.food.ordering.system.order.service.domain.entity.Order;
+import com.food.ordering.system.order.service.domain.entity.OrderItem;
+import com.food.ordering.system.order.service.domain.valueobject.StreetAddress;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static com.food.ordering.system.order.service.domain.entity.Order.FAILURE_MESSAGE_DELIMITER;
+
+/**
+ * 새 주문을 orders, order_address, order_items 에 INSERT 문 하나로 저장합니다.
+ * <ul>
+ *     <li>id 가 미리 정해진 엔티티를 save 할 때 merge 여부를 정하려고 하던 SELECT 가 없습니다.</li>
+ *     <li>주문 상품은 배열 파라미터를 unnest 해서 넣기 때문에 상품 수와 관계없이 DB 를 한번만 왕복합니다.</li>
+ * </ul>
+ * JPA 영속성 컨텍스트를 거치지 않으므로 이미 저장된 주문을 바꿀 때는 사용하면 안됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderBatchWriter {
+
+    // data-modifying CTE 의 FK 검사는 문장이 끝날 때 하므로 orders 보다 먼저 order_items 가 들어가도 괜찮다.
+    private static final String INSERT_ORDER_SQL =
+            "WITH inserted_order AS (" +
+            "INSERT INTO orders (id, customer_id, restaurant_id, tracking_id, price, order_status, failure_messages) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)" +
+            "), inserted_address AS (" +
+            "INSERT INTO order_address (id, order_id, street, postal_code, city) " +
+            "VALUES (?, ?, ?, ?, ?)" +
+            ") " +
+            "INSERT INTO order_items (id, order_id, product_id, price, quantity, sub_total) " +
+            "SELECT item.id, ?, item.product_id, item.price, item.quantity, item.sub_total " +
+            "FROM unnest(?, ?, ?, ?, ?) AS item(id, product_id, price, quantity, sub_total)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(Order order) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(INSERT_ORDER_SQL);
+            setInsertParameters(preparedStatement, order);
+            return preparedStatement;
+        });
+    }
+
+    // 주문마다 같은 문장을 JDBC batch 로 묶어 보내므로 주문 수와 관계없이 DB 를 한번만 왕복한다.
+    public void insertAll(List<Order> orders) {
+        jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement preparedStatement, int i) throws SQLException {
+                setInsertParameters(preparedStatement, orders.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return orders.size();
+            }
+        });
+    }
+
+    private void setInsertParameters(PreparedStatement preparedStatement, Order order) throws SQLException {
+        Connection connection = preparedStatement.getConnection();
+        UUID orderId = order.getId().getValue();
+        StreetAddress deliveryAddress = order.getDeliveryAddress();
+        List<OrderItem> items = order.getItems();
+
+        Long[] itemIds = new Long[items.size()];
+        UUID[] productIds = new UUID[items.size()];
+        BigDecimal[] prices = new BigDecimal[items.size()];
+        Integer[] quantities = new Integer[items.size()];
+        BigDecimal[] subTotals = new BigDecimal[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            OrderItem item = items.get(i);
+            itemIds[i] = item.getId().getValue();
+            productIds[i] = item.getProduct().getId().getValue();
+            prices[i] = item.getPrice().getAmount();
+            quantities[i] = item.getQuantity();
+            subTotals[i] = item.getSubTotal().getAmount();
+        }
+
+        int index = 1;
+        preparedStatement.setObject(index++, orderId);
+        preparedStatement.setObject(index++, order.getCustomerId().getValue());
+        preparedStatement.setObject(index++, order.getRestaurantId().getValue());
+        preparedStatement.setObject(index++, order.getTrackingId().getValue());
+        preparedStatement.setBigDecimal(index++, order.getPrice().getAmount());
+        preparedStatement.setString(index++, order.getOrderStatus().name());
+        preparedStatement.setString(index++, order.getFailureMessages() != null
+                ? String.join(FAILURE_MESSAGE_DELIMITER, order.getFailureMessages())
+                : "");
+
+        preparedStatement.setObject(index++, deliveryAddress.getId());
+        preparedStatement.setObject(index++, orderId);
+        preparedStatement.setString(index++, deliveryAddress.getStreet());
+        preparedStatement.setString(index++, deliveryAddress.getPostalCode());
+        preparedStatement.setString(index++, deliveryAddress.getCity());
+
+        preparedStatement.setObject(index++, orderId);
+        preparedStatement.setArray(index++, connection.createArrayOf("bigint", itemIds));
+        preparedStatement.setArray(index++, connection.createArrayOf("uuid", productIds));
+        preparedStatement.setArray(index++, connection.createArrayOf("numeric", prices));
+        preparedStatement.setArray(index++, connection.createArrayOf("integer", quantities));
+        preparedStatement.setArray(index, connection.createArrayOf("numeric", subTotals));
+    }
+}
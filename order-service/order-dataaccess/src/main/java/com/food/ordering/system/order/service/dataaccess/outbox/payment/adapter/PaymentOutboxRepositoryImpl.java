@@ -1,14 +1,21 @@
 package com.food.ordering.system.order.service.dataaccess.outbox.payment.adapter;
 
+import com.food.ordering.system.dataaccess.outbox.OutboxBacklogView;
+import com.food.ordering.system.dataaccess.outbox.OutboxPartitionManager;
 import com.food.ordering.system.order.service.dataaccess.outbox.payment.exception.PaymentOutboxNotFoundException;
 import com.food.ordering.system.order.service.dataaccess.outbox.payment.mapper.PaymentOutboxDataAccessMapper;
 import com.food.ordering.system.order.service.dataaccess.outbox.payment.repository.PaymentOutboxJpaRepository;
+import com.food.ordering.system.order.service.dataaccess.outbox.payment.writer.PaymentOutboxBatchWriter;
 import com.food.ordering.system.order.service.domain.outbox.model.payment.OrderPaymentOutboxMessage;
 import com.food.ordering.system.order.service.domain.ports.output.repository.PaymentOutboxRepository;
+import com.food.ordering.system.outbox.OutboxBacklog;
 import com.food.ordering.system.outbox.OutboxStatus;
 import com.food.ordering.system.saga.SagaStatus;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -18,13 +25,23 @@ import java.util.stream.Collectors;
 @Component
 public class PaymentOutboxRepositoryImpl implements PaymentOutboxRepository {
 
+    private static final String TABLE_NAME = "payment_outbox";
+    private static final String RETAIN_CONDITION =
+            "outbox_status <> 'COMPLETED' OR saga_status NOT IN ('SUCCEEDED', 'FAILED', 'COMPENSATED')";
+
     private final PaymentOutboxJpaRepository paymentOutboxJpaRepository;
     private final PaymentOutboxDataAccessMapper paymentOutboxDataAccessMapper;
+    private final OutboxPartitionManager outboxPartitionManager;
+    private final PaymentOutboxBatchWriter paymentOutboxBatchWriter;
 
     public PaymentOutboxRepositoryImpl(PaymentOutboxJpaRepository paymentOutboxJpaRepository,
-                                       PaymentOutboxDataAccessMapper paymentOutboxDataAccessMapper) {
+                                       PaymentOutboxDataAccessMapper paymentOutboxDataAccessMapper,
+                                       OutboxPartitionManager outboxPartitionManager,
+                                       PaymentOutboxBatchWriter paymentOutboxBatchWriter) {
         this.paymentOutboxJpaRepository = paymentOutboxJpaRepository;
         this.paymentOutboxDataAccessMapper = paymentOutboxDataAccessMapper;
+        this.outboxPartitionManager = outboxPartitionManager;
+        this.paymentOutboxBatchWriter = paymentOutboxBatchWriter;
     }
 
     @Override
@@ -35,6 +52,11 @@ public class PaymentOutboxRepositoryImpl implements PaymentOutboxRepository {
                                 .orderPaymentOutboxMessageToOutboxEntity(orderPaymentOutboxMessage))));
     }
 
+    @Override
+    public void insertAll(List<OrderPaymentOutboxMessage> orderPaymentOutboxMessages) {
+        paymentOutboxBatchWriter.insertAll(orderPaymentOutboxMessages);
+    }
+
     @Override
     public Optional<List<OrderPaymentOutboxMessage>> findByTypeAndOutboxStatusAndSagaStatus(String sagaType,
                                                                                             OutboxStatus outboxStatus,
@@ -49,6 +71,24 @@ public class PaymentOutboxRepositoryImpl implements PaymentOutboxRepository {
                 .collect(Collectors.toList()));
     }
 
+    @Override
+    public Optional<List<OrderPaymentOutboxMessage>> claimByTypeAndOutboxStatusAndSagaStatus(String sagaType,
+                                                                                             OutboxStatus outboxStatus,
+                                                                                             int maxAttempts,
+                                                                                             int limit,
+                                                                                             Duration lease,
+                                                                                             SagaStatus... sagaStatus) {
+        return Optional.of(paymentOutboxJpaRepository.claimByTypeAndOutboxStatusAndSagaStatusIn(sagaType,
+                        outboxStatus.name(),
+                        maxAttempts,
+                        Arrays.stream(sagaStatus).map(SagaStatus::name).collect(Collectors.toList()),
+                        limit,
+                        lease.toMillis())
+                .stream()
+                .map(paymentOutboxDataAccessMapper::paymentOutboxEntityToOrderPaymentOutboxMessage)
+                .collect(Collectors.toList()));
+    }
+
     @Override
     public Optional<OrderPaymentOutboxMessage> findByTypeAndSagaIdAndSagaStatus(String type,
                                                                                 UUID sagaId,
@@ -59,8 +99,65 @@ public class PaymentOutboxRepositoryImpl implements PaymentOutboxRepository {
     }
 
     @Override
-    public void deleteByTypeAndOutboxStatusAndSagaStatus(String type, OutboxStatus outboxStatus, SagaStatus... sagaStatus) {
-        paymentOutboxJpaRepository.deleteByTypeAndOutboxStatusAndSagaStatusIn(type, outboxStatus,
-                Arrays.asList(sagaStatus));
+    public int deleteByTypeAndOutboxStatusAndSagaStatusAndCreatedAtBefore(String type,
+                                                                          OutboxStatus outboxStatus,
+                                                                          ZonedDateTime createdAt,
+                                                                          int limit,
+                                                                          SagaStatus... sagaStatus) {
+        return paymentOutboxJpaRepository.deleteByTypeAndOutboxStatusAndSagaStatusInAndCreatedAtBefore(type,
+                outboxStatus.name(),
+                Arrays.stream(sagaStatus).map(SagaStatus::name).collect(Collectors.toList()),
+                createdAt,
+                limit);
+    }
+
+    @Override
+    public void updateOutboxStatusByIds(OutboxStatus outboxStatus, List<UUID> ids) {
+        paymentOutboxJpaRepository.updateOutboxStatusByIds(outboxStatus.name(), ids.toArray(new UUID[0]));
+    }
+
+    @Override
+    public void releaseClaimsByIds(List<UUID> ids) {
+        paymentOutboxJpaRepository.releaseClaimsByIds(ids.toArray(new UUID[0]));
+    }
+
+    @Override
+    public void createPartitions(LocalDate from, LocalDate to) {
+        outboxPartitionManager.createPartitions(TABLE_NAME, from, to);
+    }
+
+    @Override
+    public int dropPartitionsBefore(LocalDate before) {
+        return outboxPartitionManager.dropPartitionsBefore(TABLE_NAME, before, RETAIN_CONDITION);
+    }
+
+    @Override
+    public OutboxBacklog getBacklog(String type, int maxAttempts) {
+        OutboxBacklogView outboxBacklogView = paymentOutboxJpaRepository.getBacklogByType(type, maxAttempts);
+        return new OutboxBacklog(outboxBacklogView.getPendingCount(),
+                outboxBacklogView.getFailedCount(),
+                outboxBacklogView.getExhaustedCount(),
+                outboxBacklogView.getOldestPendingAgeSeconds());
+    }
+
+    @Override
+    public Optional<List<OrderPaymentOutboxMessage>> claimRetryableByTypeAndSagaStatus(String type,
+                                                                                       int maxAttempts,
+                                                                                       int limit,
+                                                                                       Duration lease,
+                                                                                       SagaStatus... sagaStatus) {
+        return Optional.of(paymentOutboxJpaRepository.claimRetryableByTypeAndSagaStatusIn(type,
+                        Arrays.stream(sagaStatus).map(SagaStatus::name).collect(Collectors.toList()),
+                        maxAttempts,
+                        limit,
+                        lease.toMillis())
+                .stream()
+                .map(paymentOutboxDataAccessMapper::paymentOutboxEntityToOrderPaymentOutboxMessage)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void markFailedByIds(List<UUID> ids, Duration backoffBase, Duration backoffMax) {
+        paymentOutboxJpaRepository.markFailedByIds(ids.toArray(new UUID[0]), backoffBase.toMillis(), backoffMax.toMillis());
     }
 }
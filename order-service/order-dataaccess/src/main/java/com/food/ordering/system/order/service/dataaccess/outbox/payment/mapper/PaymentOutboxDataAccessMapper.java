@@ -15,9 +15,11 @@ public class PaymentOutboxDataAccessMapper {
                 .createdAt(orderPaymentOutboxMessage.getCreatedAt())
                 .type(orderPaymentOutboxMessage.getType())
                 .payload(orderPaymentOutboxMessage.getPayload())
+                .encodedPayload(orderPaymentOutboxMessage.getEncodedPayload())
                 .orderStatus(orderPaymentOutboxMessage.getOrderStatus())
                 .sagaStatus(orderPaymentOutboxMessage.getSagaStatus())
                 .outboxStatus(orderPaymentOutboxMessage.getOutboxStatus())
+                .claimedUntil(orderPaymentOutboxMessage.getClaimedUntil())
                 .version(orderPaymentOutboxMessage.getVersion())
                 .build();
     }
@@ -30,9 +32,11 @@ public class PaymentOutboxDataAccessMapper {
                 .createdAt(paymentOutboxEntity.getCreatedAt())
                 .type(paymentOutboxEntity.getType())
                 .payload(paymentOutboxEntity.getPayload())
+                .encodedPayload(paymentOutboxEntity.getEncodedPayload())
                 .orderStatus(paymentOutboxEntity.getOrderStatus())
                 .sagaStatus(paymentOutboxEntity.getSagaStatus())
                 .outboxStatus(paymentOutboxEntity.getOutboxStatus())
+                .claimedUntil(paymentOutboxEntity.getClaimedUntil())
                 .version(paymentOutboxEntity.getVersion())
                 .build();
     }
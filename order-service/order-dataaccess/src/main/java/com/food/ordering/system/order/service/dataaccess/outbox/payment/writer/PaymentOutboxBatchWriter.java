@@ -0,0 +1,65 @@
+package com.food.ordering.system.order.service.dataaccess.outbox.payment.writer;
+
+import com.food.ordering.system.order.service.domain.outbox.model.payment.OrderPaymentOutboxMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * 새 payment outbox 메시지를 JDBC batch 로 저장합니다.<br/>
+ * version 이 있는 엔티티를 save 할 때 merge 여부를 정하려고 하던 SELECT 가 없고,
+ * rewriteBatchedInserts 로 여러 행이 INSERT 문 하나로 합쳐집니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentOutboxBatchWriter {
+
+    // enum 컬럼은 stringtype=unspecified 로 문자열을 넘겨도 캐스팅된다.
+    private static final String INSERT_PAYMENT_OUTBOX_SQL =
+            "INSERT INTO payment_outbox (id, saga_id, created_at, processed_at, type, payload, encoded_payload, " +
+            "outbox_status, saga_status, order_status, claimed_until, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<OrderPaymentOutboxMessage> orderPaymentOutboxMessages) {
+        jdbcTemplate.batchUpdate(INSERT_PAYMENT_OUTBOX_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement preparedStatement, int i) throws SQLException {
+                setInsertParameters(preparedStatement, orderPaymentOutboxMessages.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return orderPaymentOutboxMessages.size();
+            }
+        });
+    }
+
+    private void setInsertParameters(PreparedStatement preparedStatement,
+                                     OrderPaymentOutboxMessage message) throws SQLException {
+        int index = 1;
+        preparedStatement.setObject(index++, message.getId());
+        preparedStatement.setObject(index++, message.getSagaId());
+        preparedStatement.setObject(index++, message.getCreatedAt().toOffsetDateTime());
+        preparedStatement.setObject(index++, message.getProcessedAt() != null
+                ? message.getProcessedAt().toOffsetDateTime()
+                : null, Types.TIMESTAMP_WITH_TIMEZONE);
+        preparedStatement.setString(index++, message.getType());
+        preparedStatement.setString(index++, message.getPayload());
+        preparedStatement.setBytes(index++, message.getEncodedPayload());
+        preparedStatement.setString(index++, message.getOutboxStatus().name());
+        preparedStatement.setString(index++, message.getSagaStatus().name());
+        preparedStatement.setString(index++, message.getOrderStatus().name());
+        preparedStatement.setObject(index++, message.getClaimedUntil() != null
+                ? message.getClaimedUntil().toOffsetDateTime()
+                : null, Types.TIMESTAMP_WITH_TIMEZONE);
+        preparedStatement.setInt(index, message.getVersion());
+    }
+}
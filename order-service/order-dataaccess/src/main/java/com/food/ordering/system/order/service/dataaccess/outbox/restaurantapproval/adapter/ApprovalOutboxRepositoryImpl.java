@@ -1,14 +1,20 @@
 package com.food.ordering.system.order.service.dataaccess.outbox.restaurantapproval.adapter;
 
+import com.food.ordering.system.dataaccess.outbox.OutboxBacklogView;
+import com.food.ordering.system.dataaccess.outbox.OutboxPartitionManager;
 import com.food.ordering.system.order.service.dataaccess.outbox.restaurantapproval.exception.ApprovalOutboxNotFoundException;
 import com.food.ordering.system.order.service.dataaccess.outbox.restaurantapproval.mapper.ApprovalOutboxDataAccessMapper;
 import com.food.ordering.system.order.service.dataaccess.outbox.restaurantapproval.repository.ApprovalOutboxJpaRepository;
 import com.food.ordering.system.order.service.domain.outbox.model.approval.OrderApprovalOutboxMessage;
 import com.food.ordering.system.order.service.domain.ports.output.repository.ApprovalOutboxRepository;
+import com.food.ordering.system.outbox.OutboxBacklog;
 import com.food.ordering.system.outbox.OutboxStatus;
 import com.food.ordering.system.saga.SagaStatus;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -18,13 +24,20 @@ import java.util.stream.Collectors;
 @Component
 public class ApprovalOutboxRepositoryImpl implements ApprovalOutboxRepository {
 
+    private static final String TABLE_NAME = "restaurant_approval_outbox";
+    private static final String RETAIN_CONDITION =
+            "outbox_status <> 'COMPLETED' OR saga_status NOT IN ('SUCCEEDED', 'FAILED', 'COMPENSATED')";
+
     private final ApprovalOutboxJpaRepository approvalOutboxJpaRepository;
     private final ApprovalOutboxDataAccessMapper approvalOutboxDataAccessMapper;
+    private final OutboxPartitionManager outboxPartitionManager;
 
     public ApprovalOutboxRepositoryImpl(ApprovalOutboxJpaRepository approvalOutboxJpaRepository,
-                                        ApprovalOutboxDataAccessMapper approvalOutboxDataAccessMapper) {
+                                        ApprovalOutboxDataAccessMapper approvalOutboxDataAccessMapper,
+                                        OutboxPartitionManager outboxPartitionManager) {
         this.approvalOutboxJpaRepository = approvalOutboxJpaRepository;
         this.approvalOutboxDataAccessMapper = approvalOutboxDataAccessMapper;
+        this.outboxPartitionManager = outboxPartitionManager;
     }
 
     @Override
@@ -48,6 +61,24 @@ public class ApprovalOutboxRepositoryImpl implements ApprovalOutboxRepository {
                 .collect(Collectors.toList()));
     }
 
+    @Override
+    public Optional<List<OrderApprovalOutboxMessage>> claimByTypeAndOutboxStatusAndSagaStatus(String sagaType,
+                                                                                             OutboxStatus outboxStatus,
+                                                                                             int maxAttempts,
+                                                                                             int limit,
+                                                                                             Duration lease,
+                                                                                             SagaStatus... sagaStatus) {
+        return Optional.of(approvalOutboxJpaRepository.claimByTypeAndOutboxStatusAndSagaStatusIn(sagaType,
+                        outboxStatus.name(),
+                        maxAttempts,
+                        Arrays.stream(sagaStatus).map(SagaStatus::name).collect(Collectors.toList()),
+                        limit,
+                        lease.toMillis())
+                .stream()
+                .map(approvalOutboxDataAccessMapper::approvalOutboxEntityToOrderApprovalOutboxMessage)
+                .collect(Collectors.toList()));
+    }
+
     @Override
     public Optional<OrderApprovalOutboxMessage> findByTypeAndSagaIdAndSagaStatus(String type,
                                                                                  UUID sagaId,
@@ -60,8 +91,65 @@ public class ApprovalOutboxRepositoryImpl implements ApprovalOutboxRepository {
     }
 
     @Override
-    public void deleteByTypeAndOutboxStatusAndSagaStatus(String type, OutboxStatus outboxStatus, SagaStatus... sagaStatus) {
-        approvalOutboxJpaRepository.deleteByTypeAndOutboxStatusAndSagaStatusIn(type, outboxStatus,
-                Arrays.asList(sagaStatus));
+    public int deleteByTypeAndOutboxStatusAndSagaStatusAndCreatedAtBefore(String type,
+                                                                          OutboxStatus outboxStatus,
+                                                                          ZonedDateTime createdAt,
+                                                                          int limit,
+                                                                          SagaStatus... sagaStatus) {
+        return approvalOutboxJpaRepository.deleteByTypeAndOutboxStatusAndSagaStatusInAndCreatedAtBefore(type,
+                outboxStatus.name(),
+                Arrays.stream(sagaStatus).map(SagaStatus::name).collect(Collectors.toList()),
+                createdAt,
+                limit);
+    }
+
+    @Override
+    public void updateOutboxStatusByIds(OutboxStatus outboxStatus, List<UUID> ids) {
+        approvalOutboxJpaRepository.updateOutboxStatusByIds(outboxStatus.name(), ids.toArray(new UUID[0]));
+    }
+
+    @Override
+    public void releaseClaimsByIds(List<UUID> ids) {
+        approvalOutboxJpaRepository.releaseClaimsByIds(ids.toArray(new UUID[0]));
+    }
+
+    @Override
+    public void createPartitions(LocalDate from, LocalDate to) {
+        outboxPartitionManager.createPartitions(TABLE_NAME, from, to);
+    }
+
+    @Override
+    public int dropPartitionsBefore(LocalDate before) {
+        return outboxPartitionManager.dropPartitionsBefore(TABLE_NAME, before, RETAIN_CONDITION);
+    }
+
+    @Override
+    public OutboxBacklog getBacklog(String type, int maxAttempts) {
+        OutboxBacklogView outboxBacklogView = approvalOutboxJpaRepository.getBacklogByType(type, maxAttempts);
+        return new OutboxBacklog(outboxBacklogView.getPendingCount(),
+                outboxBacklogView.getFailedCount(),
+                outboxBacklogView.getExhaustedCount(),
+                outboxBacklogView.getOldestPendingAgeSeconds());
+    }
+
+    @Override
+    public Optional<List<OrderApprovalOutboxMessage>> claimRetryableByTypeAndSagaStatus(String type,
+                                                                                        int maxAttempts,
+                                                                                        int limit,
+                                                                                        Duration lease,
+                                                                                        SagaStatus... sagaStatus) {
+        return Optional.of(approvalOutboxJpaRepository.claimRetryableByTypeAndSagaStatusIn(type,
+                        Arrays.stream(sagaStatus).map(SagaStatus::name).collect(Collectors.toList()),
+                        maxAttempts,
+                        limit,
+                        lease.toMillis())
+                .stream()
+                .map(approvalOutboxDataAccessMapper::approvalOutboxEntityToOrderApprovalOutboxMessage)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void markFailedByIds(List<UUID> ids, Duration backoffBase, Duration backoffMax) {
+        approvalOutboxJpaRepository.markFailedByIds(ids.toArray(new UUID[0]), backoffBase.toMillis(), backoffMax.toMillis());
     }
 }
@@ -3,6 +3,7 @@ package com.food.ordering.system.order.service.dataaccess.outbox.restaurantappro
 import com.food.ordering.system.domain.valueobject.OrderStatus;
 import com.food.ordering.system.outbox.OutboxStatus;
 import com.food.ordering.system.saga.SagaStatus;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -36,12 +37,15 @@ public class ApprovalOutboxEntity {
     private ZonedDateTime processedAt;
     private String type;
     private String payload;
+    private byte[] encodedPayload;
     @Enumerated(EnumType.STRING)
     private SagaStatus sagaStatus;
     @Enumerated(EnumType.STRING)
     private OrderStatus orderStatus;
     @Enumerated(EnumType.STRING)
     private OutboxStatus outboxStatus;
+    @Column(updatable = false)
+    private ZonedDateTime claimedUntil;
     @Version
     private int version;
 
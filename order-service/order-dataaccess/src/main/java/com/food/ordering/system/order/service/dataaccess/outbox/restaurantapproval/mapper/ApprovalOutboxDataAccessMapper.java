@@ -15,9 +15,11 @@ public class ApprovalOutboxDataAccessMapper {
                 .createdAt(orderApprovalOutboxMessage.getCreatedAt())
                 .type(orderApprovalOutboxMessage.getType())
                 .payload(orderApprovalOutboxMessage.getPayload())
+                .encodedPayload(orderApprovalOutboxMessage.getEncodedPayload())
                 .orderStatus(orderApprovalOutboxMessage.getOrderStatus())
                 .sagaStatus(orderApprovalOutboxMessage.getSagaStatus())
                 .outboxStatus(orderApprovalOutboxMessage.getOutboxStatus())
+                .claimedUntil(orderApprovalOutboxMessage.getClaimedUntil())
                 .version(orderApprovalOutboxMessage.getVersion())
                 .build();
     }
@@ -30,9 +32,11 @@ public class ApprovalOutboxDataAccessMapper {
                 .createdAt(approvalOutboxEntity.getCreatedAt())
                 .type(approvalOutboxEntity.getType())
                 .payload(approvalOutboxEntity.getPayload())
+                .encodedPayload(approvalOutboxEntity.getEncodedPayload())
                 .orderStatus(approvalOutboxEntity.getOrderStatus())
                 .sagaStatus(approvalOutboxEntity.getSagaStatus())
                 .outboxStatus(approvalOutboxEntity.getOutboxStatus())
+                .claimedUntil(approvalOutboxEntity.getClaimedUntil())
                 .version(approvalOutboxEntity.getVersion())
                 .build();
     }
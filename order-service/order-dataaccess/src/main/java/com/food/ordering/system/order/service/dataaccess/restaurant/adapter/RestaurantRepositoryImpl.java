@@ -8,9 +8,12 @@ import com.food.ordering.system.order.service.domain.ports.output.repository.Res
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
@@ -31,4 +34,19 @@ public class RestaurantRepositoryImpl implements RestaurantRepository {
         return restaurantEntities
                 .map(restaurantDataAccessMapper::restaurantEntityToRestaurant);
     }
+
+    @Override
+    public List<Restaurant> findRestaurantsInformation(List<Restaurant> restaurants) {
+        Set<UUID> restaurantIds = new HashSet<>();
+        Set<UUID> productIds = new HashSet<>();
+        for (Restaurant restaurant : restaurants) {
+            restaurantIds.add(restaurant.getId().getValue());
+            productIds.addAll(restaurantDataAccessMapper.restaurantToRestaurantProducts(restaurant));
+        }
+        return restaurantJpaRepository.findByRestaurantIdInAndProductIdIn(restaurantIds, productIds).stream()
+                .collect(Collectors.groupingBy(RestaurantEntity::getRestaurantId))
+                .values().stream()
+                .map(restaurantDataAccessMapper::restaurantEntityToRestaurant)
+                .toList();
+    }
 }
@@ -1,5 +1,7 @@
 package com.food.ordering.system.order.service.domain;
 
+import com.food.ordering.system.order.service.domain.dto.create.CreateOrderBatchCommand;
+import com.food.ordering.system.order.service.domain.dto.create.CreateOrderBatchResponse;
 import com.food.ordering.system.order.service.domain.dto.create.CreateOrderCommand;
 import com.food.ordering.system.order.service.domain.dto.create.CreateOrderResponse;
 import com.food.ordering.system.order.service.domain.dto.track.TrackOrderQuery;
@@ -10,6 +12,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.function.Consumer;
+
 /**
  * 구현한 클래스에 package-private 인 기본설정을 사용함으로써 좀 더 캡슐화를 유지할 수 있다.
  */
@@ -22,15 +26,30 @@ class OrderApplicationServiceImpl implements OrderApplicationService {
 
     private final OrderCreateCommandHandler orderCreateCommandHandler;
 
+    private final OrderBatchCreateCommandHandler orderBatchCreateCommandHandler;
+
     private final OrderTrackCommandHandler orderTrackCommandHandler;
 
+    private final OrderStatusPublisher orderStatusPublisher;
+
     @Override
     public CreateOrderResponse createOrder(CreateOrderCommand createOrderCommand) {
         return orderCreateCommandHandler.createOrder(createOrderCommand);
     }
 
+    @Override
+    public CreateOrderBatchResponse createOrders(CreateOrderBatchCommand createOrderBatchCommand) {
+        return orderBatchCreateCommandHandler.createOrders(createOrderBatchCommand);
+    }
+
     @Override
     public TrackOrderResponse trackOrder(TrackOrderQuery trackOrderQuery) {
         return orderTrackCommandHandler.trackOrder(trackOrderQuery);
     }
+
+    @Override
+    public Runnable subscribeOrderStatus(TrackOrderQuery trackOrderQuery, Consumer<TrackOrderResponse> listener) {
+        return orderStatusPublisher.subscribe(trackOrderQuery.getOrderTrackingId(), listener,
+                () -> orderTrackCommandHandler.trackOrderFromDatabase(trackOrderQuery));
+    }
 }
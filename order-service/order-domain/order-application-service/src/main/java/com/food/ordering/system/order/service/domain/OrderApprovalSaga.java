@@ -107,20 +107,22 @@ public class OrderApprovalSaga implements SagaStep<RestaurantApprovalResponse> {
     }
 
     private Order approveOrder(RestaurantApprovalResponse data) {
-        Order order = orderSagaHelper.findOrder(data.getOrderId());
+        Order order = orderSagaHelper.findOrderStatus(data.getOrderId());
+        OrderStatus previousStatus = order.getOrderStatus();
         orderDomainService.approveOrder(order);
-        orderSagaHelper.saveOrder(order);
+        orderSagaHelper.updateOrderStatus(order, previousStatus);
         log.info("주문 승인 완료: {}", data.getOrderId());
         return order;
     }
 
     private OrderCancelledEvent rollbackOrder(RestaurantApprovalResponse data) {
         log.info("주문 승인 롤백 이벤트 수신중: {} with failureMessages {}", data.getOrderId(), String.join(FAILURE_MESSAGE_DELIMITER,data.getFailureMessages()));
-        Order order = orderSagaHelper.findOrder(data.getOrderId());
+        Order order = orderSagaHelper.findOrderStatus(data.getOrderId());
+        OrderStatus previousStatus = order.getOrderStatus();
         OrderCancelledEvent domainEvent = orderDomainService.cancelOrderPayment(
                 order,
                 data.getFailureMessages());
-        orderSagaHelper.saveOrder(order);
+        orderSagaHelper.updateOrderStatus(order, previousStatus);
         return domainEvent;
     }
 
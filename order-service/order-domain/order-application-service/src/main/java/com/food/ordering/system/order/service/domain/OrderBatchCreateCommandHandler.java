@@ -0,0 +1,156 @@
+package com.food.ordering.system.order.service.domain;
+
+import com.food.ordering.system.domain.valueobject.OrderStatus;
+import com.food.ordering.system.domain.valueobject.RestaurantId;
+import com.food.ordering.system.order.service.domain.dto.create.CreateOrderBatchCommand;
+import com.food.ordering.system.order.service.domain.dto.create.CreateOrderBatchResponse;
+import com.food.ordering.system.order.service.domain.dto.create.CreateOrderBatchResult;
+import com.food.ordering.system.order.service.domain.dto.create.CreateOrderCommand;
+import com.food.ordering.system.order.service.domain.entity.Customer;
+import com.food.ordering.system.order.service.domain.entity.Order;
+import com.food.ordering.system.order.service.domain.entity.Product;
+import com.food.ordering.system.order.service.domain.entity.Restaurant;
+import com.food.ordering.system.order.service.domain.event.OrderCreatedEvent;
+import com.food.ordering.system.order.service.domain.exception.OrderDomainException;
+import com.food.ordering.system.order.service.domain.mapper.OrderDataMapper;
+import com.food.ordering.system.order.service.domain.outbox.model.payment.OrderPaymentEventPayload;
+import com.food.ordering.system.order.service.domain.outbox.scheduler.payment.PaymentOutboxHelper;
+import com.food.ordering.system.order.service.domain.ports.output.repository.CustomerRepository;
+import com.food.ordering.system.order.service.domain.ports.output.repository.OrderRepository;
+import com.food.ordering.system.order.service.domain.ports.output.repository.RestaurantRepository;
+import com.food.ordering.system.outbox.OutboxStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 주문을 한번에 생성하는 핸들러 클래스입니다.
+ * 고객, 식당 조회를 요청 전체에 대해 한번씩만 하고, 주문과 outbox 는 batch insert 로 저장합니다.
+ * 검증에 실패한 주문은 결과에 실패로 남기고 나머지 주문은 생성합니다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class OrderBatchCreateCommandHandler {
+
+    private final OrderDomainService orderDomainService;
+
+    private final OrderRepository orderRepository;
+
+    private final CustomerRepository customerRepository;
+
+    private final RestaurantRepository restaurantRepository;
+
+    private final OrderDataMapper orderDataMapper;
+
+    private final PaymentOutboxHelper paymentOutboxHelper;
+
+    private final OrderSagaHelper orderSagaHelper;
+
+    /**
+     * 배치 주문 생성 요청을 처리하고 요청 순서대로 주문별 결과를 반환합니다.
+     * 저장 중에 실패하면 이 요청의 주문과 outbox 가 모두 롤백됩니다.
+     *
+     * @param createOrderBatchCommand 생성할 주문 커맨드 목록을 담고 있는 커맨드 객체입니다.
+     * @return 주문별 생성 결과를 담은 응답 객체입니다.
+     */
+    @Transactional
+    public CreateOrderBatchResponse createOrders(CreateOrderBatchCommand createOrderBatchCommand) {
+        List<CreateOrderCommand> createOrderCommands = createOrderBatchCommand.getOrders();
+        Set<UUID> customerIds = findCustomerIds(createOrderCommands);
+        Map<UUID, Restaurant> restaurants = findRestaurants(createOrderCommands);
+
+        List<CreateOrderBatchResult> results = new ArrayList<>(createOrderCommands.size());
+        List<Order> orders = new ArrayList<>();
+        List<OrderPaymentEventPayload> paymentEventPayloads = new ArrayList<>();
+        for (int i = 0; i < createOrderCommands.size(); i++) {
+            CreateOrderCommand createOrderCommand = createOrderCommands.get(i);
+            try {
+                OrderCreatedEvent orderCreatedEvent = validateAndInitiateOrder(createOrderCommand, customerIds, restaurants);
+                orders.add(orderCreatedEvent.getOrder());
+                paymentEventPayloads.add(orderDataMapper.orderCreatedEventToOrderPaymentEventPayload(orderCreatedEvent));
+                results.add(CreateOrderBatchResult.builder()
+                        .index(i)
+                        .orderTrackingId(orderCreatedEvent.getOrder().getTrackingId().getValue())
+                        .orderStatus(orderCreatedEvent.getOrder().getOrderStatus())
+                        .message("주문이 성공적으로 생성되었습니다.")
+                        .build());
+            } catch (OrderDomainException e) {
+                log.warn("배치 주문 생성에 실패했습니다. index: {} {}", i, e.getMessage());
+                results.add(CreateOrderBatchResult.builder()
+                        .index(i)
+                        .message(e.getMessage())
+                        .build());
+            }
+        }
+
+        if (!orders.isEmpty()) {
+            orderRepository.insertAll(orders);
+            paymentOutboxHelper.savePaymentOutboxMessages(paymentEventPayloads,
+                    OrderStatus.PENDING,
+                    orderSagaHelper.orderStatusToSagaStatus(OrderStatus.PENDING),
+                    OutboxStatus.STARTED);
+        }
+        log.info("배치 주문이 생성되었습니다. 생성: {} 실패: {}", orders.size(), createOrderCommands.size() - orders.size());
+
+        return CreateOrderBatchResponse.builder()
+                .createdCount(orders.size())
+                .failedCount(createOrderCommands.size() - orders.size())
+                .results(results)
+                .build();
+    }
+
+    private OrderCreatedEvent validateAndInitiateOrder(CreateOrderCommand createOrderCommand,
+                                                       Set<UUID> customerIds,
+                                                       Map<UUID, Restaurant> restaurants) {
+        if (!customerIds.contains(createOrderCommand.getCustomerId())) {
+            throw new OrderDomainException("고객을 찾을 수 없습니다. customerId: " + createOrderCommand.getCustomerId());
+        }
+        Restaurant restaurant = restaurants.get(createOrderCommand.getRestaurantId());
+        if (restaurant == null) {
+            throw new OrderDomainException("식당을 찾을 수 없습니다. restaurantId: " + createOrderCommand.getRestaurantId());
+        }
+        Order order = orderDataMapper.createOrderCommandToOrder(createOrderCommand);
+        return orderDomainService.validateAndInitiateOrder(order, restaurant);
+    }
+
+    private Set<UUID> findCustomerIds(List<CreateOrderCommand> createOrderCommands) {
+        Set<UUID> customerIds = createOrderCommands.stream()
+                .map(CreateOrderCommand::getCustomerId)
+                .collect(Collectors.toSet());
+        return customerRepository.findCustomers(customerIds).stream()
+                .map(customer -> customer.getId().getValue())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 같은 식당에 대한 주문들의 상품을 합쳐서 식당마다 한번만 조회합니다.
+     */
+    private Map<UUID, Restaurant> findRestaurants(List<CreateOrderCommand> createOrderCommands) {
+        Map<UUID, Map<UUID, Product>> productsByRestaurant = new LinkedHashMap<>();
+        for (CreateOrderCommand createOrderCommand : createOrderCommands) {
+            Restaurant restaurant = orderDataMapper.createOrderCommandToRestaurant(createOrderCommand);
+            Map<UUID, Product> products = productsByRestaurant.computeIfAbsent(
+                    createOrderCommand.getRestaurantId(), restaurantId -> new LinkedHashMap<>());
+            restaurant.getProducts().forEach(product -> products.putIfAbsent(product.getId().getValue(), product));
+        }
+        List<Restaurant> restaurants = productsByRestaurant.entrySet().stream()
+                .map(entry -> Restaurant.builder()
+                        .restaurantId(new RestaurantId(entry.getKey()))
+                        .products(new ArrayList<>(entry.getValue().values()))
+                        .build())
+                .toList();
+        return restaurantRepository.findRestaurantsInformation(restaurants).stream()
+                .collect(Collectors.toMap(restaurant -> restaurant.getId().getValue(), Function.identity()));
+    }
+}
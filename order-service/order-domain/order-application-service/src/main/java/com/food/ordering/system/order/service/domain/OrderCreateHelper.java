@@ -92,20 +92,12 @@ public class OrderCreateHelper {
     }
 
     /**
-     * 주문 엔티티를 저장하고 저장된 주문 엔티티를 반환합니다.
+     * 새로 생성한 주문 엔티티를 주문 상품, 배송 주소와 함께 한번에 저장합니다.
      *
      * @param order 저장할 주문 엔티티입니다.
-     * @return 저장된 주문 엔티티입니다.
-     * @throws OrderDomainException 주문을 저장할 수 없는 경우 예외를 발생시킵니다.
      */
-    private Order saveOrder(Order order) {
-        Order orderResult =  orderRepository.save(order);
-        if(orderResult == null){
-            log.error("주문을 저장할 수 없습니다.");
-            throw new OrderDomainException("주문을 저장할 수 없습니다.");
-        }
-
-        log.info("주문이 저장되었습니다. orderId: {}", orderResult.getId().getValue());
-        return orderResult;
+    private void saveOrder(Order order) {
+        orderRepository.insert(order);
+        log.info("주문이 저장되었습니다. orderId: {}", order.getId().getValue());
     }
 }
@@ -151,16 +151,19 @@ public class OrderPaymentSaga implements SagaStep<PaymentResponse> {
 
     private OrderPaidEvent completePaymentForOrder(PaymentResponse paymentResponse){
         log.info("결제 완료 처리중 .. 주문Id:{}", paymentResponse.getOrderId());
+        // 승인 요청에 주문 상품이 필요해서 전체를 조회하지만 저장은 상태만 한다.
         Order order = orderSagaHelper.findOrder(paymentResponse.getOrderId());
+        OrderStatus previousStatus = order.getOrderStatus();
         OrderPaidEvent domainEvent = orderDomainService.payOrder(order);
-        orderSagaHelper.saveOrder(order);
+        orderSagaHelper.updateOrderStatus(order, previousStatus);
         return domainEvent;
     }
     private Order rollbackPaymentForOrder(PaymentResponse paymentResponse){
         log.info("결제 롤백 처리중 .. 주문Id:{}", paymentResponse.getOrderId());
-        Order order = orderSagaHelper.findOrder(paymentResponse.getOrderId());
+        Order order = orderSagaHelper.findOrderStatus(paymentResponse.getOrderId());
+        OrderStatus previousStatus = order.getOrderStatus();
         orderDomainService.cancelOrder(order, paymentResponse.getFailureMessages());
-        orderSagaHelper.saveOrder(order);
+        orderSagaHelper.updateOrderStatus(order, previousStatus);
         return order;
     }
 }
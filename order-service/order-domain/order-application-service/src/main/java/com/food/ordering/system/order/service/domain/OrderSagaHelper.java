@@ -4,6 +4,8 @@ import com.food.ordering.system.domain.valueobject.OrderId;
 import com.food.ordering.system.domain.valueobject.OrderStatus;
 import com.food.ordering.system.order.service.domain.entity.Order;
 import com.food.ordering.system.order.service.domain.exception.OrderNotFoundException;
+import com.food.ordering.system.order.service.domain.exception.OrderStatusConflictException;
+import com.food.ordering.system.order.service.domain.mapper.OrderDataMapper;
 import com.food.ordering.system.order.service.domain.ports.output.repository.OrderRepository;
 import com.food.ordering.system.saga.SagaStatus;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +20,9 @@ import java.util.UUID;
 public class OrderSagaHelper {
 
     private final OrderRepository orderRepository;
+    private final OrderTrackingCache orderTrackingCache;
+    private final OrderStatusPublisher orderStatusPublisher;
+    private final OrderDataMapper orderDataMapper;
 
     public Order findOrder(String orderId) {
         return orderRepository.findById(new OrderId(UUID.fromString(orderId)))
@@ -28,8 +33,30 @@ public class OrderSagaHelper {
                         });
     }
 
-    void saveOrder(Order order) {
-        orderRepository.save(order);
+    /**
+     * 주문 상품, 배송 주소 없이 상태를 바꾸는데 필요한 정보만 조회합니다.
+     */
+    public Order findOrderStatus(String orderId) {
+        return orderRepository.findStatusById(new OrderId(UUID.fromString(orderId)))
+                .orElseThrow(
+                        () -> {
+                            log.error("주문을 찾을 수 없습니다: {}", orderId);
+                            return new OrderNotFoundException(String.format("주문을 찾을 수 없습니다: %s", orderId));
+                        });
+    }
+
+    /**
+     * 주문 상태가 previousStatus 그대로일 때만 상태와 실패 메시지를 변경합니다.
+     *
+     * @throws OrderStatusConflictException 그 사이에 다른 saga 단계가 상태를 바꾼 경우. 트랜잭션이 롤백 되고 리스너는 재시도 없이 끝낸다.
+     */
+    void updateOrderStatus(Order order, OrderStatus previousStatus) {
+        if (!orderRepository.updateStatus(order, previousStatus)) {
+            throw new OrderStatusConflictException(String.format("주문 상태가 %s 가 아니어서 %s 로 바꿀 수 없습니다. 주문Id: %s",
+                    previousStatus, order.getOrderStatus(), order.getId().getValue()));
+        }
+        orderTrackingCache.evictAfterCommit(order.getTrackingId().getValue());
+        orderStatusPublisher.publishAfterCommit(orderDataMapper.orderToTrackOrderResponse(order));
     }
 
     SagaStatus orderStatusToSagaStatus(OrderStatus orderStatus) {
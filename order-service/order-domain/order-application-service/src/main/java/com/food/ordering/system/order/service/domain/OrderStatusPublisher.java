@@ -0,0 +1,146 @@
+package com.food.ordering.system.order.service.domain;
+
+import com.food.ordering.system.domain.valueobject.OrderStatus;
+import com.food.ordering.system.order.service.domain.config.OrderServiceConfigData;
+import com.food.ordering.system.order.service.domain.dto.track.TrackOrderResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * saga 단계에서 바뀐 주문 상태를 tracking id 를 구독하고 있는 리스너에게 커밋 후에 전달합니다.
+ * 리스너는 전용 스레드에서 호출하기 때문에 느린 구독자가 saga 를 처리하는 컨슈머 스레드를 막지 않습니다.
+ * 구독자마다 마지막으로 보낸 상태보다 진행된 상태만 보내서, 늦게 도착한 이전 상태로 되돌아가 보이지 않게 합니다.
+ * 이 인스턴스에서 처리한 saga 단계만 전달하므로, 다른 인스턴스가 처리한 상태 변경은 구독자가 다시 조회해야 알 수 있습니다.
+ */
+@Slf4j
+@Component
+public class OrderStatusPublisher {
+
+    private final Map<UUID, Set<Subscription>> subscriptionsByTrackingId = new ConcurrentHashMap<>();
+    private final ExecutorService publishExecutor;
+
+    public OrderStatusPublisher(OrderServiceConfigData orderServiceConfigData) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.publishExecutor = Executors.newFixedThreadPool(orderServiceConfigData.getOrderStatusPublisherThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "order-status-publisher-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 구독한 뒤 currentStatus 로 읽은 현재 상태를 호출한 스레드에서 먼저 전달합니다.
+     * 구독 후에 읽기 때문에 그 사이에 바뀐 상태를 놓치지 않고, 먼저 전달된 상태보다 지난 값이면 보내지 않습니다.
+     *
+     * @return 구독을 해지하는 Runnable
+     */
+    public Runnable subscribe(UUID trackingId, Consumer<TrackOrderResponse> listener,
+                              Supplier<TrackOrderResponse> currentStatus) {
+        Subscription subscription = new Subscription(listener);
+        subscriptionsByTrackingId.computeIfAbsent(trackingId, id -> new CopyOnWriteArraySet<>()).add(subscription);
+        Runnable unsubscribe = () -> subscriptionsByTrackingId.computeIfPresent(trackingId, (id, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+        TrackOrderResponse trackOrderResponse;
+        try {
+            trackOrderResponse = currentStatus.get();
+        } catch (RuntimeException e) {
+            unsubscribe.run();
+            throw e;
+        }
+        subscription.deliver(trackOrderResponse);
+        return unsubscribe;
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋된 뒤에, 아니면 바로 전달합니다. 롤백된 상태는 전달하지 않습니다.
+     */
+    public void publishAfterCommit(TrackOrderResponse trackOrderResponse) {
+        if (!subscriptionsByTrackingId.containsKey(trackOrderResponse.getOrderTrackingId())) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(trackOrderResponse);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(trackOrderResponse);
+            }
+        });
+    }
+
+    private void publish(TrackOrderResponse trackOrderResponse) {
+        Set<Subscription> subscriptions = subscriptionsByTrackingId.get(trackOrderResponse.getOrderTrackingId());
+        if (subscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            try {
+                publishExecutor.execute(() -> subscription.deliver(trackOrderResponse));
+            } catch (RejectedExecutionException e) {
+                log.warn("주문 상태를 전달하지 못했습니다. tracking id: {}", trackOrderResponse.getOrderTrackingId(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        publishExecutor.shutdownNow();
+    }
+
+    /**
+     * 주문 상태가 진행되는 순서. APPROVED 와 CANCELLED 는 각각 마지막 상태라 순위가 같다.
+     */
+    private static int progress(OrderStatus orderStatus) {
+        return switch (orderStatus) {
+            case PENDING -> 0;
+            case PAID -> 1;
+            case CANCELLING -> 2;
+            case APPROVED, CANCELLED -> 3;
+        };
+    }
+
+    private static class Subscription {
+
+        private final Consumer<TrackOrderResponse> listener;
+        private OrderStatus lastSentStatus;
+
+        private Subscription(Consumer<TrackOrderResponse> listener) {
+            this.listener = listener;
+        }
+
+        // 같은 구독자에게는 한번에 하나씩 보내고, 마지막으로 보낸 상태보다 진행된 상태만 보낸다.
+        private synchronized void deliver(TrackOrderResponse trackOrderResponse) {
+            OrderStatus orderStatus = trackOrderResponse.getOrderStatus();
+            if (lastSentStatus != null && progress(orderStatus) <= progress(lastSentStatus)) {
+                log.debug("이미 보낸 상태보다 지난 상태라 보내지 않습니다. tracking id: {} 보낸 상태: {} 상태: {}",
+                        trackOrderResponse.getOrderTrackingId(), lastSentStatus, orderStatus);
+                return;
+            }
+            lastSentStatus = orderStatus;
+            try {
+                listener.accept(trackOrderResponse);
+            } catch (Exception e) {
+                log.warn("주문 상태를 전달하지 못했습니다. tracking id: {}", trackOrderResponse.getOrderTrackingId(), e);
+            }
+        }
+    }
+}
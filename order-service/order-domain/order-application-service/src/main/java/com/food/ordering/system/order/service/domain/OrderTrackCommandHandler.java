@@ -2,15 +2,12 @@ package com.food.ordering.system.order.service.domain;
 
 import com.food.ordering.system.order.service.domain.dto.track.TrackOrderQuery;
 import com.food.ordering.system.order.service.domain.dto.track.TrackOrderResponse;
-import com.food.ordering.system.order.service.domain.entity.Order;
 import com.food.ordering.system.order.service.domain.exception.OrderNotFoundException;
-import com.food.ordering.system.order.service.domain.mapper.OrderDataMapper;
-import com.food.ordering.system.order.service.domain.ports.output.repository.OrderRepository;
+import com.food.ordering.system.order.service.domain.ports.output.repository.OrderTrackingRepository;
 import com.food.ordering.system.order.service.domain.valueobject.TrackingId;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -19,23 +16,37 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class OrderTrackCommandHandler {
 
-    private final OrderDataMapper orderDataMapper;
+    private final OrderTrackingRepository orderTrackingRepository;
 
-    private final OrderRepository orderRepository;
+    private final OrderTrackingCache orderTrackingCache;
 
     /**
      * 주문 조회 요청을 처리하고 주문 조회 결과를 반환합니다.
      *
      * @param orderTrackingId 주문 조회에 필요한 정보를 담고 있는 쿼리 객체입니다.
      * @return 조회된 주문의 응답 객체입니다.
+     * @implNote 주문 상품, 주소는 읽지 않고 OrderTrackingCache 에 없을 때만 DB 를 조회합니다.
      */
-    @Transactional(readOnly = true)
     public TrackOrderResponse trackOrder(TrackOrderQuery orderTrackingId) {
-        Optional<Order> orderResult = orderRepository.findByTrackingId(new TrackingId(orderTrackingId.getOrderTrackingId()));
-        if (orderResult.isEmpty()){
+        TrackingId trackingId = new TrackingId(orderTrackingId.getOrderTrackingId());
+        return orElseThrow(orderTrackingCache.get(trackingId.getValue(),
+                () -> orderTrackingRepository.findByTrackingId(trackingId)), orderTrackingId);
+    }
+
+    /**
+     * 캐시를 거치지 않고 DB 에서 읽은 현재 주문 상태를 반환합니다.
+     * 주문 상태 스트림의 첫 상태처럼 ttl 동안 남아있는 지난 값을 쓰면 안 될 때 사용합니다.
+     */
+    public TrackOrderResponse trackOrderFromDatabase(TrackOrderQuery orderTrackingId) {
+        return orElseThrow(orderTrackingRepository.findByTrackingId(new TrackingId(orderTrackingId.getOrderTrackingId())),
+                orderTrackingId);
+    }
+
+    private TrackOrderResponse orElseThrow(Optional<TrackOrderResponse> trackOrderResponse, TrackOrderQuery orderTrackingId) {
+        if (trackOrderResponse.isEmpty()){
             log.info("주문이 존재하지 않습니다. orderTrackingId: {}", orderTrackingId.getOrderTrackingId());
             throw new OrderNotFoundException("주문이 존재하지 않습니다. tracking id: " + orderTrackingId.getOrderTrackingId());
         }
-        return orderDataMapper.orderToTrackOrderResponse(orderResult.get());
+        return trackOrderResponse.get();
     }
 }
@@ -0,0 +1,110 @@
+package com.food.ordering.system.order.service.domain;
+
+import com.food.ordering.system.order.service.domain.config.OrderServiceConfigData;
+import com.food.ordering.system.order.service.domain.dto.track.TrackOrderResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 주문 조회 응답을 tracking id 로 캐시합니다.
+ * <ul>
+ *     <li>order-tracking-cache-max-size 를 넘으면 가장 먼저 캐시에 들어온 주문부터 버립니다.</li>
+ *     <li>saga 단계에서 주문 상태가 바뀌면 트랜잭션이 커밋된 뒤 캐시에서 지웁니다.</li>
+ *     <li>다른 인스턴스에서 바뀐 상태는 order-tracking-cache-ttl 이 지나야 반영됩니다.</li>
+ * </ul>
+ * 주문마다 stamp 를 두고, 조회하는 동안 그 주문의 stamp 가 바뀌었으면 DB 에서 읽은 값이 이미 지난 값일 수 있어서 캐시에 넣지 않습니다.
+ * 다른 주문의 조회나 evict 는 서로 막지 않습니다.
+ */
+@Slf4j
+@Component
+public class OrderTrackingCache {
+
+    private static final long NO_STAMP = 0;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<UUID, CacheEntry> cache = new ConcurrentHashMap<>();
+    // 캐시에 들어온 순서. 주문마다 캐시에 있는 동안 한번만 들어간다.
+    private final Queue<UUID> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong stamps = new AtomicLong(NO_STAMP);
+
+    public OrderTrackingCache(OrderServiceConfigData orderServiceConfigData) {
+        this.maxSize = orderServiceConfigData.getOrderTrackingCacheMaxSize();
+        this.ttlNanos = orderServiceConfigData.getOrderTrackingCacheTtl().toNanos();
+    }
+
+    public Optional<TrackOrderResponse> get(UUID trackingId, Supplier<Optional<TrackOrderResponse>> loader) {
+        CacheEntry entry = cache.get(trackingId);
+        if (entry != null && entry.response != null && System.nanoTime() - entry.cachedAt < ttlNanos) {
+            return Optional.of(entry.response);
+        }
+        long stampBeforeLoad = entry == null ? NO_STAMP : entry.stamp;
+        Optional<TrackOrderResponse> response = loader.get();
+        if (response.isPresent() && maxSize > 0) {
+            CacheEntry loaded = new CacheEntry(stamps.incrementAndGet(), response.get(), System.nanoTime());
+            cache.compute(trackingId, (id, current) -> {
+                if ((current == null ? NO_STAMP : current.stamp) != stampBeforeLoad) {
+                    return current;
+                }
+                if (current == null) {
+                    insertionOrder.add(id);
+                }
+                return loaded;
+            });
+            trim();
+        }
+        return response;
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋된 뒤에, 아니면 바로 캐시에서 지웁니다.
+     */
+    public void evictAfterCommit(UUID trackingId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(trackingId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(trackingId);
+            }
+        });
+    }
+
+    private void evict(UUID trackingId) {
+        // 응답은 지우고 stamp 만 새로 남겨서, 지금 DB 를 조회하고 있는 요청이 지난 값을 캐시에 넣지 못하게 한다.
+        CacheEntry evicted = new CacheEntry(stamps.incrementAndGet(), null, System.nanoTime());
+        cache.compute(trackingId, (id, current) -> {
+            if (current == null) {
+                insertionOrder.add(id);
+            }
+            return evicted;
+        });
+        trim();
+        log.debug("주문 조회 캐시에서 지웠습니다. tracking id: {}", trackingId);
+    }
+
+    private void trim() {
+        while (cache.size() > maxSize) {
+            UUID oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            cache.remove(oldest);
+        }
+    }
+
+    private record CacheEntry(long stamp, TrackOrderResponse response, long cachedAt) {
+    }
+}
@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "order-service")
@@ -13,5 +15,20 @@ public class OrderServiceConfigData {
     private String paymentResponseTopicName;
     private String restaurantApprovalRequestTopicName;
     private String restaurantApprovalResponseTopicName;
+    private int outboxSchedulerBatchSize;
+    private boolean outboxAvroPayloadEnabled;
+    private int outboxRelayMaxInFlight;
+    private Duration outboxRelayInFlightTimeout;
+    private boolean outboxRelayBatchPublishEnabled;
+    private int outboxRetryMaxAttempts;
+    private Duration outboxRetryBackoffBase;
+    private Duration outboxRetryBackoffMax;
+    private Duration outboxCleanerRetention;
+    private int outboxCleanerBatchSize;
+    private boolean outboxPartitionEnabled;
+    private int outboxPartitionPrecreateDays;
+    private int orderTrackingCacheMaxSize;
+    private Duration orderTrackingCacheTtl;
+    private int orderStatusPublisherThreads;
 
 }
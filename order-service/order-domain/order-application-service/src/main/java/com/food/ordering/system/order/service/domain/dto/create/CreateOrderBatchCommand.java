@@ -0,0 +1,20 @@
+package com.food.ordering.system.order.service.domain.dto.create;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class CreateOrderBatchCommand {
+    // 요청 하나의 주문과 outbox 를 한 트랜잭션으로 저장하므로 트랜잭션에 들어가기 전에 크기를 막는다.
+    @NotEmpty
+    @Size(max = 100)
+    private final List<@Valid CreateOrderCommand> orders;
+}
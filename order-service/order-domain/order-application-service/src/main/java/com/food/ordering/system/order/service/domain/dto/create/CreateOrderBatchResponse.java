@@ -0,0 +1,18 @@
+package com.food.ordering.system.order.service.domain.dto.create;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class CreateOrderBatchResponse {
+    private final int createdCount;
+    private final int failedCount;
+    @NotNull
+    private final List<CreateOrderBatchResult> results;
+}
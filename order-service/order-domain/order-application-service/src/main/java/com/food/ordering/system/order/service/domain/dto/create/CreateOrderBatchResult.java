@@ -0,0 +1,25 @@
+package com.food.ordering.system.order.service.domain.dto.create;
+
+import com.food.ordering.system.domain.valueobject.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * 배치 주문 생성 요청에서 주문 하나의 결과입니다.
+ * 생성에 실패한 주문은 orderTrackingId 와 orderStatus 가 없고 message 에 실패 이유가 담깁니다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class CreateOrderBatchResult {
+    // 요청의 orders 에서의 위치
+    private final int index;
+    private final UUID orderTrackingId;
+    private final OrderStatus orderStatus;
+    @NotNull
+    private final String message;
+}
@@ -22,11 +22,13 @@ public class OrderApprovalOutboxMessage {
     private ZonedDateTime processedAt;
     private String type;
     private String payload;
+    private byte[] encodedPayload;
     @Setter
     private SagaStatus sagaStatus;
     @Setter
     private OrderStatus orderStatus;
     @Setter
     private OutboxStatus outboxStatus;
+    private ZonedDateTime claimedUntil;
     private int version;
 }
\ No newline at end of file
@@ -3,31 +3,54 @@ package com.food.ordering.system.order.service.domain.outbox.scheduler.approval;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.food.ordering.system.domain.valueobject.OrderStatus;
+import com.food.ordering.system.order.service.domain.config.OrderServiceConfigData;
 import com.food.ordering.system.order.service.domain.exception.OrderDomainException;
 import com.food.ordering.system.order.service.domain.outbox.model.approval.OrderApprovalEventPayload;
 import com.food.ordering.system.order.service.domain.outbox.model.approval.OrderApprovalOutboxMessage;
+import com.food.ordering.system.order.service.domain.ports.output.message.publisher.restaurantapproval.RestaurantApprovalRequestMessageEncoder;
+import com.food.ordering.system.order.service.domain.ports.output.message.publisher.restaurantapproval.RestaurantApprovalRequestMessagePublisher;
 import com.food.ordering.system.order.service.domain.ports.output.repository.ApprovalOutboxRepository;
+import com.food.ordering.system.outbox.OutboxAfterCommitPublisher;
+import com.food.ordering.system.outbox.OutboxBacklog;
+import com.food.ordering.system.outbox.OutboxMessageSource;
 import com.food.ordering.system.outbox.OutboxStatus;
+import com.food.ordering.system.outbox.OutboxStatusUpdateBuffer;
 import com.food.ordering.system.saga.SagaStatus;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static com.food.ordering.system.domain.DomainConstants.ASIA_SEOUL;
 import static com.food.ordering.system.saga.order.SagaConstants.ORDER_SAGA_NAME;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
-public class ApprovalOutboxHelper {
+public class ApprovalOutboxHelper implements OutboxMessageSource<OrderApprovalOutboxMessage> {
 
 
     private final ApprovalOutboxRepository approvalOutboxRepository;
     private final ObjectMapper objectMapper;
+    private final RestaurantApprovalRequestMessagePublisher restaurantApprovalRequestMessagePublisher;
+    private final RestaurantApprovalRequestMessageEncoder restaurantApprovalRequestMessageEncoder;
+    private final OutboxAfterCommitPublisher outboxAfterCommitPublisher;
+    private final OrderServiceConfigData orderServiceConfigData;
+
+    // 프로듀서 콜백과 버퍼의 flush 는 this 가 아닌 프록시로 호출해야 @Transactional 이 적용된다.
+    private final ObjectProvider<ApprovalOutboxHelper> approvalOutboxHelperProxy;
+
+    private final OutboxStatusUpdateBuffer outboxStatusUpdateBuffer = new OutboxStatusUpdateBuffer(this::updateOutboxStatusByIdsThroughProxy);
 
     @Transactional(readOnly = true)
     public Optional<List<OrderApprovalOutboxMessage>> getApprovalOutboxMessageByOutboxStatusAndSagaStatus(OutboxStatus outboxStatus,
@@ -39,6 +62,45 @@ public class ApprovalOutboxHelper {
         );
     }
 
+    /**
+     * 발행할 outbox 메시지를 오래된 순으로 limit 개 가져오면서 relay 의 in-flight timeout 만큼 lease 를 잡습니다.
+     * lease 가 끝나기 전까지는 다른 인스턴스가 같은 메시지를 가져가지 않고, 발행 결과를 반영하면 lease 가 풀립니다.
+     */
+    @Transactional
+    public Optional<List<OrderApprovalOutboxMessage>> claimApprovalOutboxMessageByOutboxStatusAndSagaStatus(OutboxStatus outboxStatus,
+                                                                                                            int limit,
+                                                                                                            SagaStatus... sagaStatuses) {
+        return approvalOutboxRepository.claimByTypeAndOutboxStatusAndSagaStatus(
+                ORDER_SAGA_NAME,
+                outboxStatus,
+                orderServiceConfigData.getOutboxRetryMaxAttempts(),
+                limit,
+                orderServiceConfigData.getOutboxRelayInFlightTimeout(),
+                sagaStatuses
+        );
+    }
+
+    @Override
+    @Transactional
+    public List<OrderApprovalOutboxMessage> claimOutboxMessages(int limit) {
+        List<OrderApprovalOutboxMessage> outboxMessages = new ArrayList<>(
+                claimApprovalOutboxMessageByOutboxStatusAndSagaStatus(OutboxStatus.STARTED,
+                        limit,
+                        SagaStatus.PROCESSING)
+                        .orElse(List.of()));
+        // 새 메시지를 먼저 발행하고, 남는 자리는 재시도 시각이 된 FAILED 메시지로 채운다.
+        if (outboxMessages.size() < limit) {
+            approvalOutboxRepository.claimRetryableByTypeAndSagaStatus(
+                            ORDER_SAGA_NAME,
+                            orderServiceConfigData.getOutboxRetryMaxAttempts(),
+                            limit - outboxMessages.size(),
+                            orderServiceConfigData.getOutboxRelayInFlightTimeout(),
+                            SagaStatus.PROCESSING)
+                    .ifPresent(outboxMessages::addAll);
+        }
+        return outboxMessages;
+    }
+
     @Transactional(readOnly = true)
     public Optional<OrderApprovalOutboxMessage> getApprovalOutboxMessageBySagaIdAndSagaStatus(UUID sagaId,
                                                                                               SagaStatus... sagaStatuses) {
@@ -65,29 +127,107 @@ public class ApprovalOutboxHelper {
                                           SagaStatus sagaStatus,
                                           OutboxStatus outboxStatus,
                                           UUID sagaId) {
-        save(OrderApprovalOutboxMessage.builder()
+        // avro payload 를 사용하면 발행할 메시지를 미리 인코딩 해두고, 발행할 때는 그대로 보낸다.
+        boolean avroPayloadEnabled = orderServiceConfigData.isOutboxAvroPayloadEnabled();
+        OrderApprovalOutboxMessage orderApprovalOutboxMessage = OrderApprovalOutboxMessage.builder()
                 .id(UUID.randomUUID())
                 .sagaId(sagaId)
                 .type(ORDER_SAGA_NAME)
-                .payload(createPayload(orderApprovalEventPayload))
+                .payload(avroPayloadEnabled ? null : createPayload(orderApprovalEventPayload))
+                .encodedPayload(avroPayloadEnabled ? restaurantApprovalRequestMessageEncoder.encode(sagaId, orderApprovalEventPayload) : null)
                 .orderStatus(orderStatus)
                 .sagaStatus(sagaStatus)
                 .outboxStatus(outboxStatus)
+                .claimedUntil(claimedUntil(outboxStatus))
                 .createdAt(orderApprovalEventPayload.getCreatedAt())
-                .build()
-        );
+                .build();
+        save(orderApprovalOutboxMessage);
+
+        // 커밋 직후 바로 발행하고, 놓친 메시지는 RestaurantApprovalOutboxScheduler 가 다시 발행한다.
+        if (outboxStatus == OutboxStatus.STARTED) {
+            outboxAfterCommitPublisher.publishAfterCommit(() ->
+                    restaurantApprovalRequestMessagePublisher.publish(orderApprovalOutboxMessage, approvalOutboxHelperProxy.getObject()::updateOutboxStatus));
+        }
     }
 
+    /**
+     * 프로듀서 콜백에서 호출됩니다. 바로 저장하지 않고 버퍼에 모아두었다가 flushOutboxStatus 에서 한번에 업데이트 합니다.
+     */
+    public void updateOutboxStatus(OrderApprovalOutboxMessage orderApprovalOutboxMessage, OutboxStatus outboxStatus) {
+        orderApprovalOutboxMessage.setOutboxStatus(outboxStatus);
+        if (outboxStatusUpdateBuffer.add(orderApprovalOutboxMessage.getId(), outboxStatus) >= orderServiceConfigData.getOutboxSchedulerBatchSize()) {
+            flushOutboxStatus();
+        }
+    }
+
+    @PreDestroy
+    public void flushOutboxStatus() {
+        outboxStatusUpdateBuffer.flush();
+    }
+
+    @Override
+    @Transactional
+    public void updateOutboxStatusByIds(OutboxStatus outboxStatus, List<UUID> ids) {
+        if (outboxStatus == OutboxStatus.FAILED) {
+            // 실패한 메시지는 backoff 가 지나면 claimOutboxMessages 에서 다시 발행된다.
+            approvalOutboxRepository.markFailedByIds(ids,
+                    orderServiceConfigData.getOutboxRetryBackoffBase(),
+                    orderServiceConfigData.getOutboxRetryBackoffMax());
+        } else {
+            approvalOutboxRepository.updateOutboxStatusByIds(outboxStatus, ids);
+        }
+        log.info("OrderApprovalOutboxMessage {}개의 OutboxStatus 를 {} 로 업데이트 했습니다.", ids.size(), outboxStatus);
+    }
+
+    @Override
     @Transactional
-    public void deleteApprovalOutboxMessageByOutboxStatusAndSagaStatus(OutboxStatus outboxStatus,
-                                                                       SagaStatus... sagaStatus) {
-        approvalOutboxRepository.deleteByTypeAndOutboxStatusAndSagaStatus(
+    public void releaseOutboxMessagesByIds(List<UUID> ids) {
+        approvalOutboxRepository.releaseClaimsByIds(ids);
+        log.info("OrderApprovalOutboxMessage {}개의 lease 를 풀었습니다.", ids.size());
+    }
+
+    /**
+     * batch 하나를 자신의 트랜잭션으로 삭제합니다. 전체 삭제는 OutboxCleaner 가 batch 단위로 반복합니다.
+     */
+    @Transactional
+    public int deleteApprovalOutboxMessageByOutboxStatusAndSagaStatusBefore(OutboxStatus outboxStatus,
+                                                                      ZonedDateTime createdAt,
+                                                                      int limit,
+                                                                      SagaStatus... sagaStatus) {
+        return approvalOutboxRepository.deleteByTypeAndOutboxStatusAndSagaStatusAndCreatedAtBefore(
                 ORDER_SAGA_NAME,
                 outboxStatus,
+                createdAt,
+                limit,
                 sagaStatus
         );
     }
 
+    private void updateOutboxStatusByIdsThroughProxy(OutboxStatus outboxStatus, List<UUID> ids) {
+        approvalOutboxHelperProxy.getObject().updateOutboxStatusByIds(outboxStatus, ids);
+    }
+
+    // DDL 은 문장마다 커밋되도록 트랜잭션 없이 실행한다.
+    public void createOutboxPartitions(LocalDate from, LocalDate to) {
+        approvalOutboxRepository.createPartitions(from, to);
+    }
+
+    public int dropOutboxPartitionsBefore(LocalDate before) {
+        return approvalOutboxRepository.dropPartitionsBefore(before);
+    }
+
+    @Transactional(readOnly = true)
+    public OutboxBacklog getOutboxBacklog() {
+        return approvalOutboxRepository.getBacklog(ORDER_SAGA_NAME, orderServiceConfigData.getOutboxRetryMaxAttempts());
+    }
+
+    // 커밋 직후 바로 발행할 메시지는 relay 가 같이 가져가지 않도록 lease 를 잡은 채로 저장한다.
+    private ZonedDateTime claimedUntil(OutboxStatus outboxStatus) {
+        return outboxStatus == OutboxStatus.STARTED
+                ? ZonedDateTime.now(ZoneId.of(ASIA_SEOUL)).plus(orderServiceConfigData.getOutboxRelayInFlightTimeout())
+                : null;
+    }
+
     private String createPayload(OrderApprovalEventPayload orderApprovalEventPayload) {
         try {
             return objectMapper.writeValueAsString(orderApprovalEventPayload);
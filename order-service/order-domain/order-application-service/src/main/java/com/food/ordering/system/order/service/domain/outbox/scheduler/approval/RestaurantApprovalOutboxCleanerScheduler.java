@@ -1,6 +1,7 @@
 package com.food.ordering.system.order.service.domain.outbox.scheduler.approval;
 
-import com.food.ordering.system.order.service.domain.outbox.model.approval.OrderApprovalOutboxMessage;
+import com.food.ordering.system.order.service.domain.config.OrderServiceConfigData;
+import com.food.ordering.system.outbox.OutboxCleaner;
 import com.food.ordering.system.outbox.OutboxScheduler;
 import com.food.ordering.system.outbox.OutboxStatus;
 import com.food.ordering.system.saga.SagaStatus;
@@ -9,9 +10,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static com.food.ordering.system.domain.DomainConstants.ASIA_SEOUL;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -19,29 +23,38 @@ import java.util.stream.Collectors;
 public class RestaurantApprovalOutboxCleanerScheduler implements OutboxScheduler {
 
     private final ApprovalOutboxHelper approvalOutboxHelper;
+    private final OrderServiceConfigData orderServiceConfigData;
+    private final OutboxCleaner outboxCleaner;
 
+    // 전체를 하나의 트랜잭션으로 묶지 않고 batch 마다 ApprovalOutboxHelper 의 트랜잭션으로 삭제한다.
     @Override
     @Scheduled(cron = "@midnight")
     public void processOutboxMessage() {
-        Optional<List<OrderApprovalOutboxMessage>> outboxMessagesResponse =
-                approvalOutboxHelper.getApprovalOutboxMessageByOutboxStatusAndSagaStatus(
+        ZonedDateTime createdAt = ZonedDateTime.now(ZoneId.of(ASIA_SEOUL))
+                .minus(orderServiceConfigData.getOutboxCleanerRetention());
+        if (orderServiceConfigData.isOutboxPartitionEnabled()) {
+            int dropped = approvalOutboxHelper.dropOutboxPartitionsBefore(createdAt.toLocalDate());
+            log.info("OrderApprovalOutbox 에서 {}개의 파티션을 삭제했습니다.", dropped);
+            return;
+        }
+        outboxCleaner.clean("OrderApprovalOutbox",
+                orderServiceConfigData.getOutboxCleanerBatchSize(),
+                limit -> approvalOutboxHelper.deleteApprovalOutboxMessageByOutboxStatusAndSagaStatusBefore(
                         OutboxStatus.COMPLETED,
+                        createdAt,
+                        limit,
                         SagaStatus.SUCCEEDED,
                         SagaStatus.FAILED,
-                        SagaStatus.COMPENSATED);
+                        SagaStatus.COMPENSATED));
+    }
 
-        outboxMessagesResponse
-                .ifPresent(outboxMessages ->{
-                    log.info("삭제할 OrderApprovalOutbox 메시지를 {}개 수신했습니다. 페이로드: {}",
-                            outboxMessages.size(),
-                            outboxMessages.stream().map(OrderApprovalOutboxMessage::getPayload)
-                                    .collect(Collectors.joining("\n")));
-                    approvalOutboxHelper.deleteApprovalOutboxMessageByOutboxStatusAndSagaStatus(
-                            OutboxStatus.COMPLETED,
-                            SagaStatus.SUCCEEDED,
-                            SagaStatus.FAILED,
-                            SagaStatus.COMPENSATED);
-                    log.info("OrderApprovalOutbox 메시지를 {}개 삭제했습니다.", outboxMessages.size());
-                });
+    // 파티셔닝을 사용하는 경우 outbox-partition-precreate-days 만큼의 파티션을 미리 만들어 둔다.
+    @Scheduled(initialDelay = 0, fixedRate = 1, timeUnit = TimeUnit.HOURS)
+    public void createOutboxPartitions() {
+        if (!orderServiceConfigData.isOutboxPartitionEnabled()) {
+            return;
+        }
+        LocalDate today = LocalDate.now(ZoneId.of(ASIA_SEOUL));
+        approvalOutboxHelper.createOutboxPartitions(today, today.plusDays(orderServiceConfigData.getOutboxPartitionPrecreateDays()));
     }
 }
@@ -1,56 +1,56 @@
 package com.food.ordering.system.order.service.domain.outbox.scheduler.approval;
 
+import com.food.ordering.system.order.service.domain.config.OrderServiceConfigData;
 import com.food.ordering.system.order.service.domain.outbox.model.approval.OrderApprovalOutboxMessage;
 import com.food.ordering.system.order.service.domain.ports.output.message.publisher.restaurantapproval.RestaurantApprovalRequestMessagePublisher;
+import com.food.ordering.system.outbox.OutboxMetrics;
+import com.food.ordering.system.outbox.OutboxRelay;
 import com.food.ordering.system.outbox.OutboxScheduler;
-import com.food.ordering.system.outbox.OutboxStatus;
-import com.food.ordering.system.saga.SagaStatus;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import jakarta.annotation.PreDestroy;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
-
-@Slf4j
-@RequiredArgsConstructor
 @Component
 public class RestaurantApprovalOutboxScheduler implements OutboxScheduler {
 
     private final ApprovalOutboxHelper approvalOutboxHelper;
-    private final RestaurantApprovalRequestMessagePublisher restaurantApprovalRequestMessagePublisher;
+    private final OutboxRelay<OrderApprovalOutboxMessage> outboxRelay;
+
+    public RestaurantApprovalOutboxScheduler(ApprovalOutboxHelper approvalOutboxHelper,
+                                             OrderServiceConfigData orderServiceConfigData,
+                                             RestaurantApprovalRequestMessagePublisher restaurantApprovalRequestMessagePublisher,
+                                             OutboxMetrics outboxMetrics) {
+        this.approvalOutboxHelper = approvalOutboxHelper;
+        this.outboxRelay = new OutboxRelay<>("OrderApprovalOutbox",
+                approvalOutboxHelper,
+                restaurantApprovalRequestMessagePublisher::publish,
+                orderServiceConfigData.isOutboxRelayBatchPublishEnabled() ? restaurantApprovalRequestMessagePublisher::publishBatch : null,
+                OrderApprovalOutboxMessage::getId,
+                OrderApprovalOutboxMessage::getSagaId,
+                orderServiceConfigData.getOutboxRelayMaxInFlight(),
+                orderServiceConfigData.getOutboxSchedulerBatchSize(),
+                orderServiceConfigData.getOutboxRelayInFlightTimeout());
+        outboxMetrics.register("OrderApprovalOutbox", approvalOutboxHelper::getOutboxBacklog);
+    }
 
+    // claim 은 helper 의 트랜잭션으로 먼저 커밋하고, 발행은 DB 트랜잭션 밖에서 한다.
     @Override
-    @Transactional
     @Scheduled(fixedDelayString = "${order-service.outbox-scheduler-fixed-rate}",
             initialDelayString = "${order-service.outbox-scheduler-initial-delay}")
     public void processOutboxMessage() {
-        Optional<List<OrderApprovalOutboxMessage>> outboxMessagesResponse =
-                approvalOutboxHelper.getApprovalOutboxMessageByOutboxStatusAndSagaStatus(
-                        OutboxStatus.STARTED,
-                        SagaStatus.PROCESSING);
+        // 커밋 직후 발행된 메시지의 결과를 먼저 반영해야 같은 메시지를 다시 발행하지 않는다.
+        approvalOutboxHelper.flushOutboxStatus();
+        outboxRelay.relay();
+    }
 
-        outboxMessagesResponse
-                .filter(outboxMessages -> !outboxMessages.isEmpty())
-                .ifPresent(outboxMessages -> {
-                    log.info("OrderApprovalOutbox 메시지를 {}개 수신했습니다. OrderApprovalOutboxMessage id{}",
-                            outboxMessages.size(),
-                            outboxMessages.stream()
-                                    .map(outboxMessage ->
-                                            outboxMessage.getId().toString())
-                                    .collect(Collectors.joining(", ")));
-                    outboxMessages.forEach(outboxMessage ->
-                            restaurantApprovalRequestMessagePublisher.publish(outboxMessage, this::updateOutboxStatus));
-                    log.info("OrderApprovalOutbox 메시지를 {}개 발행했습니다.", outboxMessages.size());
-                });
+    @Scheduled(fixedDelayString = "${order-service.outbox-status-flush-interval}")
+    public void flushOutboxStatus() {
+        approvalOutboxHelper.flushOutboxStatus();
+        outboxRelay.flush();
     }
 
-    private void updateOutboxStatus(OrderApprovalOutboxMessage orderApprovalOutboxMessage, OutboxStatus outboxStatus) {
-        orderApprovalOutboxMessage.setOutboxStatus(outboxStatus);
-        approvalOutboxHelper.save(orderApprovalOutboxMessage);
-        log.info("OrderApprovalOutboxMessage 의 OutboxStatus 를 업데이트 했습니다. OrderApprovalOutboxMessage: {}", orderApprovalOutboxMessage.getId());
+    @PreDestroy
+    public void close() {
+        outboxRelay.close();
     }
 }
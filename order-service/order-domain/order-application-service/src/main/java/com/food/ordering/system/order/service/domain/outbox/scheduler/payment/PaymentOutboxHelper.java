@@ -3,22 +3,36 @@ package com.food.ordering.system.order.service.domain.outbox.scheduler.payment;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.food.ordering.system.domain.valueobject.OrderStatus;
+import com.food.ordering.system.order.service.domain.config.OrderServiceConfigData;
 import com.food.ordering.system.order.service.domain.exception.OrderDomainException;
 import com.food.ordering.system.order.service.domain.outbox.model.approval.OrderApprovalEventPayload;
 import com.food.ordering.system.order.service.domain.outbox.model.payment.OrderPaymentEventPayload;
 import com.food.ordering.system.order.service.domain.outbox.model.payment.OrderPaymentOutboxMessage;
+import com.food.ordering.system.order.service.domain.ports.output.message.publisher.payment.PaymentRequestMessageEncoder;
+import com.food.ordering.system.order.service.domain.ports.output.message.publisher.payment.PaymentRequestMessagePublisher;
 import com.food.ordering.system.order.service.domain.ports.output.repository.PaymentOutboxRepository;
+import com.food.ordering.system.outbox.OutboxAfterCommitPublisher;
+import com.food.ordering.system.outbox.OutboxBacklog;
+import com.food.ordering.system.outbox.OutboxMessageSource;
 import com.food.ordering.system.outbox.OutboxStatus;
+import com.food.ordering.system.outbox.OutboxStatusUpdateBuffer;
 import com.food.ordering.system.saga.SagaStatus;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static com.food.ordering.system.domain.DomainConstants.ASIA_SEOUL;
 import static com.food.ordering.system.saga.order.SagaConstants.ORDER_SAGA_NAME;
 
 /**
@@ -28,10 +42,19 @@ import static com.food.ordering.system.saga.order.SagaConstants.ORDER_SAGA_NAME;
 @Slf4j
 @RequiredArgsConstructor
 @Component
-public class PaymentOutboxHelper {
+public class PaymentOutboxHelper implements OutboxMessageSource<OrderPaymentOutboxMessage> {
 
     private final PaymentOutboxRepository paymentOutboxRepository;
     private final ObjectMapper objectMapper;
+    private final PaymentRequestMessagePublisher paymentRequestMessagePublisher;
+    private final PaymentRequestMessageEncoder paymentRequestMessageEncoder;
+    private final OutboxAfterCommitPublisher outboxAfterCommitPublisher;
+    private final OrderServiceConfigData orderServiceConfigData;
+
+    // 프로듀서 콜백과 버퍼의 flush 는 this 가 아닌 프록시로 호출해야 @Transactional 이 적용된다.
+    private final ObjectProvider<PaymentOutboxHelper> paymentOutboxHelperProxy;
+
+    private final OutboxStatusUpdateBuffer outboxStatusUpdateBuffer = new OutboxStatusUpdateBuffer(this::updateOutboxStatusByIdsThroughProxy);
 
     @Transactional(readOnly = true)
     public Optional<List<OrderPaymentOutboxMessage>> getPaymentOutboxMessageByOutboxStatusAndSagaStatus(OutboxStatus outboxStatus,
@@ -42,6 +65,48 @@ public class PaymentOutboxHelper {
                 sagaStatuses
         );
     }
+    /**
+     * 발행할 outbox 메시지를 오래된 순으로 limit 개 가져오면서 relay 의 in-flight timeout 만큼 lease 를 잡습니다.
+     * lease 가 끝나기 전까지는 다른 인스턴스가 같은 메시지를 가져가지 않고, 발행 결과를 반영하면 lease 가 풀립니다.
+     */
+    @Transactional
+    public Optional<List<OrderPaymentOutboxMessage>> claimPaymentOutboxMessageByOutboxStatusAndSagaStatus(OutboxStatus outboxStatus,
+                                                                                                          int limit,
+                                                                                                          SagaStatus... sagaStatuses) {
+        return paymentOutboxRepository.claimByTypeAndOutboxStatusAndSagaStatus(
+                ORDER_SAGA_NAME,
+                outboxStatus,
+                orderServiceConfigData.getOutboxRetryMaxAttempts(),
+                limit,
+                orderServiceConfigData.getOutboxRelayInFlightTimeout(),
+                sagaStatuses
+        );
+    }
+
+    // Order에서 Payment로 전달한 SagaStatus는 STARTED, COMPENSATING 뿐이다.
+    @Override
+    @Transactional
+    public List<OrderPaymentOutboxMessage> claimOutboxMessages(int limit) {
+        List<OrderPaymentOutboxMessage> outboxMessages = new ArrayList<>(
+                claimPaymentOutboxMessageByOutboxStatusAndSagaStatus(OutboxStatus.STARTED,
+                        limit,
+                        SagaStatus.STARTED,
+                        SagaStatus.COMPENSATING)
+                        .orElse(List.of()));
+        // 새 메시지를 먼저 발행하고, 남는 자리는 재시도 시각이 된 FAILED 메시지로 채운다.
+        if (outboxMessages.size() < limit) {
+            paymentOutboxRepository.claimRetryableByTypeAndSagaStatus(
+                            ORDER_SAGA_NAME,
+                            orderServiceConfigData.getOutboxRetryMaxAttempts(),
+                            limit - outboxMessages.size(),
+                            orderServiceConfigData.getOutboxRelayInFlightTimeout(),
+                            SagaStatus.STARTED,
+                            SagaStatus.COMPENSATING)
+                    .ifPresent(outboxMessages::addAll);
+        }
+        return outboxMessages;
+    }
+
     @Transactional(readOnly = true)
     public Optional<OrderPaymentOutboxMessage> getPaymentOutboxMessageBySagaIdAndSagaStatus(UUID sagaId,
                                                                                             SagaStatus... sagaStatuses) {
@@ -69,29 +134,141 @@ public class PaymentOutboxHelper {
                                          SagaStatus sagaStatus,
                                          OutboxStatus outboxStatus,
                                          UUID sagaId) {
-        save(OrderPaymentOutboxMessage.builder()
+        OrderPaymentOutboxMessage orderPaymentOutboxMessage =
+                createPaymentOutboxMessage(paymentEventPayload, orderStatus, sagaStatus, outboxStatus, sagaId);
+        save(orderPaymentOutboxMessage);
+
+        // 커밋 직후 바로 발행하고, 놓친 메시지는 PaymentOutboxScheduler 가 다시 발행한다.
+        if (outboxStatus == OutboxStatus.STARTED) {
+            outboxAfterCommitPublisher.publishAfterCommit(() ->
+                    paymentRequestMessagePublisher.publish(orderPaymentOutboxMessage, paymentOutboxHelperProxy.getObject()::updateOutboxStatus));
+        }
+    }
+
+    /**
+     * 여러 주문의 outbox 메시지를 한번에 저장하고, 커밋 직후 batch 하나로 발행합니다.
+     * 메시지마다 새 sagaId 를 사용합니다.
+     */
+    @Transactional
+    public void savePaymentOutboxMessages(List<OrderPaymentEventPayload> paymentEventPayloads,
+                                          OrderStatus orderStatus,
+                                          SagaStatus sagaStatus,
+                                          OutboxStatus outboxStatus) {
+        if (paymentEventPayloads.isEmpty()) {
+            return;
+        }
+        List<OrderPaymentOutboxMessage> orderPaymentOutboxMessages = paymentEventPayloads.stream()
+                .map(paymentEventPayload -> createPaymentOutboxMessage(paymentEventPayload,
+                        orderStatus, sagaStatus, outboxStatus, UUID.randomUUID()))
+                .toList();
+        paymentOutboxRepository.insertAll(orderPaymentOutboxMessages);
+        log.info("OrderPaymentOutboxMessage {}개를 저장했습니다.", orderPaymentOutboxMessages.size());
+
+        if (outboxStatus == OutboxStatus.STARTED) {
+            outboxAfterCommitPublisher.publishAfterCommit(() ->
+                    paymentRequestMessagePublisher.publishBatch(orderPaymentOutboxMessages, paymentOutboxHelperProxy.getObject()::updateOutboxStatus));
+        }
+    }
+
+    /**
+     * 프로듀서 콜백에서 호출됩니다. 바로 저장하지 않고 버퍼에 모아두었다가 flushOutboxStatus 에서 한번에 업데이트 합니다.
+     */
+    public void updateOutboxStatus(OrderPaymentOutboxMessage orderPaymentOutboxMessage, OutboxStatus outboxStatus) {
+        orderPaymentOutboxMessage.setOutboxStatus(outboxStatus);
+        if (outboxStatusUpdateBuffer.add(orderPaymentOutboxMessage.getId(), outboxStatus) >= orderServiceConfigData.getOutboxSchedulerBatchSize()) {
+            flushOutboxStatus();
+        }
+    }
+
+    @PreDestroy
+    public void flushOutboxStatus() {
+        outboxStatusUpdateBuffer.flush();
+    }
+
+    @Override
+    @Transactional
+    public void updateOutboxStatusByIds(OutboxStatus outboxStatus, List<UUID> ids) {
+        if (outboxStatus == OutboxStatus.FAILED) {
+            // 실패한 메시지는 backoff 가 지나면 claimOutboxMessages 에서 다시 발행된다.
+            paymentOutboxRepository.markFailedByIds(ids,
+                    orderServiceConfigData.getOutboxRetryBackoffBase(),
+                    orderServiceConfigData.getOutboxRetryBackoffMax());
+        } else {
+            paymentOutboxRepository.updateOutboxStatusByIds(outboxStatus, ids);
+        }
+        log.info("OrderPaymentOutboxMessage {}개의 OutboxStatus 를 {} 로 업데이트 했습니다.", ids.size(), outboxStatus);
+    }
+
+    @Override
+    @Transactional
+    public void releaseOutboxMessagesByIds(List<UUID> ids) {
+        paymentOutboxRepository.releaseClaimsByIds(ids);
+        log.info("OrderPaymentOutboxMessage {}개의 lease 를 풀었습니다.", ids.size());
+    }
+
+    /**
+     * batch 하나를 자신의 트랜잭션으로 삭제합니다. 전체 삭제는 OutboxCleaner 가 batch 단위로 반복합니다.
+     */
+    @Transactional
+    public int deletePaymentOutboxMessageByOutboxStatusAndSagaStatusBefore(OutboxStatus outboxStatus,
+                                                                      ZonedDateTime createdAt,
+                                                                      int limit,
+                                                                      SagaStatus... sagaStatus) {
+        return paymentOutboxRepository.deleteByTypeAndOutboxStatusAndSagaStatusAndCreatedAtBefore(
+                ORDER_SAGA_NAME,
+                outboxStatus,
+                createdAt,
+                limit,
+                sagaStatus
+        );
+    }
+
+    private void updateOutboxStatusByIdsThroughProxy(OutboxStatus outboxStatus, List<UUID> ids) {
+        paymentOutboxHelperProxy.getObject().updateOutboxStatusByIds(outboxStatus, ids);
+    }
+
+    // DDL 은 문장마다 커밋되도록 트랜잭션 없이 실행한다.
+    public void createOutboxPartitions(LocalDate from, LocalDate to) {
+        paymentOutboxRepository.createPartitions(from, to);
+    }
+
+    public int dropOutboxPartitionsBefore(LocalDate before) {
+        return paymentOutboxRepository.dropPartitionsBefore(before);
+    }
+
+    @Transactional(readOnly = true)
+    public OutboxBacklog getOutboxBacklog() {
+        return paymentOutboxRepository.getBacklog(ORDER_SAGA_NAME, orderServiceConfigData.getOutboxRetryMaxAttempts());
+    }
+
+    private OrderPaymentOutboxMessage createPaymentOutboxMessage(OrderPaymentEventPayload paymentEventPayload,
+                                                                 OrderStatus orderStatus,
+                                                                 SagaStatus sagaStatus,
+                                                                 OutboxStatus outboxStatus,
+                                                                 UUID sagaId) {
+        // avro payload 를 사용하면 발행할 메시지를 미리 인코딩 해두고, 발행할 때는 그대로 보낸다.
+        boolean avroPayloadEnabled = orderServiceConfigData.isOutboxAvroPayloadEnabled();
+        return OrderPaymentOutboxMessage.builder()
                 .id(UUID.randomUUID())
                 .sagaId(sagaId)
                 .createdAt(paymentEventPayload.getCreatedAt())
                 .type(ORDER_SAGA_NAME)
-                .payload(createPayload(paymentEventPayload))
+                .payload(avroPayloadEnabled ? null : createPayload(paymentEventPayload))
+                .encodedPayload(avroPayloadEnabled ? paymentRequestMessageEncoder.encode(sagaId, paymentEventPayload) : null)
                 .orderStatus(orderStatus)
                 .sagaStatus(sagaStatus)
                 .outboxStatus(outboxStatus)
-                .build());
+                .claimedUntil(claimedUntil(outboxStatus))
+                .build();
     }
 
-    @Transactional
-    public void deletePaymentOutboxMessageByOutboxStatusAndSagaStatus(OutboxStatus outboxStatus,
-                                                                    SagaStatus... sagaStatus) {
-        paymentOutboxRepository.deleteByTypeAndOutboxStatusAndSagaStatus(
-                ORDER_SAGA_NAME,
-                outboxStatus,
-                sagaStatus
-        );
+    // 커밋 직후 바로 발행할 메시지는 relay 가 같이 가져가지 않도록 lease 를 잡은 채로 저장한다.
+    private ZonedDateTime claimedUntil(OutboxStatus outboxStatus) {
+        return outboxStatus == OutboxStatus.STARTED
+                ? ZonedDateTime.now(ZoneId.of(ASIA_SEOUL)).plus(orderServiceConfigData.getOutboxRelayInFlightTimeout())
+                : null;
     }
 
-
     private String createPayload(OrderPaymentEventPayload orderPaymentEventPayload) {
         try {
             return objectMapper.writeValueAsString(orderPaymentEventPayload);
@@ -1,58 +1,56 @@
 package com.food.ordering.system.order.service.domain.outbox.scheduler.payment;
 
+import com.food.ordering.system.order.service.domain.config.OrderServiceConfigData;
 import com.food.ordering.system.order.service.domain.outbox.model.payment.OrderPaymentOutboxMessage;
 import com.food.ordering.system.order.service.domain.ports.output.message.publisher.payment.PaymentRequestMessagePublisher;
+import com.food.ordering.system.outbox.OutboxMetrics;
+import com.food.ordering.system.outbox.OutboxRelay;
 import com.food.ordering.system.outbox.OutboxScheduler;
-import com.food.ordering.system.outbox.OutboxStatus;
-import com.food.ordering.system.saga.SagaStatus;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import jakarta.annotation.PreDestroy;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
-
-@Slf4j
-@RequiredArgsConstructor
 @Component
 public class PaymentOutboxScheduler implements OutboxScheduler {
 
     private final PaymentOutboxHelper paymentOutboxHelper;
-    private final PaymentRequestMessagePublisher paymentRequestMessagePublisher;
+    private final OutboxRelay<OrderPaymentOutboxMessage> outboxRelay;
+
+    public PaymentOutboxScheduler(PaymentOutboxHelper paymentOutboxHelper,
+                                  OrderServiceConfigData orderServiceConfigData,
+                                  PaymentRequestMessagePublisher paymentRequestMessagePublisher,
+                                  OutboxMetrics outboxMetrics) {
+        this.paymentOutboxHelper = paymentOutboxHelper;
+        this.outboxRelay = new OutboxRelay<>("OrderPaymentOutbox",
+                paymentOutboxHelper,
+                paymentRequestMessagePublisher::publish,
+                orderServiceConfigData.isOutboxRelayBatchPublishEnabled() ? paymentRequestMessagePublisher::publishBatch : null,
+                OrderPaymentOutboxMessage::getId,
+                OrderPaymentOutboxMessage::getSagaId,
+                orderServiceConfigData.getOutboxRelayMaxInFlight(),
+                orderServiceConfigData.getOutboxSchedulerBatchSize(),
+                orderServiceConfigData.getOutboxRelayInFlightTimeout());
+        outboxMetrics.register("OrderPaymentOutbox", paymentOutboxHelper::getOutboxBacklog);
+    }
 
+    // claim 은 helper 의 트랜잭션으로 먼저 커밋하고, 발행은 DB 트랜잭션 밖에서 한다.
     @Override
-    @Transactional
     @Scheduled(fixedDelayString = "${order-service.outbox-scheduler-fixed-rate}",
             initialDelayString = "${order-service.outbox-scheduler-initial-delay}")
     public void processOutboxMessage() {
-        // Order에서 Payment로 전달한 SagaStatus는 STARTED, COMPENSATING 뿐이다.
-        Optional<List<OrderPaymentOutboxMessage>> outboxMessagesResponse =
-                paymentOutboxHelper.getPaymentOutboxMessageByOutboxStatusAndSagaStatus(
-                        OutboxStatus.STARTED,
-                        SagaStatus.STARTED,
-                        SagaStatus.COMPENSATING);
+        // 커밋 직후 발행된 메시지의 결과를 먼저 반영해야 같은 메시지를 다시 발행하지 않는다.
+        paymentOutboxHelper.flushOutboxStatus();
+        outboxRelay.relay();
+    }
 
-        outboxMessagesResponse
-                .filter(outboxMessages -> !outboxMessages.isEmpty())
-                .ifPresent(outboxMessages -> {
-                    log.info("OrderPaymentOutbox 메시지를 {}개 수신했습니다. OrderPaymentOutboxMessage id{}",
-                            outboxMessages.size(),
-                            outboxMessages.stream()
-                                    .map(outboxMessage ->
-                                            outboxMessage.getId().toString())
-                                    .collect(Collectors.joining(", ")));
-                    outboxMessages.forEach(outboxMessage ->
-                            paymentRequestMessagePublisher.publish(outboxMessage, this::updateOutboxStatus));
-                    log.info("OrderPaymentOutbox 메시지를 {}개 발행했습니다.", outboxMessages.size());
-                });
+    @Scheduled(fixedDelayString = "${order-service.outbox-status-flush-interval}")
+    public void flushOutboxStatus() {
+        paymentOutboxHelper.flushOutboxStatus();
+        outboxRelay.flush();
     }
 
-    private void updateOutboxStatus(OrderPaymentOutboxMessage orderPaymentOutboxMessage, OutboxStatus outboxStatus) {
-        orderPaymentOutboxMessage.setOutboxStatus(outboxStatus);
-        paymentOutboxHelper.save(orderPaymentOutboxMessage);
-        log.info("OrderPaymentOutboxMessage 의 OutboxStatus 를 업데이트 했습니다. OrderPaymentOutboxMessage: {}", orderPaymentOutboxMessage.getId());
+    @PreDestroy
+    public void close() {
+        outboxRelay.close();
     }
 }
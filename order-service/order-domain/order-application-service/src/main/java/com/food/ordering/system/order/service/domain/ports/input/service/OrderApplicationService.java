@@ -1,11 +1,15 @@
 package com.food.ordering.system.order.service.domain.ports.input.service;
 
+import com.food.ordering.system.order.service.domain.dto.create.CreateOrderBatchCommand;
+import com.food.ordering.system.order.service.domain.dto.create.CreateOrderBatchResponse;
 import com.food.ordering.system.order.service.domain.dto.create.CreateOrderCommand;
 import com.food.ordering.system.order.service.domain.dto.create.CreateOrderResponse;
 import com.food.ordering.system.order.service.domain.dto.track.TrackOrderQuery;
 import com.food.ordering.system.order.service.domain.dto.track.TrackOrderResponse;
 import jakarta.validation.Valid;
 
+import java.util.function.Consumer;
+
 /**
  * 어플리케이션의 클라이언트가 사용할 인터페이스
  * 내가 주문을 시작하기 위해 우편 배달부처럼 사용
@@ -15,5 +19,16 @@ public interface OrderApplicationService {
     // 구현에서 @Valid 를 사용하면 안되고 여기서 사용해야 한다.
     CreateOrderResponse createOrder(@Valid CreateOrderCommand createOrderCommand);
 
+    // 주문마다 성공, 실패 결과를 요청 순서대로 반환한다.
+    CreateOrderBatchResponse createOrders(@Valid CreateOrderBatchCommand createOrderBatchCommand);
+
     TrackOrderResponse trackOrder(@Valid TrackOrderQuery orderTrackingId);
+
+    /**
+     * 구독한 뒤 DB 에서 읽은 현재 상태를 먼저 listener 로 받고, 이후 주문 상태가 바뀔 때마다 받습니다.
+     * 이미 받은 상태보다 지난 상태는 받지 않습니다.
+     *
+     * @return 구독을 해지하는 Runnable
+     */
+    Runnable subscribeOrderStatus(@Valid TrackOrderQuery orderTrackingId, Consumer<TrackOrderResponse> listener);
 }
@@ -0,0 +1,13 @@
+package com.food.ordering.system.order.service.domain.ports.output.message.publisher.restaurantapproval;
+
+import com.food.ordering.system.order.service.domain.outbox.model.approval.OrderApprovalEventPayload;
+
+import java.util.UUID;
+
+// 이 인터페이스는 어댑터가 있는 messaging에서 구현된다.
+// outbox 에 저장할 때 발행할 메시지를 미리 인코딩 해두기 위해 사용한다.
+
+public interface RestaurantApprovalRequestMessageEncoder {
+
+    byte[] encode(UUID sagaId, OrderApprovalEventPayload orderApprovalEventPayload);
+}
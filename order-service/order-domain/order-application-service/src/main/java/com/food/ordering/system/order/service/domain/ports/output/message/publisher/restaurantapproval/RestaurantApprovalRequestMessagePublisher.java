@@ -3,6 +3,7 @@ package com.food.ordering.system.order.service.domain.ports.output.message.publi
 import com.food.ordering.system.order.service.domain.outbox.model.approval.OrderApprovalOutboxMessage;
 import com.food.ordering.system.outbox.OutboxStatus;
 
+import java.util.List;
 import java.util.function.BiConsumer;
 
 // 이 인터페이스는 어댑터가 있는 messaging에서 구현된다.
@@ -10,4 +11,8 @@ public interface RestaurantApprovalRequestMessagePublisher {
 
     void publish(OrderApprovalOutboxMessage orderApprovalOutboxMessage,
                  BiConsumer<OrderApprovalOutboxMessage, OutboxStatus> outboxCallback);
+
+    // relay 가 한번에 가져온 메시지를 batch 하나로 발행한다.
+    void publishBatch(List<OrderApprovalOutboxMessage> orderApprovalOutboxMessages,
+                      BiConsumer<OrderApprovalOutboxMessage, OutboxStatus> outboxCallback);
 }
@@ -2,9 +2,13 @@ package com.food.ordering.system.order.service.domain.ports.output.repository;
 
 import com.food.ordering.system.order.service.domain.outbox.model.approval.OrderApprovalOutboxMessage;
 import com.food.ordering.system.order.service.domain.outbox.model.payment.OrderPaymentOutboxMessage;
+import com.food.ordering.system.outbox.OutboxBacklog;
 import com.food.ordering.system.outbox.OutboxStatus;
 import com.food.ordering.system.saga.SagaStatus;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,11 +21,38 @@ public interface ApprovalOutboxRepository {
                                                                                      OutboxStatus outboxStatus,
                                                                                      SagaStatus... sagaStatus);
 
+    Optional<List<OrderApprovalOutboxMessage>> claimByTypeAndOutboxStatusAndSagaStatus(String type,
+                                                                      OutboxStatus outboxStatus,
+                                                                      int maxAttempts,
+                                                                      int limit,
+                                                                      Duration lease,
+                                                                      SagaStatus... sagaStatus);
+
     Optional<OrderApprovalOutboxMessage> findByTypeAndSagaIdAndSagaStatus(String type,
                                                                          UUID sagaId,
                                                                          SagaStatus... sagaStatus);
 
-    void deleteByTypeAndOutboxStatusAndSagaStatus(String type,
-                                                  OutboxStatus outboxStatus,
-                                                  SagaStatus... sagaStatus);
+    int deleteByTypeAndOutboxStatusAndSagaStatusAndCreatedAtBefore(String type,
+                                                                   OutboxStatus outboxStatus,
+                                                                   ZonedDateTime createdAt,
+                                                                   int limit,
+                                                                   SagaStatus... sagaStatus);
+
+    void updateOutboxStatusByIds(OutboxStatus outboxStatus, List<UUID> ids);
+
+    void releaseClaimsByIds(List<UUID> ids);
+
+    void createPartitions(LocalDate from, LocalDate to);
+
+    int dropPartitionsBefore(LocalDate before);
+
+    OutboxBacklog getBacklog(String type, int maxAttempts);
+
+    Optional<List<OrderApprovalOutboxMessage>> claimRetryableByTypeAndSagaStatus(String type,
+                                                                                 int maxAttempts,
+                                                                                 int limit,
+                                                                                 Duration lease,
+                                                                                 SagaStatus... sagaStatus);
+
+    void markFailedByIds(List<UUID> ids, Duration backoffBase, Duration backoffMax);
 }
@@ -2,9 +2,14 @@ package com.food.ordering.system.order.service.domain.ports.output.repository;
 
 import com.food.ordering.system.order.service.domain.entity.Customer;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface CustomerRepository {
     Optional<Customer> findCustomer(UUID customerId);
+
+    // 존재하는 고객만 반환한다.
+    List<Customer> findCustomers(Collection<UUID> customerIds);
 }
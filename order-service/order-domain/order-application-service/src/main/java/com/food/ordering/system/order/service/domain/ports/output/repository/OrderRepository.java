@@ -1,16 +1,28 @@
 package com.food.ordering.system.order.service.domain.ports.output.repository;
 
 import com.food.ordering.system.domain.valueobject.OrderId;
+import com.food.ordering.system.domain.valueobject.OrderStatus;
 import com.food.ordering.system.order.service.domain.entity.Order;
 import com.food.ordering.system.order.service.domain.valueobject.TrackingId;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository {
 
     Order save(Order order);
 
+    // 새로 생성한 주문만 저장한다.
+    void insert(Order order);
+
+    void insertAll(List<Order> orders);
+
     Optional<Order> findById(OrderId orderId);
 
     Optional<Order> findByTrackingId(TrackingId trackingId);
+
+    // 주문 상품, 배송 주소는 채우지 않는다.
+    Optional<Order> findStatusById(OrderId orderId);
+
+    boolean updateStatus(Order order, OrderStatus expectedStatus);
 }
@@ -0,0 +1,14 @@
+package com.food.ordering.system.order.service.domain.ports.output.repository;
+
+import com.food.ordering.system.order.service.domain.dto.track.TrackOrderResponse;
+import com.food.ordering.system.order.service.domain.valueobject.TrackingId;
+
+import java.util.Optional;
+
+/**
+ * 주문 조회 전용 read model. 주문 상품, 주소 없이 조회 응답에 필요한 컬럼만 읽습니다.
+ */
+public interface OrderTrackingRepository {
+
+    Optional<TrackOrderResponse> findByTrackingId(TrackingId trackingId);
+}
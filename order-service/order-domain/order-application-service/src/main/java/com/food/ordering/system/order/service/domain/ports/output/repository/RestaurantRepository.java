@@ -2,8 +2,12 @@ package com.food.ordering.system.order.service.domain.ports.output.repository;
 
 import com.food.ordering.system.order.service.domain.entity.Restaurant;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface RestaurantRepository {
     Optional<Restaurant> findRestaurantInformation(Restaurant restaurant);
+
+    // 여러 식당의 상품 정보를 한번에 조회한다. 찾지 못한 식당은 결과에 없다.
+    List<Restaurant> findRestaurantsInformation(List<Restaurant> restaurants);
 }
@@ -8,6 +8,8 @@ import com.food.ordering.system.domain.valueobject.OrderId;
 import com.food.ordering.system.domain.valueobject.OrderStatus;
 import com.food.ordering.system.domain.valueobject.ProductId;
 import com.food.ordering.system.domain.valueobject.RestaurantId;
+import com.food.ordering.system.order.service.domain.dto.create.CreateOrderBatchCommand;
+import com.food.ordering.system.order.service.domain.dto.create.CreateOrderBatchResponse;
 import com.food.ordering.system.order.service.domain.dto.create.CreateOrderCommand;
 import com.food.ordering.system.order.service.domain.dto.create.CreateOrderResponse;
 import com.food.ordering.system.order.service.domain.dto.create.OrderAddress;
@@ -27,6 +29,7 @@ import com.food.ordering.system.order.service.domain.ports.output.repository.Pay
 import com.food.ordering.system.order.service.domain.ports.output.repository.RestaurantRepository;
 import com.food.ordering.system.outbox.OutboxStatus;
 import com.food.ordering.system.saga.SagaStatus;
+import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -35,6 +38,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -218,6 +222,41 @@ public class OrderApplicationServiceTest {
                 .hasMessage("레스토랑: " + RESTAURANT_ID + "는 현재 주문을 받지 않습니다.");
     }
 
+    @Test
+    public void testCreateOrdersWithPartialFailure(){
+        Customer customer = new Customer();
+        customer.setId(new CustomerId(CUSTOMER_ID));
+        Restaurant restaurantInformation = Restaurant.builder()
+                .restaurantId(new RestaurantId(RESTAURANT_ID))
+                .products(List.of(new Product(new ProductId(PRODUCT_ID),"제품 1",new Money(new BigDecimal("50.00")))))
+                .active(true)
+                .build();
+        when(customerRepository.findCustomers(any())).thenReturn(List.of(customer));
+        when(restaurantRepository.findRestaurantsInformation(any())).thenReturn(List.of(restaurantInformation));
+
+        CreateOrderBatchResponse createOrderBatchResponse = orderApplicationService.createOrders(
+                CreateOrderBatchCommand.builder()
+                        .orders(List.of(createOrderCommand, createOrderCommandWrongPrice))
+                        .build());
+
+        assertThat(createOrderBatchResponse.getCreatedCount()).isEqualTo(1);
+        assertThat(createOrderBatchResponse.getFailedCount()).isEqualTo(1);
+        assertThat(createOrderBatchResponse.getResults().get(0).getOrderStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(createOrderBatchResponse.getResults().get(1).getOrderTrackingId()).isNull();
+        assertThat(createOrderBatchResponse.getResults().get(1).getMessage())
+                .isEqualTo("종합 가격: 250.00 과 아이템 가격: 200.00 가 일치하지 않습니다.");
+    }
+
+    @Test
+    public void testCreateOrdersOverMaxSizeIsRejectedBeforeTransaction(){
+        // 주문 수는 @Size 로 검증해서 핸들러의 트랜잭션에 들어가지 않는다.
+        assertThatThrownBy(() -> orderApplicationService.createOrders(
+                CreateOrderBatchCommand.builder()
+                        .orders(Collections.nCopies(101, createOrderCommand))
+                        .build()))
+                .isInstanceOf(ConstraintViolationException.class);
+    }
+
     private OrderPaymentOutboxMessage getOrderPaymentOutboxMessage() {
         OrderPaymentEventPayload orderPaymentEventPayload = OrderPaymentEventPayload.builder()
                 .orderId(ORDER_ID.toString())
@@ -0,0 +1,60 @@
+package com.food.ordering.system.order.service.domain;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.food.ordering.system.domain.valueobject.OrderId;
+import com.food.ordering.system.domain.valueobject.OrderStatus;
+import com.food.ordering.system.order.service.domain.entity.Order;
+import com.food.ordering.system.order.service.domain.exception.OrderStatusConflictException;
+import com.food.ordering.system.order.service.domain.mapper.OrderDataMapper;
+import com.food.ordering.system.order.service.domain.ports.output.repository.OrderRepository;
+import com.food.ordering.system.order.service.domain.valueobject.TrackingId;
+
+public class OrderSagaHelperTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderTrackingCache orderTrackingCache = mock(OrderTrackingCache.class);
+    private final OrderStatusPublisher orderStatusPublisher = mock(OrderStatusPublisher.class);
+    private OrderSagaHelper orderSagaHelper;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        orderSagaHelper = new OrderSagaHelper(orderRepository, orderTrackingCache, orderStatusPublisher, new OrderDataMapper());
+        order = Order.builder()
+                .orderId(new OrderId(UUID.randomUUID()))
+                .trackingId(new TrackingId(UUID.randomUUID()))
+                .orderStatus(OrderStatus.APPROVED)
+                .build();
+    }
+
+    @Test
+    void testUpdateStatusEvictsAndPublishesAfterGuardedUpdate() {
+        when(orderRepository.updateStatus(order, OrderStatus.PAID)).thenReturn(true);
+
+        orderSagaHelper.updateOrderStatus(order, OrderStatus.PAID);
+
+        verify(orderTrackingCache).evictAfterCommit(order.getTrackingId().getValue());
+        verify(orderStatusPublisher).publishAfterCommit(any());
+    }
+
+    @Test
+    void testUpdateStatusThrowsConflictWhenNoRowMatched() {
+        // 다른 saga 단계가 먼저 상태를 바꿔서 updateStatus 가 0건을 바꾼 경우
+        when(orderRepository.updateStatus(order, OrderStatus.PAID)).thenReturn(false);
+
+        assertThrows(OrderStatusConflictException.class, () -> orderSagaHelper.updateOrderStatus(order, OrderStatus.PAID));
+        verify(orderTrackingCache, never()).evictAfterCommit(any());
+        verify(orderStatusPublisher, never()).publishAfterCommit(any());
+    }
+}
@@ -0,0 +1,102 @@
+package com.food.ordering.system.order.service.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.food.ordering.system.domain.valueobject.OrderStatus;
+import com.food.ordering.system.order.service.domain.config.OrderServiceConfigData;
+import com.food.ordering.system.order.service.domain.dto.track.TrackOrderResponse;
+import com.food.ordering.system.order.service.domain.exception.OrderNotFoundException;
+
+public class OrderStatusPublisherTest {
+
+    private final UUID trackingId = UUID.randomUUID();
+    private final BlockingQueue<OrderStatus> received = new LinkedBlockingQueue<>();
+    private OrderStatusPublisher orderStatusPublisher;
+
+    @BeforeEach
+    void setUp() {
+        OrderServiceConfigData orderServiceConfigData = new OrderServiceConfigData();
+        orderServiceConfigData.setOrderStatusPublisherThreads(2);
+        orderStatusPublisher = new OrderStatusPublisher(orderServiceConfigData);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderStatusPublisher.close();
+    }
+
+    @Test
+    void testCurrentStatusIsSentFirstAndOlderStatusesAreDropped() throws InterruptedException {
+        orderStatusPublisher.subscribe(trackingId, response -> received.add(response.getOrderStatus()),
+                () -> response(OrderStatus.PAID));
+        assertEquals(OrderStatus.PAID, received.poll());
+
+        // 구독 전에 처리된 saga 단계의 상태가 늦게 도착한 경우
+        orderStatusPublisher.publishAfterCommit(response(OrderStatus.PENDING));
+        orderStatusPublisher.publishAfterCommit(response(OrderStatus.PAID));
+        orderStatusPublisher.publishAfterCommit(response(OrderStatus.APPROVED));
+
+        assertEquals(OrderStatus.APPROVED, received.poll(5, TimeUnit.SECONDS));
+        assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testSlowListenerDoesNotBlockPublisher() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        orderStatusPublisher.subscribe(trackingId, response -> {
+            if (response.getOrderStatus() != OrderStatus.PENDING) {
+                awaitQuietly(release);
+            }
+            received.add(response.getOrderStatus());
+        }, () -> response(OrderStatus.PENDING));
+        received.clear();
+
+        long startedAt = System.nanoTime();
+        orderStatusPublisher.publishAfterCommit(response(OrderStatus.PAID));
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.SECONDS.toNanos(1));
+
+        release.countDown();
+        assertEquals(OrderStatus.PAID, received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFailedCurrentStatusReadUnsubscribes() throws InterruptedException {
+        assertThrows(OrderNotFoundException.class, () -> orderStatusPublisher.subscribe(trackingId,
+                response -> received.add(response.getOrderStatus()),
+                () -> {
+                    throw new OrderNotFoundException("주문이 존재하지 않습니다.");
+                }));
+
+        orderStatusPublisher.publishAfterCommit(response(OrderStatus.PAID));
+
+        assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    private TrackOrderResponse response(OrderStatus orderStatus) {
+        return TrackOrderResponse.builder()
+                .orderTrackingId(trackingId)
+                .orderStatus(orderStatus)
+                .build();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.food.ordering.system.order.service.domain;
 
+import com.food.ordering.system.order.service.domain.ports.output.message.publisher.payment.PaymentRequestMessageEncoder;
 import com.food.ordering.system.order.service.domain.ports.output.message.publisher.payment.PaymentRequestMessagePublisher;
+import com.food.ordering.system.order.service.domain.ports.output.message.publisher.restaurantapproval.RestaurantApprovalRequestMessageEncoder;
 import com.food.ordering.system.order.service.domain.ports.output.message.publisher.restaurantapproval.RestaurantApprovalRequestMessagePublisher;
 import com.food.ordering.system.order.service.domain.ports.output.repository.ApprovalOutboxRepository;
 import com.food.ordering.system.order.service.domain.ports.output.repository.CustomerRepository;
 import com.food.ordering.system.order.service.domain.ports.output.repository.OrderRepository;
+import com.food.ordering.system.order.service.domain.ports.output.repository.OrderTrackingRepository;
 import com.food.ordering.system.order.service.domain.ports.output.repository.PaymentOutboxRepository;
 import com.food.ordering.system.order.service.domain.ports.output.repository.RestaurantRepository;
 import org.mockito.Mockito;
@@ -22,12 +25,24 @@ public class OrderTestConfiguration {
     public RestaurantApprovalRequestMessagePublisher restaurantApprovalRequestMessagePublisher(){
         return Mockito.mock(RestaurantApprovalRequestMessagePublisher.class);
     }
+    @Bean
+    public PaymentRequestMessageEncoder paymentRequestMessageEncoder(){
+        return Mockito.mock(PaymentRequestMessageEncoder.class);
+    }
+    @Bean
+    public RestaurantApprovalRequestMessageEncoder restaurantApprovalRequestMessageEncoder(){
+        return Mockito.mock(RestaurantApprovalRequestMessageEncoder.class);
+    }
 
     @Bean
     public OrderRepository orderRepository(){
         return Mockito.mock(OrderRepository.class);
     }
     @Bean
+    public OrderTrackingRepository orderTrackingRepository(){
+        return Mockito.mock(OrderTrackingRepository.class);
+    }
+    @Bean
     public CustomerRepository customerRepository(){
         return Mockito.mock(CustomerRepository.class);
     }
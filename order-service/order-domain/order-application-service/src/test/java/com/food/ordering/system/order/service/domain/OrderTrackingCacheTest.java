@@ -0,0 +1,88 @@
+package com.food.ordering.system.order.service.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.food.ordering.system.domain.valueobject.OrderStatus;
+import com.food.ordering.system.order.service.domain.config.OrderServiceConfigData;
+import com.food.ordering.system.order.service.domain.dto.track.TrackOrderResponse;
+
+public class OrderTrackingCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private OrderTrackingCache orderTrackingCache;
+
+    @BeforeEach
+    void setUp() {
+        OrderServiceConfigData orderServiceConfigData = new OrderServiceConfigData();
+        orderServiceConfigData.setOrderTrackingCacheMaxSize(2);
+        orderServiceConfigData.setOrderTrackingCacheTtl(Duration.ofMinutes(1));
+        orderTrackingCache = new OrderTrackingCache(orderServiceConfigData);
+    }
+
+    @Test
+    void testCachedResponseIsServedWithoutLoading() {
+        UUID trackingId = UUID.randomUUID();
+
+        orderTrackingCache.get(trackingId, () -> load(trackingId));
+        Optional<TrackOrderResponse> response = orderTrackingCache.get(trackingId, () -> load(trackingId));
+
+        assertEquals(1, loads.get());
+        assertEquals(trackingId, response.orElseThrow().getOrderTrackingId());
+    }
+
+    @Test
+    void testLoadRacingAnEvictionOfTheSameOrderIsNotStored() {
+        UUID trackingId = UUID.randomUUID();
+
+        // DB 를 읽은 뒤 응답을 캐시에 넣기 전에 saga 가 상태를 바꾸고 evict 한 경우
+        orderTrackingCache.get(trackingId, () -> {
+            Optional<TrackOrderResponse> response = load(trackingId);
+            orderTrackingCache.evictAfterCommit(trackingId);
+            return response;
+        });
+        orderTrackingCache.get(trackingId, () -> load(trackingId));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEvictionOfAnotherOrderDoesNotStopCaching() {
+        UUID trackingId = UUID.randomUUID();
+
+        orderTrackingCache.get(trackingId, () -> {
+            orderTrackingCache.evictAfterCommit(UUID.randomUUID());
+            return load(trackingId);
+        });
+        orderTrackingCache.get(trackingId, () -> load(trackingId));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testOldestOrderIsDroppedOverMaxSize() {
+        List<UUID> trackingIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        trackingIds.forEach(trackingId -> orderTrackingCache.get(trackingId, () -> load(trackingId)));
+
+        orderTrackingCache.get(trackingIds.get(2), () -> load(trackingIds.get(2)));
+        assertEquals(3, loads.get());
+        orderTrackingCache.get(trackingIds.get(0), () -> load(trackingIds.get(0)));
+        assertEquals(4, loads.get());
+    }
+
+    private Optional<TrackOrderResponse> load(UUID trackingId) {
+        loads.incrementAndGet();
+        return Optional.of(TrackOrderResponse.builder()
+                .orderTrackingId(trackingId)
+                .orderStatus(OrderStatus.PENDING)
+                .build());
+    }
+}
@@ -0,0 +1,11 @@
+package com.food.ordering.system.order.service.domain.exception;
+
+/**
+ * 주문 상태를 바꾸는 사이에 다른 saga 단계가 먼저 상태를 바꾼 경우.
+ * 낙관적잠금 실패처럼 이미 처리된 메시지이므로 재시도하지 않는다.
+ */
+public class OrderStatusConflictException extends OrderDomainException {
+    public OrderStatusConflictException(String message) {
+        super(message);
+    }
+}
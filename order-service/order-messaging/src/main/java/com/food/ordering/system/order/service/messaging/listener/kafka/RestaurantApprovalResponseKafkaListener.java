@@ -1,15 +1,19 @@
 package com.food.ordering.system.order.service.messaging.listener.kafka;
 
+import com.food.ordering.system.domain.valueobject.OrderApprovalStatus;
 import com.food.ordering.system.kafka.consumer.KafkaConsumer;
-import com.food.ordering.system.kafka.order.avro.model.OrderApprovalStatus;
-import com.food.ordering.system.kafka.order.avro.model.RestaurantApprovalResponseAvroModel;
+import com.food.ordering.system.kafka.consumer.dispatcher.KeyOrderedBatchDispatcher;
+import com.food.ordering.system.order.service.domain.dto.message.RestaurantApprovalResponse;
 import com.food.ordering.system.order.service.domain.exception.OrderNotFoundException;
+import com.food.ordering.system.order.service.domain.exception.OrderStatusConflictException;
 import com.food.ordering.system.order.service.domain.ports.input.message.listener.restaurantapproval.RestaurantApprovalResponseMessageListener;
 import com.food.ordering.system.order.service.messaging.mapper.OrderMessagingDataMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.specific.SpecificRecordBase;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
@@ -22,18 +26,20 @@ import static com.food.ordering.system.order.service.domain.entity.Order.FAILURE
 @Slf4j
 @RequiredArgsConstructor
 @Component
-public class RestaurantApprovalResponseKafkaListener implements KafkaConsumer<RestaurantApprovalResponseAvroModel> {
+public class RestaurantApprovalResponseKafkaListener implements KafkaConsumer<SpecificRecordBase> {
 
     private final RestaurantApprovalResponseMessageListener restaurantApprovalResponseMessageListener;
     private final OrderMessagingDataMapper orderMessagingDataMapper;
+    private final KeyOrderedBatchDispatcher keyOrderedBatchDispatcher;
 
     @Override
     @KafkaListener(id = "${kafka-consumer-config.restaurant-approval-consumer-group-id}",
             topics = "${order-service.restaurant-approval-response-topic-name}")
-    public void receive(@Payload List<RestaurantApprovalResponseAvroModel> messages,
+    public void receive(@Payload List<SpecificRecordBase> messages,
                         @Header(KafkaHeaders.RECEIVED_KEY) List<String> keys,
                         @Header(KafkaHeaders.RECEIVED_PARTITION) List<Integer> partitions,
-                        @Header(KafkaHeaders.OFFSET) List<Long> offsets) {
+                        @Header(KafkaHeaders.OFFSET) List<Long> offsets,
+                        Acknowledgment acknowledgment) {
         log.info("{}개의 메시지수신 ... messages='{}' key='{}' partitions='{}' and offset='{}'",
                 messages.size()
                 , messages
@@ -41,32 +47,51 @@ public class RestaurantApprovalResponseKafkaListener implements KafkaConsumer<Re
                 , partitions.toString()
                 , offsets.toString());
 
-        messages.forEach(restaurantApprovalResponseAvroModel -> {
-
+        keyOrderedBatchDispatcher.dispatch(messages, keys, acknowledgment, message -> {
+            // v1, v2 avro 모델로 들어온 메시지를 한가지 DTO 로 맞춘다.
+            RestaurantApprovalResponse restaurantApprovalResponse =
+                    orderMessagingDataMapper.restaurantApprovalResponseMessageToRestaurantApprovalResponse(message);
             try {
-                if (OrderApprovalStatus.APPROVED == restaurantApprovalResponseAvroModel.getOrderApprovalStatus()) {
-                    log.info("식당승인응답을 처리합니다. order id: {}", restaurantApprovalResponseAvroModel.getOrderId());
-                    restaurantApprovalResponseMessageListener.orderApproved(
-                            orderMessagingDataMapper.restaurantApprovalResponseAvroModelToRestaurantApprovalResponseEvent(restaurantApprovalResponseAvroModel)
-                    );
-                } else if (OrderApprovalStatus.REJECTED == restaurantApprovalResponseAvroModel.getOrderApprovalStatus()) {
-                    log.info("식당승인응답을 실패했습니다. order id: {} with failureMessage {}", restaurantApprovalResponseAvroModel.getOrderId(),
-                            String.join(FAILURE_MESSAGE_DELIMITER, restaurantApprovalResponseAvroModel.getFailureMessages()));
-                    restaurantApprovalResponseMessageListener.orderRejected(
-                            orderMessagingDataMapper.restaurantApprovalResponseAvroModelToRestaurantApprovalResponseEvent(restaurantApprovalResponseAvroModel)
-                    );
+                if (OrderApprovalStatus.APPROVED == restaurantApprovalResponse.getOrderApprovalStatus()) {
+                    log.info("식당승인응답을 처리합니다. order id: {}", restaurantApprovalResponse.getOrderId());
+                    restaurantApprovalResponseMessageListener.orderApproved(restaurantApprovalResponse);
+                } else if (OrderApprovalStatus.REJECTED == restaurantApprovalResponse.getOrderApprovalStatus()) {
+                    log.info("식당승인응답을 실패했습니다. order id: {} with failureMessage {}", restaurantApprovalResponse.getOrderId(),
+                            String.join(FAILURE_MESSAGE_DELIMITER, restaurantApprovalResponse.getFailureMessages()));
+                    restaurantApprovalResponseMessageListener.orderRejected(restaurantApprovalResponse);
                 }
             } catch (OptimisticLockingFailureException e) {
                 // 낙관적잠금은 예외처리가 필요하지않다. 다른 스레드가 작업을 완료했으니 끝내면 됨.
-                log.error("주문결제응답을 처리하는 도중 오류가 발생했습니다. 낙관적잠금. restaurantApprovalResponseAvroModel: {} & error: {}",
-                        restaurantApprovalResponseAvroModel, e.getMessage());
+                log.error("주문결제응답을 처리하는 도중 오류가 발생했습니다. 낙관적잠금. order id: {} & error: {}",
+                        restaurantApprovalResponse.getOrderId(), e.getMessage());
+            } catch (OrderStatusConflictException e) {
+                // 다른 saga 단계가 먼저 주문 상태를 바꿨다. 낙관적잠금과 같이 재시도하지 않고 끝낸다.
+                log.warn("주문 상태가 이미 바뀌어서 처리하지 않습니다. order id: {} & error: {}",
+                        restaurantApprovalResponse.getOrderId(), e.getMessage());
             } catch (OrderNotFoundException e){
                 // 이 예외도 그냥 끝내면 됨. 주문을 찾을 수 없음. 예외를 잡아줘서 재시도를 막아줘야함.
-                log.error("주문결제응답을 처리하는 도중 오류가 발생했습니다. 주문을 찾을 수 없음. restaurantApprovalResponseAvroModel: {} & error: {}",
-                        restaurantApprovalResponseAvroModel, e.getMessage());
+                log.error("주문결제응답을 처리하는 도중 오류가 발생했습니다. 주문을 찾을 수 없음. order id: {} & error: {}",
+                        restaurantApprovalResponse.getOrderId(), e.getMessage());
             }
 
         });
     }
-}
 
+    // retry 단계마다 컨테이너를 따로 둬서 지연 시간이 긴 단계가 짧은 단계를 막지 않게 한다.
+    @Override
+    @KafkaListener(id = "${kafka-consumer-config.restaurant-approval-consumer-group-id}-retry-1",
+            topics = "${order-service.restaurant-approval-response-topic-name}-retry-1",
+            containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(id = "${kafka-consumer-config.restaurant-approval-consumer-group-id}-retry-2",
+            topics = "${order-service.restaurant-approval-response-topic-name}-retry-2",
+            containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(id = "${kafka-consumer-config.restaurant-approval-consumer-group-id}-retry-3",
+            topics = "${order-service.restaurant-approval-response-topic-name}-retry-3",
+            containerFactory = "retryKafkaListenerContainerFactory")
+    public void receiveRetry(@Payload SpecificRecordBase message,
+                             @Header(KafkaHeaders.RECEIVED_KEY) String key,
+                             @Header(KafkaHeaders.RECEIVED_PARTITION) Integer partition,
+                             @Header(KafkaHeaders.OFFSET) Long offset) {
+        receive(List.of(message), List.of(key), List.of(partition), List.of(offset), null);
+    }
+}
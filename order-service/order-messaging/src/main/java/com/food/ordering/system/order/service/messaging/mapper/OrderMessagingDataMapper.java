@@ -1,25 +1,58 @@
 package com.food.ordering.system.order.service.messaging.mapper;
 
+import java.util.ArrayList;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import lombok.RequiredArgsConstructor;
+import org.apache.avro.specific.SpecificRecordBase;
 import org.springframework.stereotype.Component;
 
+import com.food.ordering.system.kafka.order.avro.converter.UuidConverter;
 import com.food.ordering.system.kafka.order.avro.model.PaymentOrderStatus;
 import com.food.ordering.system.kafka.order.avro.model.PaymentRequestAvroModel;
+import com.food.ordering.system.kafka.order.avro.model.PaymentRequestAvroModelV2;
 import com.food.ordering.system.kafka.order.avro.model.PaymentResponseAvroModel;
+import com.food.ordering.system.kafka.order.avro.model.PaymentResponseAvroModelV2;
 import com.food.ordering.system.kafka.order.avro.model.Product;
+import com.food.ordering.system.kafka.order.avro.model.ProductV2;
 import com.food.ordering.system.kafka.order.avro.model.RestaurantApprovalRequestAvroModel;
+import com.food.ordering.system.kafka.order.avro.model.RestaurantApprovalRequestAvroModelV2;
 import com.food.ordering.system.kafka.order.avro.model.RestaurantApprovalResponseAvroModel;
+import com.food.ordering.system.kafka.order.avro.model.RestaurantApprovalResponseAvroModelV2;
 import com.food.ordering.system.kafka.order.avro.model.RestaurantOrderStatus;
+import com.food.ordering.system.kafka.producer.service.service.AvroSchemaVersionSelector;
 import com.food.ordering.system.order.service.domain.dto.message.PaymentResponse;
 import com.food.ordering.system.order.service.domain.dto.message.RestaurantApprovalResponse;
 import com.food.ordering.system.order.service.domain.outbox.model.approval.OrderApprovalEventPayload;
 import com.food.ordering.system.order.service.domain.outbox.model.payment.OrderPaymentEventPayload;
 
 @Component
+@RequiredArgsConstructor
 public class OrderMessagingDataMapper {
 
+    private final AvroSchemaVersionSelector avroSchemaVersionSelector;
+
+    /**
+     * value-schema-version 에 따라 v1 또는 v2 스키마의 결제요청 메시지를 만듭니다.
+     */
+    public SpecificRecordBase orderPaymentEventToPaymentRequestMessage(String sagaId,
+                                                                       OrderPaymentEventPayload orderPaymentEventPayload) {
+        return avroSchemaVersionSelector.select(
+                () -> orderPaymentEventToPaymentRequestAvroModel(sagaId, orderPaymentEventPayload),
+                () -> orderPaymentEventToPaymentRequestAvroModelV2(sagaId, orderPaymentEventPayload));
+    }
+
+    /**
+     * value-schema-version 에 따라 v1 또는 v2 스키마의 식당승인요청 메시지를 만듭니다.
+     */
+    public SpecificRecordBase orderApprovalEventToRestaurantApprovalRequestMessage(String sagaId,
+                                                                                   OrderApprovalEventPayload orderApprovalEventPayload) {
+        return avroSchemaVersionSelector.select(
+                () -> orderApprovalEventToRestaurantApprovalRequestAvroModel(sagaId, orderApprovalEventPayload),
+                () -> orderApprovalEventToRestaurantApprovalRequestAvroModelV2(sagaId, orderApprovalEventPayload));
+    }
+
     public PaymentRequestAvroModel orderPaymentEventToPaymentRequestAvroModel(String SagaId,
                                                                               OrderPaymentEventPayload orderPaymentEventPayload) {
         return PaymentRequestAvroModel.newBuilder()
@@ -54,6 +87,96 @@ public class OrderMessagingDataMapper {
                 .build();
     }
 
+    public PaymentRequestAvroModelV2 orderPaymentEventToPaymentRequestAvroModelV2(String sagaId,
+                                                                                  OrderPaymentEventPayload orderPaymentEventPayload) {
+        return PaymentRequestAvroModelV2.newBuilder()
+                .setId(UuidConverter.toUuid(UUID.randomUUID()))
+                .setSagaId(UuidConverter.toUuid(sagaId))
+                .setCustomerId(UuidConverter.toUuid(orderPaymentEventPayload.getCustomerId()))
+                .setOrderId(UuidConverter.toUuid(orderPaymentEventPayload.getOrderId()))
+                .setPrice(orderPaymentEventPayload.getPrice())
+                .setCreatedAt(orderPaymentEventPayload.getCreatedAt().toInstant())
+                .setPaymentOrderStatus(PaymentOrderStatus.valueOf(orderPaymentEventPayload.getPaymentOrderStatus()))
+                .build();
+    }
+
+    public RestaurantApprovalRequestAvroModelV2 orderApprovalEventToRestaurantApprovalRequestAvroModelV2(String sagaId,
+                                                                                                         OrderApprovalEventPayload orderApprovalEventPayload) {
+        return RestaurantApprovalRequestAvroModelV2.newBuilder()
+                .setId(UuidConverter.toUuid(UUID.randomUUID()))
+                .setSagaId(UuidConverter.toUuid(sagaId))
+                .setOrderId(UuidConverter.toUuid(orderApprovalEventPayload.getOrderId()))
+                .setRestaurantId(UuidConverter.toUuid(orderApprovalEventPayload.getRestaurantId()))
+                .setPrice(orderApprovalEventPayload.getPrice())
+                .setProducts(orderApprovalEventPayload.getProducts().stream().map(
+                        item ->
+                                ProductV2.newBuilder()
+                                        .setId(UuidConverter.toUuid(item.getId()))
+                                        .setQuantity(item.getQuantity())
+                                        .build())
+                        .collect(Collectors.toList())
+                )
+                .setCreatedAt(orderApprovalEventPayload.getCreatedAt().toInstant())
+                .setRestaurantOrderStatus(RestaurantOrderStatus.valueOf(orderApprovalEventPayload.getRestaurantOrderStatus()))
+                .build();
+    }
+
+    /**
+     * 리스너가 받은 v1, v2 avro 모델을 PaymentResponse 로 바꿉니다.
+     */
+    public PaymentResponse paymentResponseMessageToPaymentResponse(SpecificRecordBase message) {
+        if (message instanceof PaymentResponseAvroModelV2 paymentResponseAvroModelV2) {
+            return paymentResponseAvroModelV2ToPaymentResponseEvent(paymentResponseAvroModelV2);
+        }
+        if (message instanceof PaymentResponseAvroModel paymentResponseAvroModel) {
+            return paymentResponseAvroModelToPaymentResponseEvent(paymentResponseAvroModel);
+        }
+        throw new IllegalArgumentException("결제응답 메시지가 아닙니다: " + message.getSchema().getFullName());
+    }
+
+    /**
+     * 리스너가 받은 v1, v2 avro 모델을 RestaurantApprovalResponse 로 바꿉니다.
+     */
+    public RestaurantApprovalResponse restaurantApprovalResponseMessageToRestaurantApprovalResponse(SpecificRecordBase message) {
+        if (message instanceof RestaurantApprovalResponseAvroModelV2 restaurantApprovalResponseAvroModelV2) {
+            return restaurantApprovalResponseAvroModelV2ToRestaurantApprovalResponseEvent(restaurantApprovalResponseAvroModelV2);
+        }
+        if (message instanceof RestaurantApprovalResponseAvroModel restaurantApprovalResponseAvroModel) {
+            return restaurantApprovalResponseAvroModelToRestaurantApprovalResponseEvent(restaurantApprovalResponseAvroModel);
+        }
+        throw new IllegalArgumentException("식당승인응답 메시지가 아닙니다: " + message.getSchema().getFullName());
+    }
+
+    public PaymentResponse paymentResponseAvroModelV2ToPaymentResponseEvent(PaymentResponseAvroModelV2 paymentResponseAvroModelV2) {
+        return PaymentResponse.builder()
+                .id(UuidConverter.fromUuid(paymentResponseAvroModelV2.getId()).toString())
+                .sagaId(UuidConverter.fromUuid(paymentResponseAvroModelV2.getSagaId()).toString())
+                .paymentId(UuidConverter.fromUuid(paymentResponseAvroModelV2.getPaymentId()).toString())
+                .customerId(UuidConverter.fromUuid(paymentResponseAvroModelV2.getCustomerId()).toString())
+                .orderId(UuidConverter.fromUuid(paymentResponseAvroModelV2.getOrderId()).toString())
+                .price(paymentResponseAvroModelV2.getPrice())
+                .createdAt(paymentResponseAvroModelV2.getCreatedAt())
+                .paymentStatus(com.food.ordering.system.domain.valueobject.PaymentStatus.valueOf(
+                        paymentResponseAvroModelV2.getPaymentStatus().name()
+                ))
+                .failureMessages(new ArrayList<>(paymentResponseAvroModelV2.getFailureMessages()))
+                .build();
+    }
+
+    public RestaurantApprovalResponse restaurantApprovalResponseAvroModelV2ToRestaurantApprovalResponseEvent(RestaurantApprovalResponseAvroModelV2 restaurantApprovalResponseAvroModelV2) {
+        return RestaurantApprovalResponse.builder()
+                .id(UuidConverter.fromUuid(restaurantApprovalResponseAvroModelV2.getId()).toString())
+                .sagaId(UuidConverter.fromUuid(restaurantApprovalResponseAvroModelV2.getSagaId()).toString())
+                .orderId(UuidConverter.fromUuid(restaurantApprovalResponseAvroModelV2.getOrderId()).toString())
+                .restaurantId(UuidConverter.fromUuid(restaurantApprovalResponseAvroModelV2.getRestaurantId()).toString())
+                .createdAt(restaurantApprovalResponseAvroModelV2.getCreatedAt())
+                .orderApprovalStatus(com.food.ordering.system.domain.valueobject.OrderApprovalStatus.valueOf(
+                        restaurantApprovalResponseAvroModelV2.getOrderApprovalStatus().name()
+                ))
+                .failureMessages(new ArrayList<>(restaurantApprovalResponseAvroModelV2.getFailureMessages()))
+                .build();
+    }
+
     public PaymentResponse paymentResponseAvroModelToPaymentResponseEvent(PaymentResponseAvroModel paymentResponseAvroModel) {
         return PaymentResponse.builder()
                 .id(paymentResponseAvroModel.getId().toString())
@@ -66,7 +189,7 @@ public class OrderMessagingDataMapper {
                 .paymentStatus(com.food.ordering.system.domain.valueobject.PaymentStatus.valueOf(
                         paymentResponseAvroModel.getPaymentStatus().name()
                 ))
-                .failureMessages(paymentResponseAvroModel.getFailureMessages())
+                .failureMessages(new ArrayList<>(paymentResponseAvroModel.getFailureMessages()))
                 .build();
     }
 
@@ -80,7 +203,7 @@ public class OrderMessagingDataMapper {
                 .orderApprovalStatus(com.food.ordering.system.domain.valueobject.OrderApprovalStatus.valueOf(
                         restaurantApprovalResponseAvroModel.getOrderApprovalStatus().name()
                 ))
-                .failureMessages(restaurantApprovalResponseAvroModel.getFailureMessages())
+                .failureMessages(new ArrayList<>(restaurantApprovalResponseAvroModel.getFailureMessages()))
                 .build();
     }
 }
@@ -0,0 +1,29 @@
+package com.food.ordering.system.order.service.messaging.publisher.kafka;
+
+import com.food.ordering.system.kafka.producer.service.service.KafkaMessageEncoder;
+import com.food.ordering.system.order.service.domain.config.OrderServiceConfigData;
+import com.food.ordering.system.order.service.domain.outbox.model.approval.OrderApprovalEventPayload;
+import com.food.ordering.system.order.service.domain.ports.output.message.publisher.restaurantapproval.RestaurantApprovalRequestMessageEncoder;
+import com.food.ordering.system.order.service.messaging.mapper.OrderMessagingDataMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@Component
+public class OrderApprovalEventKafkaEncoder implements RestaurantApprovalRequestMessageEncoder {
+
+    private final OrderMessagingDataMapper orderMessagingDataMapper;
+    private final OrderServiceConfigData orderServiceConfigData;
+    private final KafkaMessageEncoder kafkaMessageEncoder;
+
+    @Override
+    public byte[] encode(UUID sagaId, OrderApprovalEventPayload orderApprovalEventPayload) {
+        return kafkaMessageEncoder.encode(
+                orderServiceConfigData.getRestaurantApprovalRequestTopicName(),
+                orderMessagingDataMapper.orderApprovalEventToRestaurantApprovalRequestMessage(
+                        sagaId.toString(),
+                        orderApprovalEventPayload));
+    }
+}
@@ -1,6 +1,8 @@
 package com.food.ordering.system.order.service.messaging.publisher.kafka;
 
-import com.food.ordering.system.kafka.order.avro.model.RestaurantApprovalRequestAvroModel;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchRecord;
+import com.food.ordering.system.kafka.producer.service.exception.KafkaProducerException;
+import com.food.ordering.system.kafka.producer.service.service.EncodedKafkaProducer;
 import com.food.ordering.system.kafka.producer.service.service.KafkaMessageHelper;
 import com.food.ordering.system.kafka.producer.service.service.KafkaProducer;
 import com.food.ordering.system.order.service.domain.config.OrderServiceConfigData;
@@ -11,8 +13,13 @@ import com.food.ordering.system.order.service.messaging.mapper.OrderMessagingDat
 import com.food.ordering.system.outbox.OutboxStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.specific.SpecificRecordBase;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.BiConsumer;
 
 @Slf4j
@@ -22,12 +29,18 @@ public class OrderApprovalEventKafkaPublisher implements RestaurantApprovalReque
 
     private final OrderMessagingDataMapper orderMessagingDataMapper;
     private final OrderServiceConfigData orderServiceConfigData;
-    private final KafkaProducer<String, RestaurantApprovalRequestAvroModel> kafkaProducer;
+    private final KafkaProducer<String, SpecificRecordBase> kafkaProducer;
+    private final EncodedKafkaProducer encodedKafkaProducer;
     private final KafkaMessageHelper kafkaMessageHelper;
 
     @Override
     public void publish(OrderApprovalOutboxMessage orderApprovalOutboxMessage,
                         BiConsumer<OrderApprovalOutboxMessage, OutboxStatus> outboxCallback) {
+        if (orderApprovalOutboxMessage.getEncodedPayload() != null) {
+            publishEncoded(orderApprovalOutboxMessage, outboxCallback);
+            return;
+        }
+
         OrderApprovalEventPayload orderApprovalEventPayload =
                 kafkaMessageHelper.getOrderEventPayload(
                         orderApprovalOutboxMessage.getPayload(),
@@ -41,8 +54,8 @@ public class OrderApprovalEventKafkaPublisher implements RestaurantApprovalReque
                 SagaId);
 
         try {
-            RestaurantApprovalRequestAvroModel restaurantApprovalRequestAvroModel =
-                    orderMessagingDataMapper.orderApprovalEventToRestaurantApprovalRequestAvroModel(
+            SpecificRecordBase restaurantApprovalRequestAvroModel =
+                    orderMessagingDataMapper.orderApprovalEventToRestaurantApprovalRequestMessage(
                             SagaId,
                             orderApprovalEventPayload
                     );
@@ -63,11 +76,81 @@ public class OrderApprovalEventKafkaPublisher implements RestaurantApprovalReque
                     orderApprovalEventPayload.getOrderId(),
                     SagaId);
 
-        }catch (Exception e){
+        } catch (KafkaProducerException e) {
+            log.warn("saga ID: {}에 대한 RestaurantApprovalRequestAvroModel 전송이 거절되었습니다: {}", SagaId, e.getMessage());
+            throw e;
+        } catch (Exception e) {
             log.error("주문 ID: {} 및 saga ID: {}에 대한 주문 승인 아웃박스 메시지 발행 실패",
                     orderApprovalEventPayload.getOrderId(),
                     SagaId);
             outboxCallback.accept(orderApprovalOutboxMessage, OutboxStatus.FAILED);
         }
     }
+
+    @Override
+    public void publishBatch(List<OrderApprovalOutboxMessage> orderApprovalOutboxMessages,
+                             BiConsumer<OrderApprovalOutboxMessage, OutboxStatus> outboxCallback) {
+        List<KafkaBatchRecord<String, SpecificRecordBase, OrderApprovalOutboxMessage>> records = new ArrayList<>();
+        List<KafkaBatchRecord<String, byte[], OrderApprovalOutboxMessage>> encodedRecords = new ArrayList<>();
+        Set<String> failedSagaIds = new HashSet<>();
+        Set<String> sagaIds = new HashSet<>();
+        Set<String> encodedSagaIds = new HashSet<>();
+        for (OrderApprovalOutboxMessage orderApprovalOutboxMessage : orderApprovalOutboxMessages) {
+            String sagaId = orderApprovalOutboxMessage.getSagaId().toString();
+            // 앞 메시지가 실패했거나 다른 batch 로 보내는 saga 의 뒤 메시지를 먼저 보내면 순서가 바뀌므로 실패로 처리한다.
+            boolean encoded = orderApprovalOutboxMessage.getEncodedPayload() != null;
+            if (failedSagaIds.contains(sagaId) || (encoded ? sagaIds : encodedSagaIds).contains(sagaId)) {
+                outboxCallback.accept(orderApprovalOutboxMessage, OutboxStatus.FAILED);
+                continue;
+            }
+            if (encoded) {
+                encodedSagaIds.add(sagaId);
+                encodedRecords.add(new KafkaBatchRecord<>(sagaId, orderApprovalOutboxMessage.getEncodedPayload(), orderApprovalOutboxMessage));
+                continue;
+            }
+            try {
+                OrderApprovalEventPayload orderApprovalEventPayload =
+                        kafkaMessageHelper.getOrderEventPayload(orderApprovalOutboxMessage.getPayload(), OrderApprovalEventPayload.class);
+                records.add(new KafkaBatchRecord<>(sagaId,
+                        orderMessagingDataMapper.orderApprovalEventToRestaurantApprovalRequestMessage(sagaId, orderApprovalEventPayload),
+                        orderApprovalOutboxMessage));
+                sagaIds.add(sagaId);
+            } catch (Exception e) {
+                // 변환할 수 없는 메시지는 batch 에서 빼고 실패로 처리한다.
+                log.error("saga ID: {}에 대한 RestaurantApprovalRequestAvroModel 변환 실패", sagaId, e);
+                failedSagaIds.add(sagaId);
+                outboxCallback.accept(orderApprovalOutboxMessage, OutboxStatus.FAILED);
+            }
+        }
+
+        String topicName = orderServiceConfigData.getRestaurantApprovalRequestTopicName();
+        kafkaMessageHelper.sendBatch(records, batch -> kafkaProducer.sendBatch(topicName, batch), outboxCallback);
+        kafkaMessageHelper.sendBatch(encodedRecords, batch -> encodedKafkaProducer.sendBatch(topicName, batch), outboxCallback);
+        log.info("RestaurantApprovalRequestAvroModel {}개를 batch 로 발행중입니다.", records.size() + encodedRecords.size());
+    }
+
+    // outbox 에 저장할 때 인코딩 해둔 메시지는 파싱이나 매핑 없이 그대로 보낸다.
+    private void publishEncoded(OrderApprovalOutboxMessage orderApprovalOutboxMessage,
+                                BiConsumer<OrderApprovalOutboxMessage, OutboxStatus> outboxCallback) {
+        String sagaId = orderApprovalOutboxMessage.getSagaId().toString();
+        try {
+            encodedKafkaProducer.send(
+                    orderServiceConfigData.getRestaurantApprovalRequestTopicName(),
+                    sagaId,
+                    orderApprovalOutboxMessage.getEncodedPayload(),
+                    kafkaMessageHelper.createKafkaMessageHelperRequest(
+                            orderApprovalOutboxMessage,
+                            outboxCallback,
+                            null, // 주문 ID 는 payload 를 파싱해야 알 수 있어 넘기지 않는다.
+                            "RestaurantApprovalRequestAvroModel"
+                    )
+            );
+            log.info("saga ID: {}에 대한 인코딩 된 주문 승인 아웃박스 메시지 발행 완료", sagaId);
+        } catch (KafkaProducerException e) {
+            log.warn("saga ID: {}에 대한 인코딩 된 RestaurantApprovalRequestAvroModel 전송이 거절되었습니다: {}", sagaId, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("saga ID: {}에 대한 인코딩 된 주문 승인 아웃박스 메시지 발행 실패", sagaId, e);
+        }
+    }
 }
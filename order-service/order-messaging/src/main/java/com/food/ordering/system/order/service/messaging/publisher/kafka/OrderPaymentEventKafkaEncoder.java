@@ -0,0 +1,29 @@
+package com.food.ordering.system.order.service.messaging.publisher.kafka;
+
+import com.food.ordering.system.kafka.producer.service.service.KafkaMessageEncoder;
+import com.food.ordering.system.order.service.domain.config.OrderServiceConfigData;
+import com.food.ordering.system.order.service.domain.outbox.model.payment.OrderPaymentEventPayload;
+import com.food.ordering.system.order.service.domain.ports.output.message.publisher.payment.PaymentRequestMessageEncoder;
+import com.food.ordering.system.order.service.messaging.mapper.OrderMessagingDataMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@Component
+public class OrderPaymentEventKafkaEncoder implements PaymentRequestMessageEncoder {
+
+    private final OrderMessagingDataMapper orderMessagingDataMapper;
+    private final OrderServiceConfigData orderServiceConfigData;
+    private final KafkaMessageEncoder kafkaMessageEncoder;
+
+    @Override
+    public byte[] encode(UUID sagaId, OrderPaymentEventPayload orderPaymentEventPayload) {
+        return kafkaMessageEncoder.encode(
+                orderServiceConfigData.getPaymentRequestTopicName(),
+                orderMessagingDataMapper.orderPaymentEventToPaymentRequestMessage(
+                        sagaId.toString(),
+                        orderPaymentEventPayload));
+    }
+}
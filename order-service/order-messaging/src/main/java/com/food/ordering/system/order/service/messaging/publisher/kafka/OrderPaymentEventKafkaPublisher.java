@@ -1,6 +1,8 @@
 package com.food.ordering.system.order.service.messaging.publisher.kafka;
 
-import com.food.ordering.system.kafka.order.avro.model.PaymentRequestAvroModel;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchRecord;
+import com.food.ordering.system.kafka.producer.service.exception.KafkaProducerException;
+import com.food.ordering.system.kafka.producer.service.service.EncodedKafkaProducer;
 import com.food.ordering.system.kafka.producer.service.service.KafkaMessageHelper;
 import com.food.ordering.system.kafka.producer.service.service.KafkaProducer;
 import com.food.ordering.system.order.service.domain.config.OrderServiceConfigData;
@@ -11,8 +13,13 @@ import com.food.ordering.system.order.service.messaging.mapper.OrderMessagingDat
 import com.food.ordering.system.outbox.OutboxStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.specific.SpecificRecordBase;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.BiConsumer;
 
 @Slf4j
@@ -22,12 +29,18 @@ public class OrderPaymentEventKafkaPublisher implements PaymentRequestMessagePub
 
     private final OrderMessagingDataMapper orderMessagingDataMapper;
     private final OrderServiceConfigData orderServiceConfigData;
-    private final KafkaProducer<String, PaymentRequestAvroModel> kafkaProducer;
+    private final KafkaProducer<String, SpecificRecordBase> kafkaProducer;
+    private final EncodedKafkaProducer encodedKafkaProducer;
     private final KafkaMessageHelper kafkaMessageHelper;
 
     @Override
     public void publish(OrderPaymentOutboxMessage orderPaymentOutboxMessage,
                         BiConsumer<OrderPaymentOutboxMessage, OutboxStatus> outboxCallback) {
+        if (orderPaymentOutboxMessage.getEncodedPayload() != null) {
+            publishEncoded(orderPaymentOutboxMessage, outboxCallback);
+            return;
+        }
+
         OrderPaymentEventPayload orderPaymentEventPayload =
                 kafkaMessageHelper.getOrderEventPayload(
                         orderPaymentOutboxMessage.getPayload(),
@@ -41,8 +54,8 @@ public class OrderPaymentEventKafkaPublisher implements PaymentRequestMessagePub
                 SagaId);
 
         try {
-            PaymentRequestAvroModel paymentRequestAvroModel =
-                    orderMessagingDataMapper.orderPaymentEventToPaymentRequestAvroModel(
+            SpecificRecordBase paymentRequestAvroModel =
+                    orderMessagingDataMapper.orderPaymentEventToPaymentRequestMessage(
                             SagaId,
                             orderPaymentEventPayload
                     );
@@ -61,10 +74,80 @@ public class OrderPaymentEventKafkaPublisher implements PaymentRequestMessagePub
             log.info("주문 ID: {} 및 saga ID: {}에 대한 주문 결제 아웃박스 메시지 발행 완료",
                     orderPaymentEventPayload.getOrderId(),
                     SagaId);
-        }catch (Exception e){
+        } catch (KafkaProducerException e) {
+            log.warn("saga ID: {}에 대한 PaymentRequestAvroModel 전송이 거절되었습니다: {}", SagaId, e.getMessage());
+            throw e;
+        } catch (Exception e) {
             log.error("주문 ID: {} 및 saga ID: {}에 대한 주문 결제 아웃박스 메시지 발행 실패",
                     orderPaymentEventPayload.getOrderId(),
                     SagaId);
         }
     }
+
+    @Override
+    public void publishBatch(List<OrderPaymentOutboxMessage> orderPaymentOutboxMessages,
+                             BiConsumer<OrderPaymentOutboxMessage, OutboxStatus> outboxCallback) {
+        List<KafkaBatchRecord<String, SpecificRecordBase, OrderPaymentOutboxMessage>> records = new ArrayList<>();
+        List<KafkaBatchRecord<String, byte[], OrderPaymentOutboxMessage>> encodedRecords = new ArrayList<>();
+        Set<String> failedSagaIds = new HashSet<>();
+        Set<String> sagaIds = new HashSet<>();
+        Set<String> encodedSagaIds = new HashSet<>();
+        for (OrderPaymentOutboxMessage orderPaymentOutboxMessage : orderPaymentOutboxMessages) {
+            String sagaId = orderPaymentOutboxMessage.getSagaId().toString();
+            // 앞 메시지가 실패했거나 다른 batch 로 보내는 saga 의 뒤 메시지를 먼저 보내면 순서가 바뀌므로 실패로 처리한다.
+            boolean encoded = orderPaymentOutboxMessage.getEncodedPayload() != null;
+            if (failedSagaIds.contains(sagaId) || (encoded ? sagaIds : encodedSagaIds).contains(sagaId)) {
+                outboxCallback.accept(orderPaymentOutboxMessage, OutboxStatus.FAILED);
+                continue;
+            }
+            if (encoded) {
+                encodedSagaIds.add(sagaId);
+                encodedRecords.add(new KafkaBatchRecord<>(sagaId, orderPaymentOutboxMessage.getEncodedPayload(), orderPaymentOutboxMessage));
+                continue;
+            }
+            try {
+                OrderPaymentEventPayload orderPaymentEventPayload =
+                        kafkaMessageHelper.getOrderEventPayload(orderPaymentOutboxMessage.getPayload(), OrderPaymentEventPayload.class);
+                records.add(new KafkaBatchRecord<>(sagaId,
+                        orderMessagingDataMapper.orderPaymentEventToPaymentRequestMessage(sagaId, orderPaymentEventPayload),
+                        orderPaymentOutboxMessage));
+                sagaIds.add(sagaId);
+            } catch (Exception e) {
+                // 변환할 수 없는 메시지는 batch 에서 빼고 실패로 처리한다.
+                log.error("saga ID: {}에 대한 PaymentRequestAvroModel 변환 실패", sagaId, e);
+                failedSagaIds.add(sagaId);
+                outboxCallback.accept(orderPaymentOutboxMessage, OutboxStatus.FAILED);
+            }
+        }
+
+        String topicName = orderServiceConfigData.getPaymentRequestTopicName();
+        kafkaMessageHelper.sendBatch(records, batch -> kafkaProducer.sendBatch(topicName, batch), outboxCallback);
+        kafkaMessageHelper.sendBatch(encodedRecords, batch -> encodedKafkaProducer.sendBatch(topicName, batch), outboxCallback);
+        log.info("PaymentRequestAvroModel {}개를 batch 로 발행중입니다.", records.size() + encodedRecords.size());
+    }
+
+    // outbox 에 저장할 때 인코딩 해둔 메시지는 파싱이나 매핑 없이 그대로 보낸다.
+    private void publishEncoded(OrderPaymentOutboxMessage orderPaymentOutboxMessage,
+                                BiConsumer<OrderPaymentOutboxMessage, OutboxStatus> outboxCallback) {
+        String sagaId = orderPaymentOutboxMessage.getSagaId().toString();
+        try {
+            encodedKafkaProducer.send(
+                    orderServiceConfigData.getPaymentRequestTopicName(),
+                    sagaId,
+                    orderPaymentOutboxMessage.getEncodedPayload(),
+                    kafkaMessageHelper.createKafkaMessageHelperRequest(
+                            orderPaymentOutboxMessage,
+                            outboxCallback,
+                            null, // 주문 ID 는 payload 를 파싱해야 알 수 있어 넘기지 않는다.
+                            "PaymentRequestAvroModel"
+                    )
+            );
+            log.info("saga ID: {}에 대한 인코딩 된 주문 결제 아웃박스 메시지 발행 완료", sagaId);
+        } catch (KafkaProducerException e) {
+            log.warn("saga ID: {}에 대한 인코딩 된 PaymentRequestAvroModel 전송이 거절되었습니다: {}", sagaId, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("saga ID: {}에 대한 인코딩 된 주문 결제 아웃박스 메시지 발행 실패", sagaId, e);
+        }
+    }
 }
@@ -0,0 +1,73 @@
+-- outbox 테이블을 created_at 기준 일 단위 range 파티션으로 다시 만듭니다.
+-- init-schema.sql 이후에 실행하고, payment-service.outbox-partition-enabled 를 true 로 설정해야 합니다.
+-- 파티션({테이블}_pyyyyMMdd)은 cleaner scheduler 가 미리 만들고, 보관 기간이 지나면 DROP 합니다.
+-- 파티션이 아직 없는 시간대의 메시지는 default 파티션에 저장됩니다.
+-- 파티션 테이블의 unique index 에는 파티션 키가 포함되어야 해서 중복 메시지 검사에 쓸 수 없으므로,
+-- 파티셔닝 하지 않은 order_outbox_dedup 테이블에 trigger 로 키를 먼저 넣어 unique violation 을 발생시킵니다.
+-- dedup row 는 같은 날짜의 파티션을 DROP 할 때 함께 삭제됩니다.
+
+DROP TABLE IF EXISTS "payment".order_outbox CASCADE;
+CREATE TABLE "payment".order_outbox
+(
+    id             UUID                                           NOT NULL,
+    saga_id        UUID                                           NOT NULL,
+    created_at     TIMESTAMP WITH TIME ZONE                       NOT NULL,
+    processed_at   TIMESTAMP WITH TIME ZONE,
+    type           CHARACTER VARYING COLLATE pg_catalog."default" NOT NULL,
+    payload        jsonb                                          NOT NULL,
+    outbox_status  outbox_status                                  NOT NULL,
+    payment_status payment_status                                 NOT NULL,
+    attempt_count  INTEGER                                        NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE,
+    claimed_until TIMESTAMP WITH TIME ZONE,
+    version        INTEGER                                        NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE "payment".order_outbox_default PARTITION OF "payment".order_outbox DEFAULT;
+
+CREATE INDEX "payment_order_outbox_saga_status"
+    ON "payment".order_outbox
+    (type, outbox_status, created_at);
+
+CREATE INDEX "payment_order_outbox_next_attempt"
+    ON "payment".order_outbox
+    (type, outbox_status, next_attempt_at);
+
+CREATE INDEX "payment_order_outbox_id"
+    ON "payment".order_outbox
+    (id);
+
+DROP TABLE IF EXISTS "payment".order_outbox_dedup CASCADE;
+CREATE TABLE "payment".order_outbox_dedup
+(
+    type           CHARACTER VARYING COLLATE pg_catalog."default" NOT NULL,
+    saga_id        UUID                                           NOT NULL,
+    payment_status payment_status                                 NOT NULL,
+    outbox_status  outbox_status                                  NOT NULL,
+    created_at     TIMESTAMP WITH TIME ZONE                       NOT NULL,
+    PRIMARY KEY (type, saga_id, payment_status, outbox_status)
+);
+
+CREATE INDEX "payment_order_outbox_dedup_created_at"
+    ON "payment".order_outbox_dedup
+    (created_at);
+
+DROP FUNCTION IF EXISTS "payment".insert_order_outbox_dedup;
+
+CREATE OR REPLACE FUNCTION "payment".insert_order_outbox_dedup()
+    RETURNS TRIGGER
+AS
+'
+    BEGIN
+        INSERT INTO "payment".order_outbox_dedup (type, saga_id, payment_status, outbox_status, created_at)
+        VALUES (NEW.type, NEW.saga_id, NEW.payment_status, NEW.outbox_status, NEW.created_at);
+        RETURN NEW;
+    END;
+' LANGUAGE plpgsql;
+
+CREATE TRIGGER insert_order_outbox_dedup
+    BEFORE INSERT
+    ON "payment".order_outbox
+    FOR EACH ROW
+EXECUTE PROCEDURE "payment".insert_order_outbox_dedup();
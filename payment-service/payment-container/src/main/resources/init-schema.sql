@@ -64,12 +64,19 @@ CREATE TABLE "payment".order_outbox
     payload        jsonb                                          NOT NULL,
     outbox_status  outbox_status                                  NOT NULL,
     payment_status payment_status                                 NOT NULL,
+    attempt_count  INTEGER                                        NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE,
+    claimed_until TIMESTAMP WITH TIME ZONE,
     version        INTEGER                                        NOT NULL
 );
 
 CREATE INDEX "payment_order_outbox_saga_status"
     ON "payment".order_outbox 
-    (type, outbox_status);
+    (type, outbox_status, created_at);
+
+CREATE INDEX "payment_order_outbox_next_attempt"
+    ON "payment".order_outbox
+    (type, outbox_status, next_attempt_at);
 
 CREATE UNIQUE INDEX "payment_order_outbox_saga_id_payment_status_outbox_status"
     ON "payment".order_outbox
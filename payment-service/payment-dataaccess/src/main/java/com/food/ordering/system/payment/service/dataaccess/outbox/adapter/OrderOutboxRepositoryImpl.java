@@ -1,6 +1,9 @@
 package com.food.ordering.system.payment.service.dataaccess.outbox.adapter;
 
+import com.food.ordering.system.dataaccess.outbox.OutboxBacklogView;
+import com.food.ordering.system.dataaccess.outbox.OutboxPartitionManager;
 import com.food.ordering.system.domain.valueobject.PaymentStatus;
+import com.food.ordering.system.outbox.OutboxBacklog;
 import com.food.ordering.system.outbox.OutboxStatus;
 import com.food.ordering.system.payment.service.dataaccess.outbox.entity.OrderOutboxEntity;
 import com.food.ordering.system.payment.service.dataaccess.outbox.exception.OrderOutboxNotFoundException;
@@ -11,6 +14,9 @@ import com.food.ordering.system.payment.service.domain.ports.output.repository.O
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,8 +26,12 @@ import java.util.stream.Collectors;
 @Component
 public class OrderOutboxRepositoryImpl implements OrderOutboxRepository {
 
+    private static final String TABLE_NAME = "order_outbox";
+    private static final String RETAIN_CONDITION = "outbox_status <> 'COMPLETED'";
+
     private final OrderOutboxJpaRepository orderOutboxJpaRepository;
     private final OrderOutboxDataAccessMapper orderOutboxDataAccessMapper;
+    private final OutboxPartitionManager outboxPartitionManager;
 
     @Override
     public Optional<OrderOutboxMessage> save(OrderOutboxMessage orderOutboxMessage) {
@@ -43,6 +53,18 @@ public class OrderOutboxRepositoryImpl implements OrderOutboxRepository {
                 .collect(Collectors.toList()));
     }
 
+    @Override
+    public Optional<List<OrderOutboxMessage>> claimByTypeAndOutboxStatus(String sagaType,
+                                                                         OutboxStatus outboxStatus,
+                                                                         int maxAttempts,
+                                                                         int limit,
+                                                                         Duration lease) {
+        return Optional.of(orderOutboxJpaRepository.claimByTypeAndOutboxStatus(sagaType, outboxStatus.name(), maxAttempts, limit, lease.toMillis())
+                .stream()
+                .map(orderOutboxDataAccessMapper::orderOutboxEntityToOrderOutboxMessage)
+                .collect(Collectors.toList()));
+    }
+
     @Override
     public Optional<OrderOutboxMessage> findByTypeAndSagaIdAndPaymentStatusAndOutboxStatus(String sagaType,
                                                                                            UUID sagaId,
@@ -53,7 +75,55 @@ public class OrderOutboxRepositoryImpl implements OrderOutboxRepository {
     }
 
     @Override
-    public void deleteByTypeAndOutboxStatus(String sagaType, OutboxStatus outboxStatus) {
-        orderOutboxJpaRepository.deleteByTypeAndOutboxStatus(sagaType, outboxStatus);
+    public int deleteByTypeAndOutboxStatusAndCreatedAtBefore(String type,
+                                                             OutboxStatus outboxStatus,
+                                                             ZonedDateTime createdAt,
+                                                             int limit) {
+        return orderOutboxJpaRepository.deleteByTypeAndOutboxStatusAndCreatedAtBefore(type, outboxStatus.name(), createdAt, limit);
+    }
+
+    @Override
+    public void updateOutboxStatusByIds(OutboxStatus outboxStatus, List<UUID> ids) {
+        orderOutboxJpaRepository.updateOutboxStatusByIds(outboxStatus.name(), ids.toArray(new UUID[0]));
+    }
+
+    @Override
+    public void releaseClaimsByIds(List<UUID> ids) {
+        orderOutboxJpaRepository.releaseClaimsByIds(ids.toArray(new UUID[0]));
+    }
+
+    @Override
+    public void createPartitions(LocalDate from, LocalDate to) {
+        outboxPartitionManager.createPartitions(TABLE_NAME, from, to);
+    }
+
+    @Override
+    public int dropPartitionsBefore(LocalDate before) {
+        return outboxPartitionManager.dropPartitionsBefore(TABLE_NAME, before, RETAIN_CONDITION);
+    }
+
+    @Override
+    public OutboxBacklog getBacklog(String type, int maxAttempts) {
+        OutboxBacklogView outboxBacklogView = orderOutboxJpaRepository.getBacklogByType(type, maxAttempts);
+        return new OutboxBacklog(outboxBacklogView.getPendingCount(),
+                outboxBacklogView.getFailedCount(),
+                outboxBacklogView.getExhaustedCount(),
+                outboxBacklogView.getOldestPendingAgeSeconds());
+    }
+
+    @Override
+    public Optional<List<OrderOutboxMessage>> claimRetryableByType(String type,
+                                                                   int maxAttempts,
+                                                                   int limit,
+                                                                   Duration lease) {
+        return Optional.of(orderOutboxJpaRepository.claimRetryableByType(type, maxAttempts, limit, lease.toMillis())
+                .stream()
+                .map(orderOutboxDataAccessMapper::orderOutboxEntityToOrderOutboxMessage)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void markFailedByIds(List<UUID> ids, Duration backoffBase, Duration backoffMax) {
+        orderOutboxJpaRepository.markFailedByIds(ids.toArray(new UUID[0]), backoffBase.toMillis(), backoffMax.toMillis());
     }
 }
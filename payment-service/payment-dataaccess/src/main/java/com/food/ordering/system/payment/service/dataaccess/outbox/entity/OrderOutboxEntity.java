@@ -2,6 +2,7 @@ package com.food.ordering.system.payment.service.dataaccess.outbox.entity;
 
 import com.food.ordering.system.domain.valueobject.PaymentStatus;
 import com.food.ordering.system.outbox.OutboxStatus;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -40,6 +41,8 @@ public class OrderOutboxEntity {
     private PaymentStatus paymentStatus;
     @Enumerated(EnumType.STRING)
     private OutboxStatus outboxStatus;
+    @Column(updatable = false)
+    private ZonedDateTime claimedUntil;
     @Version
     private int version;
 
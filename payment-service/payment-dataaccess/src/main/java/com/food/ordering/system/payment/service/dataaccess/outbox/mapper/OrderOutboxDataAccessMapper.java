@@ -15,6 +15,7 @@ public class OrderOutboxDataAccessMapper {
                 .paymentStatus(orderOutboxMessage.getPaymentStatus())
                 .outboxStatus(orderOutboxMessage.getOutboxStatus())
                 .createdAt(orderOutboxMessage.getCreatedAt())
+                .claimedUntil(orderOutboxMessage.getClaimedUntil())
                 .version(orderOutboxMessage.getVersion())
                 .build();
     }
@@ -28,6 +29,7 @@ public class OrderOutboxDataAccessMapper {
                 .paymentStatus(entity.getPaymentStatus())
                 .outboxStatus(entity.getOutboxStatus())
                 .createdAt(entity.getCreatedAt())
+                .claimedUntil(entity.getClaimedUntil())
                 .version(entity.getVersion())
                 .build();
     }
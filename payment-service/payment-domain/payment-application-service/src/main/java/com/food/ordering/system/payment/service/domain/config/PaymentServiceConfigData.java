@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "payment-service")
@@ -11,4 +13,15 @@ public class PaymentServiceConfigData {
 
     private String paymentRequestTopicName;
     private String paymentResponseTopicName;
+    private int outboxSchedulerBatchSize;
+    private int outboxRelayMaxInFlight;
+    private Duration outboxRelayInFlightTimeout;
+    private boolean outboxRelayBatchPublishEnabled;
+    private int outboxRetryMaxAttempts;
+    private Duration outboxRetryBackoffBase;
+    private Duration outboxRetryBackoffMax;
+    private Duration outboxCleanerRetention;
+    private int outboxCleanerBatchSize;
+    private boolean outboxPartitionEnabled;
+    private int outboxPartitionPrecreateDays;
 }
@@ -26,5 +26,6 @@ public class OrderOutboxMessage {
     private PaymentStatus paymentStatus;
     @Setter
     private OutboxStatus outboxStatus;
+    private ZonedDateTime claimedUntil;
     private int version;
 }
\ No newline at end of file
@@ -1,36 +1,56 @@
 package com.food.ordering.system.payment.service.domain.outbox.scheduler;
 
+import com.food.ordering.system.outbox.OutboxCleaner;
 import com.food.ordering.system.outbox.OutboxScheduler;
 import com.food.ordering.system.outbox.OutboxStatus;
-import com.food.ordering.system.payment.service.domain.outbox.model.OrderOutboxMessage;
+import com.food.ordering.system.payment.service.domain.config.PaymentServiceConfigData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.stream.Collectors;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static com.food.ordering.system.domain.DomainConstants.ASIA_SEOUL;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class OrderOutboxCleanerScheduler implements OutboxScheduler {
 
-    private  final OrderOutboxHelper orderOutboxHelper;
+    private final OrderOutboxHelper orderOutboxHelper;
+    private final PaymentServiceConfigData paymentServiceConfigData;
+    private final OutboxCleaner outboxCleaner;
 
+    // 전체를 하나의 트랜잭션으로 묶지 않고 batch 마다 OrderOutboxHelper 의 트랜잭션으로 삭제한다.
     @Override
-    @Transactional
     @Scheduled(cron = "@midnight", zone = "Asia/Seoul")
     public void processOutboxMessage() {
-        orderOutboxHelper.getOrderOutboxMessageByOutboxStatus(OutboxStatus.COMPLETED)
-                .ifPresent(outboxMessages -> {
-                    log.info("삭제할 OrderOutbox 메시지를 {}개 수신했습니다. OrderOutboxMessage 페이로드{}",
-                            outboxMessages.size(),
-                            outboxMessages.stream()
-                                    .map(OrderOutboxMessage::getPayload)
-                                    .collect(Collectors.joining(", ")));
-                    orderOutboxHelper.deleteOrderOutboxMessageByOutboxStatus(OutboxStatus.COMPLETED);
-                    log.info("OrderOutbox 메시지를 {}개 삭제했습니다.", outboxMessages.size());
-                });
+        ZonedDateTime createdAt = ZonedDateTime.now(ZoneId.of(ASIA_SEOUL))
+                .minus(paymentServiceConfigData.getOutboxCleanerRetention());
+        if (paymentServiceConfigData.isOutboxPartitionEnabled()) {
+            int dropped = orderOutboxHelper.dropOutboxPartitionsBefore(createdAt.toLocalDate());
+            log.info("OrderOutbox 에서 {}개의 파티션을 삭제했습니다.", dropped);
+            return;
+        }
+        outboxCleaner.clean("OrderOutbox",
+                paymentServiceConfigData.getOutboxCleanerBatchSize(),
+                limit -> orderOutboxHelper.deleteOrderOutboxMessageByOutboxStatusBefore(
+                        OutboxStatus.COMPLETED,
+                        createdAt,
+                        limit));
+    }
+
+    // 파티셔닝을 사용하는 경우 outbox-partition-precreate-days 만큼의 파티션을 미리 만들어 둔다.
+    @Scheduled(initialDelay = 0, fixedRate = 1, timeUnit = TimeUnit.HOURS)
+    public void createOutboxPartitions() {
+        if (!paymentServiceConfigData.isOutboxPartitionEnabled()) {
+            return;
+        }
+        LocalDate today = LocalDate.now(ZoneId.of(ASIA_SEOUL));
+        orderOutboxHelper.createOutboxPartitions(today, today.plusDays(paymentServiceConfigData.getOutboxPartitionPrecreateDays()));
     }
 }
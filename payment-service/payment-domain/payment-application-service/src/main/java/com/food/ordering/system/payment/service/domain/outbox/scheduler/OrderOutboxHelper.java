@@ -3,17 +3,27 @@ package com.food.ordering.system.payment.service.domain.outbox.scheduler;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.food.ordering.system.domain.valueobject.PaymentStatus;
 import com.food.ordering.system.order.service.domain.exception.OrderDomainException;
+import com.food.ordering.system.outbox.OutboxAfterCommitPublisher;
+import com.food.ordering.system.outbox.OutboxBacklog;
+import com.food.ordering.system.outbox.OutboxMessageSource;
 import com.food.ordering.system.outbox.OutboxStatus;
+import com.food.ordering.system.outbox.OutboxStatusUpdateBuffer;
+import com.food.ordering.system.payment.service.domain.config.PaymentServiceConfigData;
 import com.food.ordering.system.payment.service.domain.outbox.model.OrderEventPayload;
 import com.food.ordering.system.payment.service.domain.outbox.model.OrderOutboxMessage;
+import com.food.ordering.system.payment.service.domain.ports.output.message.publisher.PaymentResponseMessagePublisher;
 import com.food.ordering.system.payment.service.domain.ports.output.repository.OrderOutboxRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,10 +34,18 @@ import static com.food.ordering.system.saga.order.SagaConstants.ORDER_SAGA_NAME;
 @Slf4j
 @RequiredArgsConstructor
 @Component
-public class OrderOutboxHelper {
+public class OrderOutboxHelper implements OutboxMessageSource<OrderOutboxMessage> {
 
     private final OrderOutboxRepository orderOutboxRepository;
     private final ObjectMapper objectMapper;
+    private final PaymentResponseMessagePublisher paymentResponseMessagePublisher;
+    private final OutboxAfterCommitPublisher outboxAfterCommitPublisher;
+    private final PaymentServiceConfigData paymentServiceConfigData;
+
+    // 프로듀서 콜백과 버퍼의 flush 는 this 가 아닌 프록시로 호출해야 @Transactional 이 적용된다.
+    private final ObjectProvider<OrderOutboxHelper> orderOutboxHelperProxy;
+
+    private final OutboxStatusUpdateBuffer outboxStatusUpdateBuffer = new OutboxStatusUpdateBuffer(this::updateOutboxStatusByIdsThroughProxy);
 
     @Transactional(readOnly = true)
     public Optional<OrderOutboxMessage> getCompletedOrderOutboxMessageBySagaIdAndPaymentStatus(UUID sagaId,
@@ -46,11 +64,48 @@ public class OrderOutboxHelper {
                 outboxStatus);
     }
 
+    /**
+     * 발행할 outbox 메시지를 오래된 순으로 limit 개 가져오면서 relay 의 in-flight timeout 만큼 lease 를 잡습니다.
+     * lease 가 끝나기 전까지는 다른 인스턴스가 같은 메시지를 가져가지 않고, 발행 결과를 반영하면 lease 가 풀립니다.
+     */
     @Transactional
-    public void deleteOrderOutboxMessageByOutboxStatus(OutboxStatus outboxStatus) {
-        orderOutboxRepository.deleteByTypeAndOutboxStatus(
+    public Optional<List<OrderOutboxMessage>> claimOrderOutboxMessageByOutboxStatus(OutboxStatus outboxStatus, int limit) {
+        return orderOutboxRepository.claimByTypeAndOutboxStatus(
                 ORDER_SAGA_NAME,
-                outboxStatus);
+                outboxStatus,
+                paymentServiceConfigData.getOutboxRetryMaxAttempts(),
+                limit,
+                paymentServiceConfigData.getOutboxRelayInFlightTimeout());
+    }
+
+    @Override
+    @Transactional
+    public List<OrderOutboxMessage> claimOutboxMessages(int limit) {
+        List<OrderOutboxMessage> outboxMessages = new ArrayList<>(
+                claimOrderOutboxMessageByOutboxStatus(OutboxStatus.STARTED, limit)
+                        .orElse(List.of()));
+        // 새 메시지를 먼저 발행하고, 남는 자리는 재시도 시각이 된 FAILED 메시지로 채운다.
+        if (outboxMessages.size() < limit) {
+            orderOutboxRepository.claimRetryableByType(
+                            ORDER_SAGA_NAME,
+                            paymentServiceConfigData.getOutboxRetryMaxAttempts(),
+                            limit - outboxMessages.size(),
+                            paymentServiceConfigData.getOutboxRelayInFlightTimeout())
+                    .ifPresent(outboxMessages::addAll);
+        }
+        return outboxMessages;
+    }
+
+    /**
+     * batch 하나를 자신의 트랜잭션으로 삭제합니다. 전체 삭제는 OutboxCleaner 가 batch 단위로 반복합니다.
+     */
+    @Transactional
+    public int deleteOrderOutboxMessageByOutboxStatusBefore(OutboxStatus outboxStatus, ZonedDateTime createdAt, int limit) {
+        return orderOutboxRepository.deleteByTypeAndOutboxStatusAndCreatedAtBefore(
+                ORDER_SAGA_NAME,
+                outboxStatus,
+                createdAt,
+                limit);
     }
 
     @Transactional
@@ -58,17 +113,24 @@ public class OrderOutboxHelper {
                                        PaymentStatus paymentStatus,
                                        OutboxStatus outboxStatus,
                                        UUID sagaId) {
-        save(OrderOutboxMessage.builder()
+        OrderOutboxMessage orderOutboxMessage = OrderOutboxMessage.builder()
                 .id(UUID.randomUUID())
                 .sagaId(sagaId)
                 .type(ORDER_SAGA_NAME)
                 .payload(createPayload(orderEventPayload))
                 .paymentStatus(paymentStatus)
                 .outboxStatus(outboxStatus)
+                .claimedUntil(claimedUntil(outboxStatus))
                 .createdAt(orderEventPayload.getCreatedAt())
                 .processedAt(ZonedDateTime.now(ZoneId.of(ASIA_SEOUL)))
-                .build());
+                .build();
+        save(orderOutboxMessage);
 
+        // 커밋 직후 바로 발행하고, 놓친 메시지는 OrderOutboxScheduler 가 다시 발행한다.
+        if (outboxStatus == OutboxStatus.STARTED) {
+            outboxAfterCommitPublisher.publishAfterCommit(() ->
+                    paymentResponseMessagePublisher.publish(orderOutboxMessage, orderOutboxHelperProxy.getObject()::updateOutboxStatus));
+        }
     }
 
     @Transactional
@@ -81,11 +143,65 @@ public class OrderOutboxHelper {
         log.info("OrderOutboxMessage 를 저장했습니다. OrderOutboxMessage: {}", orderOutboxMessage.getId());
     }
 
-    @Transactional
+    /**
+     * 프로듀서 콜백에서 호출됩니다. 바로 저장하지 않고 버퍼에 모아두었다가 flushOutboxStatus 에서 한번에 업데이트 합니다.
+     */
     public void updateOutboxStatus(OrderOutboxMessage orderOutboxMessage, OutboxStatus outboxStatus) {
         orderOutboxMessage.setOutboxStatus(outboxStatus);
-        save(orderOutboxMessage);
-        log.info("OrderOutboxMessage 의 OutboxStatus 를 업데이트 했습니다. OrderOutboxMessage: {}", orderOutboxMessage.getId());
+        if (outboxStatusUpdateBuffer.add(orderOutboxMessage.getId(), outboxStatus) >= paymentServiceConfigData.getOutboxSchedulerBatchSize()) {
+            flushOutboxStatus();
+        }
+    }
+
+    @PreDestroy
+    public void flushOutboxStatus() {
+        outboxStatusUpdateBuffer.flush();
+    }
+
+    @Override
+    @Transactional
+    public void updateOutboxStatusByIds(OutboxStatus outboxStatus, List<UUID> ids) {
+        if (outboxStatus == OutboxStatus.FAILED) {
+            // 실패한 메시지는 backoff 가 지나면 claimOutboxMessages 에서 다시 발행된다.
+            orderOutboxRepository.markFailedByIds(ids,
+                    paymentServiceConfigData.getOutboxRetryBackoffBase(),
+                    paymentServiceConfigData.getOutboxRetryBackoffMax());
+        } else {
+            orderOutboxRepository.updateOutboxStatusByIds(outboxStatus, ids);
+        }
+        log.info("OrderOutboxMessage {}개의 OutboxStatus 를 {} 로 업데이트 했습니다.", ids.size(), outboxStatus);
+    }
+
+    @Override
+    @Transactional
+    public void releaseOutboxMessagesByIds(List<UUID> ids) {
+        orderOutboxRepository.releaseClaimsByIds(ids);
+        log.info("OrderOutboxMessage {}개의 lease 를 풀었습니다.", ids.size());
+    }
+
+    private void updateOutboxStatusByIdsThroughProxy(OutboxStatus outboxStatus, List<UUID> ids) {
+        orderOutboxHelperProxy.getObject().updateOutboxStatusByIds(outboxStatus, ids);
+    }
+
+    // DDL 은 문장마다 커밋되도록 트랜잭션 없이 실행한다.
+    public void createOutboxPartitions(LocalDate from, LocalDate to) {
+        orderOutboxRepository.createPartitions(from, to);
+    }
+
+    public int dropOutboxPartitionsBefore(LocalDate before) {
+        return orderOutboxRepository.dropPartitionsBefore(before);
+    }
+
+    @Transactional(readOnly = true)
+    public OutboxBacklog getOutboxBacklog() {
+        return orderOutboxRepository.getBacklog(ORDER_SAGA_NAME, paymentServiceConfigData.getOutboxRetryMaxAttempts());
+    }
+
+    // 커밋 직후 바로 발행할 메시지는 relay 가 같이 가져가지 않도록 lease 를 잡은 채로 저장한다.
+    private ZonedDateTime claimedUntil(OutboxStatus outboxStatus) {
+        return outboxStatus == OutboxStatus.STARTED
+                ? ZonedDateTime.now(ZoneId.of(ASIA_SEOUL)).plus(paymentServiceConfigData.getOutboxRelayInFlightTimeout())
+                : null;
     }
 
     private String createPayload(OrderEventPayload orderEventPayload) {
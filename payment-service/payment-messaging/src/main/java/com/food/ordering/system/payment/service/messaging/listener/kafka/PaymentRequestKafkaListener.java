@@ -1,17 +1,20 @@
 package com.food.ordering.system.payment.service.messaging.listener.kafka;
 
+import com.food.ordering.system.domain.valueobject.PaymentOrderStatus;
 import com.food.ordering.system.kafka.consumer.KafkaConsumer;
-import com.food.ordering.system.kafka.order.avro.model.PaymentOrderStatus;
-import com.food.ordering.system.kafka.order.avro.model.PaymentRequestAvroModel;
+import com.food.ordering.system.kafka.consumer.dispatcher.KeyOrderedBatchDispatcher;
+import com.food.ordering.system.payment.service.domain.dto.PaymentRequest;
 import com.food.ordering.system.payment.service.domain.exception.PaymentApplicationServiceException;
 import com.food.ordering.system.payment.service.domain.exception.PaymentNotFoundException;
 import com.food.ordering.system.payment.service.domain.ports.input.message.listener.PaymentRequestMessageListener;
 import com.food.ordering.system.payment.service.messaging.mapper.PaymentMessagingDataMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.specific.SpecificRecordBase;
 import org.postgresql.util.PSQLState;
 import org.springframework.dao.DataAccessException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
@@ -23,18 +26,20 @@ import java.util.List;
 @Slf4j
 @RequiredArgsConstructor
 @Component
-public class PaymentRequestKafkaListener implements KafkaConsumer<PaymentRequestAvroModel> {
+public class PaymentRequestKafkaListener implements KafkaConsumer<SpecificRecordBase> {
 
     private final PaymentRequestMessageListener paymentRequestMessageListener;
     private final PaymentMessagingDataMapper paymentMessagingDataMapper;
+    private final KeyOrderedBatchDispatcher keyOrderedBatchDispatcher;
 
     @Override
     @KafkaListener(id = "${kafka-consumer-config.payment-consumer-group-id}",
             topics = "${payment-service.payment-request-topic-name}")
-    public void receive(@Payload List<PaymentRequestAvroModel> messages,
+    public void receive(@Payload List<SpecificRecordBase> messages,
                         @Header(KafkaHeaders.RECEIVED_KEY) List<String> keys,
                         @Header(KafkaHeaders.RECEIVED_PARTITION) List<Integer> partitions,
-                        @Header(KafkaHeaders.OFFSET) List<Long> offsets) {
+                        @Header(KafkaHeaders.OFFSET) List<Long> offsets,
+                        Acknowledgment acknowledgment) {
 log.info("{}개의 메시지수신 ... messages='{}' key='{}' partitions='{}' and offset='{}'",
                 messages.size()
                 , messages
@@ -42,18 +47,16 @@ log.info("{}개의 메시지수신 ... messages='{}' key='{}' partitions='{}' an
                 , partitions.toString()
                 , offsets.toString());
 
-        messages.forEach(paymentRequestAvroModel -> {
+        keyOrderedBatchDispatcher.dispatch(messages, keys, acknowledgment, message -> {
+            // v1, v2 avro 모델로 들어온 메시지를 한가지 DTO 로 맞춘다.
+            PaymentRequest paymentRequest = paymentMessagingDataMapper.paymentRequestMessageToPaymentRequest(message);
             try {
-                if(paymentRequestAvroModel.getPaymentOrderStatus() == PaymentOrderStatus.PENDING) {
-                    log.info("주문결제요청을 처리중입니다. order id: {}", paymentRequestAvroModel.getOrderId());
-                    paymentRequestMessageListener.completePayment(
-                            paymentMessagingDataMapper.paymentRequestAvroModelToPaymentRequest(paymentRequestAvroModel)
-                    );
-                }else if (paymentRequestAvroModel.getPaymentOrderStatus() == PaymentOrderStatus.CANCELLED) {
-                    log.info("주문결제요청을 취소합니다. order id: {}", paymentRequestAvroModel.getOrderId());
-                    paymentRequestMessageListener.cancelPayment(
-                            paymentMessagingDataMapper.paymentRequestAvroModelToPaymentRequest(paymentRequestAvroModel)
-                    );
+                if(paymentRequest.getPaymentOrderStatus() == PaymentOrderStatus.PENDING) {
+                    log.info("주문결제요청을 처리중입니다. order id: {}", paymentRequest.getOrderId());
+                    paymentRequestMessageListener.completePayment(paymentRequest);
+                }else if (paymentRequest.getPaymentOrderStatus() == PaymentOrderStatus.CANCELLED) {
+                    log.info("주문결제요청을 취소합니다. order id: {}", paymentRequest.getOrderId());
+                    paymentRequestMessageListener.cancelPayment(paymentRequest);
                 }
             } catch (DataAccessException e) {
                 SQLException sqlException = (SQLException) e.getRootCause();
@@ -62,13 +65,31 @@ log.info("{}개의 메시지수신 ... messages='{}' key='{}' partitions='{}' an
                         && PSQLState.UNIQUE_VIOLATION.getState().equals(sqlException.getSQLState())) {
                     log.error("주문결제요청이 중복되었습니다.UNIQUE_VIOLATION:{} order id: {}",
                             sqlException.getSQLState(),
-                            paymentRequestAvroModel.getOrderId());
+                            paymentRequest.getOrderId());
                 }else {
                     throw new PaymentApplicationServiceException("주문결제요청 처리중 예외에러가 발생했습니다." + e.getMessage(),e);
                 }
             }catch (PaymentNotFoundException e) {
-                log.error("주문결제요청을 찾지 못했습니다. orderId: {}", paymentRequestAvroModel.getOrderId());
+                log.error("주문결제요청을 찾지 못했습니다. orderId: {}", paymentRequest.getOrderId());
             }
         });
     }
+
+    // retry 단계마다 컨테이너를 따로 둬서 지연 시간이 긴 단계가 짧은 단계를 막지 않게 한다.
+    @Override
+    @KafkaListener(id = "${kafka-consumer-config.payment-consumer-group-id}-retry-1",
+            topics = "${payment-service.payment-request-topic-name}-retry-1",
+            containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(id = "${kafka-consumer-config.payment-consumer-group-id}-retry-2",
+            topics = "${payment-service.payment-request-topic-name}-retry-2",
+            containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(id = "${kafka-consumer-config.payment-consumer-group-id}-retry-3",
+            topics = "${payment-service.payment-request-topic-name}-retry-3",
+            containerFactory = "retryKafkaListenerContainerFactory")
+    public void receiveRetry(@Payload SpecificRecordBase message,
+                             @Header(KafkaHeaders.RECEIVED_KEY) String key,
+                             @Header(KafkaHeaders.RECEIVED_PARTITION) Integer partition,
+                             @Header(KafkaHeaders.OFFSET) Long offset) {
+        receive(List.of(message), List.of(key), List.of(partition), List.of(offset), null);
+    }
 }
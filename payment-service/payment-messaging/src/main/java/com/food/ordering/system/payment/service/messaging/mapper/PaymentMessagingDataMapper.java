@@ -1,18 +1,38 @@
 package com.food.ordering.system.payment.service.messaging.mapper;
 
+import com.food.ordering.system.domain.valueobject.PaymentOrderStatus;
+import com.food.ordering.system.kafka.order.avro.converter.UuidConverter;
 import com.food.ordering.system.kafka.order.avro.model.PaymentRequestAvroModel;
+import com.food.ordering.system.kafka.order.avro.model.PaymentRequestAvroModelV2;
 import com.food.ordering.system.kafka.order.avro.model.PaymentResponseAvroModel;
+import com.food.ordering.system.kafka.order.avro.model.PaymentResponseAvroModelV2;
 import com.food.ordering.system.kafka.order.avro.model.PaymentStatus;
+import com.food.ordering.system.kafka.producer.service.service.AvroSchemaVersionSelector;
 import com.food.ordering.system.payment.service.domain.dto.PaymentRequest;
 import com.food.ordering.system.payment.service.domain.outbox.model.OrderEventPayload;
+import lombok.RequiredArgsConstructor;
+import org.apache.avro.specific.SpecificRecordBase;
 import org.springframework.stereotype.Component;
 
 import java.util.UUID;
 
 
 @Component
+@RequiredArgsConstructor
 public class PaymentMessagingDataMapper {
 
+    private final AvroSchemaVersionSelector avroSchemaVersionSelector;
+
+    /**
+     * value-schema-version 에 따라 v1 또는 v2 스키마의 결제응답 메시지를 만듭니다.
+     */
+    public SpecificRecordBase orderEventPayloadToPaymentResponseMessage(String sagaId,
+                                                                        OrderEventPayload orderEventPayload) {
+        return avroSchemaVersionSelector.select(
+                () -> orderEventPayloadToPaymentResponseAvroModel(sagaId, orderEventPayload),
+                () -> orderEventPayloadToPaymentResponseAvroModelV2(sagaId, orderEventPayload));
+    }
+
     public PaymentResponseAvroModel orderEventPayloadToPaymentResponseAvroModel(String SagaId,
                                                                                 OrderEventPayload orderEventPayload) {
         return PaymentResponseAvroModel.newBuilder()
@@ -28,12 +48,55 @@ public class PaymentMessagingDataMapper {
                 .build();
     }
 
+    public PaymentResponseAvroModelV2 orderEventPayloadToPaymentResponseAvroModelV2(String sagaId,
+                                                                                    OrderEventPayload orderEventPayload) {
+        return PaymentResponseAvroModelV2.newBuilder()
+                .setId(UuidConverter.toUuid(UUID.randomUUID()))
+                .setSagaId(UuidConverter.toUuid(sagaId))
+                .setPaymentId(UuidConverter.toUuid(orderEventPayload.getPaymentId()))
+                .setCustomerId(UuidConverter.toUuid(orderEventPayload.getCustomerId()))
+                .setOrderId(UuidConverter.toUuid(orderEventPayload.getOrderId()))
+                .setPrice(orderEventPayload.getPrice())
+                .setCreatedAt(orderEventPayload.getCreatedAt().toInstant())
+                .setPaymentStatus(PaymentStatus.valueOf(orderEventPayload.getPaymentStatus()))
+                .setFailureMessages(orderEventPayload.getFailureMessages())
+                .build();
+    }
+
+    /**
+     * 리스너가 받은 v1, v2 avro 모델을 PaymentRequest 로 바꿉니다.
+     */
+    public PaymentRequest paymentRequestMessageToPaymentRequest(SpecificRecordBase message) {
+        if (message instanceof PaymentRequestAvroModelV2 paymentRequestAvroModelV2) {
+            return paymentRequestAvroModelV2ToPaymentRequest(paymentRequestAvroModelV2);
+        }
+        if (message instanceof PaymentRequestAvroModel paymentRequestAvroModel) {
+            return paymentRequestAvroModelToPaymentRequest(paymentRequestAvroModel);
+        }
+        throw new IllegalArgumentException("결제요청 메시지가 아닙니다: " + message.getSchema().getFullName());
+    }
+
+    public PaymentRequest paymentRequestAvroModelV2ToPaymentRequest(PaymentRequestAvroModelV2 paymentRequestAvroModelV2) {
+        return PaymentRequest.builder()
+                .id(UuidConverter.fromUuid(paymentRequestAvroModelV2.getId()).toString())
+                .sagaId(UuidConverter.fromUuid(paymentRequestAvroModelV2.getSagaId()).toString())
+                .orderId(UuidConverter.fromUuid(paymentRequestAvroModelV2.getOrderId()).toString())
+                .customerId(UuidConverter.fromUuid(paymentRequestAvroModelV2.getCustomerId()).toString())
+                .price(paymentRequestAvroModelV2.getPrice())
+                .createdAt(paymentRequestAvroModelV2.getCreatedAt())
+                .paymentOrderStatus(PaymentOrderStatus.valueOf(paymentRequestAvroModelV2.getPaymentOrderStatus().name()))
+                .build();
+    }
 
     public PaymentRequest paymentRequestAvroModelToPaymentRequest(PaymentRequestAvroModel paymentRequestAvroModel) {
         return PaymentRequest.builder()
+                .id(paymentRequestAvroModel.getId().toString())
+                .sagaId(paymentRequestAvroModel.getSagaId().toString())
                 .orderId(paymentRequestAvroModel.getOrderId().toString())
                 .customerId(paymentRequestAvroModel.getCustomerId().toString())
                 .price(paymentRequestAvroModel.getPrice())
+                .createdAt(paymentRequestAvroModel.getCreatedAt())
+                .paymentOrderStatus(PaymentOrderStatus.valueOf(paymentRequestAvroModel.getPaymentOrderStatus().name()))
                 .build();
     }
 
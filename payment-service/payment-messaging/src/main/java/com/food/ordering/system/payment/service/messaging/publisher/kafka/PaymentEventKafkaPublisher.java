@@ -1,6 +1,7 @@
 package com.food.ordering.system.payment.service.messaging.publisher.kafka;
 
-import com.food.ordering.system.kafka.order.avro.model.PaymentResponseAvroModel;
+import com.food.ordering.system.kafka.producer.service.dto.KafkaBatchRecord;
+import com.food.ordering.system.kafka.producer.service.exception.KafkaProducerException;
 import com.food.ordering.system.kafka.producer.service.service.KafkaMessageHelper;
 import com.food.ordering.system.kafka.producer.service.service.KafkaProducer;
 import com.food.ordering.system.outbox.OutboxStatus;
@@ -11,8 +12,13 @@ import com.food.ordering.system.payment.service.domain.ports.output.message.publ
 import com.food.ordering.system.payment.service.messaging.mapper.PaymentMessagingDataMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.specific.SpecificRecordBase;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.BiConsumer;
 
 @Slf4j
@@ -22,7 +28,7 @@ public class PaymentEventKafkaPublisher implements PaymentResponseMessagePublish
 
     private final PaymentMessagingDataMapper paymentMessagingDataMapper;
     private final PaymentServiceConfigData paymentServiceConfigData;
-    private final KafkaProducer<String, PaymentResponseAvroModel> kafkaProducer;
+    private final KafkaProducer<String, SpecificRecordBase> kafkaProducer;
     private final KafkaMessageHelper kafkaMessageHelper;
 
     @Override
@@ -41,8 +47,8 @@ public class PaymentEventKafkaPublisher implements PaymentResponseMessagePublish
                 SagaId);
 
         try {
-            PaymentResponseAvroModel paymentResponseAvroModel =
-                    paymentMessagingDataMapper.orderEventPayloadToPaymentResponseAvroModel(
+            SpecificRecordBase paymentResponseAvroModel =
+                    paymentMessagingDataMapper.orderEventPayloadToPaymentResponseMessage(
                             SagaId,
                             orderEventPayload
                     );
@@ -61,10 +67,44 @@ public class PaymentEventKafkaPublisher implements PaymentResponseMessagePublish
             log.info("PaymentResponseAvroModel 이 성공적으로 발행되었습니다. orderId: {} SagaId: {}",
                     orderEventPayload.getOrderId(),
                     SagaId);
+        } catch (KafkaProducerException e) {
+            log.warn("saga ID: {}에 대한 PaymentResponseAvroModel 전송이 거절되었습니다: {}", SagaId, e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("PaymentResponseAvroModel 발행 중 에러가 발생했습니다. orderId: {} SagaId: {}",
                     orderEventPayload.getOrderId(),
                     SagaId);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void publishBatch(List<OrderOutboxMessage> orderOutboxMessages,
+                             BiConsumer<OrderOutboxMessage, OutboxStatus> outboxCallback) {
+        List<KafkaBatchRecord<String, SpecificRecordBase, OrderOutboxMessage>> records = new ArrayList<>();
+        Set<String> failedSagaIds = new HashSet<>();
+        for (OrderOutboxMessage orderOutboxMessage : orderOutboxMessages) {
+            String sagaId = orderOutboxMessage.getSagaId().toString();
+            // 앞 메시지가 실패한 saga 의 뒤 메시지를 먼저 보내면 순서가 바뀌므로 같이 실패로 처리한다.
+            if (failedSagaIds.contains(sagaId)) {
+                outboxCallback.accept(orderOutboxMessage, OutboxStatus.FAILED);
+                continue;
+            }
+            try {
+                OrderEventPayload orderEventPayload =
+                        kafkaMessageHelper.getOrderEventPayload(orderOutboxMessage.getPayload(), OrderEventPayload.class);
+                records.add(new KafkaBatchRecord<>(sagaId,
+                        paymentMessagingDataMapper.orderEventPayloadToPaymentResponseMessage(sagaId, orderEventPayload),
+                        orderOutboxMessage));
+            } catch (Exception e) {
+                // 변환할 수 없는 메시지는 batch 에서 빼고 실패로 처리한다.
+                log.error("saga ID: {}에 대한 PaymentResponseAvroModel 변환 실패", sagaId, e);
+                failedSagaIds.add(sagaId);
+                outboxCallback.accept(orderOutboxMessage, OutboxStatus.FAILED);
+            }
+        }
+
+        String topicName = paymentServiceConfigData.getPaymentResponseTopicName();
+        kafkaMessageHelper.sendBatch(records, batch -> kafkaProducer.sendBatch(topicName, batch), outboxCallback);
+        log.info("PaymentResponseAvroModel {}개를 batch 로 발행중입니다.", records.size());
+    }
+}
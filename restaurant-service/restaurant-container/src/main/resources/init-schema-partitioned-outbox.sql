@@ -0,0 +1,79 @@
+-- outbox 테이블을 created_at 기준 일 단위 range 파티션으로 다시 만듭니다.
+-- init-schema.sql 이후에 실행하고, restaurant-service.outbox-partition-enabled 를 true 로 설정해야 합니다.
+-- 파티션({테이블}_pyyyyMMdd)은 cleaner scheduler 가 미리 만들고, 보관 기간이 지나면 DROP 합니다.
+-- 파티션이 아직 없는 시간대의 메시지는 default 파티션에 저장됩니다.
+-- 파티션 테이블의 unique index 에는 파티션 키가 포함되어야 해서 중복 메시지 검사에 쓸 수 없으므로,
+-- 파티셔닝 하지 않은 order_outbox_dedup 테이블에 trigger 로 키를 먼저 넣어 unique violation 을 발생시킵니다.
+-- dedup row 는 같은 날짜의 파티션을 DROP 할 때 함께 삭제됩니다.
+
+DROP TABLE IF EXISTS restaurant.order_outbox CASCADE;
+
+CREATE TABLE restaurant.order_outbox
+(
+    id uuid NOT NULL,
+    saga_id uuid NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    processed_at TIMESTAMP WITH TIME ZONE,
+    type character varying COLLATE pg_catalog."default" NOT NULL,
+    payload jsonb NOT NULL,
+    outbox_status outbox_status NOT NULL,
+    approval_status approval_status NOT NULL,
+    attempt_count integer NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE,
+    claimed_until TIMESTAMP WITH TIME ZONE,
+    version integer NOT NULL,
+    CONSTRAINT order_outbox_pkey PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE restaurant.order_outbox_default PARTITION OF restaurant.order_outbox DEFAULT;
+
+CREATE INDEX "restaurant_order_outbox_saga_status"
+    ON "restaurant".order_outbox
+        (type, approval_status);
+
+CREATE INDEX "restaurant_order_outbox_outbox_status"
+    ON "restaurant".order_outbox
+        (type, outbox_status, created_at);
+
+CREATE INDEX "restaurant_order_outbox_next_attempt"
+    ON "restaurant".order_outbox
+        (type, outbox_status, next_attempt_at);
+
+CREATE INDEX "restaurant_order_outbox_id"
+    ON "restaurant".order_outbox
+        (id);
+
+DROP TABLE IF EXISTS restaurant.order_outbox_dedup CASCADE;
+
+CREATE TABLE restaurant.order_outbox_dedup
+(
+    type character varying COLLATE pg_catalog."default" NOT NULL,
+    saga_id uuid NOT NULL,
+    approval_status approval_status NOT NULL,
+    outbox_status outbox_status NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT order_outbox_dedup_pkey PRIMARY KEY (type, saga_id, approval_status, outbox_status)
+);
+
+CREATE INDEX "restaurant_order_outbox_dedup_created_at"
+    ON "restaurant".order_outbox_dedup
+        (created_at);
+
+DROP function IF EXISTS restaurant.insert_order_outbox_dedup;
+
+CREATE OR replace function restaurant.insert_order_outbox_dedup()
+    returns trigger
+AS
+'
+    BEGIN
+        INSERT INTO restaurant.order_outbox_dedup (type, saga_id, approval_status, outbox_status, created_at)
+        VALUES (NEW.type, NEW.saga_id, NEW.approval_status, NEW.outbox_status, NEW.created_at);
+        return NEW;
+    END;
+' LANGUAGE plpgsql;
+
+CREATE trigger insert_order_outbox_dedup
+    before INSERT
+    ON restaurant.order_outbox
+    FOR each row
+EXECUTE PROCEDURE restaurant.insert_order_outbox_dedup();
@@ -75,6 +75,9 @@ CREATE TABLE restaurant.order_outbox
     payload jsonb NOT NULL,
     outbox_status outbox_status NOT NULL,
     approval_status approval_status NOT NULL,
+    attempt_count integer NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE,
+    claimed_until TIMESTAMP WITH TIME ZONE,
     version integer NOT NULL,
     CONSTRAINT order_outbox_pkey PRIMARY KEY (id)
 );
@@ -83,6 +86,14 @@ CREATE INDEX "restaurant_order_outbox_saga_status"
     ON "restaurant".order_outbox
         (type, approval_status);
 
+CREATE INDEX "restaurant_order_outbox_outbox_status"
+    ON "restaurant".order_outbox
+        (type, outbox_status, created_at);
+
+CREATE INDEX "restaurant_order_outbox_next_attempt"
+    ON "restaurant".order_outbox
+        (type, outbox_status, next_attempt_at);
+
 CREATE UNIQUE INDEX "restaurant_order_outbox_saga_id"
     ON "restaurant".order_outbox
         (type, saga_id, approval_status, outbox_status);
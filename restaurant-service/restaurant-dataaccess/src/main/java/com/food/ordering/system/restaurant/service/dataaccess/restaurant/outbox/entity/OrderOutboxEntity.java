@@ -2,6 +2,7 @@ package com.food.ordering.system.restaurant.service.dataaccess.restaurant.outbox
 
 import com.food.ordering.system.domain.valueobject.OrderApprovalStatus;
 import com.food.ordering.system.outbox.OutboxStatus;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -35,5 +36,7 @@ public class OrderOutboxEntity {
     private OutboxStatus outboxStatus;
     @Enumerated(EnumType.STRING)
     private OrderApprovalStatus approvalStatus;
+    @Column(updatable = false)
+    private ZonedDateTime claimedUntil;
     private int version;
 }
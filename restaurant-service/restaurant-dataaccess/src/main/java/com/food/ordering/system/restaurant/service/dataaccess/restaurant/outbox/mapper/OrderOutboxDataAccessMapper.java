@@ -16,6 +16,7 @@ public class OrderOutboxDataAccessMapper {
                 .payload(orderOutboxMessage.getPayload())
                 .outboxStatus(orderOutboxMessage.getOutboxStatus())
                 .approvalStatus(orderOutboxMessage.getApprovalStatus())
+                .claimedUntil(orderOutboxMessage.getClaimedUntil())
                 .version(orderOutboxMessage.getVersion())
                 .build();
     }
@@ -29,6 +30,7 @@ public class OrderOutboxDataAccessMapper {
                 .payload(orderOutboxEntity.getPayload())
                 .outboxStatus(orderOutboxEntity.getOutboxStatus())
                 .approvalStatus(orderOutboxEntity.getApprovalStatus())
+                .claimedUntil(orderOutboxEntity.getClaimedUntil())
                 .version(orderOutboxEntity.getVersion())
                 .build();
     }
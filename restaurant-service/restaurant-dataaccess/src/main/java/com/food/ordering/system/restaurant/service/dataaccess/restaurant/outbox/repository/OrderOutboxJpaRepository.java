@@ -1,10 +1,16 @@
 package com.food.ordering.system.restaurant.service.dataaccess.restaurant.outbox.repository;
 
+import com.food.ordering.system.dataaccess.outbox.OutboxBacklogView;
 import com.food.ordering.system.outbox.OutboxStatus;
 import com.food.ordering.system.restaurant.service.dataaccess.restaurant.outbox.entity.OrderOutboxEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,8 +20,122 @@ public interface OrderOutboxJpaRepository extends JpaRepository<OrderOutboxEntit
 
     Optional<List<OrderOutboxEntity>> findByTypeAndOutboxStatus(String type, OutboxStatus outboxStatus);
 
+    /**
+     * 발행 대기중인 outbox 를 오래된 순으로 limit 개 가져오면서 claimed_until 을 lease 만큼 뒤로 미룹니다.
+     * 잠금은 커밋하면 풀리기 때문에 claimed_until 이 지나기 전까지는 다른 인스턴스가 같은 row 를 다시 가져가지 않고,
+     * 같은 saga 에 lease 중인 메시지나 먼저 만들어졌는데 아직 발행되지 않은 메시지(STARTED, 재시도가 남은 FAILED)가 있으면
+     * 순서가 바뀌지 않도록 가져가지 않습니다.
+     */
+    @Query(value = "WITH claimed AS (" +
+            "UPDATE order_outbox SET claimed_until = now() + make_interval(secs => :leaseMs / 1000.0) " +
+            "WHERE id IN (" +
+            "SELECT candidate.id FROM order_outbox candidate " +
+            "WHERE candidate.type = :type AND candidate.outbox_status = :outboxStatus " +
+            "AND (candidate.claimed_until IS NULL OR candidate.claimed_until < now()) " +
+            "AND NOT EXISTS (SELECT 1 FROM order_outbox earlier " +
+            "WHERE earlier.type = candidate.type AND earlier.saga_id = candidate.saga_id AND earlier.id <> candidate.id " +
+            "AND (earlier.outbox_status = 'STARTED' OR (earlier.outbox_status = 'FAILED' AND earlier.attempt_count < :maxAttempts)) " +
+            "AND (earlier.claimed_until >= now() OR earlier.created_at < candidate.created_at)) " +
+            "ORDER BY candidate.created_at " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED) " +
+            "RETURNING *) " +
+            "SELECT * FROM claimed ORDER BY created_at", nativeQuery = true)
+    List<OrderOutboxEntity> claimByTypeAndOutboxStatus(@Param("type") String type,
+                                                       @Param("outboxStatus") String outboxStatus,
+                                                       @Param("maxAttempts") int maxAttempts,
+                                                       @Param("limit") int limit,
+                                                       @Param("leaseMs") long leaseMs);
+
     Optional<OrderOutboxEntity> findByTypeAndSagaIdAndOutboxStatus(String type, UUID sagaId, OutboxStatus outboxStatus);
 
-    void deleteByTypeAndOutboxStatus(String type, OutboxStatus outboxStatus);
+    /**
+     * created_at 이 createdAt 이전인 처리 완료된 outbox 를 최대 limit 개 삭제합니다.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM order_outbox WHERE id IN (" +
+            "SELECT id FROM order_outbox " +
+            "WHERE type = :type AND outbox_status = :outboxStatus AND created_at < :createdAt " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int deleteByTypeAndOutboxStatusAndCreatedAtBefore(@Param("type") String type,
+                                                      @Param("outboxStatus") String outboxStatus,
+                                                      @Param("createdAt") ZonedDateTime createdAt,
+                                                      @Param("limit") int limit);
+
+    /**
+     * 프로듀서 콜백으로 모아둔 outbox id 들의 상태를 UPDATE 한번으로 변경합니다.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE order_outbox SET outbox_status = :outboxStatus, claimed_until = NULL, version = version + 1 " +
+            "WHERE id = ANY(:ids)", nativeQuery = true)
+    int updateOutboxStatusByIds(@Param("outboxStatus") String outboxStatus,
+                                @Param("ids") UUID[] ids);
+
+    /**
+     * 가져왔지만 발행하지 않은 outbox 의 claimed_until 을 비워서 다음 claim 에서 바로 다시 가져갈 수 있게 합니다.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE order_outbox SET claimed_until = NULL " +
+            "WHERE id = ANY(:ids) AND outbox_status IN ('STARTED', 'FAILED')", nativeQuery = true)
+    int releaseClaimsByIds(@Param("ids") UUID[] ids);
+
+    /**
+     * 발행 대기중(STARTED)인 메시지 수, 그 중 가장 오래된 메시지의 나이(초), FAILED 메시지 수와
+     * 그 중 최대 시도 횟수를 넘어서 더 이상 재시도하지 않는 메시지 수를 한번에 조회합니다.
+     */
+    @Query(value = "SELECT count(*) FILTER (WHERE outbox_status = 'STARTED') AS \"pendingCount\", " +
+            "count(*) FILTER (WHERE outbox_status = 'FAILED') AS \"failedCount\", " +
+            "count(*) FILTER (WHERE outbox_status = 'FAILED' AND attempt_count >= :maxAttempts) AS \"exhaustedCount\", " +
+            "COALESCE(EXTRACT(EPOCH FROM now() - min(created_at) FILTER (WHERE outbox_status = 'STARTED')), 0) " +
+            "AS \"oldestPendingAgeSeconds\" " +
+            "FROM order_outbox " +
+            "WHERE type = :type AND outbox_status IN ('STARTED', 'FAILED')", nativeQuery = true)
+    OutboxBacklogView getBacklogByType(@Param("type") String type,
+                                        @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * 재시도 시각(next_attempt_at)이 지났고 최대 시도 횟수를 넘지 않은 FAILED outbox 를 limit 개 가져오면서
+     * claimed_until 을 lease 만큼 뒤로 미룹니다. 발행 결과를 받기 전까지 다른 인스턴스가 같은 row 를 다시 가져가지 않습니다.
+     * 새 메시지와 같은 조건으로, 같은 saga 의 앞 메시지가 발행되기 전에는 가져가지 않습니다.
+     */
+    @Query(value = "WITH claimed AS (" +
+            "UPDATE order_outbox SET claimed_until = now() + make_interval(secs => :leaseMs / 1000.0) " +
+            "WHERE id IN (" +
+            "SELECT candidate.id FROM order_outbox candidate " +
+            "WHERE candidate.type = :type AND candidate.outbox_status = 'FAILED' " +
+            "AND candidate.attempt_count < :maxAttempts AND candidate.next_attempt_at <= now() " +
+            "AND (candidate.claimed_until IS NULL OR candidate.claimed_until < now()) " +
+            "AND NOT EXISTS (SELECT 1 FROM order_outbox earlier " +
+            "WHERE earlier.type = candidate.type AND earlier.saga_id = candidate.saga_id AND earlier.id <> candidate.id " +
+            "AND (earlier.outbox_status = 'STARTED' OR (earlier.outbox_status = 'FAILED' AND earlier.attempt_count < :maxAttempts)) " +
+            "AND (earlier.claimed_until >= now() OR earlier.created_at < candidate.created_at)) " +
+            "ORDER BY candidate.next_attempt_at " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED) " +
+            "RETURNING *) " +
+            "SELECT * FROM claimed ORDER BY next_attempt_at", nativeQuery = true)
+    List<OrderOutboxEntity> claimRetryableByType(@Param("type") String type,
+                                                 @Param("maxAttempts") int maxAttempts,
+                                                 @Param("limit") int limit,
+                                                 @Param("leaseMs") long leaseMs);
 
+    /**
+     * 발행에 실패한 outbox 를 FAILED 로 바꾸면서 시도 횟수를 올리고 다음 시도 시각을 정합니다.
+     * 다음 시도까지의 간격은 min(backoffBase * 2^시도횟수, backoffMax) 의 50~100% 사이에서 row 마다 무작위로 정해서
+     * 같이 실패한 메시지들이 한꺼번에 다시 발행되지 않게 합니다.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE order_outbox SET outbox_status = 'FAILED', claimed_until = NULL, version = version + 1, " +
+            "attempt_count = attempt_count + 1, " +
+            "next_attempt_at = now() + make_interval(secs => " +
+            "least(:backoffBaseMs * power(2, attempt_count), :backoffMaxMs) * (0.5 + random() / 2) / 1000.0) " +
+            "WHERE id = ANY(:ids)", nativeQuery = true)
+    int markFailedByIds(@Param("ids") UUID[] ids,
+                        @Param("backoffBaseMs") long backoffBaseMs,
+                        @Param("backoffMaxMs") long backoffMaxMs);
 }
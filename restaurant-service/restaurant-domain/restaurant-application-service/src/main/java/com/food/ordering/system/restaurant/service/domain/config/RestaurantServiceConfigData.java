@@ -4,10 +4,23 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "restaurant-service")
 public class RestaurantServiceConfigData {
     private String restaurantApprovalRequestTopicName;
     private String restaurantApprovalResponseTopicName;
+    private int outboxSchedulerBatchSize;
+    private int outboxRelayMaxInFlight;
+    private Duration outboxRelayInFlightTimeout;
+    private boolean outboxRelayBatchPublishEnabled;
+    private int outboxRetryMaxAttempts;
+    private Duration outboxRetryBackoffBase;
+    private Duration outboxRetryBackoffMax;
+    private Duration outboxCleanerRetention;
+    private int outboxCleanerBatchSize;
+    private boolean outboxPartitionEnabled;
+    private int outboxPartitionPrecreateDays;
 }
@@ -23,5 +23,6 @@ public class OrderOutboxMessage {
     @Setter
     private OutboxStatus outboxStatus;
     private OrderApprovalStatus approvalStatus;
+    private ZonedDateTime claimedUntil;
     private int version;
 }
@@ -1,14 +1,20 @@
 package com.food.ordering.system.restaurant.service.domain.outbox.scheduler;
 
+import com.food.ordering.system.outbox.OutboxCleaner;
 import com.food.ordering.system.outbox.OutboxScheduler;
 import com.food.ordering.system.outbox.OutboxStatus;
-import com.food.ordering.system.restaurant.service.domain.outbox.model.OrderOutboxMessage;
+import com.food.ordering.system.restaurant.service.domain.config.RestaurantServiceConfigData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.stream.Collectors;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static com.food.ordering.system.domain.DomainConstants.ASIA_SEOUL;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -16,19 +22,35 @@ import java.util.stream.Collectors;
 public class OrderOutboxCleanerScheduler implements OutboxScheduler {
 
     private final OrderOutboxHelper orderOutboxHelper;
+    private final RestaurantServiceConfigData restaurantServiceConfigData;
+    private final OutboxCleaner outboxCleaner;
 
+    // 전체를 하나의 트랜잭션으로 묶지 않고 batch 마다 OrderOutboxHelper 의 트랜잭션으로 삭제한다.
     @Override
     @Scheduled(cron = "@midnight")
     public void processOutboxMessage() {
-        orderOutboxHelper.getOrderOutboxMessageByOutboxStatus(OutboxStatus.COMPLETED)
-                .ifPresent(outboxMessages -> {
-                    log.info("삭제할 OrderOutbox 메시지를 {}개 수신했습니다. OrderOutboxMessage 페이로드{}",
-                            outboxMessages.size(),
-                            outboxMessages.stream()
-                                    .map(OrderOutboxMessage::getPayload)
-                                    .collect(Collectors.joining(", ")));
-                    orderOutboxHelper.deleteOrderOutboxMessageByOutboxStatus(OutboxStatus.COMPLETED);
-                    log.info("OrderOutbox 메시지를 {}개 삭제했습니다.", outboxMessages.size());
-                });
+        ZonedDateTime createdAt = ZonedDateTime.now(ZoneId.of(ASIA_SEOUL))
+                .minus(restaurantServiceConfigData.getOutboxCleanerRetention());
+        if (restaurantServiceConfigData.isOutboxPartitionEnabled()) {
+            int dropped = orderOutboxHelper.dropOutboxPartitionsBefore(createdAt.toLocalDate());
+            log.info("OrderOutbox 에서 {}개의 파티션을 삭제했습니다.", dropped);
+            return;
+        }
+        outboxCleaner.clean("OrderOutbox",
+                restaurantServiceConfigData.getOutboxCleanerBatchSize(),
+                limit -> orderOutboxHelper.deleteOrderOutboxMessageByOutboxStatusBefore(
+                        OutboxStatus.COMPLETED,
+                        createdAt,
+                        limit));
+    }
+
+    // 파티셔닝을 사용하는 경우 outbox-partition-precreate-days 만큼의 파티션을 미리 만들어 둔다.
+    @Scheduled(initialDelay = 0, fixedRate = 1, timeUnit = TimeUnit.HOURS)
+    public void createOutboxPartitions() {
+        if (!restaurantServiceConfigData.isOutboxPartitionEnabled()) {
+            return;
+        }
+        LocalDate today = LocalDate.now(ZoneId.of(ASIA_SEOUL));
+        orderOutboxHelper.createOutboxPartitions(today, today.plusDays(restaurantServiceConfigData.getOutboxPartitionPrecreateDays()));
     }
 }
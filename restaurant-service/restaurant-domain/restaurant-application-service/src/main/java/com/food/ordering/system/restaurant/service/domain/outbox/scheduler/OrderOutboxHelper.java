@@ -3,18 +3,28 @@ package com.food.ordering.system.restaurant.service.domain.outbox.scheduler;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.food.ordering.system.domain.valueobject.OrderApprovalStatus;
+import com.food.ordering.system.outbox.OutboxAfterCommitPublisher;
+import com.food.ordering.system.outbox.OutboxBacklog;
+import com.food.ordering.system.outbox.OutboxMessageSource;
 import com.food.ordering.system.outbox.OutboxStatus;
+import com.food.ordering.system.outbox.OutboxStatusUpdateBuffer;
+import com.food.ordering.system.restaurant.service.domain.config.RestaurantServiceConfigData;
 import com.food.ordering.system.restaurant.service.domain.exception.RestaurantDomainException;
 import com.food.ordering.system.restaurant.service.domain.outbox.model.OrderEventPayload;
 import com.food.ordering.system.restaurant.service.domain.outbox.model.OrderOutboxMessage;
+import com.food.ordering.system.restaurant.service.domain.ports.output.message.publisher.RestaurantApprovalResponseMessagePublisher;
 import com.food.ordering.system.restaurant.service.domain.ports.output.repository.OrderOutboxRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,10 +35,18 @@ import static com.food.ordering.system.saga.order.SagaConstants.ORDER_SAGA_NAME;
 @Slf4j
 @RequiredArgsConstructor
 @Component
-public class OrderOutboxHelper {
+public class OrderOutboxHelper implements OutboxMessageSource<OrderOutboxMessage> {
 
     private final OrderOutboxRepository orderOutboxRepository;
     private final ObjectMapper objectMapper;
+    private final RestaurantApprovalResponseMessagePublisher restaurantApprovalResponseMessagePublisher;
+    private final OutboxAfterCommitPublisher outboxAfterCommitPublisher;
+    private final RestaurantServiceConfigData restaurantServiceConfigData;
+
+    // 프로듀서 콜백과 버퍼의 flush 는 this 가 아닌 프록시로 호출해야 @Transactional 이 적용된다.
+    private final ObjectProvider<OrderOutboxHelper> orderOutboxHelperProxy;
+
+    private final OutboxStatusUpdateBuffer outboxStatusUpdateBuffer = new OutboxStatusUpdateBuffer(this::updateOutboxStatusByIdsThroughProxy);
 
 
     @Transactional(readOnly = true)
@@ -42,9 +60,45 @@ public class OrderOutboxHelper {
         return orderOutboxRepository.findByTypeAndOutboxStatus(ORDER_SAGA_NAME, outboxStatus);
     }
 
+    /**
+     * 발행할 outbox 메시지를 오래된 순으로 limit 개 가져오면서 relay 의 in-flight timeout 만큼 lease 를 잡습니다.
+     * lease 가 끝나기 전까지는 다른 인스턴스가 같은 메시지를 가져가지 않고, 발행 결과를 반영하면 lease 가 풀립니다.
+     */
+    @Transactional
+    public Optional<List<OrderOutboxMessage>> claimOrderOutboxMessageByOutboxStatus(OutboxStatus outboxStatus, int limit) {
+        return orderOutboxRepository.claimByTypeAndOutboxStatus(ORDER_SAGA_NAME, outboxStatus,
+                restaurantServiceConfigData.getOutboxRetryMaxAttempts(), limit,
+                restaurantServiceConfigData.getOutboxRelayInFlightTimeout());
+    }
+
+    @Override
+    @Transactional
+    public List<OrderOutboxMessage> claimOutboxMessages(int limit) {
+        List<OrderOutboxMessage> outboxMessages = new ArrayList<>(
+                claimOrderOutboxMessageByOutboxStatus(OutboxStatus.STARTED, limit)
+                        .orElse(List.of()));
+        // 새 메시지를 먼저 발행하고, 남는 자리는 재시도 시각이 된 FAILED 메시지로 채운다.
+        if (outboxMessages.size() < limit) {
+            orderOutboxRepository.claimRetryableByType(
+                            ORDER_SAGA_NAME,
+                            restaurantServiceConfigData.getOutboxRetryMaxAttempts(),
+                            limit - outboxMessages.size(),
+                            restaurantServiceConfigData.getOutboxRelayInFlightTimeout())
+                    .ifPresent(outboxMessages::addAll);
+        }
+        return outboxMessages;
+    }
+
+    /**
+     * batch 하나를 자신의 트랜잭션으로 삭제합니다. 전체 삭제는 OutboxCleaner 가 batch 단위로 반복합니다.
+     */
     @Transactional
-    public void deleteOrderOutboxMessageByOutboxStatus(OutboxStatus outboxStatus) {
-        orderOutboxRepository.deleteByTypeAndOutboxStatus(ORDER_SAGA_NAME, outboxStatus);
+    public int deleteOrderOutboxMessageByOutboxStatusBefore(OutboxStatus outboxStatus, ZonedDateTime createdAt, int limit) {
+        return orderOutboxRepository.deleteByTypeAndOutboxStatusAndCreatedAtBefore(
+                ORDER_SAGA_NAME,
+                outboxStatus,
+                createdAt,
+                limit);
     }
 
     @Transactional
@@ -52,7 +106,7 @@ public class OrderOutboxHelper {
                                        OrderApprovalStatus approvalStatus,
                                        OutboxStatus outboxStatus,
                                        UUID sagaId) {
-        save(OrderOutboxMessage.builder()
+        OrderOutboxMessage orderOutboxMessage = OrderOutboxMessage.builder()
                 .id(UUID.randomUUID())
                 .sagaId(sagaId)
                 .createdAt(orderEventPayload.getCreatedAt())
@@ -61,7 +115,15 @@ public class OrderOutboxHelper {
                 .payload(createPayload(orderEventPayload))
                 .approvalStatus(approvalStatus)
                 .outboxStatus(outboxStatus)
-                .build());
+                .claimedUntil(claimedUntil(outboxStatus))
+                .build();
+        save(orderOutboxMessage);
+
+        // 커밋 직후 바로 발행하고, 놓친 메시지는 OrderOutboxScheduler 가 다시 발행한다.
+        if (outboxStatus == OutboxStatus.STARTED) {
+            outboxAfterCommitPublisher.publishAfterCommit(() ->
+                    restaurantApprovalResponseMessagePublisher.publish(orderOutboxMessage, orderOutboxHelperProxy.getObject()::updateOutboxStatus));
+        }
     }
 
     private void save(OrderOutboxMessage orderPaymentOutboxMessage) {
@@ -73,11 +135,65 @@ public class OrderOutboxHelper {
         log.info("OrderOutboxMessage 를 저장했습니다.: {}", orderPaymentOutboxMessage.getId());
     }
 
-    @Transactional
+    /**
+     * 프로듀서 콜백에서 호출됩니다. 바로 저장하지 않고 버퍼에 모아두었다가 flushOutboxStatus 에서 한번에 업데이트 합니다.
+     */
     public void updateOutboxStatus(OrderOutboxMessage orderPaymentOutboxMessage, OutboxStatus outboxStatus) {
         orderPaymentOutboxMessage.setOutboxStatus(outboxStatus);
-        save(orderPaymentOutboxMessage);
-        log.info("Order outbox table status is updated as: {}", outboxStatus.name());
+        if (outboxStatusUpdateBuffer.add(orderPaymentOutboxMessage.getId(), outboxStatus) >= restaurantServiceConfigData.getOutboxSchedulerBatchSize()) {
+            flushOutboxStatus();
+        }
+    }
+
+    @PreDestroy
+    public void flushOutboxStatus() {
+        outboxStatusUpdateBuffer.flush();
+    }
+
+    @Override
+    @Transactional
+    public void updateOutboxStatusByIds(OutboxStatus outboxStatus, List<UUID> ids) {
+        if (outboxStatus == OutboxStatus.FAILED) {
+            // 실패한 메시지는 backoff 가 지나면 claimOutboxMessages 에서 다시 발행된다.
+            orderOutboxRepository.markFailedByIds(ids,
+                    restaurantServiceConfigData.getOutboxRetryBackoffBase(),
+                    restaurantServiceConfigData.getOutboxRetryBackoffMax());
+        } else {
+            orderOutboxRepository.updateOutboxStatusByIds(outboxStatus, ids);
+        }
+        log.info("OrderOutboxMessage {}개의 OutboxStatus 를 {} 로 업데이트 했습니다.", ids.size(), outboxStatus);
+    }
+
+    @Override
+    @Transactional
+    public void releaseOutboxMessagesByIds(List<UUID> ids) {
+        orderOutboxRepository.releaseClaimsByIds(ids);
+        log.info("OrderOutboxMessage {}개의 lease 를 풀었습니다.", ids.size());
+    }
+
+    private void updateOutboxStatusByIdsThroughProxy(OutboxStatus outboxStatus, List<UUID> ids) {
+        orderOutboxHelperProxy.getObject().updateOutboxStatusByIds(outboxStatus, ids);
+    }
+
+    // DDL 은 문장마다 커밋되도록 트랜잭션 없이 실행한다.
+    public void createOutboxPartitions(LocalDate from, LocalDate to) {
+        orderOutboxRepository.createPartitions(from, to);
+    }
+
+    public int dropOutboxPartitionsBefore(LocalDate before) {
+        return orderOutboxRepository.dropPartitionsBefore(before);
+    }
+
+    @Transactional(readOnly = true)
+    public OutboxBacklog getOutboxBacklog() {
+        return orderOutboxRepository.getBacklog(ORDER_SAGA_NAME, restaurantServiceConfigData.getOutboxRetryMaxAttempts());
+    }
+
+    // 커밋 직후 바로 발행할 메시지는 relay 가 같이 가져가지 않도록 lease 를 잡은 채로 저장한다.
+    private ZonedDateTime claimedUntil(OutboxStatus outboxStatus) {
+        return outboxStatus == OutboxStatus.STARTED
+                ? ZonedDateTime.now(ZoneId.of(ASIA_SEOUL)).plus(restaurantServiceConfigData.getOutboxRelayInFlightTimeout())
+                : null;
     }
 
     private String createPayload(OrderEventPayload orderEventPayload) {
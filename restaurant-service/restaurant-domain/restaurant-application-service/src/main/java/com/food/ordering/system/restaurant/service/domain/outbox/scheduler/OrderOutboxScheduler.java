@@ -1,43 +1,56 @@
 package com.food.ordering.system.restaurant.service.domain.outbox.scheduler;
 
+import com.food.ordering.system.outbox.OutboxMetrics;
+import com.food.ordering.system.outbox.OutboxRelay;
 import com.food.ordering.system.outbox.OutboxScheduler;
-import com.food.ordering.system.outbox.OutboxStatus;
+import com.food.ordering.system.restaurant.service.domain.config.RestaurantServiceConfigData;
+import com.food.ordering.system.restaurant.service.domain.outbox.model.OrderOutboxMessage;
 import com.food.ordering.system.restaurant.service.domain.ports.output.message.publisher.RestaurantApprovalResponseMessagePublisher;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import jakarta.annotation.PreDestroy;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.stream.Collectors;
-
-@Slf4j
-@RequiredArgsConstructor
 @Component
 public class OrderOutboxScheduler implements OutboxScheduler {
 
     private final OrderOutboxHelper orderOutboxHelper;
-    private final RestaurantApprovalResponseMessagePublisher restaurantApprovalResponseMessagePublisher;
+    private final OutboxRelay<OrderOutboxMessage> outboxRelay;
+
+    public OrderOutboxScheduler(OrderOutboxHelper orderOutboxHelper,
+                                RestaurantServiceConfigData restaurantServiceConfigData,
+                                RestaurantApprovalResponseMessagePublisher restaurantApprovalResponseMessagePublisher,
+                                OutboxMetrics outboxMetrics) {
+        this.orderOutboxHelper = orderOutboxHelper;
+        this.outboxRelay = new OutboxRelay<>("OrderOutbox",
+                orderOutboxHelper,
+                restaurantApprovalResponseMessagePublisher::publish,
+                restaurantServiceConfigData.isOutboxRelayBatchPublishEnabled() ? restaurantApprovalResponseMessagePublisher::publishBatch : null,
+                OrderOutboxMessage::getId,
+                OrderOutboxMessage::getSagaId,
+                restaurantServiceConfigData.getOutboxRelayMaxInFlight(),
+                restaurantServiceConfigData.getOutboxSchedulerBatchSize(),
+                restaurantServiceConfigData.getOutboxRelayInFlightTimeout());
+        outboxMetrics.register("OrderOutbox", orderOutboxHelper::getOutboxBacklog);
+    }
 
-    @Transactional
+    // claim 은 helper 의 트랜잭션으로 먼저 커밋하고, 발행은 DB 트랜잭션 밖에서 한다.
+    @Override
     @Scheduled(fixedRateString = "${restaurant-service.outbox-scheduler-fixed-rate}",
             initialDelayString = "${restaurant-service.outbox-scheduler-initial-delay}")
-    @Override
     public void processOutboxMessage() {
-        orderOutboxHelper.getOrderOutboxMessageByOutboxStatus(OutboxStatus.STARTED)
-                .filter(outboxMessages -> !outboxMessages.isEmpty())
-                .ifPresent(outboxMessages -> {
-                    log.info("OrderOutbox 메시지를 {}개 수신했습니다. OrderOutboxMessage id{}",
-                            outboxMessages.size(),
-                            outboxMessages.stream()
-                                    .map(outboxMessage ->
-                                            outboxMessage.getId().toString())
-                                    .collect(Collectors.joining(", ")));
-                    outboxMessages.forEach(outboxMessage ->
-                            restaurantApprovalResponseMessagePublisher.publish(
-                                    outboxMessage,
-                                    orderOutboxHelper::updateOutboxStatus));
-                    log.info("OrderOutbox 메시지를 {}개 발행했습니다.", outboxMessages.size());
-                });
+        // 커밋 직후 발행된 메시지의 결과를 먼저 반영해야 같은 메시지를 다시 발행하지 않는다.
+        orderOutboxHelper.flushOutboxStatus();
+        outboxRelay.relay();
+    }
+
+    @Scheduled(fixedDelayString = "${restaurant-service.outbox-status-flush-interval}")
+    public void flushOutboxStatus() {
+        orderOutboxHelper.flushOutboxStatus();
+        outboxRelay.flush();
+    }
+
+    @PreDestroy
+    public void close() {
+        outboxRelay.close();
     }
 }
@@ -3,10 +3,15 @@ package com.food.ordering.system.restaurant.service.domain.ports.output.message.
 import com.food.ordering.system.outbox.OutboxStatus;
 import com.food.ordering.system.restaurant.service.domain.outbox.model.OrderOutboxMessage;
 
+import java.util.List;
 import java.util.function.BiConsumer;
 
 public interface RestaurantApprovalResponseMessagePublisher {
 
     void publish(OrderOutboxMessage orderOutboxMessage,
                  BiConsumer<OrderOutboxMessage, OutboxStatus> outboxCallback);
+
+    // relay 가 한번에 가져온 메시지를 batch 하나로 발행한다.
+    void publishBatch(List<OrderOutboxMessage> orderOutboxMessages,
+                      BiConsumer<OrderOutboxMessage, OutboxStatus> outboxCallback);
 }
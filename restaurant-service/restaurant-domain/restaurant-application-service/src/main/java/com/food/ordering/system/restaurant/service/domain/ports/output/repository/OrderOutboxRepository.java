@@ -1,8 +1,12 @@
 package com.food.ordering.system.restaurant.service.domain.ports.output.repository;
 
+import com.food.ordering.system.outbox.OutboxBacklog;
 import com.food.ordering.system.outbox.OutboxStatus;
 import com.food.ordering.system.restaurant.service.domain.outbox.model.OrderOutboxMessage;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,7 +16,29 @@ public interface OrderOutboxRepository {
 
     Optional<List<OrderOutboxMessage>> findByTypeAndOutboxStatus(String type, OutboxStatus outboxStatus);
 
+    Optional<List<OrderOutboxMessage>> claimByTypeAndOutboxStatus(String type, OutboxStatus outboxStatus, int maxAttempts, int limit, Duration lease);
+
     Optional<OrderOutboxMessage> findByTypeAndSagaIdAndOutboxStatus(String type, UUID sagaId, OutboxStatus outboxStatus);
 
-    void deleteByTypeAndOutboxStatus(String type, OutboxStatus outboxStatus);
+    int deleteByTypeAndOutboxStatusAndCreatedAtBefore(String type,
+                                                      OutboxStatus outboxStatus,
+                                                      ZonedDateTime createdAt,
+                                                      int limit);
+
+    void updateOutboxStatusByIds(OutboxStatus outboxStatus, List<UUID> ids);
+
+    void releaseClaimsByIds(List<UUID> ids);
+
+    void createPartitions(LocalDate from, LocalDate to);
+
+    int dropPartitionsBefore(LocalDate before);
+
+    OutboxBacklog getBacklog(String type, int maxAttempts);
+
+    Optional<List<OrderOutboxMessage>> claimRetryableByType(String type,
+                                                            int maxAttempts,
+                                                            int limit,
+                                                            Duration lease);
+
+    void markFailedByIds(List<UUID> ids, Duration backoffBase, Duration backoffMax);
 }
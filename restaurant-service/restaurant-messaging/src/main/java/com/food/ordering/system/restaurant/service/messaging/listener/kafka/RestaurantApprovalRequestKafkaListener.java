@@ -1,16 +1,19 @@
 package com.food.ordering.system.restaurant.service.messaging.listener.kafka;
 
 import com.food.ordering.system.kafka.consumer.KafkaConsumer;
-import com.food.ordering.system.kafka.order.avro.model.RestaurantApprovalRequestAvroModel;
+import com.food.ordering.system.kafka.consumer.dispatcher.KeyOrderedBatchDispatcher;
+import com.food.ordering.system.restaurant.service.domain.dto.RestaurantApprovalRequest;
 import com.food.ordering.system.restaurant.service.domain.exception.RestaurantApplicationServiceException;
 import com.food.ordering.system.restaurant.service.domain.exception.RestaurantNotFoundException;
 import com.food.ordering.system.restaurant.service.domain.ports.input.message.listener.RestaurantApprovalRequestMessageListener;
 import com.food.ordering.system.restaurant.service.messaging.mapper.RestaurantMessagingDataMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.specific.SpecificRecordBase;
 import org.postgresql.util.PSQLState;
 import org.springframework.dao.DataAccessException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
@@ -22,18 +25,20 @@ import java.util.List;
 @Slf4j
 @RequiredArgsConstructor
 @Component
-public class RestaurantApprovalRequestKafkaListener implements KafkaConsumer<RestaurantApprovalRequestAvroModel> {
+public class RestaurantApprovalRequestKafkaListener implements KafkaConsumer<SpecificRecordBase> {
 
     private final RestaurantApprovalRequestMessageListener restaurantApprovalRequestMessageListener;
     private final RestaurantMessagingDataMapper restaurantMessagingDataMapper;
+    private final KeyOrderedBatchDispatcher keyOrderedBatchDispatcher;
 
     @Override
     @KafkaListener(id = "${kafka-consumer-config.restaurant-approval-consumer-group-id}",
             topics = "${restaurant-service.restaurant-approval-request-topic-name}")
-    public void receive(@Payload List<RestaurantApprovalRequestAvroModel> messages,
+    public void receive(@Payload List<SpecificRecordBase> messages,
                         @Header(KafkaHeaders.RECEIVED_KEY) List<String> keys,
                         @Header(KafkaHeaders.RECEIVED_PARTITION) List<Integer> partitions,
-                        @Header(KafkaHeaders.OFFSET) List<Long> offsets) {
+                        @Header(KafkaHeaders.OFFSET) List<Long> offsets,
+                        Acknowledgment acknowledgment) {
         log.info("{}개의 메시지수신 ... messages='{}' key='{}' partitions='{}' and offset='{}'",
                 messages.size()
                 , messages
@@ -41,12 +46,13 @@ public class RestaurantApprovalRequestKafkaListener implements KafkaConsumer<Res
                 , partitions.toString()
                 , offsets.toString());
 
-        messages.forEach(restaurantApprovalRequestAvroModel -> {
+        keyOrderedBatchDispatcher.dispatch(messages, keys, acknowledgment, message -> {
+            // v1, v2 avro 모델로 들어온 메시지를 한가지 DTO 로 맞춘다.
+            RestaurantApprovalRequest restaurantApprovalRequest =
+                    restaurantMessagingDataMapper.restaurantApprovalRequestMessageToRestaurantApprovalRequest(message);
             try {
-                log.info("식당승인요청을 처리중입니다. order id: {}", restaurantApprovalRequestAvroModel.getOrderId());
-                restaurantApprovalRequestMessageListener.approveOrder(
-                        restaurantMessagingDataMapper.restaurantApprovalRequestAvroModelToRestaurantApprovalRequest(restaurantApprovalRequestAvroModel)
-                );
+                log.info("식당승인요청을 처리중입니다. order id: {}", restaurantApprovalRequest.getOrderId());
+                restaurantApprovalRequestMessageListener.approveOrder(restaurantApprovalRequest);
             }catch (DataAccessException e){
                 SQLException sqlException = (SQLException) e.getRootCause();
                 if(sqlException != null
@@ -54,16 +60,33 @@ public class RestaurantApprovalRequestKafkaListener implements KafkaConsumer<Res
                         && PSQLState.UNIQUE_VIOLATION.getState().equals(sqlException.getSQLState())){
                     log.error("RestaurantApprovalRequestKafkaListener에서 주문 ID: {}에 대해 SQL 상태: {}를 가진 고유 제약 조건 예외가 발생했습니다.",
                             sqlException.getSQLState(),
-                            restaurantApprovalRequestAvroModel.getOrderId());
+                            restaurantApprovalRequest.getOrderId());
                 } else {
                     throw new RestaurantApplicationServiceException("식당승인요청을 처리하는 동안 예외가 발생했습니다." + e.getMessage(), e);
                 }
             }catch (RestaurantNotFoundException e){
                 log.error("RestaurantApprovalRequestKafkaListener에서 주문 ID: {}에 대해 레스토랑 ID:{} 식당을 찾을 수 없습니다.",
-                        restaurantApprovalRequestAvroModel.getOrderId(),
-                        restaurantApprovalRequestAvroModel.getRestaurantId());
+                        restaurantApprovalRequest.getOrderId(),
+                        restaurantApprovalRequest.getRestaurantId());
             }
         });
     }
-}
 
+    // retry 단계마다 컨테이너를 따로 둬서 지연 시간이 긴 단계가 짧은 단계를 막지 않게 한다.
+    @Override
+    @KafkaListener(id = "${kafka-consumer-config.restaurant-approval-consumer-group-id}-retry-1",
+            topics = "${restaurant-service.restaurant-approval-request-topic-name}-retry-1",
+            containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(id = "${kafka-consumer-config.restaurant-approval-consumer-group-id}-retry-2",
+            topics = "${restaurant-service.restaurant-approval-request-topic-name}-retry-2",
+            containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(id = "${kafka-consumer-config.restaurant-approval-consumer-group-id}-retry-3",
+            topics = "${restaurant-service.restaurant-approval-request-topic-name}-retry-3",
+            containerFactory = "retryKafkaListenerContainerFactory")
+    public void receiveRetry(@Payload SpecificRecordBase message,
+                             @Header(KafkaHeaders.RECEIVED_KEY) String key,
+                             @Header(KafkaHeaders.RECEIVED_PARTITION) Integer partition,
+                             @Header(KafkaHeaders.OFFSET) Long offset) {
+        receive(List.of(message), List.of(key), List.of(partition), List.of(offset), null);
+    }
+}
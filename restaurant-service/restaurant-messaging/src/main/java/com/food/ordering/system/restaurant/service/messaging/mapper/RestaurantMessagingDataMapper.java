@@ -2,21 +2,31 @@ package com.food.ordering.system.restaurant.service.messaging.mapper;
 
 import com.food.ordering.system.domain.valueobject.ProductId;
 import com.food.ordering.system.domain.valueobject.RestaurantOrderStatus;
+import com.food.ordering.system.kafka.order.avro.converter.UuidConverter;
 import com.food.ordering.system.kafka.order.avro.model.OrderApprovalStatus;
 import com.food.ordering.system.kafka.order.avro.model.RestaurantApprovalRequestAvroModel;
+import com.food.ordering.system.kafka.order.avro.model.RestaurantApprovalRequestAvroModelV2;
 import com.food.ordering.system.kafka.order.avro.model.RestaurantApprovalResponseAvroModel;
+import com.food.ordering.system.kafka.order.avro.model.RestaurantApprovalResponseAvroModelV2;
+import com.food.ordering.system.kafka.producer.service.service.AvroSchemaVersionSelector;
 import com.food.ordering.system.restaurant.service.domain.dto.RestaurantApprovalRequest;
 import com.food.ordering.system.restaurant.service.domain.entity.Product;
 import com.food.ordering.system.restaurant.service.domain.event.OrderApprovedEvent;
 import com.food.ordering.system.restaurant.service.domain.event.OrderRejectedEvent;
 import com.food.ordering.system.restaurant.service.domain.outbox.model.OrderEventPayload;
+import lombok.RequiredArgsConstructor;
+import org.apache.avro.specific.SpecificRecordBase;
 import org.springframework.stereotype.Component;
 
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 public class RestaurantMessagingDataMapper {
+
+    private final AvroSchemaVersionSelector avroSchemaVersionSelector;
+
 //    public RestaurantApprovalResponseAvroModel orderApprovedEventToRestaurantApprovalResponseAvroModel(OrderApprovedEvent orderApprovedEvent){
 //        return RestaurantApprovalResponseAvroModel.newBuilder()
 //                .setId(UUID.randomUUID())
@@ -44,6 +54,16 @@ public class RestaurantMessagingDataMapper {
 //                .setFailureMessages(orderRejectedEvent.getFailureMessages())
 //                .build();
 //    }
+    /**
+     * value-schema-version 에 따라 v1 또는 v2 스키마의 식당승인응답 메시지를 만듭니다.
+     */
+    public SpecificRecordBase orderEventPayloadToRestaurantApprovalResponseMessage(String sagaId,
+                                                                                   OrderEventPayload orderEventPayload) {
+        return avroSchemaVersionSelector.select(
+                () -> orderEventPayloadToRestaurantApprovalResponseAvroModel(sagaId, orderEventPayload),
+                () -> orderEventPayloadToRestaurantApprovalResponseAvroModelV2(sagaId, orderEventPayload));
+    }
+
     public RestaurantApprovalResponseAvroModel orderEventPayloadToRestaurantApprovalResponseAvroModel(String sagaId,
                                                                                                       OrderEventPayload orderEventPayload){
         return RestaurantApprovalResponseAvroModel.newBuilder()
@@ -57,6 +77,53 @@ public class RestaurantMessagingDataMapper {
                 .build();
     }
 
+    public RestaurantApprovalResponseAvroModelV2 orderEventPayloadToRestaurantApprovalResponseAvroModelV2(String sagaId,
+                                                                                                          OrderEventPayload orderEventPayload){
+        return RestaurantApprovalResponseAvroModelV2.newBuilder()
+                .setId(UuidConverter.toUuid(UUID.randomUUID()))
+                .setSagaId(UuidConverter.toUuid(sagaId))
+                .setOrderId(UuidConverter.toUuid(orderEventPayload.getOrderId()))
+                .setRestaurantId(UuidConverter.toUuid(orderEventPayload.getRestaurantId()))
+                .setCreatedAt(orderEventPayload.getCreatedAt().toInstant())
+                .setOrderApprovalStatus(OrderApprovalStatus.valueOf(orderEventPayload.getOrderApprovalStatus()))
+                .setFailureMessages(orderEventPayload.getFailureMessages())
+                .build();
+    }
+
+    /**
+     * 리스너가 받은 v1, v2 avro 모델을 RestaurantApprovalRequest 로 바꿉니다.
+     */
+    public RestaurantApprovalRequest restaurantApprovalRequestMessageToRestaurantApprovalRequest(SpecificRecordBase message){
+        if (message instanceof RestaurantApprovalRequestAvroModelV2 restaurantApprovalRequestAvroModelV2) {
+            return restaurantApprovalRequestAvroModelV2ToRestaurantApprovalRequest(restaurantApprovalRequestAvroModelV2);
+        }
+        if (message instanceof RestaurantApprovalRequestAvroModel restaurantApprovalRequestAvroModel) {
+            return restaurantApprovalRequestAvroModelToRestaurantApprovalRequest(restaurantApprovalRequestAvroModel);
+        }
+        throw new IllegalArgumentException("식당승인요청 메시지가 아닙니다: " + message.getSchema().getFullName());
+    }
+
+    public RestaurantApprovalRequest restaurantApprovalRequestAvroModelV2ToRestaurantApprovalRequest(RestaurantApprovalRequestAvroModelV2 restaurantApprovalRequestAvroModelV2){
+        return RestaurantApprovalRequest.builder()
+                .id(UuidConverter.fromUuid(restaurantApprovalRequestAvroModelV2.getId()).toString())
+                .sagaId(UuidConverter.fromUuid(restaurantApprovalRequestAvroModelV2.getSagaId()).toString())
+                .orderId(UuidConverter.fromUuid(restaurantApprovalRequestAvroModelV2.getOrderId()).toString())
+                .restaurantId(UuidConverter.fromUuid(restaurantApprovalRequestAvroModelV2.getRestaurantId()).toString())
+                .restaurantOrderStatus(RestaurantOrderStatus.valueOf(
+                        restaurantApprovalRequestAvroModelV2.getRestaurantOrderStatus().name()))
+                .products(restaurantApprovalRequestAvroModelV2.getProducts().stream()
+                        .map(avroModel ->
+                                Product.builder()
+                                        .id(new ProductId(UuidConverter.fromUuid(avroModel.getId())))
+                                        .quantity(avroModel.getQuantity())
+                                        .build())
+                        .collect(Collectors.toList())
+                )
+                .price(restaurantApprovalRequestAvroModelV2.getPrice())
+                .createdAt(restaurantApprovalRequestAvroModelV2.getCreatedAt())
+                .build();
+    }
+
     public RestaurantApprovalRequest restaurantApprovalRequestAvroModelToRestaurantApprovalRequest(RestaurantApprovalRequestAvroModel restaurantApprovalRequestAvroModel){
         return RestaurantApprovalRequest.builder()
                 .id(restaurantApprovalRequestAvroModel.getId().toString())